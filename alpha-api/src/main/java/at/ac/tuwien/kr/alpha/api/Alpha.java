@@ -16,6 +16,15 @@
 
 /**
  * Main API entry point for the Alpha ASP system. Provides facilities for parsing, normalizing and solving ASP programs.
+ *
+ * Implementations are thread-safe, i.e., one instance may be used by several threads at once, in particular to solve
+ * many programs concurrently. Every call of a solve method starts a solving run of its own with its own atom store,
+ * grounder(s), grounding orders and enumeration indices, even when the same program is solved several times. Runs only
+ * share state that is immutable or thread-safe: the parsed or normalized program itself, the global pool of interned
+ * terms, the JVM-wide counter that numbers rules, and the interpretations of the standard library externals including the
+ * caches of pure ones. The returned {@link Stream}s and {@link Solver}s are not thread-safe, each of them must only be
+ * consumed by one thread at a time. User-defined {@link PredicateInterpretation}s are called by the threads solving,
+ * hence they must be thread-safe when programs using them are solved concurrently.
  * 
  * Copyright (c) 2021, the Alpha Team.
  */
@@ -50,6 +50,12 @@ public interface StatisticsReportingSolver extends Solver {
 	 * valuable for search, i.e., (large) nogoods that no longer appear in conflicts and do not propagate.
 	 */
 	int getNumberOfDeletedNoGoods();
+
+	/**
+	 * Returns the number of times the solver restarted its search, i.e., backjumped to decision level 0 while keeping
+	 * all learned nogoods.
+	 */
+	int getNumberOfRestarts();
 	
 	/**
 	 * Returns the number of times that a conflict was reached when the solver closed all atoms.
@@ -63,11 +69,11 @@ public interface StatisticsReportingSolver extends Solver {
 	default String getStatisticsString() {
 		return "g=" + getNumberOfChoices() + ", bt=" + getNumberOfBacktracks() + ", bj=" + getNumberOfBackjumps() + ", bt_within_bj="
 				+ getNumberOfBacktracksWithinBackjumps() + ", mbt=" + getNumberOfBacktracksDueToRemnantMBTs() + ", cac=" + getNumberOfConflictsAfterClosing()
-				+ ", del_ng=" + getNumberOfDeletedNoGoods();
+				+ ", del_ng=" + getNumberOfDeletedNoGoods() + ", rs=" + getNumberOfRestarts();
 	}
 	
 	default String getStatisticsCSV() {
-		return String.format("%d,%d,%d,%d,%d,%d,%d", getNumberOfChoices(), getNumberOfBacktracks(), getNumberOfBackjumps(), getNumberOfBacktracksWithinBackjumps(), getNumberOfBacktracksDueToRemnantMBTs(), getNumberOfConflictsAfterClosing(), getNumberOfDeletedNoGoods());
+		return String.format("%d,%d,%d,%d,%d,%d,%d,%d", getNumberOfChoices(), getNumberOfBacktracks(), getNumberOfBackjumps(), getNumberOfBacktracksWithinBackjumps(), getNumberOfBacktracksDueToRemnantMBTs(), getNumberOfConflictsAfterClosing(), getNumberOfDeletedNoGoods(), getNumberOfRestarts());
 	}
 
 	default void printStatistics(PrintStream out) {
@@ -58,6 +58,7 @@ public class GrounderHeuristicsConfiguration {
 	private int toleranceConstraints;
 	private int toleranceRules;
 	private boolean accumulatorEnabled;
+	private JoinStrategy joinStrategy = SystemConfig.DEFAULT_JOIN_STRATEGY;
 
 	public GrounderHeuristicsConfiguration() {
 		super();
@@ -113,6 +114,14 @@ public void setAccumulatorEnabled(boolean accumulatorEnabled) {
 		this.accumulatorEnabled = accumulatorEnabled;
 	}
 
+	public JoinStrategy getJoinStrategy() {
+		return joinStrategy;
+	}
+
+	public void setJoinStrategy(JoinStrategy joinStrategy) {
+		this.joinStrategy = joinStrategy;
+	}
+
 	public static GrounderHeuristicsConfiguration strict() {
 		return new GrounderHeuristicsConfiguration(STRICT_INT, STRICT_INT);
 	}
@@ -141,7 +150,7 @@ private static int parseTolerance(String tolerance) {
 
 	@Override
 	public String toString() {
-		return this.getClass().getSimpleName() + "(toleranceConstraints=" + toleranceConstraints + ",toleranceRules=" + toleranceRules + ",disableInstanceRemoval=" + accumulatorEnabled + ")";
+		return this.getClass().getSimpleName() + "(toleranceConstraints=" + toleranceConstraints + ",toleranceRules=" + toleranceRules + ",disableInstanceRemoval=" + accumulatorEnabled + ",joinStrategy=" + joinStrategy + ")";
 	}
 
 }
@@ -0,0 +1,33 @@
+package at.ac.tuwien.kr.alpha.api.config;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The available strategies for joining the positive body atoms of a rule when grounding it.
+ */
+public enum JoinStrategy {
+	/**
+	 * Join body atoms one at a time along the grounding order of the rule (tuple-at-a-time nested-loop join).
+	 */
+	NESTED_LOOP,
+
+	/**
+	 * Join all positive body atoms of a rule at once by a leapfrog triejoin, which binds one variable at a time and is
+	 * worst-case optimal. The remaining body literals are checked along the grounding order afterwards.
+	 */
+	LEAPFROG_TRIEJOIN,
+
+	/**
+	 * Use {@link #LEAPFROG_TRIEJOIN} for rules whose positive body is cyclic (such as e(X,Y), e(Y,Z), e(Z,X)), and
+	 * {@link #NESTED_LOOP} for all other rules.
+	 */
+	AUTO;
+
+	/**
+	 * @return a comma-separated list of names of known join strategies
+	 */
+	public static String listAllowedValues() {
+		return Arrays.stream(values()).map(JoinStrategy::toString).collect(Collectors.joining(", "));
+	}
+}
@@ -0,0 +1,38 @@
+package at.ac.tuwien.kr.alpha.api.config;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The available strategies for deciding when the solver restarts its search, i.e., backjumps to decision level 0 while
+ * keeping learned nogoods and heuristic activities.
+ */
+public enum RestartStrategy {
+	/**
+	 * Never restart.
+	 */
+	NONE,
+
+	/**
+	 * Restart after a number of conflicts following the Luby series (1, 1, 2, 1, 1, 2, 4, ...) scaled by a constant unit.
+	 */
+	LUBY,
+
+	/**
+	 * Restart after a number of conflicts that grows geometrically with each restart.
+	 */
+	GEOMETRIC,
+
+	/**
+	 * Restart dynamically (as done by glucose) whenever the average LBD of the most recently learned nogoods is
+	 * significantly worse than the average LBD of all learned nogoods.
+	 */
+	GLUCOSE;
+
+	/**
+	 * @return a comma-separated list of names of known restart strategies
+	 */
+	public static String listAllowedValues() {
+		return Arrays.stream(values()).map(RestartStrategy::toString).collect(Collectors.joining(", "));
+	}
+}
@@ -49,6 +49,7 @@ public class SystemConfig {
 	public static final String DEFAULT_NOGOOD_STORE_NAME = "alphaRoaming";
 	public static final Heuristic DEFAULT_BRANCHING_HEURISTIC = Heuristic.VSIDS;
 	public static final BinaryNoGoodPropagationEstimationStrategy DEFAULT_MOMS_STRATEGY = BinaryNoGoodPropagationEstimationStrategy.CountBinaryWatches;
+	public static final RestartStrategy DEFAULT_RESTART_STRATEGY = RestartStrategy.NONE;
 	public static final long DEFAULT_SEED = System.nanoTime();
 	public static final boolean DEFAULT_DETERMINISTIC = false;
 	public static final boolean DEFAULT_PRINT_STATS = false;
@@ -59,11 +60,17 @@ public class SystemConfig {
 	public static final List<Integer> DEFAULT_REPLAY_CHOICES = Collections.emptyList();
 	public static final boolean DEFAULT_STRATIFIED_EVALUATION = true;
 	public static final boolean DEFAULT_DISABLE_NOGOOD_DELETION = false;
+	public static final boolean DEFAULT_DISABLE_NOGOOD_SHARING = false;
+	public static final int DEFAULT_FORGETTING_INTERVAL = 0;
+	public static final int DEFAULT_FORGETTING_DECISION_LEVEL = Integer.MAX_VALUE;
+	public static final boolean DEFAULT_PIPELINE_GROUNDING = false;
 	public static final String DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS = GrounderHeuristicsConfiguration.STRICT_STRING;
 	public static final String DEFAULT_GROUNDER_TOLERANCE_RULES = GrounderHeuristicsConfiguration.STRICT_STRING;
 	public static final boolean DEFAULT_GROUNDER_ACCUMULATOR_ENABLED = false;
+	public static final JoinStrategy DEFAULT_JOIN_STRATEGY = JoinStrategy.AUTO;
 	public static final String DEFAULT_ATOM_SEPARATOR = ", ";
 	public static final AggregateRewritingConfig DEFAULT_AGGREGATE_REWRITING_CONFIG = new AggregateRewritingConfig();
+	public static final int DEFAULT_PORTFOLIO_SIZE = Runtime.getRuntime().availableProcessors();
 
 	private String grounderName = DEFAULT_GROUNDER_NAME;
 	private String solverName = DEFAULT_SOLVER_NAME;
@@ -73,6 +80,7 @@ public class SystemConfig {
 	private boolean debugInternalChecks = DEFAULT_DEBUG_INTERNAL_CHECKS;
 	private Heuristic branchingHeuristic = DEFAULT_BRANCHING_HEURISTIC;
 	private BinaryNoGoodPropagationEstimationStrategy momsStrategy = DEFAULT_MOMS_STRATEGY;
+	private RestartStrategy restartStrategy = DEFAULT_RESTART_STRATEGY;
 	private boolean quiet = DEFAULT_QUIET;
 	private boolean printStats = DEFAULT_PRINT_STATS;
 	private boolean disableJustificationSearch = DEFAULT_DISABLE_JUSTIFICATION_SEARCH;
@@ -80,11 +88,53 @@ public class SystemConfig {
 	private List<Integer> replayChoices = DEFAULT_REPLAY_CHOICES;
 	private boolean evaluateStratifiedPart = DEFAULT_STRATIFIED_EVALUATION;
 	private boolean disableNoGoodDeletion = DEFAULT_DISABLE_NOGOOD_DELETION;
+	private boolean disableNoGoodSharing = DEFAULT_DISABLE_NOGOOD_SHARING;
+	private int forgettingInterval = DEFAULT_FORGETTING_INTERVAL;
+	private int forgettingDecisionLevel = DEFAULT_FORGETTING_DECISION_LEVEL;
+	private boolean pipelineGrounding = DEFAULT_PIPELINE_GROUNDING;
 	private String grounderToleranceConstraints = DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS;
 	private String grounderToleranceRules = DEFAULT_GROUNDER_TOLERANCE_RULES;
 	private boolean grounderAccumulatorEnabled = DEFAULT_GROUNDER_ACCUMULATOR_ENABLED;
+	private JoinStrategy joinStrategy = DEFAULT_JOIN_STRATEGY;
 	private String atomSeparator = DEFAULT_ATOM_SEPARATOR;
 	private AggregateRewritingConfig aggregateRewritingConfig = DEFAULT_AGGREGATE_REWRITING_CONFIG;
+	private int portfolioSize = DEFAULT_PORTFOLIO_SIZE;
+
+	public SystemConfig() {
+	}
+
+	/**
+	 * Creates a copy of the given config, e.g., to derive differently configured solvers from one base configuration.
+	 */
+	public SystemConfig(SystemConfig other) {
+		this.grounderName = other.grounderName;
+		this.solverName = other.solverName;
+		this.nogoodStoreName = other.nogoodStoreName;
+		this.deterministic = other.deterministic;
+		this.seed = other.seed;
+		this.debugInternalChecks = other.debugInternalChecks;
+		this.branchingHeuristic = other.branchingHeuristic;
+		this.momsStrategy = other.momsStrategy;
+		this.restartStrategy = other.restartStrategy;
+		this.quiet = other.quiet;
+		this.printStats = other.printStats;
+		this.disableJustificationSearch = other.disableJustificationSearch;
+		this.sortAnswerSets = other.sortAnswerSets;
+		this.replayChoices = other.replayChoices;
+		this.evaluateStratifiedPart = other.evaluateStratifiedPart;
+		this.disableNoGoodDeletion = other.disableNoGoodDeletion;
+		this.disableNoGoodSharing = other.disableNoGoodSharing;
+		this.forgettingInterval = other.forgettingInterval;
+		this.forgettingDecisionLevel = other.forgettingDecisionLevel;
+		this.pipelineGrounding = other.pipelineGrounding;
+		this.grounderToleranceConstraints = other.grounderToleranceConstraints;
+		this.grounderToleranceRules = other.grounderToleranceRules;
+		this.grounderAccumulatorEnabled = other.grounderAccumulatorEnabled;
+		this.joinStrategy = other.joinStrategy;
+		this.atomSeparator = other.atomSeparator;
+		this.aggregateRewritingConfig = other.aggregateRewritingConfig;
+		this.portfolioSize = other.portfolioSize;
+	}
 
 	public String getGrounderName() {
 		return this.grounderName;
@@ -180,6 +230,18 @@ public void setMomsStrategyName(String momsStrategyName) {
 		this.momsStrategy = BinaryNoGoodPropagationEstimationStrategy.valueOf(momsStrategyName);
 	}
 
+	public RestartStrategy getRestartStrategy() {
+		return restartStrategy;
+	}
+
+	public void setRestartStrategy(RestartStrategy restartStrategy) {
+		this.restartStrategy = restartStrategy;
+	}
+
+	public void setRestartStrategyName(String restartStrategyName) {
+		this.restartStrategy = RestartStrategy.valueOf(restartStrategyName.replace("-", "_").toUpperCase());
+	}
+
 	public boolean isQuiet() {
 		return this.quiet;
 	}
@@ -240,6 +302,53 @@ public void setDisableNoGoodDeletion(boolean disableNoGoodDeletion) {
 		this.disableNoGoodDeletion = disableNoGoodDeletion;
 	}
 
+	public boolean isDisableNoGoodSharing() {
+		return this.disableNoGoodSharing;
+	}
+
+	/**
+	 * Disables the exchange of short learned nogoods between the workers of the "portfolio" solver.
+	 */
+	public void setDisableNoGoodSharing(boolean disableNoGoodSharing) {
+		this.disableNoGoodSharing = disableNoGoodSharing;
+	}
+
+	public int getForgettingInterval() {
+		return this.forgettingInterval;
+	}
+
+	/**
+	 * Sets after how many restarts or answer sets the grounder is told to forget unassigned atoms, where zero disables
+	 * forgetting.
+	 */
+	public void setForgettingInterval(int forgettingInterval) {
+		this.forgettingInterval = forgettingInterval;
+	}
+
+	public int getForgettingDecisionLevel() {
+		return this.forgettingDecisionLevel;
+	}
+
+	/**
+	 * Sets the decision level up to which an assignment keeps an atom from being forgotten: an unassigned atom is only
+	 * forgotten if it has not been assigned at this or a lower decision level since the previous forgetting.
+	 */
+	public void setForgettingDecisionLevel(int forgettingDecisionLevel) {
+		this.forgettingDecisionLevel = forgettingDecisionLevel;
+	}
+
+	public boolean isPipelineGrounding() {
+		return this.pipelineGrounding;
+	}
+
+	/**
+	 * Lets the grounder of the "default" solver run on a thread of its own, such that grounding overlaps with
+	 * propagation and search. Workers of the "portfolio" solver never do so.
+	 */
+	public void setPipelineGrounding(boolean pipelineGrounding) {
+		this.pipelineGrounding = pipelineGrounding;
+	}
+
 	public String getGrounderToleranceConstraints() {
 		return grounderToleranceConstraints;
 	}
@@ -264,6 +373,18 @@ public void setGrounderAccumulatorEnabled(boolean grounderAccumulatorEnabled) {
 		this.grounderAccumulatorEnabled = grounderAccumulatorEnabled;
 	}
 
+	public JoinStrategy getJoinStrategy() {
+		return this.joinStrategy;
+	}
+
+	public void setJoinStrategy(JoinStrategy joinStrategy) {
+		this.joinStrategy = joinStrategy;
+	}
+
+	public void setJoinStrategyName(String joinStrategyName) {
+		this.joinStrategy = JoinStrategy.valueOf(joinStrategyName.replace("-", "_").toUpperCase());
+	}
+
 	public String getAtomSeparator() {
 		return this.atomSeparator;
 	}
@@ -280,4 +401,15 @@ public void setAggregateRewritingConfig(AggregateRewritingConfig aggregateRewrit
 		this.aggregateRewritingConfig = aggregateRewritingConfig;
 	}
 
+	public int getPortfolioSize() {
+		return this.portfolioSize;
+	}
+
+	/**
+	 * Sets the number of differently configured solvers the "portfolio" solver runs in parallel.
+	 */
+	public void setPortfolioSize(int portfolioSize) {
+		this.portfolioSize = portfolioSize;
+	}
+
 }
@@ -24,4 +24,11 @@
 	 * method will be used.
 	 */
 	String name() default "";
+
+	/**
+	 * Whether the annotated method is pure, i.e., it has no side effects and its result only depends on its arguments.
+	 * Alpha caches the results of pure methods for a bounded number of argument tuples, hence a pure method may be called
+	 * less often than it is evaluated, and the sets it returns must not be modified afterwards.
+	 */
+	boolean pure() default false;
 }
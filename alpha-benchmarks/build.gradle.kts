@@ -0,0 +1,31 @@
+plugins {
+	id("alpha.java-application-conventions")
+}
+
+dependencies {
+	implementation(project(":alpha-api"))
+	implementation(project(":alpha-commons"))
+	implementation(project(":alpha-core"))
+	implementation(project(":alpha-solver"))
+
+	val jmhVersion = "1.36"
+	implementation("org.openjdk.jmh:jmh-core:${jmhVersion}")
+	annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:${jmhVersion}")
+
+	// Logging Implementation
+	implementation("org.slf4j:slf4j-simple:1.7.32") {
+		// Exclude the SLF4J API, because we already have it via `alpha.java-application-conventions`.
+		exclude("org.slf4j", "slf4j-api")
+	}
+}
+
+// Benchmarks are selected and configured via the JMH command line, e.g.
+//   ./gradlew :alpha-benchmarks:run --args="SolvingBenchmark -p problem=THREE_SAT -p size=30"
+application {
+	mainClass.set("org.openjdk.jmh.Main")
+}
+
+// Benchmarks are not part of the published artifacts.
+tasks.withType<PublishToMavenRepository>().configureEach {
+	enabled = false
+}
@@ -0,0 +1,67 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
+import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
+import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
+
+/**
+ * Helpers for setting up the state of benchmarks.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class BenchmarkUtils {
+
+	private BenchmarkUtils() {
+		throw new AssertionError(BenchmarkUtils.class.getSimpleName() + " is a non-instantiable utility class!");
+	}
+
+	/**
+	 * Returns an atom store holding the given number of ground atoms, which receive the IDs 1 to numberOfAtoms.
+	 */
+	static AtomStore filledAtomStore(int numberOfAtoms) {
+		AtomStore atomStore = new AtomStoreImpl();
+		Predicate predicate = Predicates.getPredicate("a", 1);
+		for (int i = 0; i < numberOfAtoms; i++) {
+			atomStore.putIfAbsent(Atoms.newBasicAtom(predicate, Terms.newConstant(i)));
+		}
+		return atomStore;
+	}
+
+	/**
+	 * Returns the given number of distinct random instances of the given arity whose terms are integer constants in
+	 * the range from 0 (inclusive) to domainSize (exclusive).
+	 */
+	static List<Instance> randomInstances(int numberOfInstances, int arity, int domainSize, Random random) {
+		if (Math.pow(domainSize, arity) < numberOfInstances) {
+			throw new IllegalArgumentException("Domain too small for the requested number of distinct instances.");
+		}
+		List<Instance> instances = new ArrayList<>(numberOfInstances);
+		Set<Instance> seen = new HashSet<>();
+		while (instances.size() < numberOfInstances) {
+			Instance instance = randomInstance(arity, domainSize, random);
+			if (seen.add(instance)) {
+				instances.add(instance);
+			}
+		}
+		return instances;
+	}
+
+	static Instance randomInstance(int arity, int domainSize, Random random) {
+		Term[] terms = new Term[arity];
+		for (int i = 0; i < arity; i++) {
+			terms[i] = Terms.newConstant(random.nextInt(domainSize));
+		}
+		return new Instance(terms);
+	}
+}
@@ -0,0 +1,111 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToNegatedLiteral;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.solver.Antecedent;
+import at.ac.tuwien.kr.alpha.core.solver.ConflictCause;
+import at.ac.tuwien.kr.alpha.core.solver.NoGoodStoreAlphaRoaming;
+import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
+import at.ac.tuwien.kr.alpha.core.solver.TrailAssignment;
+import at.ac.tuwien.kr.alpha.core.solver.learning.GroundConflictNoGoodLearner;
+import at.ac.tuwien.kr.alpha.core.solver.learning.GroundConflictNoGoodLearner.ConflictAnalysisResult;
+
+/**
+ * Benchmarks {@link GroundConflictNoGoodLearner#analyzeConflictingNoGood(Antecedent)} on a conflict that is reached
+ * through a long implication chain at the highest decision level. Every link of the chain depends on the two previous
+ * links and on one literal from a lower decision level, where each lower decision level consists of a decision and one
+ * atom implied by it. Since the chain uses both the decisions and their implied atoms, the learned nogood is subject to
+ * minimization.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictAnalysisBenchmark {
+
+	@Param({"10", "50"})
+	public int decisionLevels;
+
+	@Param({"100", "1000"})
+	public int chainLength;
+
+	private GroundConflictNoGoodLearner learner;
+	private Antecedent violatedNoGood;
+
+	@Setup
+	public void setUp() {
+		AtomStore atomStore = BenchmarkUtils.filledAtomStore(2 * decisionLevels + chainLength + 1);
+		TrailAssignment assignment = new TrailAssignment(atomStore);
+		assignment.growForMaxAtomId();
+		NoGoodStoreAlphaRoaming store = new NoGoodStoreAlphaRoaming(assignment);
+		store.growForMaxAtomId(atomStore.getMaxAtomId());
+		int id = 0;
+		// Decision atoms are 1..decisionLevels, the atoms they imply follow, and the chain occupies the remaining atoms.
+		for (int level = 1; level <= decisionLevels; level++) {
+			store.add(id++, new NoGood(atomToLiteral(decisionAtom(level)), atomToNegatedLiteral(impliedAtom(level))));
+		}
+		for (int i = 1; i <= chainLength; i++) {
+			int lowerLevel = 1 + (i / 2) % decisionLevels;
+			int lowerLevelLiteral = atomToLiteral(i % 2 == 0 ? decisionAtom(lowerLevel) : impliedAtom(lowerLevel));
+			if (i == 1) {
+				store.add(id++, new NoGood(atomToLiteral(chainAtom(0)), lowerLevelLiteral, atomToNegatedLiteral(chainAtom(1))));
+			} else {
+				store.add(id++, new NoGood(atomToLiteral(chainAtom(i - 1)), atomToLiteral(chainAtom(i - 2)), lowerLevelLiteral,
+						atomToNegatedLiteral(chainAtom(i))));
+			}
+		}
+		store.add(id, new NoGood(atomToLiteral(chainAtom(chainLength)), atomToLiteral(chainAtom(chainLength / 2))));
+
+		for (int level = 1; level <= decisionLevels; level++) {
+			assignment.choose(decisionAtom(level), ThriceTruth.TRUE);
+			if (store.propagate() != null) {
+				throw new IllegalStateException("Unexpected conflict at decision level " + level + ".");
+			}
+		}
+		assignment.choose(chainAtom(0), ThriceTruth.TRUE);
+		ConflictCause conflictCause = store.propagate();
+		if (conflictCause == null) {
+			throw new IllegalStateException("Implication chain did not result in a conflict.");
+		}
+		violatedNoGood = conflictCause.getAntecedent();
+		learner = new GroundConflictNoGoodLearner(assignment, atomStore);
+	}
+
+	private static int decisionAtom(int level) {
+		return level;
+	}
+
+	private int impliedAtom(int level) {
+		return decisionLevels + level;
+	}
+
+	private int chainAtom(int position) {
+		return 2 * decisionLevels + 1 + position;
+	}
+
+	@Benchmark
+	public ConflictAnalysisResult analyzeConflict() {
+		return learner.analyzeConflictingNoGood(violatedNoGood);
+	}
+}
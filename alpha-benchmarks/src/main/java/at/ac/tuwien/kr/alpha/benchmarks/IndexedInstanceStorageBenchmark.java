@@ -0,0 +1,99 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
+import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
+import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
+import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
+import at.ac.tuwien.kr.alpha.core.grounder.IndexedInstanceStorage;
+
+/**
+ * Benchmarks lookups in an {@link IndexedInstanceStorage} of ternary instances indexed on all positions, both by a
+ * single term and from partially ground atoms as done by the grounder when joining rule bodies.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexedInstanceStorageBenchmark {
+	private static final int ARITY = 3;
+	private static final int LOOKUPS = 1000;
+
+	@Param({"1000", "100000"})
+	public int instances;
+
+	@Param({"0"})
+	public long seed;
+
+	private IndexedInstanceStorage storage;
+	private Term[] lookupTerms;
+	private int[] lookupPositions;
+	private Atom[] partiallyGroundAtoms;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(seed);
+		Predicate predicate = Predicates.getPredicate("p", ARITY);
+		// Choose the domain such that every term occurs in about a hundred instances per position.
+		int domainSize = Math.max(10, instances / 100);
+		storage = new IndexedInstanceStorage(predicate, true);
+		for (int position = 0; position < ARITY; position++) {
+			storage.addIndexPosition(position);
+		}
+		for (Instance instance : BenchmarkUtils.randomInstances(instances, ARITY, domainSize, random)) {
+			storage.addInstance(instance);
+		}
+		lookupTerms = new Term[LOOKUPS];
+		lookupPositions = new int[LOOKUPS];
+		partiallyGroundAtoms = new Atom[LOOKUPS];
+		Term[] variables = {Terms.newVariable("X"), Terms.newVariable("Y"), Terms.newVariable("Z")};
+		for (int i = 0; i < LOOKUPS; i++) {
+			lookupTerms[i] = Terms.newConstant(random.nextInt(domainSize));
+			lookupPositions[i] = random.nextInt(ARITY);
+			Term[] terms = new Term[ARITY];
+			for (int position = 0; position < ARITY; position++) {
+				terms[position] = random.nextBoolean() ? Terms.newConstant(random.nextInt(domainSize)) : variables[position];
+			}
+			partiallyGroundAtoms[i] = Atoms.newBasicAtom(predicate, terms);
+		}
+	}
+
+	@Benchmark
+	public void instancesMatchingAtPosition(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			List<Instance> matching = storage.getInstancesMatchingAtPosition(lookupTerms[i], lookupPositions[i]);
+			blackhole.consume(matching.size());
+		}
+	}
+
+	@Benchmark
+	public void instancesFromPartiallyGroundAtom(Blackhole blackhole) {
+		for (int i = 0; i < LOOKUPS; i++) {
+			List<Instance> matching = storage.getInstancesFromPartiallyGroundAtom(partiallyGroundAtoms[i]);
+			blackhole.consume(matching.size());
+		}
+	}
+}
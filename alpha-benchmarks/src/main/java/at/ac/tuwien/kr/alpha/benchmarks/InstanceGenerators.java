@@ -0,0 +1,158 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generators for parameterized benchmark programs. Every generator is deterministic for a given size and
+ * {@link Random}, such that results of benchmark runs on different revisions are comparable.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public final class InstanceGenerators {
+
+	private static final String GRAPH_COLOURING_ENCODING = "col(red). col(green). col(blue).\n"
+			+ "{ colour(N, C) : col(C) } :- node(N).\n"
+			+ "coloured(N) :- colour(N, C).\n"
+			+ ":- node(N), not coloured(N).\n"
+			+ ":- colour(N, C1), colour(N, C2), C1 != C2.\n"
+			+ ":- edge(N, M), colour(N, C), colour(M, C).\n";
+
+	private static final String HAMILTONIAN_PATH_ENCODING = "{ in(X, Y) } :- edge(X, Y).\n"
+			+ ":- in(X, Y1), in(X, Y2), Y1 != Y2.\n"
+			+ ":- in(X1, Y), in(X2, Y), X1 != X2.\n"
+			+ ":- start(Y), in(X, Y).\n"
+			+ "reached(X) :- start(X).\n"
+			+ "reached(Y) :- reached(X), in(X, Y).\n"
+			+ ":- node(X), not reached(X).\n";
+
+	private static final String THREE_SAT_ENCODING = "t(V) :- var(V), not f(V).\n"
+			+ "f(V) :- var(V), not t(V).\n";
+
+	private static final String TRANSITIVE_CLOSURE_ENCODING = "reach(X, Y) :- edge(X, Y).\n"
+			+ "reach(X, Z) :- reach(X, Y), edge(Y, Z).\n";
+
+	/**
+	 * Clause-to-variable ratio of generated 3-SAT instances, slightly below the phase transition at about 4.26 such that
+	 * most instances are satisfiable but still require search.
+	 */
+	private static final double THREE_SAT_CLAUSE_RATIO = 4.0;
+
+	/**
+	 * Generates a 3-colouring problem on a random undirected graph with the given number of nodes and an average degree
+	 * of four.
+	 */
+	public static String graphColouring(int nodes, Random random) {
+		StringBuilder sb = new StringBuilder(GRAPH_COLOURING_ENCODING);
+		sb.append("node(1..").append(nodes).append(").\n");
+		double edgeProbability = nodes > 1 ? Math.min(1.0, 4.0 / (nodes - 1)) : 0.0;
+		for (int n = 1; n <= nodes; n++) {
+			for (int m = n + 1; m <= nodes; m++) {
+				if (random.nextDouble() < edgeProbability) {
+					appendEdge(sb, n, m);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Generates a Hamiltonian path problem on a random directed graph with the given number of nodes. The graph contains
+	 * a hidden Hamiltonian path from the start node and on average two further outgoing edges per node.
+	 */
+	public static String hamiltonianPath(int nodes, Random random) {
+		StringBuilder sb = new StringBuilder(HAMILTONIAN_PATH_ENCODING);
+		sb.append("node(1..").append(nodes).append(").\n");
+		List<Integer> path = new ArrayList<>(nodes);
+		for (int n = 1; n <= nodes; n++) {
+			path.add(n);
+		}
+		Collections.shuffle(path, random);
+		sb.append("start(").append(path.get(0)).append(").\n");
+		boolean[][] edges = new boolean[nodes + 1][nodes + 1];
+		for (int i = 0; i + 1 < nodes; i++) {
+			edges[path.get(i)][path.get(i + 1)] = true;
+		}
+		double edgeProbability = nodes > 1 ? Math.min(1.0, 2.0 / (nodes - 1)) : 0.0;
+		for (int n = 1; n <= nodes; n++) {
+			for (int m = 1; m <= nodes; m++) {
+				if (n != m && random.nextDouble() < edgeProbability) {
+					edges[n][m] = true;
+				}
+			}
+		}
+		for (int n = 1; n <= nodes; n++) {
+			for (int m = 1; m <= nodes; m++) {
+				if (edges[n][m]) {
+					appendEdge(sb, n, m);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Generates a random 3-SAT problem over the given number of variables. Every clause becomes a constraint forbidding
+	 * all of its literals to be false.
+	 */
+	public static String threeSat(int variables, Random random) {
+		if (variables < 3) {
+			throw new IllegalArgumentException("3-SAT instances require at least three variables.");
+		}
+		StringBuilder sb = new StringBuilder(THREE_SAT_ENCODING);
+		sb.append("var(1..").append(variables).append(").\n");
+		int clauses = (int) Math.round(THREE_SAT_CLAUSE_RATIO * variables);
+		int[] clause = new int[3];
+		for (int c = 0; c < clauses; c++) {
+			for (int i = 0; i < clause.length; i++) {
+				int variable;
+				do {
+					variable = 1 + random.nextInt(variables);
+				} while (contains(clause, i, variable));
+				clause[i] = variable;
+			}
+			sb.append(":- ");
+			for (int i = 0; i < clause.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				// The clause is violated if a positive variable is false or a negative variable is true.
+				sb.append(random.nextBoolean() ? "f(" : "t(").append(clause[i]).append(')');
+			}
+			sb.append(".\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Generates the transitive closure of a random directed graph with the given number of nodes and an average
+	 * out-degree of two. The program is stratified, hence it is solved completely by stratified evaluation.
+	 */
+	public static String transitiveClosure(int nodes, Random random) {
+		StringBuilder sb = new StringBuilder(TRANSITIVE_CLOSURE_ENCODING);
+		double edgeProbability = nodes > 1 ? Math.min(1.0, 2.0 / (nodes - 1)) : 0.0;
+		for (int n = 1; n <= nodes; n++) {
+			for (int m = 1; m <= nodes; m++) {
+				if (n != m && random.nextDouble() < edgeProbability) {
+					appendEdge(sb, n, m);
+				}
+			}
+		}
+		return sb.toString();
+	}
+
+	private static void appendEdge(StringBuilder sb, int from, int to) {
+		sb.append("edge(").append(from).append(", ").append(to).append(").\n");
+	}
+
+	private static boolean contains(int[] values, int length, int value) {
+		for (int i = 0; i < length; i++) {
+			if (values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
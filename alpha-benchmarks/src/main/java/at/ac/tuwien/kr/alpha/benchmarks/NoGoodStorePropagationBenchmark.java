@@ -0,0 +1,119 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.isPositive;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.solver.NoGoodStoreAlphaRoaming;
+import at.ac.tuwien.kr.alpha.core.solver.TrailAssignment;
+
+/**
+ * Benchmarks {@link NoGoodStoreAlphaRoaming#propagate()} on random binary and ternary nogoods. Every invocation makes
+ * a fixed sequence of decisions, propagating after each one until a conflict occurs, and then backjumps to decision
+ * level zero again.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoGoodStorePropagationBenchmark {
+
+	@Param({"1000", "10000"})
+	public int atoms;
+
+	/**
+	 * Number of ternary nogoods per atom, close to the phase transition of random 3-SAT.
+	 */
+	@Param({"4"})
+	public int ternaryNoGoodsPerAtom;
+
+	@Param({"0"})
+	public long seed;
+
+	private TrailAssignment assignment;
+	private NoGoodStoreAlphaRoaming store;
+	private int[] decisions;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(seed);
+		AtomStore atomStore = BenchmarkUtils.filledAtomStore(atoms);
+		assignment = new TrailAssignment(atomStore);
+		assignment.growForMaxAtomId();
+		store = new NoGoodStoreAlphaRoaming(assignment);
+		store.growForMaxAtomId(atomStore.getMaxAtomId());
+		int id = 0;
+		for (int i = 0; i < atoms / 2; i++) {
+			store.add(id++, new NoGood(randomLiterals(random, 2)));
+		}
+		for (int i = 0; i < atoms * ternaryNoGoodsPerAtom; i++) {
+			store.add(id++, new NoGood(randomLiterals(random, 3)));
+		}
+		if (store.propagate() != null) {
+			throw new IllegalStateException("Generated nogoods are inconsistent at decision level zero, choose another seed.");
+		}
+		decisions = new int[atoms];
+		for (int i = 0; i < decisions.length; i++) {
+			decisions[i] = atomToLiteral(1 + random.nextInt(atoms), random.nextBoolean());
+		}
+	}
+
+	private int[] randomLiterals(Random random, int size) {
+		int[] literals = new int[size];
+		for (int i = 0; i < size; i++) {
+			int atom;
+			do {
+				atom = 1 + random.nextInt(atoms);
+			} while (containsAtom(literals, i, atom));
+			literals[i] = atomToLiteral(atom, random.nextBoolean());
+		}
+		return literals;
+	}
+
+	private static boolean containsAtom(int[] literals, int length, int atom) {
+		for (int i = 0; i < length; i++) {
+			if (atomOf(literals[i]) == atom) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public int propagateUntilConflict() {
+		int decisionsMade = 0;
+		for (int decision : decisions) {
+			int atom = atomOf(decision);
+			if (assignment.getTruth(atom) != null) {
+				continue;
+			}
+			decisionsMade++;
+			if (assignment.choose(atom, isPositive(decision)) != null || store.propagate() != null) {
+				break;
+			}
+		}
+		assignment.backjump(0);
+		return decisionsMade;
+	}
+}
@@ -0,0 +1,52 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ac.tuwien.kr.alpha.api.programs.ASPCore2Program;
+import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
+
+/**
+ * Benchmarks {@link ProgramParserImpl#parse(String)} on generated graph colouring programs, which consist mostly of
+ * facts.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	@Param({"1000", "10000"})
+	public int nodes;
+
+	@Param({"0"})
+	public long seed;
+
+	private String program;
+
+	@Setup
+	public void setUp() {
+		program = InstanceGenerators.graphColouring(nodes, new Random(seed));
+	}
+
+	@Benchmark
+	public ASPCore2Program parse() {
+		return new ProgramParserImpl().parse(program);
+	}
+}
@@ -0,0 +1,95 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.api.impl.AlphaImpl;
+import at.ac.tuwien.kr.alpha.api.programs.ASPCore2Program;
+
+/**
+ * End-to-end benchmark of {@link AlphaImpl#solve(ASPCore2Program)} on generated instances of several problem classes.
+ * Every invocation normalizes, preprocesses, grounds and solves the program until the first answer set is found (or
+ * unsatisfiability is proven).
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolvingBenchmark {
+
+	public enum Problem {
+		GRAPH_COLOURING {
+			@Override
+			String generate(int size, Random random) {
+				return InstanceGenerators.graphColouring(size, random);
+			}
+		},
+		HAMILTONIAN_PATH {
+			@Override
+			String generate(int size, Random random) {
+				return InstanceGenerators.hamiltonianPath(size, random);
+			}
+		},
+		THREE_SAT {
+			@Override
+			String generate(int size, Random random) {
+				return InstanceGenerators.threeSat(size, random);
+			}
+		},
+		TRANSITIVE_CLOSURE {
+			@Override
+			String generate(int size, Random random) {
+				return InstanceGenerators.transitiveClosure(size, random);
+			}
+		};
+
+		abstract String generate(int size, Random random);
+	}
+
+	@Param({"GRAPH_COLOURING", "HAMILTONIAN_PATH", "THREE_SAT", "TRANSITIVE_CLOSURE"})
+	public Problem problem;
+
+	@Param({"10", "20", "40"})
+	public int size;
+
+	@Param({"0"})
+	public long seed;
+
+	@Param({"default"})
+	public String solver;
+
+	private Alpha alpha;
+	private ASPCore2Program program;
+
+	@Setup
+	public void setUp() {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setSolverName(solver);
+		cfg.setSeed(seed);
+		alpha = new AlphaImpl(cfg);
+		program = alpha.readProgramString(problem.generate(size, new Random(seed)));
+	}
+
+	@Benchmark
+	public long solveFirstAnswerSet() {
+		return alpha.solve(program).limit(1).count();
+	}
+}
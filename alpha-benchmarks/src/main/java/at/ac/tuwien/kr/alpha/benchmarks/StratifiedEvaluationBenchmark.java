@@ -0,0 +1,59 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.api.programs.NormalProgram;
+import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
+import at.ac.tuwien.kr.alpha.core.programs.AnalyzedProgram;
+import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
+import at.ac.tuwien.kr.alpha.core.programs.transformation.NormalizeProgramTransformation;
+import at.ac.tuwien.kr.alpha.core.programs.transformation.StratifiedEvaluation;
+
+/**
+ * Benchmarks {@link StratifiedEvaluation} (including the preceding program analysis) on the transitive closure of a
+ * random graph.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StratifiedEvaluationBenchmark {
+
+	@Param({"50", "200"})
+	public int nodes;
+
+	@Param({"0"})
+	public long seed;
+
+	private NormalProgram program;
+
+	@Setup
+	public void setUp() {
+		String programString = InstanceGenerators.transitiveClosure(nodes, new Random(seed));
+		program = new NormalizeProgramTransformation(SystemConfig.DEFAULT_AGGREGATE_REWRITING_CONFIG)
+				.apply(new ProgramParserImpl().parse(programString));
+	}
+
+	@Benchmark
+	public InternalProgram evaluate() {
+		return new StratifiedEvaluation().apply(AnalyzedProgram.analyzeNormalProgram(program));
+	}
+}
@@ -0,0 +1,80 @@
+package at.ac.tuwien.kr.alpha.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
+import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
+import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
+import at.ac.tuwien.kr.alpha.commons.substitutions.BasicSubstitution;
+import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
+
+/**
+ * Benchmarks {@link BasicSubstitution#specializeSubstitution(Literal, Instance, Substitution)} for a literal
+ * p(X, Y, Z, X) against random instances, starting from a substitution that already binds Y. Many instances fail to
+ * unify, either due to the binding of Y or due to the repeated variable X.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubstitutionBenchmark {
+	private static final int ARITY = 4;
+	private static final int DOMAIN_SIZE = 2;
+
+	@Param({"1000"})
+	public int instances;
+
+	@Param({"0"})
+	public long seed;
+
+	private Literal literal;
+	private Substitution partialSubstitution;
+	private List<Instance> candidates;
+
+	@Setup
+	public void setUp() {
+		Predicate predicate = Predicates.getPredicate("p", ARITY);
+		VariableTerm x = Terms.newVariable("X");
+		VariableTerm y = Terms.newVariable("Y");
+		VariableTerm z = Terms.newVariable("Z");
+		literal = Atoms.newBasicAtom(predicate, x, y, z, x).toLiteral();
+		partialSubstitution = new BasicSubstitution();
+		partialSubstitution.put(y, Terms.newConstant(0));
+		Random random = new Random(seed);
+		candidates = new ArrayList<>(instances);
+		for (int i = 0; i < instances; i++) {
+			candidates.add(BenchmarkUtils.randomInstance(ARITY, DOMAIN_SIZE, random));
+		}
+	}
+
+	@Benchmark
+	public void specializeSubstitution(Blackhole blackhole) {
+		for (Instance candidate : candidates) {
+			blackhole.consume(BasicSubstitution.specializeSubstitution(literal, candidate, partialSubstitution));
+		}
+	}
+}
@@ -50,6 +50,8 @@
 import at.ac.tuwien.kr.alpha.api.config.BinaryNoGoodPropagationEstimationStrategy;
 import at.ac.tuwien.kr.alpha.api.config.Heuristic;
 import at.ac.tuwien.kr.alpha.api.config.InputConfig;
+import at.ac.tuwien.kr.alpha.api.config.JoinStrategy;
+import at.ac.tuwien.kr.alpha.api.config.RestartStrategy;
 import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
 
 /**
@@ -95,6 +97,8 @@ public class CommandLineParser {
 			.desc("the grounder implementation to use (default: " + SystemConfig.DEFAULT_GROUNDER_NAME + ")").build();
 	private static final Option OPT_SOLVER = Option.builder("s").longOpt("solver").hasArg(true).argName("solver")
 			.desc("the solver implementation to use (default: " + SystemConfig.DEFAULT_SOLVER_NAME + ")").build();
+	private static final Option OPT_PORTFOLIO_SIZE = Option.builder("ps").longOpt("portfolioSize").hasArg(true).argName("number").type(Integer.class)
+			.desc("the number of solvers the portfolio solver runs in parallel (default: number of available processors)").build();
 	private static final Option OPT_NOGOOD_STORE = Option.builder("r").longOpt("store").hasArg(true).argName("store")
 			.desc("the nogood store to use (default: " + SystemConfig.DEFAULT_NOGOOD_STORE_NAME + ")").build();
 	private static final Option OPT_SORT = Option.builder("sort").longOpt("sort").hasArg(false)
@@ -107,6 +111,9 @@ public class CommandLineParser {
 			.desc("run additional (time-consuming) safety checks (default: " + SystemConfig.DEFAULT_DEBUG_INTERNAL_CHECKS + ")").build();
 	private static final Option OPT_BRANCHING_HEURISTIC = Option.builder("b").longOpt("branchingHeuristic").hasArg(true).argName("heuristic")
 			.desc("the branching heuristic to use (default: " + SystemConfig.DEFAULT_BRANCHING_HEURISTIC.name() + ")").build();
+	private static final Option OPT_RESTART_STRATEGY = Option.builder("rs").longOpt("restartStrategy").hasArg(true).argName("strategy")
+			.desc("the restart strategy to use (" + RestartStrategy.listAllowedValues() + ", default: " + SystemConfig.DEFAULT_RESTART_STRATEGY.name() + ")")
+			.build();
 	private static final Option OPT_MOMS_STRATEGY = Option.builder("ms").longOpt("momsStrategy").hasArg(true).argName("strategy")
 			.desc("strategy for mom's heuristic (CountBinaryWatches or BinaryNoGoodPropagation, default: " + SystemConfig.DEFAULT_MOMS_STRATEGY.name() + ")")
 			.build();
@@ -134,6 +141,25 @@ public class CommandLineParser {
 			.desc("disable the deletion of (learned, little active) nogoods (default: " 
 					+ SystemConfig.DEFAULT_DISABLE_NOGOOD_DELETION + ")")
 			.build();
+	private static final Option OPT_NO_NOGOOD_SHARING = Option.builder("dns").longOpt("disableNoGoodSharing")
+			.desc("disable the exchange of short learned nogoods between the workers of the portfolio solver (default: "
+					+ SystemConfig.DEFAULT_DISABLE_NOGOOD_SHARING + ")")
+			.build();
+	private static final Option OPT_FORGETTING_INTERVAL = Option.builder("fi").longOpt("forgettingInterval").hasArg(true).argName("number")
+			.type(Integer.class)
+			.desc("let the grounder forget unassigned atoms after every given number of restarts or answer sets, 0 disables forgetting (default: "
+					+ SystemConfig.DEFAULT_FORGETTING_INTERVAL + ")")
+			.build();
+	private static final Option OPT_FORGETTING_DECISION_LEVEL = Option.builder("fdl").longOpt("forgettingDecisionLevel").hasArg(true)
+			.argName("level").type(Integer.class)
+			.desc("only forget atoms that have not been assigned at this or a lower decision level since the previous forgetting "
+					+ "(default: any decision level)")
+			.build();
+	private static final Option OPT_PIPELINE_GROUNDING = Option.builder("pg").longOpt("pipelineGrounding")
+			.desc("let the grounder run on a thread of its own, overlapping grounding with propagation; "
+					+ "requires the naive grounder and the default or portfolio solver (default: "
+					+ SystemConfig.DEFAULT_PIPELINE_GROUNDING + ")")
+			.build();
 	private static final Option OPT_GROUNDER_TOLERANCE_CONSTRAINTS = Option.builder("gtc").longOpt("grounderToleranceConstraints")
 			.desc("grounder tolerance for constraints (default: " + SystemConfig.DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS + ")")
 			.hasArg().argName("tolerance")
@@ -146,6 +172,10 @@ public class CommandLineParser {
 			.desc("activates the accumulator grounding strategy by disabling removal of instances from grounder memory in certain cases (default: " 
 					+ SystemConfig.DEFAULT_GROUNDER_ACCUMULATOR_ENABLED + ")")
 			.build();
+	private static final Option OPT_JOIN_STRATEGY = Option.builder("js").longOpt("joinStrategy").hasArg(true).argName("strategy")
+			.desc("the strategy for joining body atoms when grounding (" + JoinStrategy.listAllowedValues() + ", default: "
+					+ SystemConfig.DEFAULT_JOIN_STRATEGY.name() + ")")
+			.build();
 	private static final Option OPT_OUTPUT_ATOM_SEPARATOR = Option.builder("sep").longOpt("atomSeparator").hasArg(true).argName("separator")
 			.desc("a character (sequence) to use as separator for atoms in printed answer sets (default: "
 					+ SystemConfig.DEFAULT_ATOM_SEPARATOR + ")")
@@ -171,6 +201,7 @@ public class CommandLineParser {
 
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_SOLVER);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_PORTFOLIO_SIZE);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NOGOOD_STORE);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_SORT);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_DETERMINISTIC);
@@ -178,6 +209,7 @@ public class CommandLineParser {
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_DEBUG_INTERNAL_CHECKS);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_BRANCHING_HEURISTIC);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_MOMS_STRATEGY);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_RESTART_STRATEGY);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_REPLAY_CHOICES);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_QUIET);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_STATS);
@@ -187,9 +219,14 @@ public class CommandLineParser {
 
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_EVAL_STRATIFIED);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_NOGOOD_DELETION);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_NO_NOGOOD_SHARING);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_FORGETTING_INTERVAL);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_FORGETTING_DECISION_LEVEL);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_PIPELINE_GROUNDING);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER_TOLERANCE_CONSTRAINTS);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER_TOLERANCE_RULES);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_GROUNDER_ACCUMULATOR_ENABLED);
+		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_JOIN_STRATEGY);
 		CommandLineParser.CLI_OPTS.addOption(CommandLineParser.OPT_OUTPUT_ATOM_SEPARATOR);
 	}
 
@@ -229,6 +266,7 @@ private void initializeGlobalOptionHandlers() {
 		this.globalOptionHandlers.put(CommandLineParser.OPT_HELP.getOpt(), (o, c) -> { });
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER.getOpt(), this::handleGrounder);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_SOLVER.getOpt(), this::handleSolver);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_PORTFOLIO_SIZE.getOpt(), this::handlePortfolioSize);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NOGOOD_STORE.getOpt(), this::handleNogoodStore);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_SORT.getOpt(), this::handleSort);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_DETERMINISTIC.getOpt(), this::handleDeterministic);
@@ -236,6 +274,7 @@ private void initializeGlobalOptionHandlers() {
 		this.globalOptionHandlers.put(CommandLineParser.OPT_DEBUG_INTERNAL_CHECKS.getOpt(), this::handleInternalChecks);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_BRANCHING_HEURISTIC.getOpt(), this::handleBranchingHeuristic);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_MOMS_STRATEGY.getOpt(), this::handleMomsStrategy);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_RESTART_STRATEGY.getOpt(), this::handleRestartStrategy);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_REPLAY_CHOICES.getOpt(), this::handleReplayChoices);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_QUIET.getOpt(), this::handleQuiet);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_STATS.getOpt(), this::handleStats);
@@ -244,9 +283,14 @@ private void initializeGlobalOptionHandlers() {
 		this.globalOptionHandlers.put(CommandLineParser.OPT_AGGREGATES_NO_NEGATIVE_INTEGERS.getOpt(), this::handleDisableNegativeSumElements);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_EVAL_STRATIFIED.getOpt(), this::handleDisableStratifedEval);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_NOGOOD_DELETION.getOpt(), this::handleNoNoGoodDeletion);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_NO_NOGOOD_SHARING.getOpt(), this::handleNoNoGoodSharing);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_FORGETTING_INTERVAL.getOpt(), this::handleForgettingInterval);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_FORGETTING_DECISION_LEVEL.getOpt(), this::handleForgettingDecisionLevel);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_PIPELINE_GROUNDING.getOpt(), this::handlePipelineGrounding);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER_TOLERANCE_CONSTRAINTS.getOpt(), this::handleGrounderToleranceConstraints);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER_TOLERANCE_RULES.getOpt(), this::handleGrounderToleranceRules);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_GROUNDER_ACCUMULATOR_ENABLED.getOpt(), this::handleGrounderNoInstanceRemoval);
+		this.globalOptionHandlers.put(CommandLineParser.OPT_JOIN_STRATEGY.getOpt(), this::handleJoinStrategy);
 		this.globalOptionHandlers.put(CommandLineParser.OPT_OUTPUT_ATOM_SEPARATOR.getOpt(), this::handleAtomSeparator);
 	}
 
@@ -346,6 +390,15 @@ private void handleSolver(Option opt, SystemConfig cfg) {
 		cfg.setSolverName(opt.getValue(SystemConfig.DEFAULT_SOLVER_NAME));
 	}
 
+	private void handlePortfolioSize(Option opt, SystemConfig cfg) throws ParseException {
+		String optVal = opt.getValue(String.valueOf(SystemConfig.DEFAULT_PORTFOLIO_SIZE));
+		try {
+			cfg.setPortfolioSize(Integer.valueOf(optVal.trim()));
+		} catch (NumberFormatException e) {
+			throw new ParseException("Portfolio size must be an integer, but is: " + optVal);
+		}
+	}
+
 	private void handleNogoodStore(Option opt, SystemConfig cfg) {
 		cfg.setNogoodStoreName(opt.getValue(SystemConfig.DEFAULT_NOGOOD_STORE_NAME));
 	}
@@ -405,6 +458,16 @@ private void handleMomsStrategy(Option opt, SystemConfig cfg) throws ParseExcept
 		}
 	}
 
+	private void handleRestartStrategy(Option opt, SystemConfig cfg) throws ParseException {
+		String restartStrategyName = opt.getValue(SystemConfig.DEFAULT_RESTART_STRATEGY.name());
+		try {
+			cfg.setRestartStrategyName(restartStrategyName);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException("Unknown restart strategy: " + restartStrategyName + ". Please try one of the following: "
+					+ RestartStrategy.listAllowedValues());
+		}
+	}
+
 	private void handleReplayChoices(Option opt, SystemConfig cfg) throws ParseException {
 		String replayChoices = opt.getValue(SystemConfig.DEFAULT_REPLAY_CHOICES.toString());
 		try {
@@ -460,6 +523,32 @@ private void handleNoNoGoodDeletion(Option opt, SystemConfig cfg) {
 		cfg.setDisableNoGoodDeletion(true);
 	}
 
+	private void handleNoNoGoodSharing(Option opt, SystemConfig cfg) {
+		cfg.setDisableNoGoodSharing(true);
+	}
+
+	private void handleForgettingInterval(Option opt, SystemConfig cfg) throws ParseException {
+		String optVal = opt.getValue(String.valueOf(SystemConfig.DEFAULT_FORGETTING_INTERVAL));
+		try {
+			cfg.setForgettingInterval(Integer.valueOf(optVal.trim()));
+		} catch (NumberFormatException e) {
+			throw new ParseException("Forgetting interval must be an integer, but is: " + optVal);
+		}
+	}
+
+	private void handleForgettingDecisionLevel(Option opt, SystemConfig cfg) throws ParseException {
+		String optVal = opt.getValue(String.valueOf(SystemConfig.DEFAULT_FORGETTING_DECISION_LEVEL));
+		try {
+			cfg.setForgettingDecisionLevel(Integer.valueOf(optVal.trim()));
+		} catch (NumberFormatException e) {
+			throw new ParseException("Forgetting decision level must be an integer, but is: " + optVal);
+		}
+	}
+
+	private void handlePipelineGrounding(Option opt, SystemConfig cfg) {
+		cfg.setPipelineGrounding(true);
+	}
+
 	private void handleGrounderToleranceConstraints(Option opt, SystemConfig cfg) {
 		String grounderToleranceConstraints = opt.getValue(SystemConfig.DEFAULT_GROUNDER_TOLERANCE_CONSTRAINTS);
 		cfg.setGrounderToleranceConstraints(grounderToleranceConstraints);
@@ -474,6 +563,16 @@ private void handleGrounderNoInstanceRemoval(Option opt, SystemConfig cfg) {
 		cfg.setGrounderAccumulatorEnabled(true);
 	}
 
+	private void handleJoinStrategy(Option opt, SystemConfig cfg) throws ParseException {
+		String joinStrategyName = opt.getValue(SystemConfig.DEFAULT_JOIN_STRATEGY.name());
+		try {
+			cfg.setJoinStrategyName(joinStrategyName);
+		} catch (IllegalArgumentException e) {
+			throw new ParseException("Unknown join strategy: " + joinStrategyName + ". Please try one of the following: "
+					+ JoinStrategy.listAllowedValues());
+		}
+	}
+
 	private void handleAtomSeparator(Option opt, SystemConfig cfg) {
 		cfg.setAtomSeparator(StringEscapeUtils.unescapeJava(opt.getValue(SystemConfig.DEFAULT_ATOM_SEPARATOR)));
 	}
@@ -39,6 +39,8 @@
 import org.junit.jupiter.api.Test;
 
 import at.ac.tuwien.kr.alpha.api.config.AlphaConfig;
+import at.ac.tuwien.kr.alpha.api.config.JoinStrategy;
+import at.ac.tuwien.kr.alpha.api.config.RestartStrategy;
 
 public class CommandLineParserTest {
 
@@ -181,4 +183,71 @@ public void atomSeparator() throws ParseException {
 		assertEquals("some-string", cfg.getSystemConfig().getAtomSeparator());
 	}
 
+	@Test
+	public void portfolioSize() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "-s", "portfolio", "-ps", "3"});
+		assertEquals("portfolio", cfg.getSystemConfig().getSolverName());
+		assertEquals(3, cfg.getSystemConfig().getPortfolioSize());
+	}
+
+	@Test
+	public void portfolioSizeNonNumeric() {
+		assertThrows(ParseException.class, () -> {
+			CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+			parser.parseCommandLine(new String[]{"-str", "aString.", "-ps", "many"});
+		});
+	}
+
+	@Test
+	public void disableNoGoodSharing() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "-dns"});
+		assertTrue(cfg.getSystemConfig().isDisableNoGoodSharing());
+	}
+
+	@Test
+	public void pipelineGrounding() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "-pg"});
+		assertTrue(cfg.getSystemConfig().isPipelineGrounding());
+	}
+
+	@Test
+	public void restartStrategy() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "-rs", "luby"});
+		assertEquals(RestartStrategy.LUBY, cfg.getSystemConfig().getRestartStrategy());
+	}
+
+	@Test
+	public void restartStrategyUnknown() {
+		assertThrows(ParseException.class, () -> {
+			CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+			parser.parseCommandLine(new String[]{"-str", "aString.", "-rs", "sometimes"});
+		});
+	}
+
+	@Test
+	public void joinStrategy() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString.", "-js", "leapfrog-triejoin"});
+		assertEquals(JoinStrategy.LEAPFROG_TRIEJOIN, cfg.getSystemConfig().getJoinStrategy());
+	}
+
+	@Test
+	public void joinStrategyDefault() throws ParseException {
+		CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+		AlphaConfig cfg = parser.parseCommandLine(new String[]{"-str", "aString."});
+		assertEquals(JoinStrategy.AUTO, cfg.getSystemConfig().getJoinStrategy());
+	}
+
+	@Test
+	public void joinStrategyUnknown() {
+		assertThrows(ParseException.class, () -> {
+			CommandLineParser parser = new CommandLineParser(DEFAULT_COMMAND_LINE, DEFAULT_ABORT_ACTION);
+			parser.parseCommandLine(new String[]{"-str", "aString.", "-js", "hash"});
+		});
+	}
+
 }
@@ -176,7 +176,7 @@ public List<Substitution> getSatisfyingSubstitutions(Substitution partialSubstit
 			// Ground term is another term (constant, or function term).
 			resultTerm = groundTerm;
 		}
-		BasicSubstitution extendedSubstitution = new BasicSubstitution(partialSubstitution);
+		Substitution extendedSubstitution = BasicSubstitution.copyOf(partialSubstitution);
 		extendedSubstitution.put(variable, resultTerm);
 		return Collections.singletonList(extendedSubstitution);
 	}
@@ -196,7 +196,7 @@ private List<Substitution> buildSubstitutionsForOutputs(Substitution partialSubs
 						"Predicate " + getPredicate().getName() + " returned " + bindings.size() + " terms when at least " + externalAtomOutputTerms.size()
 								+ " were expected.");
 			}
-			BasicSubstitution ith = new BasicSubstitution(partialSubstitution);
+			Substitution ith = BasicSubstitution.copyOf(partialSubstitution);
 			boolean skip = false;
 			for (int i = 0; i < externalAtomOutputTerms.size(); i++) {
 				Term out = externalAtomOutputTerms.get(i);
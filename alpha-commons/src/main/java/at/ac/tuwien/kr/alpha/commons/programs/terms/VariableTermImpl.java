@@ -2,11 +2,11 @@
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
 import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
 import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
-import at.ac.tuwien.kr.alpha.commons.util.IntIdGenerator;
 import at.ac.tuwien.kr.alpha.commons.util.Interner;
 
 /**
@@ -16,7 +16,7 @@ class VariableTermImpl extends AbstractTerm implements VariableTerm {
 	private static final Interner<VariableTermImpl> INTERNER = new Interner<>();
 
 	private static final String ANONYMOUS_VARIABLE_PREFIX = "_";
-	private static final IntIdGenerator ANONYMOUS_VARIABLE_COUNTER = new IntIdGenerator();
+	private static final AtomicInteger ANONYMOUS_VARIABLE_COUNTER = new AtomicInteger();
 
 	private final String variableName;
 
@@ -29,7 +29,7 @@ public static VariableTermImpl getInstance(String variableName) {
 	}
 
 	public static VariableTermImpl getAnonymousInstance() {
-		return getInstance(ANONYMOUS_VARIABLE_PREFIX + ANONYMOUS_VARIABLE_COUNTER.getNextId());
+		return getInstance(ANONYMOUS_VARIABLE_PREFIX + ANONYMOUS_VARIABLE_COUNTER.getAndIncrement());
 	}
 
 	@Override
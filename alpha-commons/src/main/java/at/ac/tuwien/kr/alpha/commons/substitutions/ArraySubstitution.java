@@ -0,0 +1,179 @@
+package at.ac.tuwien.kr.alpha.commons.substitutions;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeMap;
+
+import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.commons.util.Util;
+
+/**
+ * A substitution storing the terms of variables in an array, where each variable has a fixed slot given by
+ * {@link VariableSlots}. The slots are computed once, e.g., for all variables of a rule, and are shared by all
+ * substitutions created from them and copied from those, hence copying a substitution only copies the array of terms
+ * and looking up a variable does not compare variable names (variables are interned).
+ *
+ * Binding a variable that has no slot is possible, but derives new slots for the substitution (and its copies).
+ *
+ * Substitutions are equal to {@link BasicSubstitution}s that bind the same variables to the same terms, and have the
+ * same hash code.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class ArraySubstitution implements Substitution {
+	private VariableSlots slots;
+	private Term[] terms;
+
+	public ArraySubstitution(VariableSlots slots) {
+		this.slots = slots;
+		this.terms = new Term[slots.variables.length];
+	}
+
+	public ArraySubstitution(ArraySubstitution clone) {
+		this.slots = clone.slots;
+		this.terms = clone.terms.clone();
+	}
+
+	@Override
+	public Term eval(VariableTerm variableTerm) {
+		int slot = slots.indexOf(variableTerm);
+		return slot < 0 ? null : terms[slot];
+	}
+
+	@Override
+	public <T extends Comparable<T>> Term put(VariableTerm variableTerm, Term groundTerm) {
+		if (!groundTerm.isGround()) {
+			throw Util.oops("Right-hand term is not ground.");
+		}
+		int slot = slots.indexOf(variableTerm);
+		if (slot < 0) {
+			addSlot(variableTerm);
+			slot = slots.indexOf(variableTerm);
+		}
+		Term alreadyAssigned = terms[slot];
+		if (alreadyAssigned != null && alreadyAssigned != groundTerm) {
+			throw Util.oops("Variable is already assigned to another term.");
+		}
+		terms[slot] = groundTerm;
+		return alreadyAssigned;
+	}
+
+	private void addSlot(VariableTerm variableTerm) {
+		VariableTerm[] variables = Arrays.copyOf(slots.variables, slots.variables.length + 1);
+		variables[variables.length - 1] = variableTerm;
+		VariableSlots extendedSlots = new VariableSlots(variables);
+		Term[] extendedTerms = new Term[variables.length];
+		for (int i = 0; i < slots.variables.length; i++) {
+			extendedTerms[extendedSlots.indexOf(slots.variables[i])] = terms[i];
+		}
+		slots = extendedSlots;
+		terms = extendedTerms;
+	}
+
+	@Override
+	public boolean isVariableSet(VariableTerm variable) {
+		return eval(variable) != null;
+	}
+
+	@Override
+	public TreeMap<VariableTerm, Term> getSubstitution() {
+		TreeMap<VariableTerm, Term> substitution = new TreeMap<>();
+		for (int i = 0; i < terms.length; i++) {
+			if (terms[i] != null) {
+				substitution.put(slots.variables[i], terms[i]);
+			}
+		}
+		return substitution;
+	}
+
+	/**
+	 * Prints the variable substitution in a uniform way (sorted by variable names), like {@link BasicSubstitution}.
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder ret = new StringBuilder("{");
+		boolean isFirst = true;
+		for (int i = 0; i < terms.length; i++) {
+			if (terms[i] == null) {
+				continue;
+			}
+			if (isFirst) {
+				isFirst = false;
+			} else {
+				ret.append(",");
+			}
+			ret.append(slots.variables[i]).append("->").append(terms[i]);
+		}
+		ret.append("}");
+		return ret.toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o instanceof ArraySubstitution && ((ArraySubstitution) o).slots == slots) {
+			return Arrays.equals(terms, ((ArraySubstitution) o).terms);
+		}
+		if (o == null || o.getClass() != ArraySubstitution.class && o.getClass() != BasicSubstitution.class) {
+			return false;
+		}
+		return getSubstitution().equals(((Substitution) o).getSubstitution());
+	}
+
+	/**
+	 * Returns the hash code of the mapping from variables to terms, as a {@link java.util.Map} would.
+	 */
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (int i = 0; i < terms.length; i++) {
+			if (terms[i] != null) {
+				hash += slots.variables[i].hashCode() ^ terms[i].hashCode();
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * An assignment of slots to variables, in the order of the variables.
+	 */
+	public static final class VariableSlots {
+		private final VariableTerm[] variables;
+
+		private VariableSlots(VariableTerm[] variables) {
+			Arrays.sort(variables);
+			this.variables = variables;
+		}
+
+		public static VariableSlots of(Collection<VariableTerm> variables) {
+			return new VariableSlots(variables.stream().distinct().toArray(VariableTerm[]::new));
+		}
+
+		/**
+		 * Returns the slot of the given variable, or -1 if it has none.
+		 */
+		int indexOf(VariableTerm variable) {
+			for (int i = 0; i < variables.length; i++) {
+				if (variables[i] == variable) {
+					return i;
+				}
+			}
+			// Variables are interned, but fall back to equality nonetheless.
+			for (int i = 0; i < variables.length; i++) {
+				if (variables[i].equals(variable)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.toString(variables);
+		}
+	}
+}
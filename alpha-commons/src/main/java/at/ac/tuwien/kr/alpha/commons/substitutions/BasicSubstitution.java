@@ -68,6 +68,17 @@ public BasicSubstitution(Substitution clone) {
 		this(new TreeMap<>(clone.getSubstitution()));
 	}
 
+	/**
+	 * Returns a modifiable copy of the given substitution, which is an {@link ArraySubstitution} with the same slots if the
+	 * given substitution is one.
+	 */
+	public static Substitution copyOf(Substitution substitution) {
+		if (substitution instanceof ArraySubstitution) {
+			return new ArraySubstitution((ArraySubstitution) substitution);
+		}
+		return new BasicSubstitution(substitution);
+	}
+
 	public static Substitution specializeSubstitution(Literal literal, Instance instance, Substitution substitution) {
 		return specializeSubstitution(literal.getAtom(), instance, substitution);
 	}
@@ -115,7 +126,7 @@ boolean unifyTerms(Term termNonGround, Term termGround, Substitution partialSubs
 				// Record new variable binding.
 				if (updatedSubstitution == null) {
 					// Clone substitution if it was not yet updated.
-					updatedSubstitution = new BasicSubstitution(partialSubstitution);
+					updatedSubstitution = copyOf(partialSubstitution);
 				}
 				updatedSubstitution.put(variableTerm, termGround);
 				return true;
@@ -226,6 +237,9 @@ public boolean equals(Object o) {
 		if (this == o) {
 			return true;
 		}
+		if (o instanceof ArraySubstitution && getClass() == BasicSubstitution.class) {
+			return o.equals(this);
+		}
 		if (o == null || getClass() != o.getClass()) {
 			return false;
 		}
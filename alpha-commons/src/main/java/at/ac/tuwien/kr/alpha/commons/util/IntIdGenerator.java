@@ -1,13 +1,19 @@
 package at.ac.tuwien.kr.alpha.commons.util;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
 
+import java.util.Arrays;
+
 /**
  * Generates unique, sequential integers starting at 0, i.e., it maintains a counter that is incremented for each getNextId().
+ * IDs handed back by {@link #releaseId(int)} are reused (most recently released first) before the counter is incremented.
  * Copyright (c) 2016, the Alpha Team.
  */
 public class IntIdGenerator implements IdGenerator<Integer> {
 	private int highestId;
+	private int[] releasedIds = new int[0];
+	private int numberOfReleasedIds;
 
 	public IntIdGenerator() {
 		this(0);
@@ -18,16 +24,34 @@ public IntIdGenerator(int initial) {
 	}
 
 	public Integer getNextId() {
+		if (numberOfReleasedIds > 0) {
+			return releasedIds[--numberOfReleasedIds];
+		}
 		if (highestId == Integer.MAX_VALUE) {
 			throw oops("Ran out of IDs (integer overflow)");
 		}
 		return highestId++;
 	}
 
+	/**
+	 * Hands back an ID obtained from {@link #getNextId()} that is not in use any more, such that it is returned again by
+	 * a later call of {@link #getNextId()}. The caller must not release an ID twice.
+	 */
+	public void releaseId(int id) {
+		if (id >= highestId) {
+			throw oops("Released ID " + id + " has not been generated");
+		}
+		if (numberOfReleasedIds == releasedIds.length) {
+			releasedIds = Arrays.copyOf(releasedIds, Math.max(8, arrayGrowthSize(releasedIds.length)));
+		}
+		releasedIds[numberOfReleasedIds++] = id;
+	}
+
 	/**
 	 * Resets the internal counter. Useful for resetting before each test.
 	 */
 	public void resetGenerator() {
 		highestId = 0;
+		numberOfReleasedIds = 0;
 	}
 }
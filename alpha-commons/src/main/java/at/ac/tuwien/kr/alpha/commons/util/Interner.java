@@ -1,26 +1,116 @@
 package at.ac.tuwien.kr.alpha.commons.util;
 
 import java.lang.ref.WeakReference;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Maps equal objects to one canonical instance, which is referenced weakly, i.e., it is dropped from the pool once it
+ * is not used any more.
+ *
+ * The pool is a {@link ConcurrentHashMap}, hence interning an object that is already in the pool does not lock, and
+ * adding one only locks a single bin of the map. Entries whose instance was garbage collected are not tracked by a
+ * reference queue, instead they are removed when found by a lookup, and by a sweep over the whole pool after as many
+ * insertions as the pool had entries after the previous sweep. The sweep is done by one inserting thread at a time while
+ * the others proceed, and costs amortized constant time per insertion.
+ */
 public class Interner<T> {
-	private WeakHashMap<T, WeakReference<T>> pool = new WeakHashMap<>();
-
-	public synchronized T intern(T object) {
-		T res;
-		// (The loop is needed to deal with race
-		// conditions where the GC runs while we are
-		// accessing the 'pool' map or the 'ref' object.)
-		do {
-			WeakReference<T> ref = pool.get(object);
-			if (ref == null) {
-				ref = new WeakReference<>(object);
-				pool.put(object, ref);
-				res = object;
-			} else {
-				res = ref.get();
+	private static final int MINIMUM_INSERTIONS_BEFORE_SWEEP = 1024;
+
+	private final ConcurrentHashMap<WeakKey<T>, WeakKey<T>> pool = new ConcurrentHashMap<>();
+	private final AtomicInteger insertionsSinceSweep = new AtomicInteger();
+	private final AtomicBoolean isSweeping = new AtomicBoolean();
+	private volatile int insertionsBeforeSweep = MINIMUM_INSERTIONS_BEFORE_SWEEP;
+
+	public T intern(T object) {
+		final Lookup lookup = new Lookup(object);
+		while (true) {
+			WeakKey<T> existing = pool.get(lookup);
+			if (existing == null) {
+				final WeakKey<T> key = new WeakKey<>(object, lookup.hash);
+				existing = pool.putIfAbsent(key, key);
+				if (existing == null) {
+					sweepIfNecessary();
+					return object;
+				}
+			}
+			final T interned = existing.get();
+			if (interned != null) {
+				return interned;
+			}
+			// The canonical instance was collected meanwhile, drop its entry and try again.
+			pool.remove(existing, existing);
+		}
+	}
+
+	private void sweepIfNecessary() {
+		if (insertionsSinceSweep.incrementAndGet() < insertionsBeforeSweep || !isSweeping.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			for (WeakKey<T> key : pool.keySet()) {
+				if (key.get() == null) {
+					pool.remove(key, key);
+				}
+			}
+			insertionsBeforeSweep = Math.max(MINIMUM_INSERTIONS_BEFORE_SWEEP, pool.size());
+			insertionsSinceSweep.set(0);
+		} finally {
+			isSweeping.set(false);
+		}
+	}
+
+	/**
+	 * An entry of the pool, which is equal to entries and lookups for equal objects as long as its object is not
+	 * collected, and afterwards only to itself. The hash is kept, such that collected entries can still be removed.
+	 */
+	private static final class WeakKey<T> extends WeakReference<T> {
+		private final int hash;
+
+		private WeakKey(T referent, int hash) {
+			super(referent);
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof WeakKey)) {
+				return false;
 			}
-		} while (res == null);
-		return res;
+			final Object referent = get();
+			return referent != null && hash == ((WeakKey<?>) o).hash && referent.equals(((WeakKey<?>) o).get());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * A strongly referencing key to look up an object in the pool, without creating a weak reference for every lookup.
+	 */
+	private static final class Lookup {
+		private final Object object;
+		private final int hash;
+
+		private Lookup(Object object) {
+			this.object = object;
+			this.hash = object.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof WeakKey && hash == ((WeakKey<?>) o).hash && object.equals(((WeakKey<?>) o).get());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
 	}
-}
\ No newline at end of file
+}
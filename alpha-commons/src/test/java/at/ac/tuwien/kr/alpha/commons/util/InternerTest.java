@@ -0,0 +1,57 @@
+package at.ac.tuwien.kr.alpha.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Interner}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class InternerTest {
+
+	@Test
+	public void equalObjectsAreInternedToTheFirstOne() {
+		Interner<String> interner = new Interner<>();
+		String first = new String("a");
+		assertSame(first, interner.intern(first));
+		assertSame(first, interner.intern(new String("a")));
+	}
+
+	@Test
+	public void concurrentInterningYieldsOneInstancePerValue() throws Exception {
+		final int numberOfThreads = 4;
+		final int numberOfValues = 5000;
+		Interner<String> interner = new Interner<>();
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<Future<String[]>> results = new ArrayList<>();
+			for (int thread = 0; thread < numberOfThreads; thread++) {
+				results.add(executor.submit(() -> {
+					String[] interned = new String[numberOfValues];
+					for (int i = 0; i < numberOfValues; i++) {
+						interned[i] = interner.intern(new String("value" + i));
+					}
+					return interned;
+				}));
+			}
+			String[] expected = results.get(0).get();
+			for (Future<String[]> result : results) {
+				String[] interned = result.get();
+				for (int i = 0; i < numberOfValues; i++) {
+					assertSame(expected[i], interned[i]);
+					assertSame(expected[i], interner.intern(new String("value" + i)));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
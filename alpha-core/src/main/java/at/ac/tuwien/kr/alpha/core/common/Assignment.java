@@ -32,17 +32,14 @@
 
 import java.util.Set;
 
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.core.solver.Antecedent;
 import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
 
-public interface Assignment {
+public interface Assignment extends TruthLookup {
 	Entry get(int atom);
 
-	/**
-	 * Returns the truth value assigned to an atom.
-	 * @param atom the id of the atom.
-	 * @return the truth value; null if atomId is not assigned.
-	 */
+	@Override
 	default ThriceTruth getTruth(int atom) {
 		final Entry entry = get(atom);
 		return entry == null ? null : entry.getTruth();
@@ -62,8 +59,6 @@ default ThriceTruth getTruth(int atom) {
 	 */
 	int getStrongDecisionLevel(int atom);
 
-	boolean isAssigned(int atom);
-
 	/**
 	 * Returns the NoGood that implied the atom.
 	 * @param atom the atom.
@@ -92,6 +87,22 @@ default boolean isUndefined(NoGood noGood) {
 	 */
 	IntIterator getNewPositiveAssignmentsIterator();
 
+	/**
+	 * Returns an iterator over all atoms whose truth value may have changed since the previous such iterator was exhausted,
+	 * i.e., atoms assigned since then and atoms unassigned by backtracking since then. Atoms may be returned more than once.
+	 * Atoms unassigned before the first call of this method are not returned.
+	 * @return an iterator over all atoms whose truth value may have changed.
+	 */
+	IntIterator getChangedAtomsIterator();
+
+	/**
+	 * Returns an iterator over all atoms over the given predicate that are currently assigned (to any truth value), in no
+	 * particular order. The iterator must not be used after the assignment changed.
+	 * @param predicate the predicate.
+	 * @return an iterator over the assigned atoms whose predicate is the given one.
+	 */
+	IntIterator getAssignedAtomsOverPredicate(Predicate predicate);
+
 	/**
 	 * Returns the new assignments to process.
 	 * @return a Pollable that yields the atoms that were newly assigned.
@@ -158,11 +169,6 @@ default boolean violates(NoGood noGood) {
 	 */
 	int getMBTCount();
 
-	/**
-	 * Grows all internal data structures to accommodate for all atoms known.
-	 */
-	void growForMaxAtomId();
-	
 	/**
 	 * @return the number of atoms assigned since the last decision
 	 */
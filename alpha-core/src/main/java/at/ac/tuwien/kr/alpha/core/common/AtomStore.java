@@ -56,7 +56,7 @@ public interface AtomStore {
 	/**
 	 * Translates an atom represented as int into an Atom object.
 	 * @param atom the atom to translate.
-	 * @return the Atom object represented by the int.
+	 * @return the Atom object represented by the int, or null if the ID has been released and not been reused yet.
 	 */
 	Atom get(int atom);
 
@@ -83,6 +83,13 @@ public interface AtomStore {
 	 */
 	boolean contains(Atom groundAtom);
 
+	/**
+	 * Removes the atom with the given ID from the AtomStore, such that the ID is reused for the next atom stored. Callers
+	 * must ensure that the ID is not referenced any more, in particular by nogoods the solver knows.
+	 * @param atom the ID of the atom to remove.
+	 */
+	void release(int atom);
+
 	String atomToString(int atom);
 
 	default String literalToString(int literal) {
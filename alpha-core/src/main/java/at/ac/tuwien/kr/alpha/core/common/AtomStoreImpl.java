@@ -29,10 +29,7 @@
 
 
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
 import at.ac.tuwien.kr.alpha.commons.util.IntIdGenerator;
@@ -42,18 +39,26 @@
 
 /**
  * This class stores ground atoms and provides the translation from an (integer) atomId to a (structured) predicate instance.
+ *
+ * Atoms are stored by one thread at a time, but while one thread stores atoms, others may translate atom IDs and obtain
+ * the maximum atom ID (cf. {@link at.ac.tuwien.kr.alpha.core.grounder.PipelinedGrounder}). Translating atoms into IDs is
+ * only safe while no atoms are stored.
+ *
+ * Atoms are translated into IDs by an open-addressing hash table holding the IDs themselves, which are compared by
+ * looking up the stored atoms. Unlike a map from atoms to boxed IDs, this needs no entry and no Integer object per
+ * atom, but only one int slot of the table.
  */
 public class AtomStoreImpl implements AtomStore {
-	private final List<Atom> atomIdsToInternalBasicAtoms = new ArrayList<>();
-	private final Map<Atom, Integer> predicateInstancesToAtomIds = new HashMap<>();
+	// Published by writing maxAtomId after the array and its entries, hence readers must read maxAtomId first.
+	private volatile Atom[] atomIdsToInternalBasicAtoms = new Atom[16];
+	private volatile int maxAtomId;
+	// Hash table of atom IDs, with slot value 0 (the reserved ID of falsum) denoting an empty slot. It is at most half full.
+	private int[] atomIdsByHash = new int[32];
 	private final IntIdGenerator atomIdGenerator = new IntIdGenerator(1);
 	private final AtomCounter atomCounter = new AtomCounter();
 
-	private final List<Integer> releasedAtomIds = new ArrayList<>();	// contains atomIds ready to be garbage collected if necessary.
-
 	public AtomStoreImpl() {
-		// Create atomId for falsum (currently not needed, but it gets atomId 0, which cannot represent a negated literal).
-		atomIdsToInternalBasicAtoms.add(null);
+		// AtomId 0 is reserved for falsum (currently not needed, but it cannot represent a negated literal).
 	}
 
 	@Override
@@ -62,36 +67,103 @@ public int putIfAbsent(Atom groundAtom) {
 			throw new IllegalArgumentException("Atom must be ground: " + groundAtom);
 		}
 
-		Integer id = predicateInstancesToAtomIds.get(groundAtom);
+		int slot = findSlot(groundAtom);
+		int id = atomIdsByHash[slot];
 
-		if (id == null) {
+		if (id == 0) {
 			id = atomIdGenerator.getNextId();
-			predicateInstancesToAtomIds.put(groundAtom, id);
-			atomIdsToInternalBasicAtoms.add(id, groundAtom);
+			Atom[] atoms = atomIdsToInternalBasicAtoms;
+			if (id >= atoms.length) {
+				atoms = Arrays.copyOf(atoms, Util.arrayGrowthSize(atoms.length));
+			}
+			// The ID may also have been released earlier and be reused now.
+			atoms[id] = groundAtom;
+			atomIdsToInternalBasicAtoms = atoms;
+			if (id > maxAtomId) {
+				maxAtomId = id;
+			}
+			atomIdsByHash[slot] = id;
+			if (2 * id > atomIdsByHash.length) {
+				rehash();
+			}
 			atomCounter.add(groundAtom);
 		}
 
 		return id;
 	}
 
+	/**
+	 * Returns the slot of the hash table holding the ID of the given atom, or the empty slot where it would be inserted.
+	 */
+	private int findSlot(Atom atom) {
+		final Atom[] atoms = atomIdsToInternalBasicAtoms;
+		final int mask = atomIdsByHash.length - 1;
+		int slot = spread(atom.hashCode()) & mask;
+		while (atomIdsByHash[slot] != 0 && !atoms[atomIdsByHash[slot]].equals(atom)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void rehash() {
+		final Atom[] atoms = atomIdsToInternalBasicAtoms;
+		final int[] newAtomIdsByHash = new int[2 * atomIdsByHash.length];
+		final int mask = newAtomIdsByHash.length - 1;
+		for (int id = 1; id <= maxAtomId; id++) {
+			if (atoms[id] == null) {
+				continue;
+			}
+			int slot = spread(atoms[id].hashCode()) & mask;
+			while (newAtomIdsByHash[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			newAtomIdsByHash[slot] = id;
+		}
+		atomIdsByHash = newAtomIdsByHash;
+	}
+
+	private static int spread(int hash) {
+		// Mix the high bits into the low ones used for indexing, since atom hash codes may differ in their high bits only.
+		final int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
 	@Override
 	public boolean contains(Atom groundAtom) {
-		return predicateInstancesToAtomIds.containsKey(groundAtom);
+		return atomIdsByHash[findSlot(groundAtom)] != 0;
 	}
 
-	/**
-	 * Removes the given atom from the AtomStoreImpl.
-	 * @param atomId
-	 */
-	public void releaseAtomId(int atomId) {
-		releasedAtomIds.add(atomId);
-		// HINT: Additionally removing the terms used in the instance might be beneficial in some cases.
+	@Override
+	public void release(int atomId) {
+		final Atom atom = get(atomId);
+		if (atom == null) {
+			throw Util.oops("Atom ID is not in use: " + atomId);
+		}
+		// Backward-shift deletion keeps the probe sequences of the remaining atoms free of empty slots.
+		final int mask = atomIdsByHash.length - 1;
+		int hole = findSlot(atom);
+		int next = (hole + 1) & mask;
+		while (atomIdsByHash[next] != 0) {
+			final int home = spread(atomIdsToInternalBasicAtoms[atomIdsByHash[next]].hashCode()) & mask;
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				atomIdsByHash[hole] = atomIdsByHash[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		atomIdsByHash[hole] = 0;
+		atomIdsToInternalBasicAtoms[atomId] = null;
+		atomCounter.remove(atom);
+		atomIdGenerator.releaseId(atomId);
 	}
 
 	public String printAtomIdTermMapping() {
 		StringBuilder ret = new StringBuilder();
-		for (Map.Entry<Atom, Integer> entry : predicateInstancesToAtomIds.entrySet()) {
-			ret.append(entry.getValue()).append(" <-> ").append(entry.getKey().toString()).append(System.lineSeparator());
+		for (int id = 1; id <= maxAtomId; id++) {
+			if (atomIdsToInternalBasicAtoms[id] == null) {
+				continue;
+			}
+			ret.append(id).append(" <-> ").append(atomIdsToInternalBasicAtoms[id].toString()).append(System.lineSeparator());
 		}
 		return ret.toString();
 	}
@@ -108,21 +180,24 @@ public boolean isAtomChoicePoint(int atom) {
 
 	@Override
 	public int getMaxAtomId() {
-		return atomIdsToInternalBasicAtoms.size() - 1;
+		return maxAtomId;
 	}
 
 	@Override
 	public Atom get(int atom) {
-		try {
-			return atomIdsToInternalBasicAtoms.get(atom);
-		} catch (IndexOutOfBoundsException e) {
-			throw Util.oops("Unknown atom ID encountered: " + atom, e);
+		if (atom < 0 || atom > maxAtomId) {
+			throw Util.oops("Unknown atom ID encountered: " + atom);
 		}
+		return atomIdsToInternalBasicAtoms[atom];
 	}
 
 	@Override
 	public int get(Atom atom) {
-		return predicateInstancesToAtomIds.get(atom);
+		int id = atomIdsByHash[findSlot(atom)];
+		if (id == 0) {
+			throw Util.oops("Unknown atom encountered: " + atom);
+		}
+		return id;
 	}
 
 	@Override
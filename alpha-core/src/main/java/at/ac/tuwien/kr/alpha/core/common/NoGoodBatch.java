@@ -0,0 +1,96 @@
+package at.ac.tuwien.kr.alpha.core.common;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of nogoods and their IDs, as passed from the grounder to the solver. Unlike a map from IDs to nogoods, the
+ * IDs are kept unboxed in an array parallel to the nogoods, and a batch is meant to be cleared and refilled instead of
+ * allocating a new one for every transfer. Nogoods are kept in the order they were added.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class NoGoodBatch {
+	private int[] ids = new int[16];
+	private NoGood[] noGoods = new NoGood[16];
+	private int size;
+
+	private final List<NoGood> noGoodsView = new AbstractList<NoGood>() {
+		@Override
+		public NoGood get(int index) {
+			return getNoGood(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	};
+
+	public void add(int id, NoGood noGood) {
+		if (size == ids.length) {
+			final int newCapacity = arrayGrowthSize(size);
+			ids = Arrays.copyOf(ids, newCapacity);
+			noGoods = Arrays.copyOf(noGoods, newCapacity);
+		}
+		ids[size] = id;
+		noGoods[size] = noGood;
+		size++;
+	}
+
+	public void addAll(NoGoodBatch other) {
+		for (int i = 0; i < other.size; i++) {
+			add(other.ids[i], other.noGoods[i]);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int getId(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for batch of size " + size);
+		}
+		return ids[index];
+	}
+
+	public NoGood getNoGood(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for batch of size " + size);
+		}
+		return noGoods[index];
+	}
+
+	/**
+	 * Returns an unmodifiable view of the nogoods in this batch, which reflects later changes of the batch.
+	 */
+	public List<NoGood> getNoGoods() {
+		return noGoodsView;
+	}
+
+	/**
+	 * Removes all nogoods from this batch, keeping its capacity.
+	 */
+	public void clear() {
+		Arrays.fill(noGoods, 0, size, null);
+		size = 0;
+	}
+
+	public Map<Integer, NoGood> toMap() {
+		Map<Integer, NoGood> map = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			map.put(ids[i], noGoods[i]);
+		}
+		return map;
+	}
+}
@@ -0,0 +1,26 @@
+package at.ac.tuwien.kr.alpha.core.common;
+
+import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
+
+/**
+ * The truth values an assignment gives to atoms, which is all the grounder needs to know of the assignment when
+ * grounding.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public interface TruthLookup {
+
+	/**
+	 * Returns the truth value assigned to an atom.
+	 * @param atom the id of the atom.
+	 * @return the truth value; null if atomId is not assigned.
+	 */
+	ThriceTruth getTruth(int atom);
+
+	boolean isAssigned(int atom);
+
+	/**
+	 * Grows all internal data structures to accommodate for all atoms known.
+	 */
+	void growForMaxAtomId();
+}
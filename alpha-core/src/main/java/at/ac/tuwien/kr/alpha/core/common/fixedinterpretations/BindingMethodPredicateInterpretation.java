@@ -27,10 +27,8 @@
  */
 package at.ac.tuwien.kr.alpha.core.common.fixedinterpretations;
 
-import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Set;
@@ -40,59 +38,51 @@
 import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
 
 public class BindingMethodPredicateInterpretation implements BindingPredicateInterpretation {
-	private final Method method;
+	private final CompiledMethod method;
 
 	public BindingMethodPredicateInterpretation(Method method) {
 		if (!method.getReturnType().equals(Set.class)) {
 			throw new IllegalArgumentException("method must return Set");
 		}
 
-		this.method = method;
+		this.method = new CompiledMethod(method);
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public Set<List<ConstantTerm<?>>> evaluate(List<Term> terms) {
+		final String name = method.getMethod().getName();
 		if (terms.size() != method.getParameterCount()) {
 			throw new IllegalArgumentException(
-					"Parameter count mismatch when calling " + method.getName() + ". " +
+					"Parameter count mismatch when calling " + name + ". " +
 							"Expected " + method.getParameterCount() + " parameters but got " + terms.size() + ".");
 		}
 
-		final Class<?>[] parameterTypes = method.getParameterTypes();
-
-		final Object[] arguments = new Object[terms.size()];
-
-		for (int i = 0; i < arguments.length; i++) {
+		for (int i = 0; i < terms.size(); i++) {
 			if (!(terms.get(i) instanceof ConstantTerm)) {
 				throw new IllegalArgumentException(
-						"Expected only constants as input for " + method.getName() + ", but got " +
+						"Expected only constants as input for " + name + ", but got " +
 								"something else at position " + i + ".");
 			}
 
-			arguments[i] = ((ConstantTerm<?>) terms.get(i)).getObject();
-
-			final Class<?> expected = parameterTypes[i];
-			final Class<?> actual = arguments[i].getClass();
-
-			if (expected.isAssignableFrom(actual)) {
-				continue;
-			}
+			final Object argument = ((ConstantTerm<?>) terms.get(i)).getObject();
 
-			if (expected.isPrimitive() && ClassUtils.primitiveToWrapper(expected).isAssignableFrom(actual)) {
+			if (method.accepts(i, argument)) {
 				continue;
 			}
 
 			throw new IllegalArgumentException(
-					"Parameter type mismatch when calling " + method.getName() +
-							" at position " + i + ". Expected " + expected + " but got " +
-							actual + ".");
+					"Parameter type mismatch when calling " + name +
+							" at position " + i + ". Expected " + method.getParameterType(i) + " but got " +
+							argument.getClass() + ".");
 		}
 
 		try {
-			return (Set<List<ConstantTerm<?>>>) method.invoke(null, arguments);
-		} catch (IllegalAccessException | InvocationTargetException ex) {
-			throw new RuntimeException("Error invoking method " + method + "with args [" + StringUtils.join(arguments) + "], expection is: " + ex.getMessage());
+			return (Set<List<ConstantTerm<?>>>) method.invoke(terms);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new RuntimeException("Error invoking method " + method.getMethod() + "with args [" + StringUtils.join(terms, ", ") + "], expection is: " + t.getMessage());
 		}
 	}
 }
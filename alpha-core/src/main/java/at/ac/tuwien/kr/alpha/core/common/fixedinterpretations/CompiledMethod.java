@@ -0,0 +1,99 @@
+package at.ac.tuwien.kr.alpha.core.common.fixedinterpretations;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import org.apache.commons.lang3.ClassUtils;
+
+import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+
+/**
+ * A static method implementing an external predicate, compiled into a {@link MethodHandle} once, such that calling it
+ * needs no reflection. The handle takes and returns {@link Object}s and unboxes arguments for primitive parameters
+ * (e.g. {@code int} or {@code long}) itself. Methods with up to {@link #MAX_ARITY_WITHOUT_ARRAY} parameters are called
+ * without allocating an argument array.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class CompiledMethod {
+	private static final int MAX_ARITY_WITHOUT_ARRAY = 3;
+
+	private final Method method;
+	private final Class<?>[] parameterTypes;
+	private final Class<?>[] boxedParameterTypes;
+	private final MethodHandle handle;
+
+	CompiledMethod(Method method) {
+		if (!Modifier.isStatic(method.getModifiers())) {
+			throw new IllegalArgumentException("Method " + method + " must be static.");
+		}
+		this.method = method;
+		this.parameterTypes = method.getParameterTypes();
+		this.boxedParameterTypes = new Class<?>[parameterTypes.length];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			boxedParameterTypes[i] = ClassUtils.primitiveToWrapper(parameterTypes[i]);
+		}
+		final MethodHandle directHandle;
+		try {
+			directHandle = MethodHandles.publicLookup().unreflect(method);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Method " + method + " is not accessible.", e);
+		}
+		if (parameterTypes.length <= MAX_ARITY_WITHOUT_ARRAY) {
+			this.handle = directHandle.asType(MethodType.genericMethodType(parameterTypes.length));
+		} else {
+			this.handle = directHandle.asSpreader(Object[].class, parameterTypes.length).asType(MethodType.methodType(Object.class, Object[].class));
+		}
+	}
+
+	Method getMethod() {
+		return method;
+	}
+
+	int getParameterCount() {
+		return parameterTypes.length;
+	}
+
+	Class<?> getParameterType(int position) {
+		return parameterTypes[position];
+	}
+
+	/**
+	 * Returns whether the given argument can be passed for the parameter at the given position, i.e., whether it is an
+	 * instance of the parameter type, or of its wrapper type if the parameter is primitive.
+	 */
+	boolean accepts(int position, Object argument) {
+		return boxedParameterTypes[position].isInstance(argument);
+	}
+
+	/**
+	 * Calls the method with the values of the given constants, which must be accepted by their parameters.
+	 */
+	Object invoke(List<? extends Term> constants) throws Throwable {
+		switch (parameterTypes.length) {
+			case 0:
+				return handle.invokeExact();
+			case 1:
+				return handle.invokeExact(valueAt(constants, 0));
+			case 2:
+				return handle.invokeExact(valueAt(constants, 0), valueAt(constants, 1));
+			case 3:
+				return handle.invokeExact(valueAt(constants, 0), valueAt(constants, 1), valueAt(constants, 2));
+			default:
+				final Object[] arguments = new Object[parameterTypes.length];
+				for (int i = 0; i < arguments.length; i++) {
+					arguments[i] = valueAt(constants, i);
+				}
+				return handle.invokeExact(arguments);
+		}
+	}
+
+	private static Object valueAt(List<? extends Term> constants, int position) {
+		return ((ConstantTerm<?>) constants.get(position)).getObject();
+	}
+}
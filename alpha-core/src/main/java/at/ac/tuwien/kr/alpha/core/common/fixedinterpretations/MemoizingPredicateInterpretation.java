@@ -0,0 +1,59 @@
+package at.ac.tuwien.kr.alpha.core.common.fixedinterpretations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import at.ac.tuwien.kr.alpha.api.common.fixedinterpretations.PredicateInterpretation;
+import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+
+/**
+ * Caches the results of a pure {@link PredicateInterpretation}, i.e., one whose result only depends on its arguments, by
+ * the list of (ground) arguments it is evaluated with. The cache holds at most a fixed number of argument lists and is
+ * cleared when it is full, which keeps memory bounded for externals evaluated with ever new arguments.
+ *
+ * Instances are thread-safe if the wrapped interpretation is. The sets returned for equal arguments are shared and must
+ * not be modified.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class MemoizingPredicateInterpretation implements PredicateInterpretation {
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	private final PredicateInterpretation interpretation;
+	private final int capacity;
+	private final Map<List<Term>, Set<List<ConstantTerm<?>>>> results = new ConcurrentHashMap<>();
+
+	public MemoizingPredicateInterpretation(PredicateInterpretation interpretation) {
+		this(interpretation, DEFAULT_CAPACITY);
+	}
+
+	public MemoizingPredicateInterpretation(PredicateInterpretation interpretation, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive, but is " + capacity + ".");
+		}
+		this.interpretation = interpretation;
+		this.capacity = capacity;
+	}
+
+	@Override
+	public Set<List<ConstantTerm<?>>> evaluate(List<Term> terms) {
+		Set<List<ConstantTerm<?>>> result = results.get(terms);
+		if (result != null) {
+			return result;
+		}
+		result = interpretation.evaluate(terms);
+		if (result == null) {
+			return null;
+		}
+		if (results.size() >= capacity) {
+			results.clear();
+		}
+		// Copy the arguments, the caller may reuse its list.
+		results.put(new ArrayList<>(terms), result);
+		return result;
+	}
+}
@@ -27,16 +27,13 @@
  */
 package at.ac.tuwien.kr.alpha.core.common.fixedinterpretations;
 
-import org.apache.commons.lang3.ClassUtils;
-
 import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 
 public class MethodPredicateInterpretation extends NonBindingPredicateInterpretation {
-	private final Method method;
+	private final CompiledMethod method;
 
 	public MethodPredicateInterpretation(Method method) {
 		super(method.getParameterCount());
@@ -45,38 +42,30 @@ public MethodPredicateInterpretation(Method method) {
 			throw new IllegalArgumentException("method must return boolean");
 		}
 
-		this.method = method;
+		this.method = new CompiledMethod(method);
 	}
 
 	@Override
 	protected boolean test(List<ConstantTerm<?>> terms) {
-		final Class<?>[] parameterTypes = method.getParameterTypes();
-		final Object[] arguments = new Object[terms.size()];
-
-		for (int i = 0; i < arguments.length; i++) {
-			arguments[i] = terms.get(i).getObject();
-
-			final Class<?> expected = parameterTypes[i];
-			final Class<?> actual = arguments[i].getClass();
-
-			if (expected.isAssignableFrom(actual)) {
-				continue;
-			}
+		for (int i = 0; i < terms.size(); i++) {
+			final Object argument = terms.get(i).getObject();
 
-			if (expected.isPrimitive() && ClassUtils.primitiveToWrapper(expected).isAssignableFrom(actual)) {
+			if (method.accepts(i, argument)) {
 				continue;
 			}
 
 			throw new IllegalArgumentException(
-				"Parameter type mismatch at position " + i + ". Expected " + expected + " but got " +
-					actual + "."
+				"Parameter type mismatch at position " + i + ". Expected " + method.getParameterType(i) + " but got " +
+					argument.getClass() + "."
 			);
 		}
 
 		try {
-			return (boolean) method.invoke(null, arguments);
-		} catch (IllegalAccessException | InvocationTargetException e) {
-			throw new RuntimeException(e);
+			return (boolean) method.invoke(terms);
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new RuntimeException(t);
 		}
 	}
 }
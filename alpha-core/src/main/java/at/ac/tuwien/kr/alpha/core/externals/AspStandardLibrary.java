@@ -70,7 +70,7 @@ private AspStandardLibrary() {
 	 * @param format   a format string that is accepted by {@link DateTimeFormatter}
 	 * @return a 6-value integer tuple of format (YEAR, MONTH, DAY, HOUR, MIN, SEC)
 	 */
-	@Predicate(name = "stdlib_datetime_parse")
+	@Predicate(name = "stdlib_datetime_parse", pure = true)
 	public static Set<List<ConstantTerm<Integer>>> datetimeParse(String dtstr, String format) {
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
 		LocalDateTime datetime = LocalDateTime.parse(dtstr, formatter);
@@ -100,7 +100,7 @@ public static Set<List<ConstantTerm<Integer>>> datetimeParse(String dtstr, Strin
 	 * @param dt2Second the second field for dt2
 	 * @return true if dt1 is before dt2 in time, false otherwise
 	 */
-	@Predicate(name = "stdlib_datetime_is_before")
+	@Predicate(name = "stdlib_datetime_is_before", pure = true)
 	public static boolean datetimeIsBefore(int dt1Year, int dt1Month, int dt1Day, int dt1Hour, int dt1Minute, int dt1Second,
 			int dt2Year, int dt2Month, int dt2Day, int dt2Hour, int dt2Minute, int dt2Second) {
 		LocalDateTime dt1 = LocalDateTime.of(dt1Year, dt1Month, dt1Day, dt1Hour, dt1Minute, dt1Second);
@@ -128,7 +128,7 @@ public static boolean datetimeIsBefore(int dt1Year, int dt1Month, int dt1Day, in
 	 * @param dt2Second the second field for dt2
 	 * @return true if dt1 is equal to dt2, false otherwise
 	 */
-	@Predicate(name = "stdlib_datetime_is_equal")
+	@Predicate(name = "stdlib_datetime_is_equal", pure = true)
 	public static boolean datetimeIsEqual(int dt1Year, int dt1Month, int dt1Day, int dt1Hour, int dt1Minute, int dt1Second,
 			int dt2Year, int dt2Month, int dt2Day, int dt2Hour, int dt2Minute, int dt2Second) {
 		LocalDateTime dt1 = LocalDateTime.of(dt1Year, dt1Month, dt1Day, dt1Hour, dt1Minute, dt1Second);
@@ -157,7 +157,7 @@ public static boolean datetimeIsEqual(int dt1Year, int dt1Month, int dt1Day, int
 	 * @return true if dt1 is before dt2 in time or both dt1 and dt2 denote the same
 	 *         point in time, false otherwise
 	 */
-	@Predicate(name = "stdlib_datetime_is_before_or_equal")
+	@Predicate(name = "stdlib_datetime_is_before_or_equal", pure = true)
 	public static boolean datetimeIsBeforeOrEqual(int dt1Year, int dt1Month, int dt1Day, int dt1Hour, int dt1Minute, int dt1Second,
 			int dt2Year, int dt2Month, int dt2Day, int dt2Hour, int dt2Minute, int dt2Second) {
 		LocalDateTime dt1 = LocalDateTime.of(dt1Year, dt1Month, dt1Day, dt1Hour, dt1Minute, dt1Second);
@@ -180,7 +180,7 @@ public static boolean datetimeIsBeforeOrEqual(int dt1Year, int dt1Month, int dt1
 	 * @return a string representing the given datetime in the format specified by
 	 *         the format string
 	 */
-	@Predicate(name = "stdlib_datetime_to_string")
+	@Predicate(name = "stdlib_datetime_to_string", pure = true)
 	public static Set<List<ConstantTerm<String>>> datetimeToString(int year, int month, int day, int hours, int minutes, int seconds, String format) {
 		LocalDateTime datetime = LocalDateTime.of(year, month, day, hours, minutes, seconds);
 		DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
@@ -190,7 +190,7 @@ public static Set<List<ConstantTerm<String>>> datetimeToString(int year, int mon
 	/**
 	 * Checks whether the given string matches the given regex.
 	 */
-	@Predicate(name = "stdlib_string_matches_regex")
+	@Predicate(name = "stdlib_string_matches_regex", pure = true)
 	public static boolean stringMatchesRegex(String str, String regex) {
 		return str.matches(regex);
 	}
@@ -198,7 +198,7 @@ public static boolean stringMatchesRegex(String str, String regex) {
 	/**
 	 * Returns the length of the given string
 	 */
-	@Predicate(name = "stdlib_string_length")
+	@Predicate(name = "stdlib_string_length", pure = true)
 	public static Set<List<ConstantTerm<Integer>>> stringLength(String str) {
 		return Collections.singleton(Terms.asTermList(str.length()));
 	}
@@ -206,7 +206,7 @@ public static Set<List<ConstantTerm<Integer>>> stringLength(String str) {
 	/**
 	 * Concatenates the two given strings
 	 */
-	@Predicate(name = "stdlib_string_concat")
+	@Predicate(name = "stdlib_string_concat", pure = true)
 	public static Set<List<ConstantTerm<String>>> stringConcat(String s1, String s2) {
 		return Collections.singleton(Terms.asTermList(s1 + s2));
 	}
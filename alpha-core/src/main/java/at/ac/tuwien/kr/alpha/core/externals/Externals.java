@@ -28,6 +28,7 @@
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +49,7 @@
 import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.BindingMethodPredicateInterpretation;
 import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.IntPredicateInterpretation;
 import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.LongPredicateInterpretation;
+import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.MemoizingPredicateInterpretation;
 import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.MethodPredicateInterpretation;
 import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.SuppliedPredicateInterpretation;
 import at.ac.tuwien.kr.alpha.core.common.fixedinterpretations.UnaryPredicateInterpretation;
@@ -63,10 +65,18 @@ private Externals() {
 	 * Returns a map of external definitions making up the "standard library" of
 	 * externals that are always available in programs for Alpha.
 	 * This method scans all predicate-annotated methods in the package holding the
-	 * class {@link AspStandardLibrary}.
+	 * class {@link AspStandardLibrary} once and returns a new copy of the result on every call, so that parsers running
+	 * concurrently neither scan the class path at the same time nor share a mutable map.
 	 */
 	public static Map<String, PredicateInterpretation> getStandardLibraryExternals() {
-		return Externals.scan(AspStandardLibrary.class.getPackage());
+		return new HashMap<>(StandardLibrary.EXTERNALS);
+	}
+
+	/**
+	 * Holds the scanned standard library, which is initialized (thread-safely) on first access.
+	 */
+	private static final class StandardLibrary {
+		private static final Map<String, PredicateInterpretation> EXTERNALS = Collections.unmodifiableMap(Externals.scan(AspStandardLibrary.class.getPackage()));
 	}
 
 	public static Map<String, PredicateInterpretation> scan(Package basePackage) {
@@ -100,16 +110,19 @@ private static Map<String, PredicateInterpretation> scanMethods(Iterable<Method>
 	}
 
 	public static PredicateInterpretation processPredicateMethod(Method method) {
+		final PredicateInterpretation interpretation;
 		if (method.getReturnType().equals(boolean.class)) {
-			return new MethodPredicateInterpretation(method);
+			interpretation = new MethodPredicateInterpretation(method);
+		} else if (method.getGenericReturnType().getTypeName().startsWith(PredicateInterpretation.EVALUATE_RETURN_TYPE_NAME_PREFIX)) {
+			interpretation = new BindingMethodPredicateInterpretation(method);
+		} else {
+			throw new IllegalArgumentException("Passed method has unexpected return type. Should be either boolean or start with "
+				+ PredicateInterpretation.EVALUATE_RETURN_TYPE_NAME_PREFIX + ".");
 		}
-
-		if (method.getGenericReturnType().getTypeName().startsWith(PredicateInterpretation.EVALUATE_RETURN_TYPE_NAME_PREFIX)) {
-			return new BindingMethodPredicateInterpretation(method);
+		if (method.isAnnotationPresent(Predicate.class) && method.getAnnotation(Predicate.class).pure()) {
+			return new MemoizingPredicateInterpretation(interpretation);
 		}
-
-		throw new IllegalArgumentException("Passed method has unexpected return type. Should be either boolean or start with "
-			+ PredicateInterpretation.EVALUATE_RETURN_TYPE_NAME_PREFIX + ".");
+		return interpretation;
 	}
 
 	public static <T> PredicateInterpretation processPredicate(java.util.function.Predicate<T> predicate) {
@@ -37,17 +37,20 @@
 
 import java.util.*;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.ChoiceAtom.off;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.ChoiceAtom.on;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.*;
 import static java.util.Collections.emptyList;
 
 public class ChoiceRecorder {
-	private static final IntIdGenerator ID_GENERATOR = new IntIdGenerator();
+	private final IntIdGenerator idGenerator = new IntIdGenerator();
 
 	private final AtomStore atomStore;
 	private Pair<Map<Integer, Integer>, Map<Integer, Integer>> newChoiceAtoms = new ImmutablePair<>(new LinkedHashMap<>(), new LinkedHashMap<>());
 	private Map<Integer, Set<Integer>> newHeadsToBodies = new LinkedHashMap<>();
+	// For each atom representing a rule body, the ID of its choice plus one, or zero if there is none.
+	private int[] choiceIdsOfBodies = new int[0];
 
 	public ChoiceRecorder(AtomStore atomStore) {
 		this.atomStore = atomStore;
@@ -74,8 +77,12 @@ public Map<Integer, Set<Integer>> getAndResetHeadsToBodies() {
 	
 	public List<NoGood> generateChoiceNoGoods(final List<Integer> posLiterals, final List<Integer> negLiterals, final int bodyRepresentingLiteral) {
 		// Obtain an ID for this new choice.
-		final int choiceId = ID_GENERATOR.getNextId();
+		final int choiceId = idGenerator.getNextId();
 		final int bodyRepresentingAtom = atomOf(bodyRepresentingLiteral);
+		if (bodyRepresentingAtom >= choiceIdsOfBodies.length) {
+			choiceIdsOfBodies = Arrays.copyOf(choiceIdsOfBodies, Math.max(bodyRepresentingAtom + 1, arrayGrowthSize(choiceIdsOfBodies.length)));
+		}
+		choiceIdsOfBodies[bodyRepresentingAtom] = choiceId + 1;
 		// Create ChoiceOn and ChoiceOff atoms.
 		final int choiceOnAtom = atomStore.putIfAbsent(on(choiceId));
 		newChoiceAtoms.getLeft().put(bodyRepresentingAtom, choiceOnAtom);
@@ -106,6 +113,25 @@ private List<NoGood> generateNeg(final int atomOff, List<Integer> negLiterals)
 		return noGoods;
 	}
 
+	/**
+	 * @return the ID of the choice of the given atom representing a rule body, or -1 if the rule body has no choice.
+	 */
+	int getChoiceId(int bodyRepresentingAtom) {
+		return bodyRepresentingAtom < choiceIdsOfBodies.length ? choiceIdsOfBodies[bodyRepresentingAtom] - 1 : -1;
+	}
+
+	/**
+	 * Forgets the choice of the given atom representing a rule body, whose choice atoms have been released, such that the
+	 * choice ID is reused for a later choice.
+	 */
+	void releaseChoice(int bodyRepresentingAtom) {
+		final int choiceId = getChoiceId(bodyRepresentingAtom);
+		if (choiceId >= 0) {
+			idGenerator.releaseId(choiceId);
+			choiceIdsOfBodies[bodyRepresentingAtom] = 0;
+		}
+	}
+
 	public void addHeadToBody(int headId, int bodyId) {
 		Set<Integer> existingBodies = newHeadsToBodies.get(headId);
 		if (existingBodies == null) {
@@ -27,6 +27,7 @@
  */
 package at.ac.tuwien.kr.alpha.core.grounder;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +37,7 @@
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.IntIterator;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodBatch;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.RuleAtom;
 
 public interface Grounder {
@@ -52,6 +54,29 @@ public interface Grounder {
 	 */
 	Map<Integer, NoGood> getNoGoods(Assignment assignment);
 
+	/**
+	 * Applies lazy grounding and adds all newly derived (fully ground) NoGoods to the given batch, which spares the
+	 * solver a new map for every call.
+	 * @param assignment the current assignment.
+	 * @param newNoGoods the batch to which new NoGoods and their IDs are added.
+	 */
+	default void getNoGoods(Assignment assignment, NoGoodBatch newNoGoods) {
+		for (Map.Entry<Integer, NoGood> noGoodEntry : getNoGoods(assignment).entrySet()) {
+			newNoGoods.add(noGoodEntry.getKey(), noGoodEntry.getValue());
+		}
+	}
+
+	/**
+	 * Waits until the nogoods derived from all assignments passed to {@link #getNoGoods(Assignment)} so far are available,
+	 * for grounders that derive nogoods asynchronously. The solver must call this method before it considers the ground
+	 * program complete, e.g., before closing unassigned atoms.
+	 * @return true iff nogoods were pending, in which case they (and the corresponding choice points) are returned by the
+	 * next call of {@link #getNoGoods(Assignment, NoGoodBatch)}.
+	 */
+	default boolean awaitPendingNoGoods() {
+		return false;
+	}
+
 	/**
 	 * Return choice points and their enablers and disablers.
 	 * Must be preceeded by a call to getNoGoods().
@@ -72,7 +97,15 @@ public interface Grounder {
 	 */
 	Map<Integer, Set<Integer>> getHeadsToBodies();
 
-	void forgetAssignment(int[] atomIds);
+	/**
+	 * Informs the grounder that the given atoms are unassigned and inactive, such that it may drop what it keeps for them:
+	 * their instances in working memory, ground rules that are derived again once their bodies become relevant, and atoms
+	 * that occur in no remaining ground rule, whose IDs are released. Atoms that become assigned again later are reported
+	 * by {@link #updateAssignment} as usual.
+	 * @param atoms the unassigned atoms that may be forgotten; on return, it contains exactly the released atoms, all
+	 *              nogoods containing them must be removed by the solver before it asks for new nogoods.
+	 */
+	void forgetAtoms(BitSet atoms);
 
 	/**
 	 * Registers the given NoGood and returns the identifier of it.
@@ -33,16 +33,30 @@
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
 import at.ac.tuwien.kr.alpha.core.grounder.bridges.Bridge;
 import at.ac.tuwien.kr.alpha.core.programs.CompiledProgram;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 
 public final class GrounderFactory {
+	/**
+	 * Creates a grounder that assigns enumeration indices using the given {@link Enumerations}, which must be shared by all
+	 * grounders of the same solving run and no others.
+	 */
 	public static Grounder getInstance(String name, CompiledProgram program, AtomStore atomStore, java.util.function.Predicate<Predicate> filter,
-			GrounderHeuristicsConfiguration heuristicsConfiguration, boolean debugInternalChecks, Bridge... bridges) {
+			GrounderHeuristicsConfiguration heuristicsConfiguration, Enumerations enumerations, boolean debugInternalChecks, Bridge... bridges) {
 		switch (name.toLowerCase()) {
 			case "naive":
-				return new NaiveGrounder(program, atomStore, filter, heuristicsConfiguration, debugInternalChecks, bridges);
+				return new NaiveGrounder(program, atomStore, filter, heuristicsConfiguration, enumerations, debugInternalChecks, bridges);
 		}
 		throw new IllegalArgumentException("Unknown grounder requested.");
 	}
+
+	/**
+	 * Creates a grounder with enumeration indices of its own, i.e., it must be the only grounder of its solving run.
+	 */
+	public static Grounder getInstance(String name, CompiledProgram program, AtomStore atomStore, java.util.function.Predicate<Predicate> filter,
+			GrounderHeuristicsConfiguration heuristicsConfiguration, boolean debugInternalChecks, Bridge... bridges) {
+		return getInstance(name, program, atomStore, filter, heuristicsConfiguration, new Enumerations(program.getEnumerations()), debugInternalChecks,
+				bridges);
+	}
 	
 	public static Grounder getInstance(String name, CompiledProgram program, AtomStore atomStore, java.util.function.Predicate<Predicate> filter,
 			GrounderHeuristicsConfiguration heuristicsConfiguration, boolean debugInternalChecks) {
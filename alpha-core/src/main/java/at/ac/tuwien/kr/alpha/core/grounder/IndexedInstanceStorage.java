@@ -27,14 +27,17 @@
  */
 package at.ac.tuwien.kr.alpha.core.grounder;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.IntPredicate;
 
 import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
@@ -42,35 +45,78 @@
 import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
 
 /**
- * A storage for instances with a certain arity, where each position of the instance can be indexed.
- * This aids in matching and joining instances. An index can be added or removed at any time for a desired position of
- * all instances.
+ * A storage for instances with a certain arity, where combinations of positions of the instances can be indexed.
+ * This aids in matching and joining instances.
+ *
+ * Instances are not stored as {@link Instance} objects but encoded by the {@link TermDictionary} of the storage, i.e.,
+ * as the IDs of their terms. The encoded instances are rows of one flat int array, which are referred to by their row
+ * numbers in the hash table used for containment checks, in the indices and in the sorted views for leapfrog triejoins.
+ * Hashing and comparing instances thereby only involves integers, and an instance takes one int per term plus a few
+ * table slots instead of an instance object, a term list and hash set entries. {@link Instance} objects are only created
+ * for the instances returned by lookups. Rows of removed instances are reused by instances added later.
+ *
+ * An index on a set of positions maps the IDs of the terms at these positions to all instances having them. Indices are
+ * created on demand, i.e., when instances matching a partially ground atom are requested for the first time with the
+ * ground terms at some positions, an index on exactly these positions is created. Thereby, the indices correspond to the
+ * bound-variable patterns occurring in the grounding orders of the rules, and a lookup with several ground terms
+ * directly yields the matching instances instead of the instances matching at the most selective single position.
+ * An index can also be added or removed at any time for a single position. Index keys over up to two positions are
+ * packed into a single long. Looking up a term that was never encoded immediately yields no instances.
  * Copyright (c) 2016-2020, the Alpha Team.
  */
 public class IndexedInstanceStorage {
+	/**
+	 * Sets of positions are represented as bit masks, hence only the first positions of instances can be indexed.
+	 * Ground terms at positions beyond are ignored for lookups, which yields a superset of the matching instances.
+	 */
+	private static final int MAX_INDEXED_POSITIONS = Long.SIZE;
+
+	private static final int NO_ROW = -1;
+
 	private final Predicate predicate;
 	private final boolean positive;
+	private final int arity;
+	private final TermDictionary termDictionary;
+
+	/**
+	 * The encoded instances, the IDs of the terms of the instance in row {@code r} are at indices {@code r * arity} to
+	 * {@code (r + 1) * arity - 1}.
+	 */
+	private int[] rows;
+	private int numberOfRows;
+	private final BitSet usedRows = new BitSet();
+	private int[] freeRows = new int[8];
+	private int numberOfFreeRows;
+
+	/**
+	 * Hash table of the used rows by the IDs of their terms, with linear probing. A slot holds the row number plus one,
+	 * zero denotes an empty slot. The table is at most half full.
+	 */
+	private int[] rowsByHash = new int[8];
 
 	/**
-	 * A collection of all instances currently stored in this storage.
+	 * All indices currently maintained, each for a distinct set of positions.
 	 */
-	private final LinkedHashSet<Instance> instances = new LinkedHashSet<>();
+	private final ArrayList<Index> indices = new ArrayList<>();
 
 	/**
-	 * For each position, a mapping of termIds to list of instances with this termId at the corresponding position
+	 * The used rows sorted lexicographically by the IDs at some sequence of positions, as used for leapfrog triejoins.
+	 * They are updated when requested after instances were added or removed.
 	 */
-	private final ArrayList<HashMap<Term, ArrayList<Instance>>> indices = new ArrayList<>();
+	private final ArrayList<SortedRows> sortedRows = new ArrayList<>();
 
 	private final ArrayList<Instance> recentlyAddedInstances = new ArrayList<>();
 
 	public IndexedInstanceStorage(Predicate predicate, boolean positive) {
+		this(predicate, positive, new TermDictionary());
+	}
+
+	public IndexedInstanceStorage(Predicate predicate, boolean positive, TermDictionary termDictionary) {
 		this.predicate = predicate;
 		this.positive = positive;
-
-		// Create list of mappings, initialize to null.
-		while (indices.size() < predicate.getArity()) {
-			indices.add(null);
-		}
+		this.arity = predicate.getArity();
+		this.termDictionary = termDictionary;
+		this.rows = new int[8 * arity];
 	}
 
 	public Predicate getPredicate() {
@@ -82,27 +128,23 @@ public void markRecentlyAddedInstancesDone() {
 	}
 
 	public void addIndexPosition(int position) {
-		if (position < 0 || position > predicate.getArity() - 1) {
-			throw new RuntimeException("Requested to create indices for attribute out of range." +
-					"IndexedInstanceStorage: " + this + "  requested indices position: " + position);
-		}
-		// Add index
-		indices.set(position, new LinkedHashMap<>());
+		checkIndexPosition(position);
+		getOrCreateIndex(1L << position);
+	}
 
-		// Initialize index with all instances currently used.
-		for (Instance instance : instances) {
-			indices.get(position).putIfAbsent(instance.terms.get(position), new ArrayList<>());
-			ArrayList<Instance> instancesAtPosition = indices.get(position).get(instance.terms.get(position));
-			instancesAtPosition.add(instance);
+	public void removeIndexPosition(int position) {
+		checkIndexPosition(position);
+		Index index = getIndex(1L << position);
+		if (index != null) {
+			indices.remove(index);
 		}
 	}
 
-	public void removeIndexPosition(int position) {
-		if (position < 0 || position > predicate.getArity() - 1) {
+	private void checkIndexPosition(int position) {
+		if (position < 0 || position > arity - 1 || position >= MAX_INDEXED_POSITIONS) {
 			throw new RuntimeException("Requested to create indices for attribute out of range." +
 					"IndexedInstanceStorage: " + this + "  requested indices position: " + position);
 		}
-		indices.set(position, null);
 	}
 
 	/**
@@ -112,26 +154,37 @@ public void removeIndexPosition(int position) {
 	 * @return true if the instance is already contained in the storage.
 	 */
 	public boolean containsInstance(Instance instance) {
-		return instances.contains(instance);
+		int[] ids = lookup(instance.terms);
+		return ids != null && rowsByHash[findSlot(ids)] != 0;
 	}
 
 	public void addInstance(Instance instance) {
-		if (instance.terms.size() != predicate.getArity()) {
+		if (instance.terms.size() != arity) {
 			throw new RuntimeException("Instance length does not match arity of IndexedInstanceStorage: " +
 					"instance size: " + instance.terms.size()
 					+ " IndexedInstanceStorage: " + this);
 		}
-		instances.add(instance);
+		int[] ids = new int[arity];
+		for (int i = 0; i < arity; i++) {
+			ids[i] = termDictionary.encode(instance.terms.get(i));
+		}
+		int slot = findSlot(ids);
+		if (rowsByHash[slot] != 0) {
+			return;
+		}
+		int row = allocateRow();
+		System.arraycopy(ids, 0, rows, row * arity, arity);
+		rowsByHash[slot] = row + 1;
+		if (2 * size() > rowsByHash.length) {
+			rehash();
+		}
 		recentlyAddedInstances.add(instance);
+		for (SortedRows sorted : sortedRows) {
+			sorted.addedRows.add(row);
+		}
 		// Add instance to all indices.
-		for (int i = 0; i < indices.size(); i++) {
-			HashMap<Term, ArrayList<Instance>> posIndex = indices.get(i);
-			if (posIndex == null) {
-				continue;
-			}
-			posIndex.putIfAbsent(instance.terms.get(i), new ArrayList<>());
-			ArrayList<Instance> matchingInstancesAtPos = posIndex.get(instance.terms.get(i));
-			matchingInstancesAtPos.add(instance); // Add instance
+		for (Index index : indices) {
+			index.add(row);
 		}
 	}
 
@@ -140,22 +193,24 @@ public void removeInstance(Instance instance) {
 			// Hint: exception may be replaced by removing the instance also from the list of recentlyAddedInstances.
 			throw new RuntimeException("Instance is removed while there are unprocessed new instances; Result dubious.");
 		}
+		int[] ids = lookup(instance.terms);
+		if (ids == null) {
+			return;
+		}
+		int slot = findSlot(ids);
+		if (rowsByHash[slot] == 0) {
+			return;
+		}
+		int row = rowsByHash[slot] - 1;
+		removeSlot(slot);
 		// Remove from all indices
-		for (int i = 0; i < indices.size(); i++) {
-			HashMap<Term, ArrayList<Instance>> posIndex = indices.get(i);
-			if (posIndex == null) {
-				continue;
-			}
-			ArrayList<Instance> matchingInstancesAtPos = posIndex.get(instance.terms.get(i));
-			matchingInstancesAtPos.remove(instance); // Remove instance
-
-			// If there are no more instances having the term at the current position,
-			// remove the entry from the hash.
-			if (matchingInstancesAtPos.size() == 0) {
-				posIndex.remove(instance.terms.get(i));
-			}
+		for (Index index : indices) {
+			index.remove(row);
+		}
+		freeRow(row);
+		for (SortedRows sorted : sortedRows) {
+			sorted.removedRows.set(row);
 		}
-		instances.remove(instance);
 	}
 
 	public List<Instance> getRecentlyAddedInstances() {
@@ -163,61 +218,522 @@ public List<Instance> getRecentlyAddedInstances() {
 	}
 
 	/**
-	 * Returns a list of all instances having the given term at the given position. Returns null if no such
-	 * instances exist.
+	 * Returns a list of all instances having the given term at the given position. Returns an empty list if no such
+	 * instances exist. The position is indexed if it is not indexed yet.
 	 * 
 	 * @param term
 	 * @param position
 	 * @return
 	 */
 	public List<Instance> getInstancesMatchingAtPosition(Term term, int position) {
-		Map<Term, ArrayList<Instance>> indexForPosition = indices.get(position);
-		if (indexForPosition == null) {
-			throw new RuntimeException("IndexedInstanceStorage queried for position " + position + " which is not indexed.");
-		}
-		ArrayList<Instance> matchingInstances = indexForPosition.get(term);
-		return matchingInstances == null ? Collections.emptyList() : matchingInstances;
-	}
-
-	private int getMostSelectiveGroundTermPosition(Atom atom) {
-		int smallestNumberOfInstances = Integer.MAX_VALUE;
-		int mostSelectiveTermPosition = -1;
-		for (int i = 0; i < atom.getTerms().size(); i++) {
-			Term testTerm = atom.getTerms().get(i);
-			if (testTerm.isGround()) {
-				ArrayList<Instance> instancesMatchingTest = indices.get(i).get(testTerm);
-				if (instancesMatchingTest == null) {
-					// Ground term at i matches zero instances, it is most selective.
-					return i;
-				}
-				int numInstancesTestTerm = instancesMatchingTest.size();
-				if (numInstancesTestTerm < smallestNumberOfInstances) {
-					smallestNumberOfInstances = numInstancesTestTerm;
-					mostSelectiveTermPosition = i;
-				}
+		checkIndexPosition(position);
+		return getOrCreateIndex(1L << position).get(Collections.singletonList(term), 1L);
+	}
+
+	/**
+	 * Returns the set of positions at which the given atom has ground terms, as a bit mask.
+	 */
+	private static long getGroundTermPositions(Atom atom) {
+		List<Term> terms = atom.getTerms();
+		long positions = 0;
+		for (int i = 0; i < terms.size() && i < MAX_INDEXED_POSITIONS; i++) {
+			if (terms.get(i).isGround()) {
+				positions |= 1L << i;
 			}
 		}
-		return mostSelectiveTermPosition;
+		return positions;
 	}
 
+	/**
+	 * Returns all instances having the same terms as the given atom at all positions where the atom has ground terms.
+	 * The instances are obtained from an index on exactly these positions, which is created if it does not exist yet.
+	 */
 	public List<Instance> getInstancesFromPartiallyGroundAtom(Atom substitute) {
-		// For selection of the instances, find ground term on which to select.
-		int firstGroundTermPosition = getMostSelectiveGroundTermPosition(substitute);
-		// Select matching instances, select all if no ground term was found.
-		if (firstGroundTermPosition != -1) {
-			Term firstGroundTerm = substitute.getTerms().get(firstGroundTermPosition);
-			return getInstancesMatchingAtPosition(firstGroundTerm, firstGroundTermPosition);
-		} else {
-			return new ArrayList<>(getAllInstances());
+		long groundTermPositions = getGroundTermPositions(substitute);
+		// Select all instances if no ground term was found.
+		if (groundTermPositions == 0) {
+			List<Instance> instances = new ArrayList<>(size());
+			for (int row = usedRows.nextSetBit(0); row >= 0; row = usedRows.nextSetBit(row + 1)) {
+				instances.add(decode(row));
+			}
+			return instances;
 		}
+		return getOrCreateIndex(groundTermPositions).get(substitute.getTerms(), groundTermPositions);
 	}
 
+	/**
+	 * Estimates the number of instances matching an atom whose terms are ground exactly at the positions satisfying
+	 * {@code isBoundPosition}. The estimate is based on the index over a subset of these positions with the most distinct
+	 * combinations of terms, assuming instances to be distributed uniformly over these combinations. If there is no
+	 * such index, all instances are expected to match.
+	 * 
+	 * @param isBoundPosition tests whether the term at a position is ground.
+	 * @return the estimated number of matching instances.
+	 */
+	public double estimateNumberOfMatchingInstances(IntPredicate isBoundPosition) {
+		long boundPositions = 0;
+		for (int i = 0; i < arity && i < MAX_INDEXED_POSITIONS; i++) {
+			if (isBoundPosition.test(i)) {
+				boundPositions |= 1L << i;
+			}
+		}
+		int distinctKeys = 1;
+		for (Index index : indices) {
+			if ((index.positions & ~boundPositions) == 0) {
+				distinctKeys = Math.max(distinctKeys, index.rowsByKey.size());
+			}
+		}
+		return (double) size() / distinctKeys;
+	}
+
+	/**
+	 * Returns the number of instances in the storage.
+	 */
+	public int size() {
+		return numberOfRows - numberOfFreeRows;
+	}
+
+	/**
+	 * Returns a new set of all instances currently stored in this storage, in the order they were added (as long as no
+	 * instance was removed).
+	 */
 	public Set<Instance> getAllInstances() {
+		Set<Instance> instances = new LinkedHashSet<>();
+		for (int row = usedRows.nextSetBit(0); row >= 0; row = usedRows.nextSetBit(row + 1)) {
+			instances.add(decode(row));
+		}
 		return instances;
 	}
 
+	/**
+	 * Returns the rows of all instances, sorted lexicographically by the IDs of their terms at the given sequence of
+	 * positions, i.e., first by the ID at {@code positionOrder[0]}, then by the ID at {@code positionOrder[1]}, and so
+	 * on. The IDs of the rows are obtained by {@link #getTermId(int, int)}. The returned array is shared and must not be
+	 * modified; it is valid until instances are added or removed.
+	 *
+	 * The sorted rows are kept for later calls and brought up to date incrementally: rows of removed instances are
+	 * dropped and rows of instances added since are sorted on their own and merged in. Hence a call without instances
+	 * added or removed since the previous one returns the same array, and otherwise only the added rows are sorted.
+	 * 
+	 * @param positionOrder the positions to sort by.
+	 * @return the sorted rows.
+	 */
+	int[] getRowsSortedBy(int[] positionOrder) {
+		for (SortedRows sorted : sortedRows) {
+			if (Arrays.equals(sorted.positionOrder, positionOrder)) {
+				return sorted.update();
+			}
+		}
+		int[] rowsToSort = new int[size()];
+		int i = 0;
+		for (int row = usedRows.nextSetBit(0); row >= 0; row = usedRows.nextSetBit(row + 1)) {
+			rowsToSort[i++] = row;
+		}
+		SortedRows sorted = new SortedRows(positionOrder.clone(), sortRows(rowsToSort, positionOrder));
+		sortedRows.add(sorted);
+		return sorted.rows;
+	}
+
+	private int compareRows(int row1, int row2, int[] positionOrder) {
+		for (int position : positionOrder) {
+			int result = Integer.compare(getTermId(row1, position), getTermId(row2, position));
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Sorts the given rows by the IDs at the given sequence of positions, by a bottom-up merge sort on the primitive row
+	 * numbers. The given array may be reused for the result.
+	 */
+	private int[] sortRows(int[] rowsToSort, int[] positionOrder) {
+		int[] source = rowsToSort;
+		int[] target = new int[rowsToSort.length];
+		for (int width = 1; width < source.length; width <<= 1) {
+			for (int from = 0; from < source.length; from += 2 * width) {
+				int middle = Math.min(from + width, source.length);
+				int to = Math.min(from + 2 * width, source.length);
+				merge(source, from, middle, source, middle, to, target, from, positionOrder);
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		return source;
+	}
+
+	/**
+	 * Merges the sorted ranges {@code left[leftFrom, leftTo)} and {@code right[rightFrom, rightTo)} into {@code target}
+	 * starting at {@code targetFrom}, taking rows from the left range first if they compare equal.
+	 */
+	private void merge(int[] left, int leftFrom, int leftTo, int[] right, int rightFrom, int rightTo, int[] target, int targetFrom,
+			int[] positionOrder) {
+		int i = leftFrom;
+		int j = rightFrom;
+		int k = targetFrom;
+		while (i < leftTo && j < rightTo) {
+			target[k++] = compareRows(right[j], left[i], positionOrder) < 0 ? right[j++] : left[i++];
+		}
+		System.arraycopy(left, i, target, k, leftTo - i);
+		System.arraycopy(right, j, target, k + leftTo - i, rightTo - j);
+	}
+
+	/**
+	 * Returns the ID in the {@link TermDictionary} of the term at the given position of the instance in the given row.
+	 */
+	int getTermId(int row, int position) {
+		return rows[row * arity + position];
+	}
+
+	public TermDictionary getTermDictionary() {
+		return termDictionary;
+	}
+
+	/**
+	 * Returns the IDs of the given terms, or {@code null} if one of them has not been encoded, i.e., no instance has it.
+	 */
+	private int[] lookup(List<Term> terms) {
+		if (terms.size() != arity) {
+			return null;
+		}
+		int[] ids = new int[arity];
+		for (int i = 0; i < arity; i++) {
+			ids[i] = termDictionary.lookup(terms.get(i));
+			if (ids[i] == TermDictionary.NOT_ENCODED) {
+				return null;
+			}
+		}
+		return ids;
+	}
+
+	private Instance decode(int row) {
+		Term[] terms = new Term[arity];
+		for (int i = 0; i < arity; i++) {
+			terms[i] = termDictionary.decode(rows[row * arity + i]);
+		}
+		return new Instance(terms);
+	}
+
+	private int allocateRow() {
+		int row;
+		if (numberOfFreeRows > 0) {
+			row = freeRows[--numberOfFreeRows];
+		} else {
+			row = numberOfRows++;
+			if (row * arity + arity > rows.length) {
+				rows = Arrays.copyOf(rows, Math.max(row * arity + arity, arrayGrowthSize(rows.length)));
+			}
+		}
+		usedRows.set(row);
+		return row;
+	}
+
+	private void freeRow(int row) {
+		usedRows.clear(row);
+		if (numberOfFreeRows == freeRows.length) {
+			freeRows = Arrays.copyOf(freeRows, arrayGrowthSize(freeRows.length));
+		}
+		freeRows[numberOfFreeRows++] = row;
+	}
+
+	private static int hash(int[] ids) {
+		return spread(Arrays.hashCode(ids));
+	}
+
+	private int hashOfRow(int row) {
+		int result = 1;
+		for (int i = row * arity; i < row * arity + arity; i++) {
+			result = 31 * result + rows[i];
+		}
+		return spread(result);
+	}
+
+	private static int spread(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private boolean rowEquals(int row, int[] ids) {
+		for (int i = 0; i < arity; i++) {
+			if (rows[row * arity + i] != ids[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the slot of the hash table holding the row of the instance with the given IDs, or the empty slot where it
+	 * would be inserted.
+	 */
+	private int findSlot(int[] ids) {
+		final int mask = rowsByHash.length - 1;
+		int slot = hash(ids) & mask;
+		while (rowsByHash[slot] != 0 && !rowEquals(rowsByHash[slot] - 1, ids)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Empties the given slot of the hash table, moving back later rows of the same probe sequence into the gap.
+	 */
+	private void removeSlot(int slot) {
+		final int mask = rowsByHash.length - 1;
+		int gap = slot;
+		for (int next = (gap + 1) & mask; rowsByHash[next] != 0; next = (next + 1) & mask) {
+			int home = hashOfRow(rowsByHash[next] - 1) & mask;
+			// The row may fill the gap if the gap lies on its probe sequence, i.e., between its home slot and its slot.
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				rowsByHash[gap] = rowsByHash[next];
+				gap = next;
+			}
+		}
+		rowsByHash[gap] = 0;
+	}
+
+	private void rehash() {
+		final int[] newRowsByHash = new int[2 * rowsByHash.length];
+		final int mask = newRowsByHash.length - 1;
+		for (int row = usedRows.nextSetBit(0); row >= 0; row = usedRows.nextSetBit(row + 1)) {
+			int slot = hashOfRow(row) & mask;
+			while (newRowsByHash[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			newRowsByHash[slot] = row + 1;
+		}
+		rowsByHash = newRowsByHash;
+	}
+
+	private Index getIndex(long positions) {
+		for (Index index : indices) {
+			if (index.positions == positions) {
+				return index;
+			}
+		}
+		return null;
+	}
+
+	private Index getOrCreateIndex(long positions) {
+		Index index = getIndex(positions);
+		if (index == null) {
+			index = new Index(positions);
+			// Initialize index with all instances currently used.
+			for (int row = usedRows.nextSetBit(0); row >= 0; row = usedRows.nextSetBit(row + 1)) {
+				index.add(row);
+			}
+			indices.add(index);
+		}
+		return index;
+	}
+
 	@Override
 	public String toString() {
 		return (positive ? "+" : "-") + predicate;
 	}
+
+	/**
+	 * The rows sorted by the IDs at some sequence of positions, together with the changes to the storage not merged in
+	 * yet. A removed row may be reused by an instance added later, hence it is in both {@link #removedRows} and
+	 * {@link #addedRows} then.
+	 */
+	private class SortedRows {
+		private final int[] positionOrder;
+		private int[] rows;
+		private final RowList addedRows = new RowList();
+		private final BitSet removedRows = new BitSet();
+
+		SortedRows(int[] positionOrder, int[] rows) {
+			this.positionOrder = positionOrder;
+			this.rows = rows;
+		}
+
+		/**
+		 * Brings the sorted rows up to date, i.e., drops all removed rows and merges in all added ones still in use.
+		 */
+		int[] update() {
+			if (addedRows.size == 0 && removedRows.isEmpty()) {
+				return rows;
+			}
+			int[] remainingRows = rows;
+			int numberOfRemainingRows = rows.length;
+			if (!removedRows.isEmpty()) {
+				remainingRows = new int[rows.length];
+				numberOfRemainingRows = 0;
+				for (int row : rows) {
+					if (!removedRows.get(row)) {
+						remainingRows[numberOfRemainingRows++] = row;
+					}
+				}
+			}
+			// Rows added several times (since they were removed in between) are merged in once.
+			final BitSet distinctAddedRows = new BitSet();
+			int[] newRows = new int[addedRows.size];
+			int numberOfNewRows = 0;
+			for (int i = 0; i < addedRows.size; i++) {
+				int row = addedRows.rows[i];
+				if (usedRows.get(row) && !distinctAddedRows.get(row)) {
+					distinctAddedRows.set(row);
+					newRows[numberOfNewRows++] = row;
+				}
+			}
+			newRows = sortRows(Arrays.copyOf(newRows, numberOfNewRows), positionOrder);
+			// A new array is created, since arrays returned before may still be in use.
+			int[] updatedRows = new int[numberOfRemainingRows + numberOfNewRows];
+			merge(remainingRows, 0, numberOfRemainingRows, newRows, 0, numberOfNewRows, updatedRows, 0, positionOrder);
+			rows = updatedRows;
+			addedRows.clear();
+			removedRows.clear();
+			return rows;
+		}
+	}
+
+	/**
+	 * An index on a set of positions, mapping the IDs of the terms of an instance at these positions to the rows of the
+	 * instances having them.
+	 */
+	private class Index {
+		private final long positions;
+		private final HashMap<Key, RowList> rowsByKey = new HashMap<>();
+
+		Index(long positions) {
+			this.positions = positions;
+		}
+
+		/**
+		 * Returns the key of the given terms at the positions of this index, where {@code termPositions} are the positions
+		 * of the given terms that correspond to the positions of this index, or {@code null} if a term has not been encoded,
+		 * since no instance has it then.
+		 */
+		private Key project(List<Term> terms, long termPositions) {
+			int[] ids = new int[Long.bitCount(positions)];
+			int k = 0;
+			for (long remaining = termPositions; remaining != 0; remaining &= remaining - 1) {
+				int id = termDictionary.lookup(terms.get(Long.numberOfTrailingZeros(remaining)));
+				if (id == TermDictionary.NOT_ENCODED) {
+					return null;
+				}
+				ids[k++] = id;
+			}
+			return Key.of(ids);
+		}
+
+		private Key project(int row) {
+			int[] ids = new int[Long.bitCount(positions)];
+			int k = 0;
+			for (long remaining = positions; remaining != 0; remaining &= remaining - 1) {
+				ids[k++] = getTermId(row, Long.numberOfTrailingZeros(remaining));
+			}
+			return Key.of(ids);
+		}
+
+		void add(int row) {
+			rowsByKey.computeIfAbsent(project(row), k -> new RowList()).add(row);
+		}
+
+		void remove(int row) {
+			Key key = project(row);
+			RowList matchingRows = rowsByKey.get(key);
+			if (matchingRows == null) {
+				return;
+			}
+			matchingRows.remove(row);
+			// If there are no more instances having these terms, remove the entry from the hash.
+			if (matchingRows.size == 0) {
+				rowsByKey.remove(key);
+			}
+		}
+
+		/**
+		 * Returns the instances having the given terms at the positions of this index, where {@code termPositions} are the
+		 * positions of the given terms that correspond to the positions of this index.
+		 */
+		List<Instance> get(List<Term> terms, long termPositions) {
+			Key key = project(terms, termPositions);
+			RowList matchingRows = key == null ? null : rowsByKey.get(key);
+			if (matchingRows == null) {
+				return Collections.emptyList();
+			}
+			List<Instance> instances = new ArrayList<>(matchingRows.size);
+			for (int i = 0; i < matchingRows.size; i++) {
+				instances.add(decode(matchingRows.rows[i]));
+			}
+			return instances;
+		}
+	}
+
+	/**
+	 * A growable list of row numbers.
+	 */
+	private static final class RowList {
+		private int[] rows = new int[2];
+		private int size;
+
+		void add(int row) {
+			if (size == rows.length) {
+				rows = Arrays.copyOf(rows, 2 * rows.length);
+			}
+			rows[size++] = row;
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+		void remove(int row) {
+			for (int i = 0; i < size; i++) {
+				if (rows[i] == row) {
+					System.arraycopy(rows, i + 1, rows, i, size - i - 1);
+					size--;
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The IDs of the terms at the positions of an index. Up to two IDs are packed into a single long, more are kept in an
+	 * array.
+	 */
+	private static final class Key {
+		private final long packedIds;
+		private final int[] ids;
+		private final int hash;
+
+		private Key(long packedIds, int[] ids) {
+			this.packedIds = packedIds;
+			this.ids = ids;
+			this.hash = ids == null ? Long.hashCode(packedIds) : Arrays.hashCode(ids);
+		}
+
+		static Key of(int[] ids) {
+			switch (ids.length) {
+				case 1:
+					return new Key(ids[0], null);
+				case 2:
+					return new Key((long) ids[0] << Integer.SIZE | ids[1], null);
+				default:
+					return new Key(0, ids);
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return packedIds == other.packedIds && Arrays.equals(ids, other.ids);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
 }
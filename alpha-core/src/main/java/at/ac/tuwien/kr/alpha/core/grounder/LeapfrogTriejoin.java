@@ -0,0 +1,359 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
+import at.ac.tuwien.kr.alpha.api.programs.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.commons.substitutions.BasicSubstitution;
+
+/**
+ * A leapfrog triejoin of positive {@link BasicAtom}s, which computes all substitutions of their variables such that
+ * every atom has a matching instance in a {@link WorkingMemory}.
+ *
+ * In contrast to joining one atom after the other, the triejoin binds one variable after the other: the values of a
+ * variable are obtained by intersecting the values all atoms containing the variable admit, given the values of the
+ * variables before. Each atom is thereby represented by its instances sorted lexicographically by the positions of its
+ * variables in join order (see {@link IndexedInstanceStorage#getRowsSortedBy(int[])}), which form a trie whose
+ * levels are traversed by binary search. Values are compared by their IDs in the {@link TermDictionary} of the working
+ * memory, which is a total order just like the order of terms, but is cheaper to evaluate. No partial substitution is created that does not extend to values of all
+ * variables, hence the join is worst-case optimal, in particular for cyclic joins like e(X,Y), e(Y,Z), e(Z,X).
+ *
+ * A triejoin is planned for a fixed set of variables that are bound by the partial substitution it starts from. The
+ * atoms may contain ground terms and variables, but no other non-ground terms. If a variable occurs several times in
+ * one atom and is not bound initially, the triejoin may yield substitutions under which the atom has no instance,
+ * i.e., the substitutions have to be checked afterwards (as is done when grounding along the grounding order anyway).
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class LeapfrogTriejoin {
+	private final Predicate[] predicates;
+
+	/**
+	 * For each atom, the positions its instances are sorted by: first positions with ground terms or initially bound
+	 * variables (the prefix), then the first occurrences of the other variables in join order, then all remaining
+	 * positions.
+	 */
+	private final int[][] positionOrders;
+
+	/**
+	 * For each atom, the terms at the positions of its prefix, i.e., ground terms or initially bound variables.
+	 */
+	private final Term[][] prefixTerms;
+
+	/**
+	 * The variables bound by the triejoin, in join order.
+	 */
+	private final VariableTerm[] variables;
+
+	/**
+	 * For each variable, the atoms containing it and the position of its first occurrence in each of them.
+	 */
+	private final int[][] atomsOfVariables;
+	private final int[][] positionsOfVariables;
+
+	/**
+	 * Plans a triejoin of the given literals, starting from substitutions binding exactly the given variables.
+	 *
+	 * @param literals       positive literals of {@link BasicAtom}s whose terms are ground or variables.
+	 * @param boundVariables the variables bound by all substitutions the triejoin starts from.
+	 */
+	LeapfrogTriejoin(List<Literal> literals, Set<VariableTerm> boundVariables) {
+		if (!isApplicable(literals)) {
+			throw new IllegalArgumentException("Leapfrog triejoin is only applicable to positive basic atoms with variables and ground terms: " + literals);
+		}
+		final int numAtoms = literals.size();
+		this.predicates = new Predicate[numAtoms];
+		this.positionOrders = new int[numAtoms][];
+		this.prefixTerms = new Term[numAtoms][];
+
+		// Order variables such that variables occurring in many atoms come first (ties broken by first occurrence).
+		Map<VariableTerm, Integer> numAtomsOfVariable = new HashMap<>();
+		for (Literal literal : literals) {
+			for (VariableTerm variable : literal.getOccurringVariables()) {
+				if (!boundVariables.contains(variable)) {
+					numAtomsOfVariable.merge(variable, 1, Integer::sum);
+				}
+			}
+		}
+		List<VariableTerm> variableOrder = new ArrayList<>();
+		for (Literal literal : literals) {
+			for (Term term : literal.getAtom().getTerms()) {
+				if (term instanceof VariableTerm && numAtomsOfVariable.containsKey(term) && !variableOrder.contains(term)) {
+					variableOrder.add((VariableTerm) term);
+				}
+			}
+		}
+		variableOrder.sort((variable1, variable2) -> Integer.compare(numAtomsOfVariable.get(variable2), numAtomsOfVariable.get(variable1)));
+		this.variables = variableOrder.toArray(new VariableTerm[0]);
+
+		List<List<Integer>> atomsOfVariablesList = new ArrayList<>();
+		List<List<Integer>> positionsOfVariablesList = new ArrayList<>();
+		for (int v = 0; v < variables.length; v++) {
+			atomsOfVariablesList.add(new ArrayList<>());
+			positionsOfVariablesList.add(new ArrayList<>());
+		}
+		for (int a = 0; a < numAtoms; a++) {
+			List<Term> terms = literals.get(a).getAtom().getTerms();
+			predicates[a] = literals.get(a).getPredicate();
+			List<Integer> positionOrder = new ArrayList<>();
+			List<Term> prefix = new ArrayList<>();
+			for (int i = 0; i < terms.size(); i++) {
+				Term term = terms.get(i);
+				if (term.isGround() || boundVariables.contains(term)) {
+					positionOrder.add(i);
+					prefix.add(term);
+				}
+			}
+			for (int v = 0; v < variables.length; v++) {
+				int position = terms.indexOf(variables[v]);
+				if (position >= 0) {
+					positionOrder.add(position);
+					atomsOfVariablesList.get(v).add(a);
+					positionsOfVariablesList.get(v).add(position);
+				}
+			}
+			for (int i = 0; i < terms.size(); i++) {
+				if (!positionOrder.contains(i)) {
+					positionOrder.add(i);
+				}
+			}
+			positionOrders[a] = positionOrder.stream().mapToInt(Integer::intValue).toArray();
+			prefixTerms[a] = prefix.toArray(new Term[0]);
+		}
+		this.atomsOfVariables = new int[variables.length][];
+		this.positionsOfVariables = new int[variables.length][];
+		for (int v = 0; v < variables.length; v++) {
+			atomsOfVariables[v] = atomsOfVariablesList.get(v).stream().mapToInt(Integer::intValue).toArray();
+			positionsOfVariables[v] = positionsOfVariablesList.get(v).stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	/**
+	 * Returns whether a triejoin can be planned for the given literals, i.e., all of them are positive {@link BasicAtom}s
+	 * whose terms are ground or variables.
+	 */
+	public static boolean isApplicable(Collection<Literal> literals) {
+		for (Literal literal : literals) {
+			if (literal.isNegated() || !(literal.getAtom() instanceof BasicAtom)) {
+				return false;
+			}
+			for (Term term : literal.getAtom().getTerms()) {
+				if (!term.isGround() && !(term instanceof VariableTerm)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the hypergraph whose hyperedges are the sets of variables of the given literals is cyclic, as
+	 * determined by GYO reduction: variables occurring in one hyperedge only and hyperedges contained in others are
+	 * removed as long as possible, and the hypergraph is acyclic iff at most one hyperedge remains.
+	 */
+	public static boolean isCyclic(Collection<Literal> literals) {
+		List<Set<VariableTerm>> hyperedges = new ArrayList<>();
+		for (Literal literal : literals) {
+			hyperedges.add(new LinkedHashSet<>(literal.getOccurringVariables()));
+		}
+		boolean reduced = true;
+		while (reduced) {
+			reduced = false;
+			// Remove variables occurring in exactly one hyperedge.
+			for (Set<VariableTerm> hyperedge : hyperedges) {
+				reduced |= hyperedge.removeIf(variable -> hyperedges.stream().filter(other -> other.contains(variable)).count() == 1);
+			}
+			// Remove hyperedges contained in another one.
+			for (int i = 0; i < hyperedges.size(); i++) {
+				for (int j = 0; j < hyperedges.size(); j++) {
+					if (i != j && hyperedges.get(j).containsAll(hyperedges.get(i))) {
+						hyperedges.remove(i);
+						reduced = true;
+						i--;
+						break;
+					}
+				}
+			}
+		}
+		return hyperedges.size() > 1;
+	}
+
+	/**
+	 * Computes all extensions of the given substitution to the variables of the atoms such that every atom has a
+	 * matching instance in the positive part of the given working memory.
+	 *
+	 * @param workingMemory       the working memory holding the instances.
+	 * @param partialSubstitution a substitution binding (at least) the variables the triejoin was planned for.
+	 * @return the list of extended substitutions.
+	 */
+	public List<Substitution> join(WorkingMemory workingMemory, Substitution partialSubstitution) {
+		final int numAtoms = predicates.length;
+		final TermDictionary termDictionary = workingMemory.getTermDictionary();
+		IndexedInstanceStorage[] storages = new IndexedInstanceStorage[numAtoms];
+		int[][] sortedRows = new int[numAtoms][];
+		int[] from = new int[numAtoms];
+		int[] to = new int[numAtoms];
+		for (int a = 0; a < numAtoms; a++) {
+			if (!workingMemory.contains(predicates[a])) {
+				return Collections.emptyList();
+			}
+			IndexedInstanceStorage storage = workingMemory.get(predicates[a], true);
+			int[] rows = storage.getRowsSortedBy(positionOrders[a]);
+			int low = 0;
+			int high = rows.length;
+			// Restrict the instances of the atom to those matching its ground terms and bound variables.
+			for (int d = 0; d < prefixTerms[a].length && low < high; d++) {
+				Term term = prefixTerms[a][d];
+				if (!term.isGround()) {
+					term = partialSubstitution.eval((VariableTerm) term);
+					if (term == null) {
+						throw oops("Variable " + prefixTerms[a][d] + " not bound by partial substitution " + partialSubstitution);
+					}
+				}
+				int key = termDictionary.lookup(term);
+				if (key == TermDictionary.NOT_ENCODED) {
+					return Collections.emptyList();
+				}
+				low = seek(storage, rows, low, high, positionOrders[a][d], key, false);
+				high = seek(storage, rows, low, high, positionOrders[a][d], key, true);
+			}
+			if (low == high) {
+				return Collections.emptyList();
+			}
+			storages[a] = storage;
+			sortedRows[a] = rows;
+			from[a] = low;
+			to[a] = high;
+		}
+		List<Substitution> result = new ArrayList<>();
+		joinVariable(0, storages, sortedRows, from, to, new int[variables.length], termDictionary, partialSubstitution, result);
+		return result;
+	}
+
+	/**
+	 * Binds the variable at the given index in join order to all values admitted by all atoms containing it, and
+	 * recursively the variables after it. For each atom, the rows of its instances in the range from {@code from[a]}
+	 * (inclusive) to {@code to[a]} (exclusive) are those matching the values of all variables before, they are non-empty and sorted by
+	 * the position of the variable if the atom contains it.
+	 */
+	private void joinVariable(int index, IndexedInstanceStorage[] storages, int[][] sortedRows, int[] from, int[] to, int[] values,
+			TermDictionary termDictionary, Substitution partialSubstitution, List<Substitution> result) {
+		if (index == variables.length) {
+			Substitution substitution = BasicSubstitution.copyOf(partialSubstitution);
+			for (int v = 0; v < variables.length; v++) {
+				substitution.put(variables[v], termDictionary.decode(values[v]));
+			}
+			result.add(substitution);
+			return;
+		}
+		final int[] atoms = atomsOfVariables[index];
+		final int[] positions = positionsOfVariables[index];
+		final int[] initialFrom = new int[atoms.length];
+		final int[] initialTo = new int[atoms.length];
+		for (int i = 0; i < atoms.length; i++) {
+			initialFrom[i] = from[atoms[i]];
+			initialTo[i] = to[atoms[i]];
+		}
+		// Leapfrog: move every atom to the first instance whose value is at least the largest value of all atoms, until
+		// all atoms agree on a value. The start of the range of each atom serves as its cursor.
+		leapfrog:
+		while (true) {
+			int largestValue = Integer.MIN_VALUE;
+			for (int i = 0; i < atoms.length; i++) {
+				largestValue = Math.max(largestValue, storages[atoms[i]].getTermId(sortedRows[atoms[i]][from[atoms[i]]], positions[i]));
+			}
+			boolean agreed = true;
+			for (int i = 0; i < atoms.length; i++) {
+				final int a = atoms[i];
+				if (storages[a].getTermId(sortedRows[a][from[a]], positions[i]) < largestValue) {
+					from[a] = seek(storages[a], sortedRows[a], from[a], initialTo[i], positions[i], largestValue, false);
+					if (from[a] == initialTo[i]) {
+						break leapfrog;
+					}
+					agreed &= storages[a].getTermId(sortedRows[a][from[a]], positions[i]) == largestValue;
+				}
+			}
+			if (!agreed) {
+				continue;
+			}
+			for (int i = 0; i < atoms.length; i++) {
+				to[atoms[i]] = seek(storages[atoms[i]], sortedRows[atoms[i]], from[atoms[i]], initialTo[i], positions[i], largestValue, true);
+			}
+			values[index] = largestValue;
+			joinVariable(index + 1, storages, sortedRows, from, to, values, termDictionary, partialSubstitution, result);
+			// Continue after the value just joined.
+			boolean exhausted = false;
+			for (int i = 0; i < atoms.length; i++) {
+				final int a = atoms[i];
+				from[a] = to[a];
+				to[a] = initialTo[i];
+				exhausted |= from[a] == to[a];
+			}
+			if (exhausted) {
+				break;
+			}
+		}
+		for (int i = 0; i < atoms.length; i++) {
+			from[atoms[i]] = initialFrom[i];
+			to[atoms[i]] = initialTo[i];
+		}
+	}
+
+	/**
+	 * Returns the first index in the given range of the sorted rows whose ID at the given position is greater than
+	 * or equal to the given key (or greater than the key, if {@code after} is true), or the end of the range if there is
+	 * none. Since subsequent seeks mostly move forward by short distances, the search gallops from the start of the range
+	 * before searching binarily.
+	 */
+	private static int seek(IndexedInstanceStorage storage, int[] rows, int from, int to, int position, int key, boolean after) {
+		int low = from;
+		int high = from;
+		int step = 1;
+		while (high < to && isBefore(storage.getTermId(rows[high], position), key, after)) {
+			low = high + 1;
+			high += step;
+			step <<= 1;
+		}
+		if (high > to) {
+			high = to;
+		}
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (isBefore(storage.getTermId(rows[middle], position), key, after)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static boolean isBefore(int id, int key, boolean orEqual) {
+		return id < key || orEqual && id == key;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("LeapfrogTriejoin(");
+		for (int v = 0; v < variables.length; v++) {
+			if (v > 0) {
+				sb.append(", ");
+			}
+			sb.append(variables[v]);
+		}
+		return sb.append(')').toString();
+	}
+}
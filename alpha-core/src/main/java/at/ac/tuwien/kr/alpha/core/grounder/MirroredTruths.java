@@ -0,0 +1,53 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import java.util.Arrays;
+
+import at.ac.tuwien.kr.alpha.commons.util.Util;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.TruthLookup;
+import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
+
+/**
+ * A copy of the truth values of an assignment, which a {@link PipelinedGrounder} brings up to date at the start of every
+ * grounding round and passes to the grounder it wraps.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+class MirroredTruths implements TruthLookup {
+	private final AtomStore atomStore;
+	private ThriceTruth[] truths = new ThriceTruth[0];
+
+	MirroredTruths(AtomStore atomStore) {
+		this.atomStore = atomStore;
+	}
+
+	/**
+	 * Sets the truth values of the given atoms, where null means unassigned.
+	 */
+	void update(int[] atoms, ThriceTruth[] newTruths, int size) {
+		for (int i = 0; i < size; i++) {
+			if (atoms[i] >= truths.length) {
+				truths = Arrays.copyOf(truths, Math.max(atoms[i] + 1, Util.arrayGrowthSize(truths.length)));
+			}
+			truths[atoms[i]] = newTruths[i];
+		}
+	}
+
+	@Override
+	public ThriceTruth getTruth(int atom) {
+		return atom < truths.length ? truths[atom] : null;
+	}
+
+	@Override
+	public boolean isAssigned(int atom) {
+		return getTruth(atom) != null;
+	}
+
+	@Override
+	public void growForMaxAtomId() {
+		int maxAtomId = atomStore.getMaxAtomId();
+		if (truths.length <= maxAtomId) {
+			truths = Arrays.copyOf(truths, Math.max(maxAtomId + 1, Util.arrayGrowthSize(truths.length)));
+		}
+	}
+}
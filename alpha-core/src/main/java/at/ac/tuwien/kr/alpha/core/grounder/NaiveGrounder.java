@@ -31,6 +31,7 @@
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -54,6 +55,7 @@
 import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
 import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
 import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
 import at.ac.tuwien.kr.alpha.commons.AnswerSets;
 import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
@@ -64,7 +66,9 @@
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
 import at.ac.tuwien.kr.alpha.core.common.IntIterator;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodBatch;
 import at.ac.tuwien.kr.alpha.core.common.NoGoodInterface;
+import at.ac.tuwien.kr.alpha.core.common.TruthLookup;
 import at.ac.tuwien.kr.alpha.core.grounder.bridges.Bridge;
 import at.ac.tuwien.kr.alpha.core.grounder.instantiation.AssignmentStatus;
 import at.ac.tuwien.kr.alpha.core.grounder.instantiation.BindingResult;
@@ -74,6 +78,7 @@
 import at.ac.tuwien.kr.alpha.core.grounder.structure.AnalyzeUnjustified;
 import at.ac.tuwien.kr.alpha.core.programs.CompiledProgram;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.ChoiceAtom;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.RuleAtom;
 import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
 
@@ -96,6 +101,8 @@ public class NaiveGrounder extends BridgedGrounder implements ProgramAnalyzingGr
 	private final Map<Predicate, LinkedHashSet<Instance>> factsFromProgram;
 	private final Map<IndexedInstanceStorage, ArrayList<FirstBindingAtom>> rulesUsingPredicateWorkingMemory = new HashMap<>();
 	private final Map<Integer, CompiledRule> knownNonGroundRules;
+	// Grounding orders of the rules by rule ID, planned by this grounder alone since they adapt to its working memory.
+	private final Map<Integer, RuleGroundingInfo> groundingInfos = new HashMap<>();
 
 	private ArrayList<CompiledRule> fixedRules = new ArrayList<>();
 	private LinkedHashSet<Atom> removeAfterObtainingNewNoGoods = new LinkedHashSet<>();
@@ -119,6 +126,11 @@ private NaiveGrounder(CompiledProgram program, AtomStore atomStore, GrounderHeur
 
 	NaiveGrounder(CompiledProgram program, AtomStore atomStore, java.util.function.Predicate<Predicate> filter,
 			GrounderHeuristicsConfiguration heuristicsConfiguration, boolean debugInternalChecks, Bridge... bridges) {
+		this(program, atomStore, filter, heuristicsConfiguration, new Enumerations(program.getEnumerations()), debugInternalChecks, bridges);
+	}
+
+	NaiveGrounder(CompiledProgram program, AtomStore atomStore, java.util.function.Predicate<Predicate> filter,
+			GrounderHeuristicsConfiguration heuristicsConfiguration, Enumerations enumerations, boolean debugInternalChecks, Bridge... bridges) {
 		super(filter, bridges);
 		this.atomStore = atomStore;
 		this.heuristicsConfiguration = heuristicsConfiguration;
@@ -144,7 +156,7 @@ private NaiveGrounder(CompiledProgram program, AtomStore atomStore, GrounderHeur
 		this.instantiationStrategy = new DefaultLazyGroundingInstantiationStrategy(this.workingMemory, this.atomStore, this.factsFromProgram,
 				this.heuristicsConfiguration.isAccumulatorEnabled());
 		this.instantiationStrategy.setStaleWorkingMemoryEntries(this.removeAfterObtainingNewNoGoods);
-		this.ruleInstantiator = new LiteralInstantiator(this.instantiationStrategy);
+		this.ruleInstantiator = new LiteralInstantiator(this.instantiationStrategy, enumerations);
 	}
 
 	private void initializeFactsAndRules() {
@@ -170,18 +182,27 @@ private void initializeFactsAndRules() {
 			}
 
 			// If the rule has fixed ground instantiations, it is not registered but grounded once like facts.
-			if (nonGroundRule.getGroundingInfo().hasFixedInstantiation()) {
+			if (groundingInfoOf(nonGroundRule).hasFixedInstantiation()) {
 				fixedRules.add(nonGroundRule);
 				continue;
 			}
 
 			// Register each starting literal at the corresponding working memory.
-			for (Literal literal : nonGroundRule.getGroundingInfo().getStartingLiterals()) {
+			for (Literal literal : groundingInfoOf(nonGroundRule).getStartingLiterals()) {
 				registerLiteralAtWorkingMemory(literal, nonGroundRule);
 			}
 		}
 	}
 
+	// Ideally, this method should be private. It's only visible because NaiveGrounderTest needs to access it.
+	RuleGroundingInfo groundingInfoOf(CompiledRule rule) {
+		return groundingInfos.computeIfAbsent(rule.getRuleId(), ruleId -> {
+			RuleGroundingInfo groundingInfo = new RuleGroundingInfoImpl(rule);
+			groundingInfo.computeGroundingOrders();
+			return groundingInfo;
+		});
+	}
+
 	private Set<CompiledRule> getRulesWithUniqueHead() {
 		// FIXME: below optimisation (adding support nogoods if there is only one rule instantiation per unique atom over the interpretation) could
 		// be done as a transformation (adding a non-ground constraint corresponding to the nogood that is generated by the grounder).
@@ -294,8 +315,8 @@ public AnswerSet assignmentToAnswerSet(Iterable<Integer> trueAtoms) {
 	 * 
 	 * @return
 	 */
-	protected HashMap<Integer, NoGood> bootstrap() {
-		final HashMap<Integer, NoGood> groundNogoods = new LinkedHashMap<>();
+	protected NoGoodBatch bootstrap() {
+		final NoGoodBatch groundNogoods = new NoGoodBatch();
 
 		for (Predicate predicate : factsFromProgram.keySet()) {
 			// Instead of generating NoGoods, add instance to working memories directly.
@@ -304,8 +325,8 @@ protected HashMap<Integer, NoGood> bootstrap() {
 
 		for (CompiledRule nonGroundRule : fixedRules) {
 			// Generate NoGoods for all rules that have a fixed grounding.
-			RuleGroundingOrder groundingOrder = nonGroundRule.getGroundingInfo().getFixedGroundingOrder();
-			BindingResult bindingResult = getGroundInstantiations(nonGroundRule, groundingOrder, new BasicSubstitution(), null);
+			RuleGroundingOrder groundingOrder = groundingInfoOf(nonGroundRule).getFixedGroundingOrder();
+			BindingResult bindingResult = getGroundInstantiations(nonGroundRule, groundingOrder, groundingInfoOf(nonGroundRule).newEmptySubstitution(), null);
 			groundAndRegister(nonGroundRule, bindingResult.getGeneratedSubstitutions(), groundNogoods);
 		}
 
@@ -316,8 +337,25 @@ protected HashMap<Integer, NoGood> bootstrap() {
 
 	@Override
 	public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
+		final NoGoodBatch newNoGoods = new NoGoodBatch();
+		getNoGoods(currentAssignment, newNoGoods);
+		return newNoGoods.toMap();
+	}
+
+	@Override
+	public void getNoGoods(Assignment currentAssignment, NoGoodBatch newNoGoods) {
+		groundNoGoods(currentAssignment, newNoGoods);
+	}
+
+	/**
+	 * Does the work of {@link #getNoGoods(Assignment, NoGoodBatch)}, which only needs the truth values of atoms in the
+	 * current assignment.
+	 */
+	void groundNoGoods(TruthLookup currentAssignment, NoGoodBatch newNoGoods) {
 		// In first call, prepare facts and ground rules.
-		final Map<Integer, NoGood> newNoGoods = fixedRules != null ? bootstrap() : new LinkedHashMap<>();
+		if (fixedRules != null) {
+			newNoGoods.addAll(bootstrap());
+		}
 
 		// Compute new ground rule (evaluate joins with newly changed atoms)
 		for (IndexedInstanceStorage modifiedWorkingMemory : workingMemory.modified()) {
@@ -338,13 +376,15 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 			for (FirstBindingAtom firstBindingAtom : firstBindingAtoms) {
 				// Use the recently added instances from the modified working memory to construct an initial substitution
 				CompiledRule nonGroundRule = firstBindingAtom.rule;
+				groundingInfoOf(nonGroundRule).replanIfCardinalitiesDrifted(workingMemory);
+				// Specializing leaves the empty substitution unchanged, hence it can be shared by all instances.
+				final Substitution emptySubstitution = groundingInfoOf(nonGroundRule).newEmptySubstitution();
 
 				// Generate substitutions from each recent instance.
 				for (Instance instance : modifiedWorkingMemory.getRecentlyAddedInstances()) {
 					// Check instance if it matches with the atom.
 
-					final Substitution unifier = BasicSubstitution.specializeSubstitution(firstBindingAtom.startingLiteral, instance,
-							BasicSubstitution.EMPTY_SUBSTITUTION);
+					final Substitution unifier = BasicSubstitution.specializeSubstitution(firstBindingAtom.startingLiteral, instance, emptySubstitution);
 
 					if (unifier == null) {
 						continue;
@@ -352,7 +392,7 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 
 					final BindingResult bindingResult = getGroundInstantiations(
 							nonGroundRule,
-							nonGroundRule.getGroundingInfo().orderStartingFrom(firstBindingAtom.startingLiteral),
+							groundingInfoOf(nonGroundRule).orderStartingFrom(firstBindingAtom.startingLiteral),
 							unifier,
 							currentAssignment);
 
@@ -379,17 +419,15 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 		instantiationStrategy.setStaleWorkingMemoryEntries(removeAfterObtainingNewNoGoods);
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Grounded NoGoods are:");
-			for (Map.Entry<Integer, NoGood> noGoodEntry : newNoGoods.entrySet()) {
-				LOGGER.debug("{} == {}", noGoodEntry.getValue(), atomStore.noGoodToString(noGoodEntry.getValue()));
+			for (NoGood noGood : newNoGoods.getNoGoods()) {
+				LOGGER.debug("{} == {}", noGood, atomStore.noGoodToString(noGood));
 			}
 			LOGGER.debug("{}", choiceRecorder);
 		}
 
 		if (debugInternalChecks) {
-			checkTypesOfNoGoods(newNoGoods.values());
+			checkTypesOfNoGoods(newNoGoods.getNoGoods());
 		}
-
-		return newNoGoods;
 	}
 
 	/**
@@ -398,9 +436,9 @@ public Map<Integer, NoGood> getNoGoods(Assignment currentAssignment) {
 	 *
 	 * @param nonGroundRule the rule to be grounded.
 	 * @param substitutions the substitutions to be applied.
-	 * @param newNoGoods    a set of nogoods to which newly generated nogoods will be added.
+	 * @param newNoGoods    a batch of nogoods to which newly generated nogoods will be added.
 	 */
-	private void groundAndRegister(final CompiledRule nonGroundRule, final List<Substitution> substitutions, final Map<Integer, NoGood> newNoGoods) {
+	private void groundAndRegister(final CompiledRule nonGroundRule, final List<Substitution> substitutions, final NoGoodBatch newNoGoods) {
 		for (Substitution substitution : substitutions) {
 			List<NoGood> generatedNoGoods = noGoodGenerator.generateNoGoodsFromGroundSubstitution(nonGroundRule, substitution);
 			registry.register(generatedNoGoods, newNoGoods);
@@ -414,7 +452,7 @@ public int register(NoGood noGood) {
 
 	// Ideally, this method should be private. It's only visible because NaiveGrounderTest needs to access it.
 	BindingResult getGroundInstantiations(CompiledRule rule, RuleGroundingOrder groundingOrder, Substitution partialSubstitution,
-			Assignment currentAssignment) {
+			TruthLookup currentAssignment) {
 		int tolerance = heuristicsConfiguration.getTolerance(rule.isConstraint());
 		if (tolerance < 0) {
 			tolerance = Integer.MAX_VALUE;
@@ -424,7 +462,18 @@ BindingResult getGroundInstantiations(CompiledRule rule, RuleGroundingOrder grou
 		// Note: Actually the assignment could be an instance variable of the grounder (shared with solver),
 		// but this would have a larger impact on grounder/solver communication design as a whole.
 		instantiationStrategy.setCurrentAssignment(currentAssignment);
-		BindingResult bindingResult = bindNextAtomInRule(groundingOrder, 0, tolerance, tolerance, partialSubstitution);
+		final BindingResult bindingResult;
+		final LeapfrogTriejoin triejoin = groundingInfoOf(rule).getTriejoin(groundingOrder.getStartingLiteral(), heuristicsConfiguration.getJoinStrategy());
+		if (tolerance == 0 && triejoin != null) {
+			// Without tolerance, all positive body atoms must be true or must-be-true, i.e., in the working memory. The
+			// substitutions joined over the working memory are checked against the assignment along the grounding order.
+			bindingResult = new BindingResult();
+			for (Substitution joinedSubstitution : triejoin.join(workingMemory, partialSubstitution)) {
+				bindingResult.add(bindNextAtomInRule(groundingOrder, 0, tolerance, tolerance, joinedSubstitution));
+			}
+		} else {
+			bindingResult = bindNextAtomInRule(groundingOrder, 0, tolerance, tolerance, partialSubstitution);
+		}
 		if (LOGGER.isDebugEnabled()) {
 			for (int i = 0; i < bindingResult.size(); i++) {
 				Integer numberOfUnassignedPositiveBodyAtoms = bindingResult.getNumbersOfUnassignedPositiveBodyAtoms().get(i);
@@ -578,13 +627,99 @@ public Map<Integer, Set<Integer>> getHeadsToBodies() {
 	@Override
 	public void updateAssignment(IntIterator it) {
 		while (it.hasNext()) {
-			workingMemory.addInstance(atomStore.get(it.next()), true);
+			final int atom = it.next();
+			workingMemory.addInstance(atomStore.get(atom), true);
 		}
 	}
 
+	/**
+	 * Forgets the given unassigned atoms: their instances are removed from the working memory (unless they are facts),
+	 * ground rules that are derived again on demand are dropped together with their rule and choice atoms, and atoms that
+	 * occur in no remaining ground rule are released. A ground rule is derived again on demand if an instance of one of its
+	 * starting literals is not in the working memory, since the rule is joined again once that instance is added as a new
+	 * one, i.e., once its atom is assigned again.
+	 */
 	@Override
-	public void forgetAssignment(int[] atomIds) {
-		throw new UnsupportedOperationException("Forgetting assignments is not implemented");
+	public void forgetAtoms(BitSet atoms) {
+		int numberOfForgottenInstances = 0;
+		for (int atomId = atoms.nextSetBit(0); atomId >= 0; atomId = atoms.nextSetBit(atomId + 1)) {
+			final Atom atom = atomStore.get(atomId);
+			if (!workingMemory.contains(atom.getPredicate()) || isFact(atom)) {
+				continue;
+			}
+			final IndexedInstanceStorage storage = workingMemory.get(atom, true);
+			final Instance instance = new Instance(atom.getTerms());
+			// Instances that have not been joined yet are kept, they are forgotten by a later call.
+			if (!storage.getRecentlyAddedInstances().isEmpty() || !storage.containsInstance(instance)) {
+				continue;
+			}
+			storage.removeInstance(instance);
+			numberOfForgottenInstances++;
+		}
+
+		final BitSet releasedAtoms = new BitSet();
+		for (int atomId = atoms.nextSetBit(0); atomId >= 0; atomId = atoms.nextSetBit(atomId + 1)) {
+			final Atom atom = atomStore.get(atomId);
+			if (!(atom instanceof RuleAtom) || !isDerivedAgainOnDemand((RuleAtom) atom)) {
+				continue;
+			}
+			// The choice atoms of a dropped ground rule are released along with its rule atom.
+			final int choiceId = choiceRecorder.getChoiceId(atomId);
+			if (choiceId >= 0) {
+				final int choiceOnAtom = atomStore.get(ChoiceAtom.on(choiceId));
+				final int choiceOffAtom = atomStore.get(ChoiceAtom.off(choiceId));
+				if (!atoms.get(choiceOnAtom) || !atoms.get(choiceOffAtom)) {
+					continue;
+				}
+				releasedAtoms.set(choiceOnAtom);
+				releasedAtoms.set(choiceOffAtom);
+			}
+			releasedAtoms.set(atomId);
+		}
+		final int numberOfDroppedRules = releasedAtoms.cardinality();
+
+		final BitSet referencedAtoms = new BitSet();
+		registry.collectAtomsOfGroundNoGoods(releasedAtoms, referencedAtoms);
+		for (int atomId = atoms.nextSetBit(0); atomId >= 0; atomId = atoms.nextSetBit(atomId + 1)) {
+			if (releasedAtoms.get(atomId) || referencedAtoms.get(atomId)) {
+				continue;
+			}
+			final Atom atom = atomStore.get(atomId);
+			if (atom instanceof RuleAtom || atom instanceof ChoiceAtom || isFact(atom) || isInWorkingMemory(atom)) {
+				continue;
+			}
+			releasedAtoms.set(atomId);
+		}
+
+		registry.removeNoGoodsContaining(releasedAtoms);
+		for (int atomId = releasedAtoms.nextSetBit(0); atomId >= 0; atomId = releasedAtoms.nextSetBit(atomId + 1)) {
+			choiceRecorder.releaseChoice(atomId);
+			atomStore.release(atomId);
+		}
+		atoms.clear();
+		atoms.or(releasedAtoms);
+		LOGGER.debug("Forgot {} instances in working memory and {} atoms of ground rules, released {} atoms.",
+				numberOfForgottenInstances, numberOfDroppedRules, releasedAtoms.cardinality());
+	}
+
+	private boolean isDerivedAgainOnDemand(RuleAtom ruleAtom) {
+		final RuleAtom.RuleAtomData ruleAtomData = (RuleAtom.RuleAtomData) ((ConstantTerm<?>) ruleAtom.getTerms().get(0)).getObject();
+		final RuleGroundingInfo groundingInfo = groundingInfoOf(ruleAtomData.getNonGroundRule());
+		// Rules with fixed instantiation are only grounded once, at the start.
+		if (groundingInfo.hasFixedInstantiation()) {
+			return false;
+		}
+		for (Literal startingLiteral : groundingInfo.getStartingLiterals()) {
+			final Atom groundAtom = startingLiteral.getAtom().substitute(ruleAtomData.getSubstitution());
+			if (!isFact(groundAtom) && !isInWorkingMemory(groundAtom)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isInWorkingMemory(Atom atom) {
+		return workingMemory.contains(atom.getPredicate()) && workingMemory.get(atom, true).containsInstance(new Instance(atom.getTerms()));
 	}
 
 	@Override
@@ -1,45 +1,208 @@
 package at.ac.tuwien.kr.alpha.core.grounder;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+
+import java.util.Arrays;
+import java.util.BitSet;
 
 import at.ac.tuwien.kr.alpha.commons.util.IntIdGenerator;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodBatch;
 
+/**
+ * Assigns IDs to nogoods and recognizes nogoods that were registered before, where nogoods are equal if they have the
+ * same literals and the same head (cf. {@link NoGood#equals(Object)}).
+ *
+ * Registered nogoods are not retained, instead their literals are copied into one pool of literals and nogoods are
+ * found by an open-addressing hash table over the content of the pool. Note: nogood IDs only need to be unique per
+ * grounder among the nogoods registered currently, the IDs of removed nogoods are reused.
+ *
+ * The registry is synchronized, since the solver registers learned nogoods while a {@link PipelinedGrounder} may be
+ * grounding (and registering) on another thread.
+ */
 public class NogoodRegistry {
-	private static final IntIdGenerator ID_GENERATOR = new IntIdGenerator();
+	private static final int EMPTY = 0;
+	private static final int REMOVED = -1;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] literals = new int[INITIAL_CAPACITY * 4];
+	private int literalsSize;
+
+	// For each nogood ID, the offset of its literals, its size, origin and head (size shifted left by two, second-lowest bit
+	// is set if the nogood stems from grounding, lowest bit is the head) or REMOVED, and its hash.
+	private int[] offsets = new int[INITIAL_CAPACITY];
+	private int[] sizesAndHeads = new int[INITIAL_CAPACITY];
+	private int[] hashes = new int[INITIAL_CAPACITY];
+	private final IntIdGenerator noGoodIdGenerator = new IntIdGenerator();
+	// The number of IDs handed out so far (including removed ones) and the number of nogoods registered currently.
+	private int numberOfIds;
+	private int numberOfNoGoods;
 
-	private Map<NoGood, Integer> registeredIdentifiers = new LinkedHashMap<>();
+	// Open-addressing table with linear probing that contains nogood ID plus one, or EMPTY. At most half of it is occupied.
+	private int[] table = new int[INITIAL_CAPACITY * 2];
 
 	/**
 	 * Helper methods to analyze average nogood length.
 	 * @return
 	 */
-	public float computeAverageNoGoodLength() {
-		int totalSizes = 0;
-		for (Map.Entry<NoGood, Integer> noGoodEntry : registeredIdentifiers.entrySet()) {
-			totalSizes += noGoodEntry.getKey().size();
-		}
-		return ((float) totalSizes) / registeredIdentifiers.size();
+	public synchronized float computeAverageNoGoodLength() {
+		return ((float) literalsSize) / numberOfNoGoods;
 	}
 
-	void register(Iterable<NoGood> noGoods, Map<Integer, NoGood> difference) {
+	/**
+	 * Registers the given nogoods and adds those that were not registered before to the given batch.
+	 */
+	synchronized void register(Iterable<NoGood> noGoods, NoGoodBatch difference) {
 		for (NoGood noGood : noGoods) {
 			// Check if noGood was already derived earlier, add if it is new
-			if (!registeredIdentifiers.containsKey(noGood)) {
-				int noGoodId = ID_GENERATOR.getNextId();
-				registeredIdentifiers.put(noGood, noGoodId);
-				difference.put(noGoodId, noGood);
+			final int previousNumberOfNoGoods = numberOfNoGoods;
+			final int noGoodId = register(noGood);
+			sizesAndHeads[noGoodId] |= 2;
+			if (numberOfNoGoods != previousNumberOfNoGoods) {
+				difference.add(noGoodId, noGood);
+			}
+		}
+	}
+
+	synchronized int register(NoGood noGood) {
+		final int hash = hash(noGood);
+		final int mask = table.length - 1;
+		int position = hash & mask;
+		while (table[position] != EMPTY) {
+			final int noGoodId = table[position] - 1;
+			if (hashes[noGoodId] == hash && hasContent(noGoodId, noGood)) {
+				return noGoodId;
+			}
+			position = (position + 1) & mask;
+		}
+		final int noGoodId = add(noGood, hash);
+		table[position] = noGoodId + 1;
+		if (2 * numberOfNoGoods > table.length) {
+			rehash(2 * table.length);
+		}
+		return noGoodId;
+	}
+
+	/**
+	 * Collects the atoms of all nogoods stemming from grounding that contain none of the excluded atoms.
+	 * @param excludedAtoms the atoms whose nogoods are skipped.
+	 * @param atoms the set to which the collected atoms are added.
+	 */
+	synchronized void collectAtomsOfGroundNoGoods(BitSet excludedAtoms, BitSet atoms) {
+		for (int noGoodId = 0; noGoodId < numberOfIds; noGoodId++) {
+			if (sizesAndHeads[noGoodId] == REMOVED || (sizesAndHeads[noGoodId] & 2) == 0 || containsAny(noGoodId, excludedAtoms)) {
+				continue;
+			}
+			final int end = offsets[noGoodId] + (sizesAndHeads[noGoodId] >> 2);
+			for (int i = offsets[noGoodId]; i < end; i++) {
+				atoms.set(atomOf(literals[i]));
+			}
+		}
+	}
+
+	/**
+	 * Removes all nogoods containing any of the given atoms, such that they are registered as new ones again later on.
+	 * Their IDs are reused for nogoods registered later on.
+	 * @param atoms the atoms whose nogoods are removed.
+	 */
+	synchronized void removeNoGoodsContaining(BitSet atoms) {
+		final int[] remainingLiterals = new int[literals.length];
+		int remainingLiteralsSize = 0;
+		for (int noGoodId = 0; noGoodId < numberOfIds; noGoodId++) {
+			if (sizesAndHeads[noGoodId] == REMOVED) {
+				continue;
+			}
+			if (containsAny(noGoodId, atoms)) {
+				sizesAndHeads[noGoodId] = REMOVED;
+				noGoodIdGenerator.releaseId(noGoodId);
+				numberOfNoGoods--;
+				continue;
+			}
+			final int size = sizesAndHeads[noGoodId] >> 2;
+			System.arraycopy(literals, offsets[noGoodId], remainingLiterals, remainingLiteralsSize, size);
+			offsets[noGoodId] = remainingLiteralsSize;
+			remainingLiteralsSize += size;
+		}
+		literals = remainingLiterals;
+		literalsSize = remainingLiteralsSize;
+		rehash(table.length);
+	}
+
+	private boolean containsAny(int noGoodId, BitSet atoms) {
+		final int end = offsets[noGoodId] + (sizesAndHeads[noGoodId] >> 2);
+		for (int i = offsets[noGoodId]; i < end; i++) {
+			if (atoms.get(atomOf(literals[i]))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int add(NoGood noGood, int hash) {
+		final int noGoodId = noGoodIdGenerator.getNextId();
+		numberOfNoGoods++;
+		if (noGoodId == numberOfIds) {
+			numberOfIds++;
+		}
+		if (noGoodId == offsets.length) {
+			final int newCapacity = arrayGrowthSize(offsets.length);
+			offsets = Arrays.copyOf(offsets, newCapacity);
+			sizesAndHeads = Arrays.copyOf(sizesAndHeads, newCapacity);
+			hashes = Arrays.copyOf(hashes, newCapacity);
+		}
+		final int size = noGood.size();
+		if (literalsSize + size > literals.length) {
+			literals = Arrays.copyOf(literals, Math.max(literalsSize + size, arrayGrowthSize(literals.length)));
+		}
+		for (int i = 0; i < size; i++) {
+			literals[literalsSize + i] = noGood.getLiteral(i);
+		}
+		offsets[noGoodId] = literalsSize;
+		sizesAndHeads[noGoodId] = size << 2 | (noGood.hasHead() ? 1 : 0);
+		hashes[noGoodId] = hash;
+		literalsSize += size;
+		return noGoodId;
+	}
+
+	private void rehash(int newCapacity) {
+		table = new int[newCapacity];
+		final int mask = newCapacity - 1;
+		for (int noGoodId = 0; noGoodId < numberOfIds; noGoodId++) {
+			if (sizesAndHeads[noGoodId] == REMOVED) {
+				continue;
+			}
+			int position = hashes[noGoodId] & mask;
+			while (table[position] != EMPTY) {
+				position = (position + 1) & mask;
+			}
+			table[position] = noGoodId + 1;
+		}
+	}
+
+	private boolean hasContent(int noGoodId, NoGood noGood) {
+		final int size = noGood.size();
+		if ((sizesAndHeads[noGoodId] & ~2) != (size << 2 | (noGood.hasHead() ? 1 : 0))) {
+			return false;
+		}
+		final int offset = offsets[noGoodId];
+		for (int i = 0; i < size; i++) {
+			if (literals[offset + i] != noGood.getLiteral(i)) {
+				return false;
 			}
 		}
+		return true;
 	}
 
-	int register(NoGood noGood) {
-		if (!registeredIdentifiers.containsKey(noGood)) {
-			int noGoodId = ID_GENERATOR.getNextId();
-			registeredIdentifiers.put(noGood, noGoodId);
-			return noGoodId;
+	private static int hash(NoGood noGood) {
+		int hash = noGood.hasHead() ? 1 : 0;
+		for (int i = 0; i < noGood.size(); i++) {
+			hash = 31 * hash + noGood.getLiteral(i);
 		}
-		return registeredIdentifiers.get(noGood);
+		// Spread the bits (cf. MurmurHash3's finalizer), since the table is indexed by the lowest bits.
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		return hash;
 	}
 }
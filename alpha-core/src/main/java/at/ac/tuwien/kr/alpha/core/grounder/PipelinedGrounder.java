@@ -0,0 +1,298 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import at.ac.tuwien.kr.alpha.api.AnswerSet;
+import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
+import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.core.common.Assignment;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.IntIterator;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodBatch;
+import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
+import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
+
+/**
+ * A grounder that runs another grounder on a thread of its own, such that grounding overlaps with propagation and
+ * search in the solver.
+ *
+ * Every call of {@link #getNoGoods(Assignment, NoGoodBatch)} that follows new positive assignments starts a grounding
+ * round: the new positive assignments and the truth values of all atoms that changed since the previous round are
+ * handed to the grounding thread, which brings its {@link MirroredTruths} up to date and lets the wrapped grounder
+ * derive nogoods from them. A round thus sees the assignment as it was when the round was started, i.e., just what the wrapped grounder
+ * would have seen if it were called directly. The call does not wait for the round, it returns the nogoods of all rounds
+ * finished by then (and the next calls of {@link #getChoiceAtoms()} and {@link #getHeadsToBodies()} return their choice
+ * points). Nogoods only depend on the program, hence those of a round are valid whatever the solver did meanwhile.
+ * Since rounds are started when the assignment changes, the solver must wait for pending rounds by
+ * {@link #awaitPendingNoGoods()} before it considers the ground program complete. At most {@link #MAX_PENDING_ROUNDS}
+ * rounds are pending at any time, starting another one waits for the oldest.
+ *
+ * All other methods wait until no round is pending before they call the wrapped grounder. The wrapped grounder must only
+ * be used through this one, and this one only by a single (solver) thread. The {@link AtomStore} and the
+ * {@link NogoodRegistry} are shared by both threads and safe for that.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class PipelinedGrounder implements ProgramAnalyzingGrounder {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedGrounder.class);
+
+	private static final int MAX_PENDING_ROUNDS = 4;
+
+	private final NaiveGrounder grounder;
+	// Runs at most one thread, which terminates when idle for a while, hence the grounder needs no shutdown.
+	private final ThreadPoolExecutor groundingThread = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+		Thread thread = new Thread(runnable, "pipelined-grounder");
+		thread.setDaemon(true);
+		return thread;
+	});
+	// Only used by the grounding thread.
+	private final MirroredTruths mirroredTruths;
+
+	private final Deque<Future<Round>> pendingRounds = new ArrayDeque<>();
+	private final BitSet changedAtoms = new BitSet();
+	private int[] newPositiveAtoms = new int[16];
+	private int numberOfNewPositiveAtoms;
+	private boolean isInitialRoundStarted;
+	private final NoGoodBatch noGoods = new NoGoodBatch();
+	private Map<Integer, Integer> choiceOn = new LinkedHashMap<>();
+	private Map<Integer, Integer> choiceOff = new LinkedHashMap<>();
+	private Map<Integer, Set<Integer>> headsToBodies = new LinkedHashMap<>();
+
+	public PipelinedGrounder(NaiveGrounder grounder, AtomStore atomStore) {
+		this.grounder = grounder;
+		this.mirroredTruths = new MirroredTruths(atomStore);
+	}
+
+	@Override
+	public void updateAssignment(IntIterator it) {
+		while (it.hasNext()) {
+			if (numberOfNewPositiveAtoms == newPositiveAtoms.length) {
+				newPositiveAtoms = Arrays.copyOf(newPositiveAtoms, 2 * newPositiveAtoms.length);
+			}
+			newPositiveAtoms[numberOfNewPositiveAtoms++] = it.next();
+		}
+	}
+
+	@Override
+	public Map<Integer, NoGood> getNoGoods(Assignment assignment) {
+		final NoGoodBatch newNoGoods = new NoGoodBatch();
+		getNoGoods(assignment, newNoGoods);
+		return newNoGoods.toMap();
+	}
+
+	@Override
+	public void getNoGoods(Assignment assignment, NoGoodBatch newNoGoods) {
+		IntIterator changed = assignment.getChangedAtomsIterator();
+		while (changed.hasNext()) {
+			changedAtoms.set(changed.next());
+		}
+		if (!isInitialRoundStarted || numberOfNewPositiveAtoms > 0) {
+			isInitialRoundStarted = true;
+			startRound(assignment);
+		}
+		while (!pendingRounds.isEmpty() && pendingRounds.peekFirst().isDone()) {
+			collect(pendingRounds.pollFirst());
+		}
+		newNoGoods.addAll(noGoods);
+		noGoods.clear();
+	}
+
+	private void startRound(Assignment assignment) {
+		if (pendingRounds.size() == MAX_PENDING_ROUNDS) {
+			LOGGER.debug("Waiting for the oldest pending grounding round.");
+			collect(pendingRounds.pollFirst());
+		}
+		final Round round = new Round(Arrays.copyOf(newPositiveAtoms, numberOfNewPositiveAtoms), changedAtoms.cardinality());
+		for (int atom = changedAtoms.nextSetBit(0); atom >= 0; atom = changedAtoms.nextSetBit(atom + 1)) {
+			round.changedAtoms[round.numberOfChangedAtoms] = atom;
+			round.changedTruths[round.numberOfChangedAtoms++] = assignment.getTruth(atom);
+		}
+		changedAtoms.clear();
+		numberOfNewPositiveAtoms = 0;
+		pendingRounds.addLast(groundingThread.submit(() -> ground(round)));
+	}
+
+	/**
+	 * Runs a round on the grounding thread.
+	 */
+	private Round ground(Round round) {
+		mirroredTruths.update(round.changedAtoms, round.changedTruths, round.numberOfChangedAtoms);
+		grounder.updateAssignment(new IntIterator() {
+			private int position;
+
+			@Override
+			public boolean hasNext() {
+				return position < round.newPositiveAtoms.length;
+			}
+
+			@Override
+			public int next() {
+				return round.newPositiveAtoms[position++];
+			}
+		});
+		grounder.groundNoGoods(mirroredTruths, round.noGoods);
+		round.choiceAtoms = grounder.getChoiceAtoms();
+		round.headsToBodies = grounder.getHeadsToBodies();
+		return round;
+	}
+
+	/**
+	 * Waits for the given round and keeps its nogoods and choice points until the solver asks for them.
+	 */
+	private void collect(Future<Round> pendingRound) {
+		final Round round;
+		try {
+			round = pendingRound.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Solver thread was interrupted while waiting for the grounder.");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw oops("Grounding round failed", e);
+		}
+		noGoods.addAll(round.noGoods);
+		choiceOn.putAll(round.choiceAtoms.getLeft());
+		choiceOff.putAll(round.choiceAtoms.getRight());
+		for (Map.Entry<Integer, Set<Integer>> headToBodies : round.headsToBodies.entrySet()) {
+			headsToBodies.computeIfAbsent(headToBodies.getKey(), head -> new HashSet<>()).addAll(headToBodies.getValue());
+		}
+	}
+
+	@Override
+	public boolean awaitPendingNoGoods() {
+		final boolean wereRoundsPending = !pendingRounds.isEmpty();
+		awaitIdle();
+		return wereRoundsPending || !noGoods.isEmpty();
+	}
+
+	/**
+	 * Waits until no round is pending, keeping the results of the pending rounds until the solver asks for them.
+	 */
+	private void awaitIdle() {
+		while (!pendingRounds.isEmpty()) {
+			collect(pendingRounds.pollFirst());
+		}
+	}
+
+	@Override
+	public Pair<Map<Integer, Integer>, Map<Integer, Integer>> getChoiceAtoms() {
+		Pair<Map<Integer, Integer>, Map<Integer, Integer>> choiceAtoms = new ImmutablePair<>(choiceOn, choiceOff);
+		choiceOn = new LinkedHashMap<>();
+		choiceOff = new LinkedHashMap<>();
+		return choiceAtoms;
+	}
+
+	@Override
+	public Map<Integer, Set<Integer>> getHeadsToBodies() {
+		Map<Integer, Set<Integer>> result = headsToBodies;
+		headsToBodies = new LinkedHashMap<>();
+		return result;
+	}
+
+	@Override
+	public AnswerSet assignmentToAnswerSet(Iterable<Integer> trueAtoms) {
+		awaitIdle();
+		return grounder.assignmentToAnswerSet(trueAtoms);
+	}
+
+	@Override
+	public void forgetAtoms(BitSet atoms) {
+		awaitIdle();
+		// Atoms the solver has not received all information on yet, or whose assignment the grounder has not received yet,
+		// are kept.
+		for (NoGood noGood : noGoods.getNoGoods()) {
+			for (int literal : noGood) {
+				atoms.clear(atomOf(literal));
+			}
+		}
+		for (Map.Entry<Integer, Integer> choice : choiceOn.entrySet()) {
+			atoms.clear(choice.getKey());
+			atoms.clear(choice.getValue());
+		}
+		for (Map.Entry<Integer, Integer> choice : choiceOff.entrySet()) {
+			atoms.clear(choice.getKey());
+			atoms.clear(choice.getValue());
+		}
+		for (Map.Entry<Integer, Set<Integer>> headToBodies : headsToBodies.entrySet()) {
+			atoms.clear(headToBodies.getKey());
+			for (int body : headToBodies.getValue()) {
+				atoms.clear(body);
+			}
+		}
+		for (int i = 0; i < numberOfNewPositiveAtoms; i++) {
+			atoms.clear(newPositiveAtoms[i]);
+		}
+		grounder.forgetAtoms(atoms);
+	}
+
+	@Override
+	public int register(NoGood noGood) {
+		// The registry is synchronized, hence there is no need to wait.
+		return grounder.register(noGood);
+	}
+
+	@Override
+	public Set<Literal> justifyAtom(int atomToJustify, Assignment currentAssignment) {
+		awaitIdle();
+		return grounder.justifyAtom(atomToJustify, currentAssignment);
+	}
+
+	@Override
+	public boolean isFact(Atom atom) {
+		awaitIdle();
+		return grounder.isFact(atom);
+	}
+
+	@Override
+	public CompiledRule getNonGroundRule(Integer ruleId) {
+		awaitIdle();
+		return grounder.getNonGroundRule(ruleId);
+	}
+
+	/**
+	 * The input of a grounding round, and its output once the round is done.
+	 */
+	private static final class Round {
+		private final int[] newPositiveAtoms;
+		private final int[] changedAtoms;
+		private final ThriceTruth[] changedTruths;
+		private int numberOfChangedAtoms;
+
+		private final NoGoodBatch noGoods = new NoGoodBatch();
+		private Pair<Map<Integer, Integer>, Map<Integer, Integer>> choiceAtoms;
+		private Map<Integer, Set<Integer>> headsToBodies;
+
+		private Round(int[] newPositiveAtoms, int numberOfChangedAtoms) {
+			this.newPositiveAtoms = newPositiveAtoms;
+			this.changedAtoms = new int[numberOfChangedAtoms];
+			this.changedTruths = new ThriceTruth[numberOfChangedAtoms];
+		}
+	}
+}
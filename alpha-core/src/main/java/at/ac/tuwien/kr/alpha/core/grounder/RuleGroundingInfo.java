@@ -2,6 +2,8 @@
 
 import java.util.List;
 
+import at.ac.tuwien.kr.alpha.api.config.JoinStrategy;
+import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
 import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
 
 public interface RuleGroundingInfo {
@@ -17,4 +19,28 @@ public interface RuleGroundingInfo {
 	
 	void computeGroundingOrders();
 
+	/**
+	 * Recomputes the grounding orders based on the number of instances in the given working memory if these numbers
+	 * have changed considerably since the grounding orders were computed last.
+	 */
+	void replanIfCardinalitiesDrifted(WorkingMemory workingMemory);
+
+	/**
+	 * Records that instantiating the given literal extended {@code numGivenTuples} partial substitutions into
+	 * {@code numObtainedTuples} substitutions.
+	 */
+	void updateLiteralSelectivity(Literal literal, int numGivenTuples, int numObtainedTuples);
+
+	/**
+	 * Returns the {@link LeapfrogTriejoin} of the positive body atoms other than the given starting literal to use under
+	 * the given join strategy, or {@code null} if the literals are to be joined one after the other along the grounding
+	 * order.
+	 */
+	LeapfrogTriejoin getTriejoin(Literal startingLiteral, JoinStrategy joinStrategy);
+
+	/**
+	 * Returns a new empty substitution with a slot for each variable of the rule body, from which grounding starts.
+	 */
+	Substitution newEmptySubstitution();
+
 }
@@ -28,6 +28,7 @@
 package at.ac.tuwien.kr.alpha.core.grounder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,19 +36,36 @@
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import at.ac.tuwien.kr.alpha.api.config.JoinStrategy;
+import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
 import at.ac.tuwien.kr.alpha.api.programs.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
 import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.commons.substitutions.ArraySubstitution;
+import at.ac.tuwien.kr.alpha.commons.substitutions.ArraySubstitution.VariableSlots;
 import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
 
 /**
  * Provides the grounder with information on the order to ground the literals in the body of a rule.
  * Grounding starts with some starting literal (i.e., one that does not require any variables to be bound already) and
  * then may join this with any other literal that requires no other variables to be bound other than those already bound
- * by the first literal. This class is prepared to take join-selectivities into account for finding a good grounding
- * order.
+ * by the first literal. Among the literals that can be joined next, those sharing variables with the literals before are
+ * preferred in order to avoid cross products, and among these the one expected to yield the fewest substitutions.
+ *
+ * Initially, all literals are expected to yield equally many substitutions, i.e., the grounding order follows the
+ * order of the rule body. Once a {@link WorkingMemory} is available, the number of substitutions a positive
+ * {@link BasicAtom} yields is estimated from the number of instances of its predicate and the number of distinct values
+ * at its bound positions (see {@link IndexedInstanceStorage#estimateNumberOfMatchingInstances}). For all other
+ * literals, the observed selectivity recorded by {@link #updateLiteralSelectivity(Literal, int, int)} is used. The
+ * grounding orders are recomputed whenever the number of instances of some predicate in the positive body changed by
+ * more than a factor of {@link #REPLANNING_THRESHOLD} since the last computation. Since this information adapts to
+ * the working memory of whoever grounds the rule, each grounder and each {@link
+ * at.ac.tuwien.kr.alpha.core.programs.transformation.StratifiedEvaluation} plans with instances of its own, which are
+ * not thread-safe. Rules themselves are shared by all solving runs of a program.
  *
  * Since the grounder must yield all ground instantiations of rules whose positive body is true in the current assignment,
  * a starting literals is a positive BasicAtom and the grounder can wait until after some instance in the working memory
@@ -59,13 +77,33 @@
  *
  * Note that rules with self-joins (rules with p(X,Y), p(A,B) in their body) make it necessary that every positive
  * literal (whose interpretation is not fixed) is a starting literal, at least for the current grounding procedure.
+ *
+ * For each starting literal, a {@link LeapfrogTriejoin} of the remaining positive BasicAtoms is planned if possible,
+ * which the grounder may use instead of joining the literals along the grounding order, in particular for rules whose
+ * positive body is cyclic (see {@link #getTriejoin(Literal, JoinStrategy)}). Triejoins are planned once on
+ * construction, since they do not depend on the working memory.
  */
 public class RuleGroundingInfoImpl implements RuleGroundingInfo {
+	static final double REPLANNING_THRESHOLD = 2.0;
+	private static final float SELECTIVITY_DECAY = 0.5f;
+	private static final int CARDINALITIES_UNKNOWN = -1;
+
 	private final CompiledRule internalRule;
 	HashMap<Literal, RuleGroundingOrderImpl> groundingOrders;
-	private HashMap<Literal, Float> literalSelectivity;
+	private final Map<Literal, Float> literalSelectivity;
 	private List<Literal> startingLiterals;
 
+	// The positive BasicAtoms of the body and the number of instances of their predicates when the grounding orders were
+	// computed last.
+	private final List<Literal> positiveBasicLiterals = new ArrayList<>();
+	private final int[] plannedCardinalities;
+
+	private final boolean cyclicPositiveBody;
+	private final Map<Literal, LeapfrogTriejoin> triejoins = new HashMap<>();
+
+	// The slots of all variables of the body in substitutions of the rule.
+	private final VariableSlots variableSlots;
+
 	private final boolean fixedGroundingInstantiation;
 	private RuleGroundingOrderImpl fixedGroundingOrder;
 
@@ -75,6 +113,26 @@ public RuleGroundingInfoImpl(CompiledRule internalRule) {
 		resetLiteralSelectivity();
 		this.groundingOrders = new HashMap<>();
 		this.fixedGroundingInstantiation = computeStartingLiterals();
+		for (Literal literal : internalRule.getBody()) {
+			if (literal.getAtom() instanceof BasicAtom && !literal.isNegated()) {
+				positiveBasicLiterals.add(literal);
+			}
+		}
+		this.plannedCardinalities = new int[positiveBasicLiterals.size()];
+		Arrays.fill(plannedCardinalities, CARDINALITIES_UNKNOWN);
+		Set<VariableTerm> bodyVariables = new HashSet<>();
+		for (Literal literal : internalRule.getBody()) {
+			bodyVariables.addAll(literal.getOccurringVariables());
+		}
+		this.variableSlots = VariableSlots.of(bodyVariables);
+		this.cyclicPositiveBody = LeapfrogTriejoin.isCyclic(positiveBasicLiterals);
+		if (!fixedGroundingInstantiation && positiveBasicLiterals.size() >= 2 && LeapfrogTriejoin.isApplicable(positiveBasicLiterals)) {
+			for (Literal startingLiteral : startingLiterals) {
+				List<Literal> joinedLiterals = new ArrayList<>(positiveBasicLiterals);
+				joinedLiterals.remove(startingLiteral);
+				triejoins.put(startingLiteral, new LeapfrogTriejoin(joinedLiterals, startingLiteral.getOccurringVariables()));
+			}
+		}
 	}
 
 	private void resetLiteralSelectivity() {
@@ -132,8 +190,13 @@ public List<Literal> getStartingLiterals() {
 		return Collections.unmodifiableList(startingLiterals);
 	}
 
+	@Override
 	public void updateLiteralSelectivity(Literal literal, int numGivenTuples, int numObtainedTuples) {
-		// TODO: add old selectivity (with a decay factor) and new selectivity.
+		if (numGivenTuples == 0) {
+			return;
+		}
+		float observedSelectivity = (float) numObtainedTuples / numGivenTuples;
+		literalSelectivity.computeIfPresent(literal, (k, v) -> SELECTIVITY_DECAY * v + (1 - SELECTIVITY_DECAY) * observedSelectivity);
 	}
 
 	@Override
@@ -141,6 +204,19 @@ public RuleGroundingOrderImpl orderStartingFrom(Literal startingLiteral) {
 		return groundingOrders.get(startingLiteral);
 	}
 
+	@Override
+	public LeapfrogTriejoin getTriejoin(Literal startingLiteral, JoinStrategy joinStrategy) {
+		if (startingLiteral == null || joinStrategy == JoinStrategy.NESTED_LOOP || joinStrategy == JoinStrategy.AUTO && !cyclicPositiveBody) {
+			return null;
+		}
+		return triejoins.get(startingLiteral);
+	}
+
+	@Override
+	public Substitution newEmptySubstitution() {
+		return new ArraySubstitution(variableSlots);
+	}
+
 	@Override
 	public RuleGroundingOrder getFixedGroundingOrder() {
 		return fixedGroundingOrder;
@@ -158,18 +234,61 @@ public boolean hasFixedInstantiation() {
 
 	@Override
 	public void computeGroundingOrders() {
+		computeGroundingOrders(null);
+	}
+
+	@Override
+	public void replanIfCardinalitiesDrifted(WorkingMemory workingMemory) {
 		if (fixedGroundingInstantiation) {
-			// Fixed grounding is only evaluated once and not depending on a starting variable, just use the first.
-			computeGroundingOrder(startingLiterals.get(0));
+			// Fixed grounding is only evaluated once.
+			return;
+		}
+		boolean drifted = false;
+		for (int i = 0; i < plannedCardinalities.length; i++) {
+			int cardinality = getCardinality(workingMemory, positiveBasicLiterals.get(i));
+			int plannedCardinality = plannedCardinalities[i];
+			if (plannedCardinality == CARDINALITIES_UNKNOWN
+					|| cardinality + 1 > REPLANNING_THRESHOLD * (plannedCardinality + 1)
+					|| plannedCardinality + 1 > REPLANNING_THRESHOLD * (cardinality + 1)) {
+				drifted = true;
+				break;
+			}
+		}
+		if (!drifted) {
 			return;
 		}
-		// Compute grounding orders for all positive BasicAtoms.
-		for (Literal literal : startingLiterals) {
-			computeGroundingOrder(literal);
+		for (int i = 0; i < plannedCardinalities.length; i++) {
+			plannedCardinalities[i] = getCardinality(workingMemory, positiveBasicLiterals.get(i));
+		}
+		computeGroundingOrders(workingMemory);
+	}
+
+	private static int getCardinality(WorkingMemory workingMemory, Literal literal) {
+		if (!workingMemory.contains(literal.getPredicate())) {
+			return 0;
+		}
+		return workingMemory.get(literal).size();
+	}
+
+	/**
+	 * Computes the grounding orders, estimating the number of substitutions yielded by positive BasicAtoms from the
+	 * given working memory, if it is not {@code null}.
+	 */
+	private void computeGroundingOrders(WorkingMemory workingMemory) {
+		HashMap<Literal, RuleGroundingOrderImpl> newGroundingOrders = new HashMap<>();
+		if (fixedGroundingInstantiation) {
+			// Fixed grounding is only evaluated once and not depending on a starting variable, just use the first.
+			computeGroundingOrder(startingLiterals.get(0), workingMemory, newGroundingOrders);
+		} else {
+			// Compute grounding orders for all positive BasicAtoms.
+			for (Literal literal : startingLiterals) {
+				computeGroundingOrder(literal, workingMemory, newGroundingOrders);
+			}
 		}
+		groundingOrders = newGroundingOrders;
 	}
 
-	private void computeGroundingOrder(Literal startingLiteral) {
+	private void computeGroundingOrder(Literal startingLiteral, WorkingMemory workingMemory, Map<Literal, RuleGroundingOrderImpl> newGroundingOrders) {
 		Set<Literal> bodyLiterals = internalRule.getBody();
 		HashSet<VariableTerm> boundVariables = new HashSet<>();
 		boundVariables.addAll(startingLiteral.getBindingVariables());
@@ -186,7 +305,7 @@ private void computeGroundingOrder(Literal startingLiteral) {
 		int position = 0;
 		int positionLastVarBound = -1;
 		while (!remainingLiterals.isEmpty()) {
-			Literal nextGroundingLiteral = selectNextGroundingLiteral(remainingLiterals, boundVariables);
+			Literal nextGroundingLiteral = selectNextGroundingLiteral(remainingLiterals, boundVariables, workingMemory);
 			if (nextGroundingLiteral == null) {
 				throw new RuntimeException(
 						"Could not find a grounding order for rule " + internalRule + " with starting literal: " + startingLiteral + ". Rule is not safe.");
@@ -202,33 +321,47 @@ private void computeGroundingOrder(Literal startingLiteral) {
 		if (fixedGroundingInstantiation) {
 			fixedGroundingOrder = new RuleGroundingOrderImpl(null, literalsOrder, positionLastVarBound, internalRule.isGround());
 		}
-		groundingOrders.put(startingLiteral, new RuleGroundingOrderImpl(startingLiteral, literalsOrder, positionLastVarBound, internalRule.isGround()));
+		newGroundingOrders.put(startingLiteral, new RuleGroundingOrderImpl(startingLiteral, literalsOrder, positionLastVarBound, internalRule.isGround()));
 	}
 
-	private Literal selectNextGroundingLiteral(LinkedHashSet<Literal> remainingLiterals, Set<VariableTerm> boundVariables) {
-		Float bestSelectivity = Float.MAX_VALUE;
+	private Literal selectNextGroundingLiteral(LinkedHashSet<Literal> remainingLiterals, Set<VariableTerm> boundVariables, WorkingMemory workingMemory) {
+		double bestEstimate = Double.MAX_VALUE;
 		Literal bestLiteral = null;
 		boolean bestLiteralSharesVariables = false;
-		// Find the best literal whose nonbinding variables are already bound and whose selectivity is highest.
+		// Find the best literal whose nonbinding variables are already bound and which is expected to yield the fewest substitutions.
 		// To avoid cross products, select those first that have some of their variables already bound.
 		for (Literal literal : remainingLiterals) {
 			if (!boundVariables.containsAll(literal.getNonBindingVariables())) {
 				// Only consider literals whose nonbinding variables are already bound.
 				continue;
 			}
-			Float selectivity = literalSelectivity.get(literal);
+			double estimate = estimateNumberOfSubstitutions(literal, boundVariables, workingMemory);
 			boolean sharesVariables = sharesVariables(boundVariables, literal.getBindingVariables(), literal.getNonBindingVariables());
 			if (bestLiteral == null
-					|| sharesVariables && selectivity < bestSelectivity
-					|| sharesVariables && !bestLiteralSharesVariables) {
+					|| sharesVariables && !bestLiteralSharesVariables
+					|| sharesVariables == bestLiteralSharesVariables && estimate < bestEstimate) {
 				bestLiteral = literal;
-				bestSelectivity = selectivity;
+				bestEstimate = estimate;
 				bestLiteralSharesVariables = sharesVariables;
 			}
 		}
 		return bestLiteral;
 	}
 
+	/**
+	 * Estimates the number of substitutions obtained from a single partial substitution binding the given variables when
+	 * instantiating the given literal.
+	 */
+	private double estimateNumberOfSubstitutions(Literal literal, Set<VariableTerm> boundVariables, WorkingMemory workingMemory) {
+		if (workingMemory == null || literal.isNegated() || !(literal.getAtom() instanceof BasicAtom)
+				|| !workingMemory.contains(literal.getPredicate())) {
+			return literalSelectivity.get(literal);
+		}
+		List<Term> terms = literal.getAtom().getTerms();
+		return workingMemory.get(literal).estimateNumberOfMatchingInstances(
+				(position) -> boundVariables.containsAll(terms.get(position).getOccurringVariables()));
+	}
+
 	private boolean sharesVariables(Collection<VariableTerm> set1, Collection<VariableTerm> set2part1, Collection<VariableTerm> set2part2) {
 		return !Collections.disjoint(set1, set2part1) || !Collections.disjoint(set1, set2part2);
 	}
@@ -0,0 +1,68 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+
+/**
+ * A dictionary encoding of ground terms by dense integer IDs, which are assigned in the order terms are first encoded.
+ *
+ * An {@link IndexedInstanceStorage} stores its instances, index keys and sorted views as the IDs of terms instead of the
+ * terms themselves, such that hashing and comparing them amounts to hashing and comparing integers. All storages of a
+ * {@link WorkingMemory} share the same dictionary, hence IDs can be compared across storages, e.g., when joining them.
+ * IDs are never reassigned, i.e., a dictionary only grows.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class TermDictionary {
+	/**
+	 * Returned by {@link #lookup(Term)} for terms that have not been encoded.
+	 */
+	public static final int NOT_ENCODED = -1;
+
+	private final HashMap<Term, Integer> idsByTerm = new HashMap<>();
+	private Term[] termsById = new Term[16];
+
+	/**
+	 * Returns the ID of the given ground term, assigning the next free ID if the term has not been encoded yet.
+	 */
+	public int encode(Term term) {
+		Integer id = idsByTerm.get(term);
+		if (id != null) {
+			return id;
+		}
+		if (!term.isGround()) {
+			throw new IllegalArgumentException("Cannot encode non-ground term: " + term);
+		}
+		int newId = idsByTerm.size();
+		if (newId == termsById.length) {
+			termsById = Arrays.copyOf(termsById, arrayGrowthSize(termsById.length));
+		}
+		termsById[newId] = term;
+		idsByTerm.put(term, newId);
+		return newId;
+	}
+
+	/**
+	 * Returns the ID of the given term, or {@link #NOT_ENCODED} if the term has not been encoded. In the latter case, no
+	 * stored instance has the term at any position.
+	 */
+	public int lookup(Term term) {
+		Integer id = idsByTerm.get(term);
+		return id == null ? NOT_ENCODED : id;
+	}
+
+	public Term decode(int id) {
+		if (id < 0 || id >= idsByTerm.size()) {
+			throw new IllegalArgumentException("No term encoded by ID " + id);
+		}
+		return termsById[id];
+	}
+
+	public int size() {
+		return idsByTerm.size();
+	}
+}
@@ -42,6 +42,7 @@
 public class WorkingMemory {
 	protected HashMap<Predicate, ImmutablePair<IndexedInstanceStorage, IndexedInstanceStorage>> workingMemory = new HashMap<>();
 	private HashSet<IndexedInstanceStorage> modifiedWorkingMemories = new LinkedHashSet<>();
+	private final TermDictionary termDictionary = new TermDictionary();
 
 	public boolean contains(Predicate predicate) {
 		return workingMemory.containsKey(predicate);
@@ -52,17 +53,17 @@ public void initialize(Predicate predicate) {
 			return;
 		}
 
-		IndexedInstanceStorage pos = new IndexedInstanceStorage(predicate, true);
-		IndexedInstanceStorage neg = new IndexedInstanceStorage(predicate, false);
-		// Index all positions of the storage (may impair efficiency)
-		for (int i = 0; i < predicate.getArity(); i++) {
-			pos.addIndexPosition(i);
-			neg.addIndexPosition(i);
-		}
+		// Indices are created by the storages on demand. All storages share one term dictionary.
+		IndexedInstanceStorage pos = new IndexedInstanceStorage(predicate, true, termDictionary);
+		IndexedInstanceStorage neg = new IndexedInstanceStorage(predicate, false, termDictionary);
 
 		workingMemory.put(predicate, new ImmutablePair<>(pos, neg));
 	}
 
+	public TermDictionary getTermDictionary() {
+		return termDictionary;
+	}
+
 	public IndexedInstanceStorage get(Literal literal) {
 		return get(literal.getAtom(), !literal.isNegated());
 	}
@@ -36,6 +36,7 @@
 import at.ac.tuwien.kr.alpha.commons.util.Util;
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.TruthLookup;
 import at.ac.tuwien.kr.alpha.core.grounder.IndexedInstanceStorage;
 import at.ac.tuwien.kr.alpha.core.grounder.NaiveGrounder;
 import at.ac.tuwien.kr.alpha.core.grounder.WorkingMemory;
@@ -69,7 +70,7 @@ public class DefaultLazyGroundingInstantiationStrategy extends AbstractLiteralIn
 
 	private WorkingMemory workingMemory;
 	private AtomStore atomStore;
-	private Assignment currentAssignment;
+	private TruthLookup currentAssignment;
 	private LinkedHashSet<Atom> staleWorkingMemoryEntries;
 	private Map<Predicate, LinkedHashSet<Instance>> facts;
 	private boolean accumulatorEnabled;
@@ -176,7 +177,7 @@ protected boolean assignmentStatusAccepted(AssignmentStatus assignmentStatus) {
 		}
 	}
 
-	public void setCurrentAssignment(Assignment currentAssignment) {
+	public void setCurrentAssignment(TruthLookup currentAssignment) {
 		this.currentAssignment = currentAssignment;
 	}
 
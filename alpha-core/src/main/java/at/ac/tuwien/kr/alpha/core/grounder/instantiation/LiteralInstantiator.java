@@ -38,6 +38,7 @@
 import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
 import at.ac.tuwien.kr.alpha.commons.substitutions.BasicSubstitution;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.EnumerationLiteral;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.IntervalLiteral;
 
 /**
@@ -54,14 +55,27 @@ public class LiteralInstantiator {
 	private static final Logger LOGGER = LoggerFactory.getLogger(LiteralInstantiator.class);
 
 	private final LiteralInstantiationStrategy instantiationStrategy;
+	private final Enumerations enumerations;
 
 	/**
-	 * Creates a new {@link LiteralInstantiator} with the given {@link LiteralInstantiationStrategy}.
+	 * Creates a new {@link LiteralInstantiator} with the given {@link LiteralInstantiationStrategy} and fresh
+	 * {@link Enumerations}.
 	 *
 	 * @param instantiationStrategy the instantiation strategy to use for this instantiator
 	 */
 	public LiteralInstantiator(LiteralInstantiationStrategy instantiationStrategy) {
+		this(instantiationStrategy, new Enumerations());
+	}
+
+	/**
+	 * Creates a new {@link LiteralInstantiator} with the given {@link LiteralInstantiationStrategy}.
+	 *
+	 * @param instantiationStrategy the instantiation strategy to use for this instantiator
+	 * @param enumerations          the enumeration indices used to instantiate {@link EnumerationLiteral}s
+	 */
+	public LiteralInstantiator(LiteralInstantiationStrategy instantiationStrategy, Enumerations enumerations) {
 		this.instantiationStrategy = instantiationStrategy;
+		this.enumerations = enumerations;
 	}
 
 	/**
@@ -112,7 +126,7 @@ private LiteralInstantiationResult instantiateFixedInterpretationLiteral(FixedIn
 	}
 
 	/**
-	 * Calculates a substitution that adds an enumeration index (see {@link EnumerationLiteral#addEnumerationIndexToSubstitution(BasicSubstitution)})
+	 * Calculates a substitution that adds an enumeration index (see {@link EnumerationLiteral#addEnumerationIndexToSubstitution(Substitution, Enumerations)})
 	 * to the given partial substitution. Due to the special nature of enumeration literals, this method will always return
 	 * {@link LiteralInstantiationResult.Type#CONTINUE} as its result type. This method assumes that the partial substitution has
 	 * <emph>not</emph> been applied to the passed literal.
@@ -122,7 +136,7 @@ private LiteralInstantiationResult instantiateFixedInterpretationLiteral(FixedIn
 	 */
 	private LiteralInstantiationResult instantiateEnumerationLiteral(EnumerationLiteral lit, Substitution partialSubstitution) {
 		LOGGER.trace("Instantiating EnumerationLiteral: {}", lit);
-		return LiteralInstantiationResult.continueBinding(lit.addEnumerationIndexToSubstitution(partialSubstitution), AssignmentStatus.TRUE);
+		return LiteralInstantiationResult.continueBinding(lit.addEnumerationIndexToSubstitution(partialSubstitution, enumerations), AssignmentStatus.TRUE);
 	}
 
 	/**
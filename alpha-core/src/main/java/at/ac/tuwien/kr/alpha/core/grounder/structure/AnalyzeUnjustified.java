@@ -4,13 +4,12 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -29,6 +28,7 @@
 import at.ac.tuwien.kr.alpha.commons.substitutions.Unifier;
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.IntIterator;
 import at.ac.tuwien.kr.alpha.core.grounder.Unification;
 import at.ac.tuwien.kr.alpha.core.programs.CompiledProgram;
 import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
@@ -52,7 +52,8 @@ public AnalyzeUnjustified(CompiledProgram programAnalysis, AtomStore atomStore,
 		padDepth = 0;
 	}
 
-	private Map<Predicate, List<Atom>> assignedAtoms;
+	// The atoms over each predicate that are assigned or facts, collected for those predicates needed by the current analysis.
+	private Map<Predicate, AssignedAtoms> assignedAtoms;
 
 	public Set<Literal> analyze(int atomToJustify, Assignment currentAssignment) {
 		padDepth = 0;
@@ -67,16 +68,7 @@ public Set<Literal> analyze(int atomToJustify, Assignment currentAssignment) {
 		// If atom instanceof ChoiceAtom and atom is MBT, then the corresponding rule body has a BasicAtom that is MBT.
 		// If atom instanceof RuleAtom and atom is FALSE, then this comes from a violated constraint in the end and the corresponding rule body can be taken as the single rule deriving the RuleAtom.
 		//@formatter:on
-		assignedAtoms = new LinkedHashMap<>();
-		for (int i = 1; i <= atomStore.getMaxAtomId(); i++) {
-			ThriceTruth truth = currentAssignment.getTruth(i);
-			if (truth == null) {
-				continue;
-			}
-			Atom assignedAtom = atomStore.get(i);
-			assignedAtoms.putIfAbsent(assignedAtom.getPredicate(), new ArrayList<>());
-			assignedAtoms.get(assignedAtom.getPredicate()).add(assignedAtom);
-		}
+		assignedAtoms = new HashMap<>();
 		return analyze((BasicAtom) atom, currentAssignment);
 	}
 
@@ -145,9 +137,7 @@ private ReturnExplainUnjust explainUnjust(LitSet x, Assignment currentAssignment
 				}
 				Atom lb = lit.getAtom().substitute(sigma);
 				log("Found: {}, searching falsifying ground instances of {} (with unifier from the head) now.", lit, lb);
-				AssignedAtomsIterator assignedAtomsOverPredicate = getAssignedAtomsOverPredicate(lb.getPredicate());
-				while (assignedAtomsOverPredicate.hasNext()) {
-					Atom lg = assignedAtomsOverPredicate.next();
+				for (Atom lg : getAssignedAtomsMatching(lb, currentAssignment)) {
 					log("Considering: {}", lg);
 					if (atomStore.contains(lg)) {
 						int atomId = atomStore.get(lg);
@@ -221,9 +211,8 @@ private Set<LitSet> unjustCover(List<Literal> vB, Set<Unifier> vY, Set<Unifier>
 			Set<Unifier> vYp = new LinkedHashSet<>();
 
 			log("Checking atoms over predicate: {}", b.getPredicate());
-			AssignedAtomsIterator assignedAtomsOverPredicate = getAssignedAtomsOverPredicate(b.getPredicate());
-			atomLoop: while (assignedAtomsOverPredicate.hasNext()) {
-				Atom atom = assignedAtomsOverPredicate.next();
+			// Atoms not matching bSigmaY at its ground positions do not yield substitutions for Y', hence they are skipped.
+			atomLoop: for (Atom atom : getAssignedAtomsMatching(bSigmaY, currentAssignment)) {
 				// Check that atom is justified/true.
 				log("Checking atom: {}", atom);
 				if (atomStore.contains(atom)) {
@@ -291,39 +280,66 @@ private String pad(String string) {
 		return sb.toString();
 	}
 
-	private AssignedAtomsIterator getAssignedAtomsOverPredicate(Predicate predicate) {
-		// Find more substitutions, consider currentAssignment.
-		List<Atom> assignedAtoms = this.assignedAtoms.get(predicate);
-		// Consider instances from facts.
-		LinkedHashSet<Instance> factsOverPredicate = factsFromProgram.get(predicate);
-		return new AssignedAtomsIterator(predicate, assignedAtoms, factsOverPredicate);
-	}
-
-	private static class AssignedAtomsIterator implements Iterator<Atom> {
-		private final Predicate predicate;
-		private final Iterator<Atom> assignedAtomsIterator;
-		private final Iterator<Instance> factsIterator;
-
-		public AssignedAtomsIterator(Predicate predicate, List<Atom> assignedAtoms, Set<Instance> facts) {
-			this.predicate = predicate;
-			this.assignedAtomsIterator = assignedAtoms == null ? Collections.emptyIterator() : assignedAtoms.iterator();
-			this.factsIterator = facts == null ? Collections.emptyIterator() : facts.iterator();
+	/**
+	 * Returns the atoms over the predicate of the given atom that are assigned in the given assignment or are facts, and
+	 * that have the same terms as the given atom at all positions where it has ground terms. Other atoms do not unify with
+	 * the given one.
+	 */
+	private List<Atom> getAssignedAtomsMatching(Atom atom, Assignment currentAssignment) {
+		Predicate predicate = atom.getPredicate();
+		AssignedAtoms assignedAtomsOverPredicate = assignedAtoms.get(predicate);
+		if (assignedAtomsOverPredicate == null) {
+			assignedAtomsOverPredicate = new AssignedAtoms();
+			IntIterator assignedAtomIds = currentAssignment.getAssignedAtomsOverPredicate(predicate);
+			while (assignedAtomIds.hasNext()) {
+				assignedAtomsOverPredicate.all.add(atomStore.get(assignedAtomIds.next()));
+			}
+			// Consider instances from facts.
+			LinkedHashSet<Instance> factsOverPredicate = factsFromProgram.get(predicate);
+			if (factsOverPredicate != null) {
+				for (Instance fact : factsOverPredicate) {
+					assignedAtomsOverPredicate.all.add(Atoms.newBasicAtom(predicate, fact.terms));
+				}
+			}
+			assignedAtoms.put(predicate, assignedAtomsOverPredicate);
 		}
-
-		@Override
-		public boolean hasNext() {
-			return assignedAtomsIterator.hasNext() || factsIterator.hasNext();
+		List<Term> terms = atom.getTerms();
+		int firstGroundPosition = 0;
+		while (firstGroundPosition < terms.size() && !terms.get(firstGroundPosition).isGround()) {
+			firstGroundPosition++;
 		}
-
-		@Override
-		public Atom next() {
-			if (assignedAtomsIterator.hasNext()) {
-				return assignedAtomsIterator.next();
+		if (firstGroundPosition == terms.size()) {
+			return assignedAtomsOverPredicate.all;
+		}
+		List<Atom> matchingAtoms = new ArrayList<>();
+		candidates: for (Atom candidate : assignedAtomsOverPredicate.getAtomsWithTermAt(firstGroundPosition, terms.get(firstGroundPosition))) {
+			for (int i = firstGroundPosition + 1; i < terms.size(); i++) {
+				if (terms.get(i).isGround() && !terms.get(i).equals(candidate.getTerms().get(i))) {
+					continue candidates;
+				}
 			}
-			if (factsIterator.hasNext()) {
-				return Atoms.newBasicAtom(predicate, factsIterator.next().terms);
+			matchingAtoms.add(candidate);
+		}
+		return matchingAtoms;
+	}
+
+	/**
+	 * The assigned atoms and facts over a predicate, with indices by the term at some position built on demand.
+	 */
+	private static class AssignedAtoms {
+		private final List<Atom> all = new ArrayList<>();
+		private final Map<Integer, Map<Term, List<Atom>>> byTermAtPosition = new HashMap<>();
+
+		List<Atom> getAtomsWithTermAt(int position, Term term) {
+			Map<Term, List<Atom>> index = byTermAtPosition.get(position);
+			if (index == null) {
+				index = new HashMap<>();
+				for (Atom atom : all) {
+					index.computeIfAbsent(atom.getTerms().get(position), k -> new ArrayList<>()).add(atom);
+				}
+				byTermAtPosition.put(position, index);
 			}
-			throw new NoSuchElementException();
+			return index.getOrDefault(term, Collections.emptyList());
 		}
 	}
 
@@ -6,6 +6,7 @@
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import at.ac.tuwien.kr.alpha.api.programs.VariableNormalizableAtom;
 import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
@@ -21,10 +22,10 @@ public class LitSet {
 	private final int hashCode;
 	private final Atom normalizedLiteral;
 	private final Set<Unifier> normalizedSubstitutions;
-	private static int litSetCounter = 1;
+	private static final AtomicInteger LIT_SET_COUNTER = new AtomicInteger(1);
 
 	LitSet(Atom atom, Set<Unifier> complementSubstitutions) {
-		this.atom = atom.renameVariables("_AS" + litSetCounter++);
+		this.atom = atom.renameVariables("_AS" + LIT_SET_COUNTER.getAndIncrement());
 		this.complementSubstitutions = new HashSet<>();
 		for (Unifier complementSubstitution : complementSubstitutions) {
 			if (complementSubstitution == null) {
@@ -6,6 +6,7 @@
 import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.Program;
 import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
 
 public interface CompiledProgram extends Program<CompiledRule> {
@@ -15,6 +16,11 @@ public interface CompiledProgram extends Program<CompiledRule> {
 	Map<Predicate, LinkedHashSet<Instance>> getFactsByPredicate();
 	
 	Map<Integer, CompiledRule> getRulesById();
-	
+
+	/**
+	 * Returns the enumeration indices that were assigned when deriving the facts of this program, e.g. by evaluating its
+	 * stratified part. A solving run must not modify them, but continue with a copy of its own.
+	 */
+	Enumerations getEnumerations();
 
 }
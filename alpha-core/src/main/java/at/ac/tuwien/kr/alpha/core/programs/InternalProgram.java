@@ -20,6 +20,7 @@
 import at.ac.tuwien.kr.alpha.commons.programs.rules.Rules;
 import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
 import at.ac.tuwien.kr.alpha.core.grounder.FactIntervalEvaluator;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
 import at.ac.tuwien.kr.alpha.core.programs.rules.InternalRule;
 
@@ -35,9 +36,15 @@ public class InternalProgram extends AbstractProgram<CompiledRule> implements Co
 	private final Map<Predicate, LinkedHashSet<CompiledRule>> predicateDefiningRules = new LinkedHashMap<>();
 	private final Map<Predicate, LinkedHashSet<Instance>> factsByPredicate = new LinkedHashMap<>();
 	private final Map<Integer, CompiledRule> rulesById = new LinkedHashMap<>();
+	private final Enumerations enumerations;
 
 	public InternalProgram(List<CompiledRule> rules, List<Atom> facts) {
+		this(rules, facts, new Enumerations());
+	}
+
+	public InternalProgram(List<CompiledRule> rules, List<Atom> facts, Enumerations enumerations) {
 		super(rules, facts, null);
+		this.enumerations = enumerations;
 		recordFacts(facts);
 		recordRules(rules);
 	}
@@ -101,6 +108,11 @@ public Map<Integer, CompiledRule> getRulesById() {
 		return Collections.unmodifiableMap(rulesById);
 	}
 
+	@Override
+	public Enumerations getEnumerations() {
+		return enumerations;
+	}
+
 	public NormalProgram toNormalProgram() {
 		List<NormalRule> normalRules = new ArrayList<>();
 		for (CompiledRule rule : getRules()) {
@@ -1,7 +1,6 @@
 package at.ac.tuwien.kr.alpha.core.programs.atoms;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 
@@ -30,7 +29,6 @@
  */
 public class EnumerationAtom extends AbstractAtom implements BasicAtom {
 	public static final Predicate ENUMERATION_PREDICATE = Predicates.getPredicate("_Enumeration", 3);
-	private static final HashMap<Term, HashMap<Term, Integer>> ENUMERATIONS = new HashMap<>();
 
 	private final Term enumIdTerm;
 	private final Term valueTerm;
@@ -42,40 +40,23 @@ public EnumerationAtom(Term enumIdTerm, Term valueTerm, VariableTerm indexTerm)
 		this.indexTerm = indexTerm;
 	}
 	
-	public static void resetEnumerations() {
-		ENUMERATIONS.clear();
-	}
-
-	private Integer getEnumerationIndex(Term identifier, Term enumerationTerm) {
-		ENUMERATIONS.putIfAbsent(identifier, new HashMap<>());
-		HashMap<Term, Integer> enumeratedTerms = ENUMERATIONS.get(identifier);
-		Integer assignedInteger = enumeratedTerms.get(enumerationTerm);
-		if (assignedInteger == null) {
-			int enumerationIndex = enumeratedTerms.size() + 1;
-			enumeratedTerms.put(enumerationTerm, enumerationIndex);
-			return enumerationIndex;
-		} else {
-			return assignedInteger;
-		}
-
-	}
-
 	/**
 	 * Based on a given substitution, substitutes the first two terms of this {@link EnumerationAtom} with the values from the substitution,
 	 * and returns a new substitution with all mappings from the input substitution plus a binding for the third term of the enum atom to the
-	 * integer index that is mapped to the first two terms in the internal <code>ENUMERATIONS</code> map.
+	 * integer index that the given {@link Enumerations} assign to the first two terms.
 	 * 
 	 * @param substitution an input substitution which must provide ground terms for the first two terms of the enumeration atom.
+	 * @param enumerations the enumeration indices of the current solving run.
 	 * @return a new substitution where the third term of the enumeration atom is bound to an integer.
 	 */
-	public Substitution addEnumerationIndexToSubstitution(Substitution substitution) {
+	public Substitution addEnumerationIndexToSubstitution(Substitution substitution, Enumerations enumerations) {
 		Term idTerm = this.getTerms().get(0).substitute(substitution);
 		Term enumerationTerm = this.getTerms().get(1).substitute(substitution);
 		if (!enumerationTerm.isGround()) {
 			throw new RuntimeException("Enumeration term is not ground after substitution. Should not happen.");
 		}
-		Integer enumerationIndex = getEnumerationIndex(idTerm, enumerationTerm);
-		BasicSubstitution retVal = new BasicSubstitution(substitution);
+		int enumerationIndex = enumerations.getEnumerationIndex(idTerm, enumerationTerm);
+		Substitution retVal = BasicSubstitution.copyOf(substitution);
 		retVal.put((VariableTerm) getTerms().get(2), Terms.newConstant(enumerationIndex));
 		return retVal;
 	}
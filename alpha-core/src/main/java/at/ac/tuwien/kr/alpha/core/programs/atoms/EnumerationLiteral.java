@@ -53,7 +53,7 @@ public Set<VariableTerm> getNonBindingVariables() {
 
 	}
 
-	public Substitution addEnumerationIndexToSubstitution(Substitution partialSubstitution) {
-		return this.getAtom().addEnumerationIndexToSubstitution(partialSubstitution);
+	public Substitution addEnumerationIndexToSubstitution(Substitution partialSubstitution, Enumerations enumerations) {
+		return this.getAtom().addEnumerationIndexToSubstitution(partialSubstitution, enumerations);
 	}
 }
@@ -0,0 +1,48 @@
+package at.ac.tuwien.kr.alpha.core.programs.atoms;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+
+/**
+ * Assigns the indices of {@link EnumerationAtom}s, i.e., for each enumeration identifier, it numbers the ground terms
+ * enumerated under that identifier consecutively starting from 1, in the order they are encountered.
+ *
+ * The indices are state of one solving run: all grounders of one run (e.g. the workers of a portfolio solver) must use
+ * the same instance, which starts as a copy of the indices assigned when the stratified part of the program was
+ * evaluated (see {@link at.ac.tuwien.kr.alpha.core.programs.CompiledProgram#getEnumerations()}). Different runs, even
+ * of the same program, use separate instances. All methods are synchronized, since the grounders of one run may
+ * enumerate concurrently.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class Enumerations {
+	private final Map<Term, Map<Term, Integer>> enumerations = new HashMap<>();
+
+	public Enumerations() {
+	}
+
+	/**
+	 * Creates enumerations that start with the indices assigned by the given ones so far, but are independent of them
+	 * afterwards.
+	 */
+	public Enumerations(Enumerations other) {
+		synchronized (other) {
+			for (Map.Entry<Term, Map<Term, Integer>> entry : other.enumerations.entrySet()) {
+				enumerations.put(entry.getKey(), new HashMap<>(entry.getValue()));
+			}
+		}
+	}
+
+	public synchronized int getEnumerationIndex(Term identifier, Term enumerationTerm) {
+		Map<Term, Integer> enumeratedTerms = enumerations.computeIfAbsent(identifier, k -> new HashMap<>());
+		Integer assignedIndex = enumeratedTerms.get(enumerationTerm);
+		if (assignedIndex != null) {
+			return assignedIndex;
+		}
+		int enumerationIndex = enumeratedTerms.size() + 1;
+		enumeratedTerms.put(enumerationTerm, enumerationIndex);
+		return enumerationIndex;
+	}
+}
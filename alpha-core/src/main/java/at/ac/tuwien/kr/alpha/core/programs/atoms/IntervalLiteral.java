@@ -83,7 +83,7 @@ private List<Substitution> getIntervalSubstitutions(Substitution partialSubstitu
 		if (intervalRepresentingVariable instanceof VariableTerm) {
 			// Still a variable, generate all elements in the interval.
 			for (int i = intervalLowerBound; i <= intervalUpperBound; i++) {
-				Substitution ith = new BasicSubstitution(partialSubstitution);
+				Substitution ith = BasicSubstitution.copyOf(partialSubstitution);
 				ith.put((VariableTerm) intervalRepresentingVariable, Terms.newConstant(i));
 				substitutions.add(ith);
 			}
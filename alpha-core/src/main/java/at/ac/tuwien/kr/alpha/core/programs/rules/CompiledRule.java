@@ -4,7 +4,6 @@
 
 import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.rules.NormalRule;
-import at.ac.tuwien.kr.alpha.core.grounder.RuleGroundingInfo;
 
 public interface CompiledRule extends NormalRule {
 	
@@ -12,8 +11,6 @@ public interface CompiledRule extends NormalRule {
 	
 	List<Predicate> getOccurringPredicates();
 	
-	RuleGroundingInfo getGroundingInfo();
-	
 	CompiledRule renameVariables(String str);
 
 	boolean isGround();
@@ -38,12 +38,11 @@
 import at.ac.tuwien.kr.alpha.commons.programs.rules.heads.Heads;
 import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
 import at.ac.tuwien.kr.alpha.commons.substitutions.Unifier;
-import at.ac.tuwien.kr.alpha.commons.util.IntIdGenerator;
-import at.ac.tuwien.kr.alpha.core.grounder.RuleGroundingInfoImpl;
 import com.google.common.annotations.VisibleForTesting;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a normal rule or a constraint for the semi-naive grounder.
@@ -53,13 +52,13 @@
  */
 public class InternalRule extends AbstractRule<NormalHead> implements CompiledRule {
 
-	private static final IntIdGenerator ID_GENERATOR = new IntIdGenerator();
+	// Rule IDs are unique across all programs, since programs may be created concurrently.
+	private static final AtomicInteger ID_GENERATOR = new AtomicInteger();
 
 	private final int ruleId;
 
 	private final List<Predicate> occurringPredicates;
 
-	private final RuleGroundingInfoImpl groundingOrders;
 
 	/**
 	 * Creates a new {@link InternalRule} with the given head plus body and a fresh identifier.
@@ -73,7 +72,7 @@ public InternalRule(NormalHead head, List<Literal> body) {
 			throw new IllegalArgumentException(
 					"Empty bodies are not supported for InternalRule! (Head = " + (head == null ? "NULL" : head.getAtom().toString()) + ")");
 		}
-		this.ruleId = InternalRule.ID_GENERATOR.getNextId();
+		this.ruleId = InternalRule.ID_GENERATOR.getAndIncrement();
 
 		this.occurringPredicates = new ArrayList<>();
 		if (!isConstraint()) {
@@ -90,14 +89,15 @@ public InternalRule(NormalHead head, List<Literal> body) {
 		// not needed, done in AbstractRule! Leaving it commented out for future reference since this might actually be the
 		// proper place to put it
 		// this.checkSafety();
-
-		this.groundingOrders = new RuleGroundingInfoImpl(this);
-		this.groundingOrders.computeGroundingOrders();
 	}
 
+	/**
+	 * Restarts the numbering of rules, which is shared by all programs in the JVM. Only for tests that expect certain rule
+	 * IDs, it must not be called while other threads create rules.
+	 */
 	@VisibleForTesting
 	public static void resetIdGenerator() {
-		InternalRule.ID_GENERATOR.resetGenerator();
+		InternalRule.ID_GENERATOR.set(0);
 	}
 
 	public static CompiledRule fromNormalRule(Rule<NormalHead> rule) {
@@ -141,11 +141,6 @@ public List<Predicate> getOccurringPredicates() {
 		return this.occurringPredicates;
 	}
 
-	@Override
-	public RuleGroundingInfoImpl getGroundingInfo() {
-		return this.groundingOrders;
-	}
-
 	@Override
 	public int getRuleId() {
 		return this.ruleId;
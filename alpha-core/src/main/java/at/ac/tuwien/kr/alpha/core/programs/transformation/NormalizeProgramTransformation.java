@@ -4,7 +4,6 @@
 import at.ac.tuwien.kr.alpha.api.programs.ASPCore2Program;
 import at.ac.tuwien.kr.alpha.api.programs.NormalProgram;
 import at.ac.tuwien.kr.alpha.commons.programs.Programs;
-import at.ac.tuwien.kr.alpha.core.programs.atoms.EnumerationAtom;
 import at.ac.tuwien.kr.alpha.core.programs.transformation.aggregates.AggregateRewriting;
 
 /**
@@ -31,7 +30,6 @@ public NormalProgram apply(ASPCore2Program inputProgram) {
 		tmpPrg = new AggregateRewriting(aggregateRewritingCfg.isUseSortingGridEncoding(), aggregateRewritingCfg.isSupportNegativeValuesInSums()).apply(tmpPrg);
 		// Transform enumeration atoms.
 		tmpPrg = new EnumerationRewriting().apply(tmpPrg);
-		EnumerationAtom.resetEnumerations();
 
 		// Construct the normal program.
 		NormalProgram retVal = Programs.toNormalProgram(tmpPrg);
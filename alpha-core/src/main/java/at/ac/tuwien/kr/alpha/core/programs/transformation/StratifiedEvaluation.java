@@ -1,6 +1,7 @@
 package at.ac.tuwien.kr.alpha.core.programs.transformation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -16,6 +17,8 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import at.ac.tuwien.kr.alpha.api.config.JoinStrategy;
+import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
 import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
 import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.analysis.ComponentGraph;
@@ -27,7 +30,9 @@
 import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
 import at.ac.tuwien.kr.alpha.core.depgraph.StratificationAlgorithm;
 import at.ac.tuwien.kr.alpha.core.grounder.IndexedInstanceStorage;
+import at.ac.tuwien.kr.alpha.core.grounder.LeapfrogTriejoin;
 import at.ac.tuwien.kr.alpha.core.grounder.RuleGroundingInfo;
+import at.ac.tuwien.kr.alpha.core.grounder.RuleGroundingInfoImpl;
 import at.ac.tuwien.kr.alpha.core.grounder.RuleGroundingOrder;
 import at.ac.tuwien.kr.alpha.core.grounder.WorkingMemory;
 import at.ac.tuwien.kr.alpha.core.grounder.instantiation.AssignmentStatus;
@@ -36,6 +41,7 @@
 import at.ac.tuwien.kr.alpha.core.grounder.instantiation.WorkingMemoryBasedInstantiationStrategy;
 import at.ac.tuwien.kr.alpha.core.programs.AnalyzedProgram;
 import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 import at.ac.tuwien.kr.alpha.core.programs.rules.CompiledRule;
 
 /**
@@ -54,9 +60,20 @@ public class StratifiedEvaluation extends ProgramTransformation<AnalyzedProgram,
 
 	private List<Atom> additionalFacts = new ArrayList<>(); // The additional facts derived by stratified evaluation. Note that it may contain duplicates.
 	private Set<Integer> solvedRuleIds = new HashSet<>(); // Set of rules that have been completely evaluated.
+	private Map<Integer, RuleGroundingInfo> groundingInfos = new HashMap<>(); // Grounding orders planned for this evaluation, by rule ID.
 
 	private LiteralInstantiator literalInstantiator;
 
+	private final JoinStrategy joinStrategy;
+
+	public StratifiedEvaluation() {
+		this(SystemConfig.DEFAULT_JOIN_STRATEGY);
+	}
+
+	public StratifiedEvaluation(JoinStrategy joinStrategy) {
+		this.joinStrategy = joinStrategy;
+	}
+
 	@Override
 	// Note: ideally this returns a "PartiallyEvaluatedProgram" such that the grounder can directly use the working
 	// memories created here rather than re-initialize everything.
@@ -82,8 +99,9 @@ public InternalProgram apply(AnalyzedProgram inputProgram) {
 
 		workingMemory.reset();
 
-		// Set up literal instantiator.
-		literalInstantiator = new LiteralInstantiator(new WorkingMemoryBasedInstantiationStrategy(workingMemory));
+		// Set up literal instantiator, enumerating on top of the indices the input program comes with.
+		Enumerations enumerations = new Enumerations(inputProgram.getEnumerations());
+		literalInstantiator = new LiteralInstantiator(new WorkingMemoryBasedInstantiationStrategy(workingMemory), enumerations);
 
 		// Evaluate the program part covered by the calculated stratification.
 		for (ComponentGraph.SCComponent currComponent : strata) {
@@ -97,7 +115,7 @@ public InternalProgram apply(AnalyzedProgram inputProgram) {
 				.forEach((entry) -> outputRules.add(entry.getValue()));
 
 		// NOTE: if InternalProgram requires solved rules, they should be added here.
-		return new InternalProgram(outputRules, additionalFacts);
+		return new InternalProgram(outputRules, additionalFacts, enumerations);
 	}
 
 	private void evaluateComponent(ComponentGraph.SCComponent comp) {
@@ -194,13 +212,18 @@ private void evaluateRule(CompiledRule rule, boolean checkAllStartingLiterals) {
 
 	private List<Substitution> calculateSatisfyingSubstitutionsForRule(CompiledRule rule, boolean checkAllStartingLiterals) {
 		LOGGER.debug("Grounding rule {}", rule);
-		RuleGroundingInfo groundingOrders = rule.getGroundingInfo();
+		RuleGroundingInfo groundingOrders = groundingInfos.computeIfAbsent(rule.getRuleId(), ruleId -> {
+			RuleGroundingInfo groundingInfo = new RuleGroundingInfoImpl(rule);
+			groundingInfo.computeGroundingOrders();
+			return groundingInfo;
+		});
+		groundingOrders.replanIfCardinalitiesDrifted(workingMemory);
 
 		// Treat rules with fixed instantiation first.
-		LOGGER.debug("Is fixed rule? {}", rule.getGroundingInfo().hasFixedInstantiation());
+		LOGGER.debug("Is fixed rule? {}", groundingOrders.hasFixedInstantiation());
 		if (groundingOrders.hasFixedInstantiation()) {
 			RuleGroundingOrder fixedGroundingOrder = groundingOrders.getFixedGroundingOrder();
-			return calcSubstitutionsWithGroundingOrder(fixedGroundingOrder, Collections.singletonList(new BasicSubstitution()));
+			return calcSubstitutionsWithGroundingOrder(groundingOrders, fixedGroundingOrder, Collections.singletonList(groundingOrders.newEmptySubstitution()));
 		}
 
 		List<Literal> startingLiterals = groundingOrders.getStartingLiterals();
@@ -208,14 +231,15 @@ private List<Substitution> calculateSatisfyingSubstitutionsForRule(CompiledRule
 		if (!checkAllStartingLiterals) {
 			// If this is the first evaluation run, it suffices to start from the first starting literal only.
 			Literal lit = startingLiterals.get(0);
-			return calcSubstitutionsWithGroundingOrder(groundingOrders.orderStartingFrom(lit), substituteFromRecentlyAddedInstances(lit));
+			return calcSubstitutionsWithGroundingOrder(groundingOrders, groundingOrders.orderStartingFrom(lit),
+					substituteFromRecentlyAddedInstances(groundingOrders, lit));
 		}
 
 		// Ground from all starting literals.
 		List<Substitution> groundSubstitutions = new ArrayList<>(); // Collection of full ground substitutions for the given rule.
 		for (Literal lit : startingLiterals) {
-			List<Substitution> substitutionsForStartingLiteral = calcSubstitutionsWithGroundingOrder(groundingOrders.orderStartingFrom(lit),
-					substituteFromRecentlyAddedInstances(lit));
+			List<Substitution> substitutionsForStartingLiteral = calcSubstitutionsWithGroundingOrder(groundingOrders, groundingOrders.orderStartingFrom(lit),
+					substituteFromRecentlyAddedInstances(groundingOrders, lit));
 			groundSubstitutions.addAll(substitutionsForStartingLiteral);
 		}
 		return groundSubstitutions;
@@ -226,18 +250,21 @@ private List<Substitution> calculateSatisfyingSubstitutionsForRule(CompiledRule
 	 * In order to avoid finding the same ground instantiations of rules again, only look at
 	 * <code>modifiedInLastEvaluationRun</code> to obtain instances.
 	 * 
-	 * @param lit the literal to substitute.
+	 * @param groundingInfo the grounding info of the rule containing the literal.
+	 * @param lit           the literal to substitute.
 	 * @return valid ground substitutions for the literal based on the recently added instances (i.e. instances derived in
 	 *         the last evaluation run).
 	 */
-	private List<Substitution> substituteFromRecentlyAddedInstances(Literal lit) {
+	private List<Substitution> substituteFromRecentlyAddedInstances(RuleGroundingInfo groundingInfo, Literal lit) {
 		List<Substitution> retVal = new ArrayList<>();
 		Set<Instance> instances = modifiedInLastEvaluationRun.get(lit.getPredicate());
 		if (instances == null) {
 			return Collections.emptyList();
 		}
+		// Specializing leaves the empty substitution unchanged, hence it can be shared by all instances.
+		final Substitution emptySubstitution = groundingInfo.newEmptySubstitution();
 		for (Instance instance : instances) {
-			Substitution unifyingSubstitution = BasicSubstitution.specializeSubstitution(lit, instance, BasicSubstitution.EMPTY_SUBSTITUTION);
+			Substitution unifyingSubstitution = BasicSubstitution.specializeSubstitution(lit, instance, emptySubstitution);
 			if (unifyingSubstitution != null) {
 				retVal.add(unifyingSubstitution);
 			}
@@ -245,9 +272,24 @@ private List<Substitution> substituteFromRecentlyAddedInstances(Literal lit) {
 		return retVal;
 	}
 
-	private List<Substitution> calcSubstitutionsWithGroundingOrder(RuleGroundingOrder groundingOrder, List<Substitution> startingSubstitutions) {
+	private List<Substitution> calcSubstitutionsWithGroundingOrder(RuleGroundingInfo groundingInfo, RuleGroundingOrder groundingOrder,
+			List<Substitution> startingSubstitutions) {
 		// Iterate through the grounding order and whenever instantiation of a Literal with a given substitution
 		// causes a result with a type other than CONTINUE, discard that substitution.
+		// The numbers of given and obtained substitutions per order position are reported back as selectivities.
+		int[] givenSubstitutions = new int[8];
+		int[] obtainedSubstitutions = new int[8];
+
+		// If the join strategy asks for it, join the positive body atoms at once. The joined substitutions are checked
+		// along the grounding order as usual, which is cheap since all variables of positive body atoms are bound.
+		LeapfrogTriejoin triejoin = groundingInfo.getTriejoin(groundingOrder.getStartingLiteral(), joinStrategy);
+		if (triejoin != null) {
+			List<Substitution> joinedSubstitutions = new ArrayList<>();
+			for (Substitution startingSubstitution : startingSubstitutions) {
+				joinedSubstitutions.addAll(triejoin.join(workingMemory, startingSubstitution));
+			}
+			startingSubstitutions = joinedSubstitutions;
+		}
 
 		// Note that this function uses a stack of partial substitutions to simulate a recursive function.
 		Stack<ArrayList<Substitution>> substitutionStack = new Stack<>(); // For speed, we really want ArrayLists on the stack.
@@ -282,7 +324,13 @@ private List<Substitution> calcSubstitutionsWithGroundingOrder(RuleGroundingOrde
 			Substitution currentSubstitution = currentSubstitutions.remove(currentSubstitutions.size() - 1); // Work on last element (removing last element is
 																												// O(1) for ArrayList).
 			LiteralInstantiationResult currentLiteralResult = literalInstantiator.instantiateLiteral(currentLiteral, currentSubstitution);
+			if (currentOrderPosition >= givenSubstitutions.length) {
+				givenSubstitutions = Arrays.copyOf(givenSubstitutions, currentOrderPosition + 8);
+				obtainedSubstitutions = Arrays.copyOf(obtainedSubstitutions, currentOrderPosition + 8);
+			}
+			givenSubstitutions[currentOrderPosition]++;
 			if (currentLiteralResult.getType() == LiteralInstantiationResult.Type.CONTINUE) {
+				obtainedSubstitutions[currentOrderPosition] += currentLiteralResult.getSubstitutions().size();
 				// The currentSubstitution could be extended, push the extensions on the stack and continue working on them.
 				ArrayList<Substitution> furtheredSubstitutions = new ArrayList<>();
 				for (ImmutablePair<Substitution, AssignmentStatus> resultSubstitution : currentLiteralResult.getSubstitutions()) {
@@ -293,6 +341,9 @@ private List<Substitution> calcSubstitutionsWithGroundingOrder(RuleGroundingOrde
 				currentOrderPosition++;
 			}
 		}
+		for (int i = 0; i < givenSubstitutions.length && givenSubstitutions[i] > 0; i++) {
+			groundingInfo.updateLiteralSelectivity(groundingOrder.getLiteralAtOrderPosition(i), givenSubstitutions[i], obtainedSubstitutions[i]);
+		}
 		return fullSubstitutions;
 	}
 
@@ -10,8 +10,35 @@ public interface Antecedent {
 
 	int[] getReasonLiterals();
 
+	/**
+	 * Returns the number of reason literals. Together with {@link #getReasonLiteral(int)} this allows iterating over the
+	 * reason literals without obtaining them as an array, which may require a copy.
+	 */
+	default int getNumberOfReasonLiterals() {
+		return getReasonLiterals().length;
+	}
+
+	default int getReasonLiteral(int index) {
+		return getReasonLiterals()[index];
+	}
+
 	void bumpActivity();
 
 	void decreaseActivity();
 
+	/**
+	 * Returns the LBD (literal blocks distance) recorded for this antecedent, or {@link NoGoodStore#LBD_NO_VALUE} if no
+	 * LBD is tracked for it (e.g., since it is not a learned NoGood).
+	 */
+	default int getLBD() {
+		return NoGoodStore.LBD_NO_VALUE;
+	}
+
+	/**
+	 * Informs the antecedent about its LBD with respect to the current assignment, recomputed while it took part in
+	 * conflict analysis.
+	 */
+	default void updateLBD(int lbd) {
+	}
+
 }
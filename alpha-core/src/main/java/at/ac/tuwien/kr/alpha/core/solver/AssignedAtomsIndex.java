@@ -0,0 +1,154 @@
+package at.ac.tuwien.kr.alpha.core.solver;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.IntIterator;
+
+/**
+ * An index of the currently assigned atoms by their predicates, maintained by {@link TrailAssignment}.
+ *
+ * The index is only built once it is queried first, since most programs never need it. Afterwards, the assignment adds
+ * an atom when it becomes assigned and removes it when it becomes unassigned by backtracking, both in constant time:
+ * the atoms of a predicate are kept in an array and every atom knows its position in it, such that removing an atom
+ * moves the last atom of the array to its place.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class AssignedAtomsIndex {
+	private static final int NOT_INDEXED = -1;
+
+	private final AtomStore atomStore;
+	private boolean enabled;
+
+	private final HashMap<Predicate, Integer> predicateIds = new HashMap<>();
+	// For each atom, the ID of its predicate plus one (zero if not determined yet) and its position in the array of
+	// assigned atoms of the predicate.
+	private int[] predicateIdsOfAtoms = new int[0];
+	private int[] positionsOfAtoms = new int[0];
+	private int[][] assignedAtomsOfPredicates = new int[0][];
+	private int[] numbersOfAssignedAtoms = new int[0];
+
+	AssignedAtomsIndex(AtomStore atomStore) {
+		this.atomStore = atomStore;
+	}
+
+	boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts maintaining the index, where the given iterator yields all atoms assigned currently.
+	 */
+	void enable(IntIterator assignedAtoms) {
+		enabled = true;
+		while (assignedAtoms.hasNext()) {
+			add(assignedAtoms.next());
+		}
+	}
+
+	void clear() {
+		Arrays.fill(positionsOfAtoms, NOT_INDEXED);
+		Arrays.fill(numbersOfAssignedAtoms, 0);
+	}
+
+	void add(int atom) {
+		if (!enabled) {
+			return;
+		}
+		growForAtom(atom);
+		if (positionsOfAtoms[atom] != NOT_INDEXED) {
+			return;
+		}
+		final int predicateId = getPredicateId(atom);
+		int[] assignedAtoms = assignedAtomsOfPredicates[predicateId];
+		final int size = numbersOfAssignedAtoms[predicateId];
+		if (size == assignedAtoms.length) {
+			assignedAtoms = Arrays.copyOf(assignedAtoms, Math.max(4, arrayGrowthSize(assignedAtoms.length)));
+			assignedAtomsOfPredicates[predicateId] = assignedAtoms;
+		}
+		assignedAtoms[size] = atom;
+		positionsOfAtoms[atom] = size;
+		numbersOfAssignedAtoms[predicateId] = size + 1;
+	}
+
+	void remove(int atom) {
+		if (!enabled || atom >= positionsOfAtoms.length || positionsOfAtoms[atom] == NOT_INDEXED) {
+			return;
+		}
+		final int predicateId = predicateIdsOfAtoms[atom] - 1;
+		final int[] assignedAtoms = assignedAtomsOfPredicates[predicateId];
+		final int last = --numbersOfAssignedAtoms[predicateId];
+		final int position = positionsOfAtoms[atom];
+		assignedAtoms[position] = assignedAtoms[last];
+		positionsOfAtoms[assignedAtoms[position]] = position;
+		positionsOfAtoms[atom] = NOT_INDEXED;
+	}
+
+	/**
+	 * Drops the predicate determined for the given unassigned atom, since its ID may be reused for an atom over another
+	 * predicate.
+	 */
+	void forget(int atom) {
+		if (atom < predicateIdsOfAtoms.length) {
+			predicateIdsOfAtoms[atom] = 0;
+		}
+	}
+
+	/**
+	 * Returns an iterator over the atoms over the given predicate that are assigned currently. The iterator must not be
+	 * used after the assignment changed.
+	 */
+	IntIterator getAssignedAtoms(Predicate predicate) {
+		final Integer predicateId = predicateIds.get(predicate);
+		final int[] assignedAtoms = predicateId == null ? new int[0] : assignedAtomsOfPredicates[predicateId];
+		final int size = predicateId == null ? 0 : numbersOfAssignedAtoms[predicateId];
+		return new IntIterator() {
+			private int position;
+
+			@Override
+			public boolean hasNext() {
+				return position < size;
+			}
+
+			@Override
+			public int next() {
+				return assignedAtoms[position++];
+			}
+		};
+	}
+
+	private int getPredicateId(int atom) {
+		if (predicateIdsOfAtoms[atom] == 0) {
+			Predicate predicate = atomStore.get(atom).getPredicate();
+			Integer predicateId = predicateIds.get(predicate);
+			if (predicateId == null) {
+				predicateId = predicateIds.size();
+				predicateIds.put(predicate, predicateId);
+				if (predicateId == assignedAtomsOfPredicates.length) {
+					int newCapacity = Math.max(16, arrayGrowthSize(assignedAtomsOfPredicates.length));
+					assignedAtomsOfPredicates = Arrays.copyOf(assignedAtomsOfPredicates, newCapacity);
+					numbersOfAssignedAtoms = Arrays.copyOf(numbersOfAssignedAtoms, newCapacity);
+				}
+				assignedAtomsOfPredicates[predicateId] = new int[0];
+			}
+			predicateIdsOfAtoms[atom] = predicateId + 1;
+		}
+		return predicateIdsOfAtoms[atom] - 1;
+	}
+
+	private void growForAtom(int atom) {
+		if (atom < positionsOfAtoms.length) {
+			return;
+		}
+		int oldLength = positionsOfAtoms.length;
+		int newCapacity = Math.max(atom + 1, arrayGrowthSize(oldLength));
+		predicateIdsOfAtoms = Arrays.copyOf(predicateIdsOfAtoms, newCapacity);
+		positionsOfAtoms = Arrays.copyOf(positionsOfAtoms, newCapacity);
+		Arrays.fill(positionsOfAtoms, oldLength, newCapacity, NOT_INDEXED);
+	}
+}
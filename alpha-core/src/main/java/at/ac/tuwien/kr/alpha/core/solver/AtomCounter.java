@@ -46,6 +46,10 @@ public void add(Atom atom) {
 		countByType.compute(atom.getClass().getSimpleName(), (k, v) -> (v == null) ? 1 : v + 1);
 	}
 
+	public void remove(Atom atom) {
+		countByType.computeIfPresent(atom.getClass().getSimpleName(), (k, v) -> v == 1 ? null : v - 1);
+	}
+
 	/**
 	 * @param type the class of atoms to count
 	 * @return the number of atoms of the given type
@@ -33,8 +33,8 @@
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.TRUE;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -51,9 +51,14 @@ public class ChoiceInfluenceManager implements Checkable {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(ChoiceInfluenceManager.class);
 	
-	// Active choice points and all atoms that influence a choice point (enabler, disabler, choice atom itself).
-	private final Set<ChoicePoint> activeChoicePoints = new LinkedHashSet<>();
-	private final Set<Integer> activeChoicePointsAtoms = new LinkedHashSet<>();
+	// Atoms of active choice points as a doubly-linked list (in order of activation) over arrays indexed by atom.
+	private static final int NONE = -1;
+	private int[] nextActive = new int[0];
+	private int[] previousActive = new int[0];
+	private int firstActive = NONE;
+	private int lastActive = NONE;
+	private int activeCount;
+	// All atoms that influence a choice point (enabler, disabler, choice atom itself).
 	private ChoicePoint[] influencers = new ChoicePoint[0];
 	private ActivityListener activityListener;
 
@@ -103,17 +108,21 @@ private void addInformation(Map.Entry<Integer, Integer> atomToEnabler, Map<Integ
 	}
 
 	void checkActiveChoicePoints() {
-		HashSet<ChoicePoint> actualActiveChoicePoints = new HashSet<>();
+		Set<Integer> actualActiveChoicePointsAtoms = new HashSet<>();
 		for (int i = 0; i < influencers.length; i++) {
 			ChoicePoint choicePoint = influencers[i];
 			if (choicePoint == null) {
 				continue;
 			}
 			if (checkActiveChoicePoint(choicePoint)) {
-				actualActiveChoicePoints.add(choicePoint);
+				actualActiveChoicePointsAtoms.add(choicePoint.atom);
 			}
 		}
-		if (!actualActiveChoicePoints.equals(activeChoicePoints)) {
+		Set<Integer> activeChoicePointsAtoms = new HashSet<>();
+		for (int atom = firstActive; atom != NONE; atom = nextActive[atom]) {
+			activeChoicePointsAtoms.add(atom);
+		}
+		if (activeChoicePointsAtoms.size() != activeCount || !actualActiveChoicePointsAtoms.equals(activeChoicePointsAtoms)) {
 			throw oops("ChoiceInfluenceManager internal checker detected wrong activeChoicePoints");
 		}
 		LOGGER.trace("Checking internal choice manger: all ok.");
@@ -141,7 +150,7 @@ int getNextActiveAtomOrDefault(int defaultAtom) {
 		if (checksEnabled) {
 			checkActiveChoicePoints();
 		}
-		return activeChoicePointsAtoms.size() > 0 ? activeChoicePointsAtoms.iterator().next() : defaultAtom;
+		return activeCount > 0 ? firstActive : defaultAtom;
 	}
 
 	boolean isAtomInfluenced(int atom) {
@@ -164,6 +173,23 @@ void callbackOnChanged(int atom) {
 		}
 	}
 
+	/**
+	 * Drops the choice points of the given atoms, whose IDs have been released.
+	 */
+	void forgetAtoms(BitSet atoms) {
+		for (int atom = atoms.nextSetBit(0); atom >= 0 && atom < influencers.length; atom = atoms.nextSetBit(atom + 1)) {
+			ChoicePoint choicePoint = influencers[atom];
+			if (choicePoint != null && choicePoint.atom == atom && choicePoint.isActive) {
+				choicePoint.isActive = false;
+				removeActive(atom);
+				if (activityListener != null) {
+					activityListener.callbackOnChanged(atom, false);
+				}
+			}
+			influencers[atom] = null;
+		}
+	}
+
 	public void growForMaxAtomId(int maxAtomId) {
 		// Grow arrays only if needed.
 		if (influencers.length > maxAtomId) {
@@ -175,6 +201,41 @@ public void growForMaxAtomId(int maxAtomId) {
 			newCapacity = maxAtomId + 1;
 		}
 		influencers = Arrays.copyOf(influencers, newCapacity);
+		final int oldCapacity = nextActive.length;
+		nextActive = Arrays.copyOf(nextActive, newCapacity);
+		previousActive = Arrays.copyOf(previousActive, newCapacity);
+		Arrays.fill(nextActive, oldCapacity, newCapacity, NONE);
+		Arrays.fill(previousActive, oldCapacity, newCapacity, NONE);
+	}
+
+	private void addActive(int atom) {
+		previousActive[atom] = lastActive;
+		nextActive[atom] = NONE;
+		if (lastActive == NONE) {
+			firstActive = atom;
+		} else {
+			nextActive[lastActive] = atom;
+		}
+		lastActive = atom;
+		activeCount++;
+	}
+
+	private void removeActive(int atom) {
+		final int previous = previousActive[atom];
+		final int next = nextActive[atom];
+		if (previous == NONE) {
+			firstActive = next;
+		} else {
+			nextActive[previous] = next;
+		}
+		if (next == NONE) {
+			lastActive = previous;
+		} else {
+			previousActive[next] = previous;
+		}
+		previousActive[atom] = NONE;
+		nextActive[atom] = NONE;
+		activeCount--;
 	}
 	
 	void setActivityListener(ActivityListener listener) {
@@ -182,12 +243,12 @@ void setActivityListener(ActivityListener listener) {
 	}
 
 	private class ChoicePoint {
-		final Integer atom;
+		final int atom;
 		final int enabler;
 		final int disabler;
 		boolean isActive;
 
-		private ChoicePoint(Integer atom, Integer enabler, int disabler) {
+		private ChoicePoint(int atom, int enabler, int disabler) {
 			this.atom = atom;
 			this.enabler = enabler;
 			this.disabler = disabler;
@@ -211,13 +272,11 @@ void recomputeActive() {
 			isActive = isNotChosen() && isActiveChoicePoint();
 			boolean changed = false;
 			if (isActive && !wasActive) {
-				activeChoicePoints.add(this);
-				activeChoicePointsAtoms.add(atom);
+				addActive(atom);
 				changed = true;
 				LOGGER.debug("Activating choice point for atom {}", this.atom);
 			} else if (wasActive && !isActive) {
-				activeChoicePoints.remove(this);
-				activeChoicePointsAtoms.remove(atom);
+				removeActive(atom);
 				changed = true;
 				LOGGER.debug("Deactivating choice point for atom {}", this.atom);
 			}
@@ -27,18 +27,17 @@
  */
 package at.ac.tuwien.kr.alpha.core.solver;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.Stack;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -56,9 +55,11 @@ public class ChoiceManager implements Checkable {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ChoiceManager.class);
 	private final WritableAssignment assignment;
-	private final Stack<Choice> choiceStack;
-	private final Map<Integer, Set<Integer>> headsToBodies = new HashMap<>();
-	private final Map<Integer, Integer> bodiesToHeads = new HashMap<>();
+	// The choice stack, each entry is the literal of the choice shifted left by one, with the lowest bit set iff the choice is backtracked.
+	private int[] choiceStack = new int[16];
+	private int choiceStackSize;
+	// Maps each choice atom (i.e., rule body) to the head it derives, DEFAULT_CHOICE_ATOM if there is none.
+	private int[] bodiesToHeads = new int[0];
 
 	// An "influence manager" managing active choice points and heuristics.
 	private final ChoiceInfluenceManager choicePointInfluenceManager;
@@ -78,7 +79,6 @@ public ChoiceManager(WritableAssignment assignment, NoGoodStore store) {
 		this.store = store;
 		this.assignment = assignment;
 		this.choicePointInfluenceManager = new ChoiceInfluenceManager(assignment);
-		this.choiceStack = new Stack<>();
 		assignment.setCallback(this);
 		this.bnpEstimation = store instanceof BinaryNoGoodPropagationEstimation
 				? (BinaryNoGoodPropagationEstimation)store
@@ -90,10 +90,9 @@ public WritableAssignment getAssignment() {
 	}
 
 	NoGood computeEnumeration() {
-		int[] enumerationLiterals = new int[choiceStack.size()];
-		int enumerationPos = 0;
-		for (Choice e : choiceStack) {
-			enumerationLiterals[enumerationPos++] = atomToLiteral(e.getAtom(), e.getTruthValue());
+		int[] enumerationLiterals = new int[choiceStackSize];
+		for (int i = 0; i < choiceStackSize; i++) {
+			enumerationLiterals[i] = choiceStack[i] >>> 1;
 		}
 		return new NoGood(enumerationLiterals);
 	}
@@ -167,7 +166,19 @@ public void choose(Choice choice) {
 			debugWatcher.runWatcher();
 		}
 
-		choiceStack.push(choice);
+		pushChoice(choice);
+	}
+
+	private void pushChoice(Choice choice) {
+		if (choiceStackSize == choiceStack.length) {
+			choiceStack = Arrays.copyOf(choiceStack, arrayGrowthSize(choiceStack.length));
+		}
+		choiceStack[choiceStackSize++] = (atomToLiteral(choice.getAtom(), choice.getTruthValue()) << 1) | (choice.isBacktracked() ? 1 : 0);
+	}
+
+	private Choice popChoice() {
+		final int entry = choiceStack[--choiceStackSize];
+		return new Choice(entry >>> 1, (entry & 1) != 0);
 	}
 
 	public void backjump(int target) {
@@ -182,10 +193,12 @@ public void backjump(int target) {
 		int currentDecisionLevel = assignment.getDecisionLevel();
 		assignment.backjump(target);
 		while (currentDecisionLevel-- > target) {
-			final Choice choice = choiceStack.pop();
+			choiceStackSize--;
 			backtracksWithinBackjumps++;
 			backtracks++;
-			LOGGER.debug("Backjumping removed choice {}", choice);
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Backjumping removed choice {}", new Choice(choiceStack[choiceStackSize] >>> 1, false));
+			}
 		}
 	}
 
@@ -197,7 +210,7 @@ public void backjump(int target) {
 	public Choice backtrack() {
 		store.backtrack();
 		backtracks++;
-		Choice choice = choiceStack.pop();
+		Choice choice = popChoice();
 		if (store.propagate() != null) {
 			throw oops("Violated NoGood after backtracking.");
 		}
@@ -214,27 +227,25 @@ public void growForMaxAtomId(int maxAtomId) {
 		choicePointInfluenceManager.growForMaxAtomId(maxAtomId);
 	}
 
-	private void addHeadsToBodies(Map<Integer, Set<Integer>> headsToBodies) {
-		for (Entry<Integer, Set<Integer>> entry : headsToBodies.entrySet()) {
-			Integer head = entry.getKey();
-			Set<Integer> newBodies = entry.getValue();
-			addHeadsToBodies(head, newBodies);
-			addBodiesToHeads(head, newBodies);
-		}
-	}
-
-	private void addHeadsToBodies(Integer head, Set<Integer> bodies) {
-		Set<Integer> existingBodies = this.headsToBodies.get(head);
-		if (existingBodies == null) {
-			existingBodies = new HashSet<>();
-			this.headsToBodies.put(head, existingBodies);
+	/**
+	 * Drops all information on the given atoms, whose IDs have been released.
+	 */
+	void forgetAtoms(BitSet atoms) {
+		choicePointInfluenceManager.forgetAtoms(atoms);
+		for (int atom = atoms.nextSetBit(0); atom >= 0 && atom < bodiesToHeads.length; atom = atoms.nextSetBit(atom + 1)) {
+			bodiesToHeads[atom] = DEFAULT_CHOICE_ATOM;
 		}
-		existingBodies.addAll(bodies);
 	}
 
-	private void addBodiesToHeads(Integer head, Set<Integer> bodies) {
-		for (Integer body : bodies) {
-			bodiesToHeads.put(body, head);
+	private void addHeadsToBodies(Map<Integer, Set<Integer>> headsToBodies) {
+		for (Entry<Integer, Set<Integer>> entry : headsToBodies.entrySet()) {
+			final int head = entry.getKey();
+			for (int body : entry.getValue()) {
+				if (body >= bodiesToHeads.length) {
+					bodiesToHeads = Arrays.copyOf(bodiesToHeads, Math.max(body + 1, arrayGrowthSize(bodiesToHeads.length)));
+				}
+				bodiesToHeads[body] = head;
+			}
 		}
 	}
 
@@ -254,8 +265,12 @@ public void setChoicePointActivityListener(ChoiceInfluenceManager.ActivityListen
 		choicePointInfluenceManager.setActivityListener(activityListener);
 	}
 	
-	public Integer getHeadDerivedByChoiceAtom(int choiceAtomId) {
-		return bodiesToHeads.get(choiceAtomId);
+	/**
+	 * Returns the head atom derived by the rule whose body is the given choice atom, or {@link #DEFAULT_CHOICE_ATOM} if
+	 * no such head is known.
+	 */
+	public int getHeadDerivedByChoiceAtom(int choiceAtomId) {
+		return choiceAtomId < bodiesToHeads.length ? bodiesToHeads[choiceAtomId] : DEFAULT_CHOICE_ATOM;
 	}
 
 	public BinaryNoGoodPropagationEstimation getBinaryNoGoodPropagationEstimation() {
@@ -276,7 +291,11 @@ private void runWatcher() {
 			if (toWatchFor.size() == 0) {
 				return;
 			}
-			String current = choiceStack.stream().map(Choice::toString).collect(Collectors.joining(", "));
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < choiceStackSize; i++) {
+				sb.append(i > 0 ? ", " : "").append(new Choice(choiceStack[i] >>> 1, false));
+			}
+			String current = sb.toString();
 			boolean contained = true;
 			for (String s : toWatchFor) {
 				if (!current.contains(s)) {
@@ -36,14 +36,13 @@
 import static at.ac.tuwien.kr.alpha.core.solver.learning.GroundConflictNoGoodLearner.ConflictAnalysisResult.UNSAT;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
-import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -60,6 +59,7 @@
 import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodBatch;
 import at.ac.tuwien.kr.alpha.core.grounder.Grounder;
 import at.ac.tuwien.kr.alpha.core.grounder.ProgramAnalyzingGrounder;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.RuleAtom;
@@ -70,6 +70,8 @@
 import at.ac.tuwien.kr.alpha.core.solver.heuristics.HeuristicsConfiguration;
 import at.ac.tuwien.kr.alpha.core.solver.heuristics.NaiveHeuristic;
 import at.ac.tuwien.kr.alpha.core.solver.learning.GroundConflictNoGoodLearner;
+import at.ac.tuwien.kr.alpha.core.solver.restarts.RestartPolicy;
+import at.ac.tuwien.kr.alpha.core.solver.restarts.RestartPolicyFactory;
 
 /**
  * The new default solver employed in Alpha.
@@ -84,12 +86,21 @@ public class DefaultSolver extends AbstractSolver implements StatisticsReporting
 	private final WritableAssignment assignment;
 	private final GroundConflictNoGoodLearner learner;
 	private final BranchingHeuristic branchingHeuristic;
+	private final RestartPolicy restartPolicy;
 
 	private int mbtAtFixpoint;
 	private int conflictsAfterClosing;
+	private int restarts;
 	private final boolean disableJustifications;
 	private boolean disableJustificationAfterClosing = true;	// Keep disabled for now, case not fully worked out yet.
 	private final boolean disableNoGoodDeletion;
+	private final int forgettingInterval;
+	private final int forgettingDecisionLevel;
+	private int forgettingOpportunities;
+	// Atoms occurring in enumeration nogoods, they are never forgotten.
+	private final BitSet lockedAtoms = new BitSet();
+	// The atoms to forget, reused by every forgetting.
+	private final BitSet forgettableAtoms = new BitSet();
 	private static class SearchState {
 		boolean hasBeenInitialized;
 		boolean isSearchSpaceCompletelyExplored;
@@ -99,8 +110,13 @@ private static class SearchState {
 		boolean afterAllAtomsAssigned;
 	}
 	private final SearchState searchState = new SearchState();
+	// Reused for all nogoods obtained from the grounder, cleared after ingesting them.
+	private final NoGoodBatch obtainedNoGoods = new NoGoodBatch();
 
 	private final PerformanceLog performanceLog;
+
+	private LearnedNoGoodExchange.Participant noGoodExchange;
+	private boolean cancellable;
 	
 	public DefaultSolver(AtomStore atomStore, Grounder grounder, NoGoodStore store, WritableAssignment assignment, Random random, SystemConfig config, HeuristicsConfiguration heuristicsConfiguration) {
 		super(atomStore, grounder);
@@ -113,6 +129,9 @@ public DefaultSolver(AtomStore atomStore, Grounder grounder, NoGoodStore store,
 		this.branchingHeuristic = chainFallbackHeuristic(grounder, assignment, random, heuristicsConfiguration);
 		this.disableJustifications = config.isDisableJustificationSearch();
 		this.disableNoGoodDeletion = config.isDisableNoGoodDeletion();
+		this.forgettingInterval = config.getForgettingInterval();
+		this.forgettingDecisionLevel = config.getForgettingDecisionLevel();
+		this.restartPolicy = RestartPolicyFactory.getInstance(config.getRestartStrategy());
 		this.performanceLog = new PerformanceLog(choiceManager, (TrailAssignment) assignment, 1000);
 	}
 
@@ -127,6 +146,24 @@ private BranchingHeuristic chainFallbackHeuristic(Grounder grounder, WritableAss
 		return ChainedBranchingHeuristics.chainOf(branchingHeuristic, new NaiveHeuristic(choiceManager));
 	}
 
+	/**
+	 * Sets the exchange through which short learned nogoods are shared with other solvers working on the same program,
+	 * or null to stop sharing. Sharing must be stopped before an enumeration nogood is added, since nogoods learned
+	 * afterwards are no consequence of the program alone.
+	 */
+	void setNoGoodExchange(LearnedNoGoodExchange.Participant noGoodExchange) {
+		this.noGoodExchange = noGoodExchange;
+	}
+
+	/**
+	 * Sets whether this solver stops searching by throwing a {@link CancellationException} once its thread is
+	 * interrupted, which is how a {@link PortfolioSolver} cancels its losing workers. Solvers are not cancellable by
+	 * default.
+	 */
+	void setCancellable(boolean cancellable) {
+		this.cancellable = cancellable;
+	}
+
 	@Override
 	protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 		if (!searchState.hasBeenInitialized) {
@@ -137,6 +174,9 @@ protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 		// Try all assignments until grounder reports no more NoGoods and all of them are satisfied
 		while (true) {
 			performanceLog.writeIfTimeForLogging(LOGGER);
+			if (cancellable && Thread.currentThread().isInterrupted()) {
+				throw new CancellationException("Solver thread was interrupted.");
+			}
 			if (searchState.isSearchSpaceCompletelyExplored) {
 				LOGGER.debug("Search space has been fully explored, there are no more answer-sets.");
 				logStats();
@@ -146,12 +186,16 @@ protected boolean tryAdvance(Consumer<? super AnswerSet> action) {
 			if (conflictCause != null) {
 				LOGGER.debug("Conflict encountered, analyzing conflict.");
 				learnFromConflict(conflictCause);
+				restartIfNecessary();
 			} else if (assignment.didChange()) {
 				LOGGER.debug("Updating grounder with new assignments and (potentially) obtaining new NoGoods.");
 				grounder.updateAssignment(assignment.getNewPositiveAssignmentsIterator());
 				getNoGoodsFromGrounderAndIngest();
 			} else if (choose()) {
 				LOGGER.debug("Did choice.");
+			} else if (grounder.awaitPendingNoGoods()) {
+				LOGGER.debug("Obtaining NoGoods the grounder derived meanwhile.");
+				getNoGoodsFromGrounderAndIngest();
 			} else if (close()) {
 				LOGGER.debug("Closed unassigned known atoms (assigning FALSE).");
 			} else if (assignment.getMBTCount() == 0) {
@@ -180,6 +224,9 @@ private void prepareForSubsequentAnswerSet() {
 		}
 		// Create enumeration NoGood to avoid finding the same Answer-Set twice.
 		final NoGood enumerationNoGood = choiceManager.computeEnumeration();
+		for (int literal : enumerationNoGood) {
+			lockedAtoms.set(atomOf(literal));
+		}
 		final int backjumpLevel = assignment.minimumConflictLevel(enumerationNoGood);
 		if (backjumpLevel == -1) {
 			throw oops("Enumeration nogood is not violated");
@@ -194,14 +241,17 @@ private void prepareForSubsequentAnswerSet() {
 		LOGGER.debug("Adding enumeration nogood: {}", enumerationNoGood);
 		if (!addAndBackjumpIfNecessary(grounder.register(enumerationNoGood), enumerationNoGood, Integer.MAX_VALUE)) {
 			searchState.isSearchSpaceCompletelyExplored = true;
+			return;
 		}
+		forgetUnassignedAtomsIfNecessary();
 	}
 
 	private void getNoGoodsFromGrounderAndIngest() {
-		Map<Integer, NoGood> obtained = grounder.getNoGoods(assignment);
-		if (!ingest(obtained)) {
+		grounder.getNoGoods(assignment, obtainedNoGoods);
+		if (!ingest(obtainedNoGoods)) {
 			searchState.isSearchSpaceCompletelyExplored = true;
 		}
+		obtainedNoGoods.clear();
 	}
 
 	private void learnFromConflict(ConflictCause conflictCause) {
@@ -224,6 +274,57 @@ private void learnFromConflict(ConflictCause conflictCause) {
 		}
 	}
 
+	private void restartIfNecessary() {
+		if (searchState.isSearchSpaceCompletelyExplored || !restartPolicy.shouldRestart()) {
+			return;
+		}
+		LOGGER.debug("Restarting search.");
+		// Learned nogoods and heuristic activities are kept, only the assignment is reset.
+		choiceManager.backjump(0);
+		searchState.afterAllAtomsAssigned = false;
+		restartPolicy.restarted();
+		restarts++;
+		forgetUnassignedAtomsIfNecessary();
+	}
+
+	/**
+	 * Forgets atoms after every {@link #forgettingInterval} restarts or answer sets: all atoms that are unassigned, occur in
+	 * no enumeration nogood and have not been assigned at {@link #forgettingDecisionLevel} or below since the previous
+	 * forgetting are handed to the grounder, which drops the ground rules it derives again on demand and releases the atoms
+	 * that occur in no remaining ground rule. Unassigned atoms cannot be part of the reason of any assignment, hence the
+	 * nogoods containing released atoms can be removed safely.
+	 */
+	private void forgetUnassignedAtomsIfNecessary() {
+		if (forgettingInterval <= 0 || ++forgettingOpportunities < forgettingInterval) {
+			return;
+		}
+		forgettingOpportunities = 0;
+		growForMaxAtomId();
+		// Choice points of ground rules that get dropped must be known, such that they are dropped as well.
+		choiceManager.addChoiceInformation(grounder.getChoiceAtoms(), grounder.getHeadsToBodies());
+		forgettableAtoms.clear();
+		final int maxAtomId = atomStore.getMaxAtomId();
+		for (int atom = 1; atom <= maxAtomId; atom++) {
+			if (assignment.isAssigned(atom) || lockedAtoms.get(atom) || atomStore.get(atom) == null) {
+				continue;
+			}
+			final int lowestBacktrackedDecisionLevel = assignment.getLowestBacktrackedDecisionLevel(atom);
+			if (lowestBacktrackedDecisionLevel == -1 || lowestBacktrackedDecisionLevel > forgettingDecisionLevel) {
+				forgettableAtoms.set(atom);
+			}
+		}
+		assignment.resetLowestBacktrackedDecisionLevels();
+		LOGGER.debug("Forgetting {} unassigned atoms.", forgettableAtoms.cardinality());
+		grounder.forgetAtoms(forgettableAtoms);
+		if (forgettableAtoms.isEmpty()) {
+			return;
+		}
+		store.removeNoGoodsContaining(forgettableAtoms);
+		assignment.forgetAtoms(forgettableAtoms);
+		choiceManager.forgetAtoms(forgettableAtoms);
+		LOGGER.debug("Released {} atoms.", forgettableAtoms.cardinality());
+	}
+
 	private ConflictCause propagate() {
 		LOGGER.trace("Doing propagation step.");
 		ConflictCause conflictCause = store.propagate();
@@ -287,6 +388,7 @@ private boolean learnBackjumpAddFromConflict(ConflictCause conflictCause) {
 		}
 
 		branchingHeuristic.analyzedConflict(analysisResult);
+		restartPolicy.conflictAnalyzed(analysisResult.lbd);
 
 		if (analysisResult.learnedNoGood == null) {
 			throw oops("Did not learn new NoGood from conflict.");
@@ -295,7 +397,36 @@ private boolean learnBackjumpAddFromConflict(ConflictCause conflictCause) {
 		choiceManager.backjump(analysisResult.backjumpLevel);
 		final NoGood learnedNoGood = analysisResult.learnedNoGood;
 		int noGoodId = grounder.register(learnedNoGood);
-		return addAndBackjumpIfNecessary(noGoodId, learnedNoGood, analysisResult.lbd);
+		if (!addAndBackjumpIfNecessary(noGoodId, learnedNoGood, analysisResult.lbd)) {
+			return false;
+		}
+		if (noGoodExchange == null) {
+			return true;
+		}
+		noGoodExchange.export(learnedNoGood, analysisResult.lbd);
+		// After backjumping is a safe point to also add nogoods learned by other solvers.
+		return importSharedNoGoods();
+	}
+
+	/**
+	 * Adds all nogoods other solvers shared via the exchange since the last call.
+	 *
+	 * @return false iff some imported NoGood shows the set of NoGoods to be unsatisfiable.
+	 */
+	private boolean importSharedNoGoods() {
+		LearnedNoGoodExchange.SharedNoGood shared = noGoodExchange.poll();
+		if (shared == null) {
+			return true;
+		}
+		growForMaxAtomId();
+		do {
+			NoGood importedNoGood = shared.getNoGood();
+			LOGGER.debug("Importing shared NoGood: {}", importedNoGood);
+			if (!addAndBackjumpIfNecessary(grounder.register(importedNoGood), importedNoGood, shared.getLBD())) {
+				return false;
+			}
+		} while ((shared = noGoodExchange.poll()) != null);
+		return true;
 	}
 
 	private boolean justifyMbtAndBacktrack() {
@@ -320,8 +451,8 @@ private boolean justifyMbtAndBacktrack() {
 
 
 		int noGoodID = grounder.register(noGood);
-		Map<Integer, NoGood> obtained = new LinkedHashMap<>();
-		obtained.put(noGoodID, noGood);
+		NoGoodBatch obtained = new NoGoodBatch();
+		obtained.add(noGoodID, noGood);
 		LOGGER.debug("Learned NoGood is: {}", atomStore.noGoodToString(noGood));
 		// Add NoGood and trigger backjumping.
 		if (!ingest(obtained)) {
@@ -362,7 +493,7 @@ private boolean treatConflictAfterClosing(Antecedent violatedNoGood) {
 			}
 		}
 		// Since the violatedNoGood may contain atoms other than BasicAtom, these have to be treated.
-		Map<Integer, NoGood> obtained = new LinkedHashMap<>();
+		NoGoodBatch obtained = new NoGoodBatch();
 		Iterator<Integer> toJustifyIterator = toJustify.iterator();
 		ArrayList<Integer> ruleAtomReplacements = new ArrayList<>();
 		while (toJustifyIterator.hasNext()) {
@@ -403,7 +534,7 @@ private boolean treatConflictAfterClosing(Antecedent violatedNoGood) {
 			Set<Literal> reasonsForUnjustified = analyzingGrounder.justifyAtom(atomOf(literalToJustify), assignment);
 			NoGood noGood = noGoodFromJustificationReasons(atomOf(literalToJustify), reasonsForUnjustified);
 			int noGoodID = grounder.register(noGood);
-			obtained.put(noGoodID, noGood);
+			obtained.add(noGoodID, noGood);
 			LOGGER.debug("Learned NoGood is: {}", atomStore.noGoodToString(noGood));
 		}
 		// Backtrack to remove the violation.
@@ -457,24 +588,28 @@ private boolean backtrack() {
 		return assignment.getDecisionLevel() != 0;
 	}
 
-	private boolean ingest(Map<Integer, NoGood> obtained) {
+	private void growForMaxAtomId() {
 		assignment.growForMaxAtomId();
 		int maxAtomId = atomStore.getMaxAtomId();
 		store.growForMaxAtomId(maxAtomId);
 		choiceManager.growForMaxAtomId(maxAtomId);
 		branchingHeuristic.growForMaxAtomId(maxAtomId);
-		branchingHeuristic.newNoGoods(obtained.values());
+	}
+
+	private boolean ingest(NoGoodBatch obtained) {
+		growForMaxAtomId();
+		branchingHeuristic.newNoGoods(obtained.getNoGoods());
 
-		LinkedList<Map.Entry<Integer, NoGood>> noGoodsToAdd = new LinkedList<>(obtained.entrySet());
-		Map.Entry<Integer, NoGood> entry;
-		while ((entry = noGoodsToAdd.poll()) != null) {
-			if (NoGood.UNSAT.equals(entry.getValue())) {
+		for (int i = 0; i < obtained.size(); i++) {
+			final int noGoodId = obtained.getId(i);
+			final NoGood noGood = obtained.getNoGood(i);
+			if (NoGood.UNSAT.equals(noGood)) {
 				// Empty NoGood cannot be satisfied, program is unsatisfiable.
 				return false;
 			}
 
-			final ConflictCause conflictCause = store.add(entry.getKey(), entry.getValue(), Integer.MAX_VALUE);
-			if (conflictCause != null && !fixContradiction(entry, conflictCause)) {
+			final ConflictCause conflictCause = store.add(noGoodId, noGood, Integer.MAX_VALUE);
+			if (conflictCause != null && !fixContradiction(noGoodId, noGood, conflictCause)) {
 				return false;
 			}
 		}
@@ -483,13 +618,14 @@ private boolean ingest(Map<Integer, NoGood> obtained) {
 
 	/**
 	 * Attempts to fix a given conflict that arose from adding a nogood.
-	 * @param noGoodEntry the description of the NoGood that caused the conflict.
+	 * @param noGoodId the ID of the NoGood that caused the conflict.
+	 * @param noGood the NoGood that caused the conflict.
 	 * @param conflictCause a description of the cause of the conflict.
 	 * @return true if the contradiction could be resolved (by backjumping) and the NoGood was added.
 	 * 	   False otherwise, i.e., iff the program is UNSAT.
 	 */
-	private boolean fixContradiction(Map.Entry<Integer, NoGood> noGoodEntry, ConflictCause conflictCause) {
-		LOGGER.debug("Attempting to fix violation of {} caused by {}", noGoodEntry.getValue(), conflictCause);
+	private boolean fixContradiction(int noGoodId, NoGood noGood, ConflictCause conflictCause) {
+		LOGGER.debug("Attempting to fix violation of {} caused by {}", noGood, conflictCause);
 
 		GroundConflictNoGoodLearner.ConflictAnalysisResult conflictAnalysisResult = learner.analyzeConflictFromAddingNoGood(conflictCause.getAntecedent());
 		if (conflictAnalysisResult == UNSAT) {
@@ -505,7 +641,7 @@ private boolean fixContradiction(Map.Entry<Integer, NoGood> noGoodEntry, Conflic
 		// If NoGood was learned, add it to the store.
 		// Note that the learned NoGood may cause further conflicts, since propagation on lower decision levels is lazy,
 		// hence backtracking once might not be enough to remove the real conflict cause.
-		return addAndBackjumpIfNecessary(noGoodEntry.getKey(), noGoodEntry.getValue(), LBD_NO_VALUE);
+		return addAndBackjumpIfNecessary(noGoodId, noGood, LBD_NO_VALUE);
 	}
 
 	private boolean choose() {
@@ -555,6 +691,11 @@ public int getNumberOfConflictsAfterClosing() {
 		return conflictsAfterClosing;
 	}
 
+	@Override
+	public int getNumberOfRestarts() {
+		return restarts;
+	}
+
 	@Override
 	public int getNumberOfDeletedNoGoods() {
 		if (!(store instanceof NoGoodStoreAlphaRoaming)) {
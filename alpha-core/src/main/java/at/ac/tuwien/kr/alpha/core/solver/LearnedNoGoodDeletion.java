@@ -6,14 +6,20 @@
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
 
 /**
- * Realizes a learned NoGood deletion strategy based on LBD and activity of NoGoods.
+ * Realizes a three-tiered learned NoGood database based on LBD and activity of NoGoods (cf. Glucose 4 and CaDiCaL).
+ *
+ * Learned NoGoods with LBD at most {@link #CORE_LBD} form the core and are never deleted. NoGoods with LBD at most
+ * {@link #TIER2_LBD} are kept as long as they were used in conflict analysis since the previous deletion run. All other
+ * NoGoods (including unused tier-2 ones) are local, at each deletion run the less active half of them is deleted.
+ * Since the LBD of NoGoods taking part in conflict analysis is recomputed, NoGoods may move into a better tier over time.
  *
  * Copyright (c) 2019, the Alpha Team.
  */
@@ -22,7 +28,12 @@ class LearnedNoGoodDeletion {
 	public static final int RESET_SEQUENCE_AFTER = 20;
 	public static final int RUN_AFTER_AT_LEAST = 2000;
 	public static final int GROWTH_FACTOR = 100;
+	public static final int CORE_LBD = 2;
+	public static final int TIER2_LBD = 6;
+	private static final Comparator<WatchedNoGood> BY_ACTIVITY = Comparator.comparingInt(WatchedNoGood::getActivity);
+
 	private final ArrayList<WatchedNoGood> learnedNoGoods = new ArrayList<>();	// List of learned NoGoods that can be removed again. Note: should only contain NoGoods of size > 2.
+	private final ArrayList<WatchedNoGood> deletionCandidates = new ArrayList<>();
 	private final NoGoodStoreAlphaRoaming store;
 	private final Assignment assignment;
 	private int conflictCounter;
@@ -54,6 +65,13 @@ void recordLearnedNoGood(WatchedNoGood learnedWatchedNoGood) {
 		learnedNoGoods.add(learnedWatchedNoGood);
 	}
 
+	/**
+	 * Drops the learned NoGoods that have been removed from the store other than by this deletion.
+	 */
+	void dropRemovedNoGoods() {
+		learnedNoGoods.removeIf(learnedNoGood -> learnedNoGood.getStoreIndex() < 0);
+	}
+
 	void increaseConflictCounter() {
 		conflictCounter++;
 	}
@@ -69,36 +87,58 @@ void runNoGoodDeletion() {
 		if (cleanupCounter > RESET_SEQUENCE_AFTER) {
 			cleanupCounter = 0;
 		}
-		int deletedNoGoods = 0;
-		int originalSize = learnedNoGoods.size();
-		if (originalSize == 0) {
+		if (learnedNoGoods.isEmpty()) {
 			return;
 		}
-		int toDeleteMax = originalSize / 2;
-		long activitySum = 0;
+		int coreNoGoods = 0;
+		int tier2NoGoods = 0;
+		deletionCandidates.clear();
 		for (WatchedNoGood learnedNoGood : learnedNoGoods) {
-			activitySum += learnedNoGood.getActivity();
-		}
-		double avgActivity = (double) activitySum / originalSize;
-		double scoreThreshold = avgActivity * 1.5;
-		for (Iterator<WatchedNoGood> iterator = learnedNoGoods.iterator(); iterator.hasNext();) {
-			WatchedNoGood learnedNoGood = iterator.next();
-			if (deletedNoGoods >= toDeleteMax) {
-				break;
+			final boolean used = learnedNoGood.isUsed();
+			learnedNoGood.clearUsed();
+			if (isCore(learnedNoGood)) {
+				coreNoGoods++;
+			} else if (used && isTier2(learnedNoGood)) {
+				tier2NoGoods++;
+			} else if (!isLocked(learnedNoGood, assignment)) {
+				deletionCandidates.add(learnedNoGood);
 			}
-			boolean keepNoGood = isLocked(learnedNoGood, assignment)
-				|| learnedNoGood.getActivity() > scoreThreshold
-				|| learnedNoGood.isLbdLessOrEqual2();
-			if (!keepNoGood) {
-				iterator.remove();
-				store.removeFromWatches(learnedNoGood);
-				learnedNoGood.decreaseActivity();
-				deletedNoGoods++;
-				LOGGER.trace("Removed from store the NoGood: {}", learnedNoGood);
+		}
+		// Delete the less active half of the local NoGoods.
+		deletionCandidates.sort(BY_ACTIVITY);
+		final int toDelete = (deletionCandidates.size() + 1) / 2;
+		for (int i = 0; i < toDelete; i++) {
+			WatchedNoGood learnedNoGood = deletionCandidates.get(i);
+			store.removeFromWatches(learnedNoGood);
+			LOGGER.trace("Removed from store the NoGood: {}", learnedNoGood);
+		}
+		deletionCandidates.clear();
+		// Remove deleted NoGoods from the list and age the activity of the remaining ones.
+		int kept = 0;
+		for (int i = 0; i < learnedNoGoods.size(); i++) {
+			WatchedNoGood learnedNoGood = learnedNoGoods.get(i);
+			if (learnedNoGood.getStoreIndex() < 0) {
+				continue;
 			}
+			learnedNoGood.decreaseActivity();
+			learnedNoGoods.set(kept++, learnedNoGood);
 		}
-		LOGGER.debug("Removed {} NoGoods from store.", deletedNoGoods);
-		this.numberOfDeletedNoGoods += deletedNoGoods;
+		learnedNoGoods.subList(kept, learnedNoGoods.size()).clear();
+		if (toDelete > 0) {
+			store.compactWatchLists();
+		}
+		LOGGER.debug("Removed {} NoGoods from store, kept {} core and {} tier-2 NoGoods.", toDelete, coreNoGoods, tier2NoGoods);
+		this.numberOfDeletedNoGoods += toDelete;
+	}
+
+	private static boolean isCore(WatchedNoGood learnedNoGood) {
+		final int lbd = learnedNoGood.getLBD();
+		return lbd != LBD_NO_VALUE && lbd <= CORE_LBD;
+	}
+
+	private static boolean isTier2(WatchedNoGood learnedNoGood) {
+		final int lbd = learnedNoGood.getLBD();
+		return lbd != LBD_NO_VALUE && lbd <= TIER2_LBD;
 	}
 
 	private boolean isLocked(WatchedNoGood noGood, Assignment assignment) {
@@ -0,0 +1,194 @@
+package at.ac.tuwien.kr.alpha.core.solver;
+
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.isPositive;
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
+import at.ac.tuwien.kr.alpha.api.programs.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.EnumerationAtom;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.RuleAtom;
+
+/**
+ * A lock-free channel for exchanging short learned nogoods between {@link DefaultSolver}s working on the same program.
+ *
+ * Since every solver has its own {@link AtomStore}, atom IDs differ between solvers. Exported nogoods are therefore
+ * translated into structured atoms by the exporting solver and translated back into atom IDs by the importing solver,
+ * each using its own atom store (i.e., on its own thread). Nogoods containing atoms not (yet) known to the importing
+ * solver are dropped. Only nogoods over atoms whose meaning does not depend on the grounding order (i.e., basic atoms
+ * and rule atoms) are shared, choice and enumeration atoms are numbered independently by each grounder.
+ *
+ * Only nogoods that are consequences of the program alone may be shared, i.e., no nogood learned after an enumeration
+ * nogood was added may be exported.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class LearnedNoGoodExchange {
+	static final int MAX_SHARED_LBD = 3;
+	static final int MAX_SHARED_SIZE = 8;
+	static final int MAX_PENDING_PER_PARTICIPANT = 4096;
+
+	private final List<Inbox> inboxes;
+
+	public LearnedNoGoodExchange(int numParticipants) {
+		List<Inbox> inboxes = new ArrayList<>(numParticipants);
+		for (int i = 0; i < numParticipants; i++) {
+			inboxes.add(new Inbox());
+		}
+		this.inboxes = Collections.unmodifiableList(inboxes);
+	}
+
+	/**
+	 * Returns the view of the exchange for the participant with the given index that uses the given atom store.
+	 */
+	public Participant getParticipant(int participantIndex, AtomStore atomStore) {
+		return new Participant(participantIndex, atomStore);
+	}
+
+	public class Participant {
+		private final int index;
+		private final AtomStore atomStore;
+		private int exported;
+		private int imported;
+
+		private Participant(int index, AtomStore atomStore) {
+			this.index = index;
+			this.atomStore = atomStore;
+		}
+
+		/**
+		 * Offers the given learned nogood to all other participants if it is short and of low LBD.
+		 * @return true iff the nogood was shared.
+		 */
+		public boolean export(NoGood learnedNoGood, int lbd) {
+			if (lbd == LBD_NO_VALUE || lbd > MAX_SHARED_LBD || learnedNoGood.size() > MAX_SHARED_SIZE) {
+				return false;
+			}
+			final Atom[] atoms = new Atom[learnedNoGood.size()];
+			final boolean[] positive = new boolean[learnedNoGood.size()];
+			for (int i = 0; i < learnedNoGood.size(); i++) {
+				int literal = learnedNoGood.getLiteral(i);
+				Atom atom = atomStore.get(atomOf(literal));
+				if (!isShareable(atom)) {
+					return false;
+				}
+				atoms[i] = atom;
+				positive[i] = isPositive(literal);
+			}
+			SharedNoGood shared = new SharedNoGood(atoms, positive, lbd);
+			for (int i = 0; i < inboxes.size(); i++) {
+				if (i != index) {
+					inboxes.get(i).offer(shared);
+				}
+			}
+			exported++;
+			return true;
+		}
+
+		/**
+		 * Returns the next nogood shared by another participant, translated into atom IDs of this participant's atom
+		 * store, or null if there is none. Shared nogoods mentioning atoms unknown to this participant are skipped.
+		 */
+		public SharedNoGood poll() {
+			SharedNoGood shared;
+			while ((shared = inboxes.get(index).poll()) != null) {
+				SharedNoGood translated = translate(shared);
+				if (translated != null) {
+					imported++;
+					return translated;
+				}
+			}
+			return null;
+		}
+
+		private SharedNoGood translate(SharedNoGood shared) {
+			int[] literals = new int[shared.atoms.length];
+			for (int i = 0; i < shared.atoms.length; i++) {
+				if (!atomStore.contains(shared.atoms[i])) {
+					return null;
+				}
+				literals[i] = atomToLiteral(atomStore.get(shared.atoms[i]), shared.positive[i]);
+			}
+			return new SharedNoGood(shared, NoGood.learnt(literals));
+		}
+
+		public int getNumberOfExportedNoGoods() {
+			return exported;
+		}
+
+		public int getNumberOfImportedNoGoods() {
+			return imported;
+		}
+	}
+
+	private static boolean isShareable(Atom atom) {
+		return atom instanceof RuleAtom || (atom instanceof BasicAtom && !(atom instanceof EnumerationAtom));
+	}
+
+	/**
+	 * A learned nogood in transit between participants, or (after {@link Participant#poll()}) the nogood translated for
+	 * the importing participant.
+	 */
+	public static class SharedNoGood {
+		private final Atom[] atoms;
+		private final boolean[] positive;
+		private final int lbd;
+		private final NoGood noGood;
+
+		private SharedNoGood(Atom[] atoms, boolean[] positive, int lbd) {
+			this.atoms = atoms;
+			this.positive = positive;
+			this.lbd = lbd;
+			this.noGood = null;
+		}
+
+		private SharedNoGood(SharedNoGood shared, NoGood translated) {
+			this.atoms = shared.atoms;
+			this.positive = shared.positive;
+			this.lbd = shared.lbd;
+			this.noGood = translated;
+		}
+
+		public NoGood getNoGood() {
+			return noGood;
+		}
+
+		public int getLBD() {
+			return lbd;
+		}
+	}
+
+	/**
+	 * Incoming nogoods of one participant. Nogoods offered while the inbox is full are dropped.
+	 */
+	private static class Inbox {
+		private final Queue<SharedNoGood> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger pending = new AtomicInteger();
+
+		void offer(SharedNoGood shared) {
+			if (pending.incrementAndGet() > MAX_PENDING_PER_PARTICIPANT) {
+				pending.decrementAndGet();
+				return;
+			}
+			queue.offer(shared);
+		}
+
+		SharedNoGood poll() {
+			SharedNoGood shared = queue.poll();
+			if (shared != null) {
+				pending.decrementAndGet();
+			}
+			return shared;
+		}
+	}
+}
@@ -32,6 +32,7 @@
 
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
 
+import java.util.BitSet;
 import java.util.HashMap;
 
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.*;
@@ -134,6 +135,19 @@ public void backtrack() {
 	public void growForMaxAtomId(int maxAtomId) {
 	}
 
+	@Override
+	public void removeNoGoodsContaining(BitSet atoms) {
+		delegate.values().removeIf(noGood -> {
+			for (int literal : noGood) {
+				if (atoms.get(atomOf(literal))) {
+					counter.remove(noGood);
+					return true;
+				}
+			}
+			return false;
+		});
+	}
+
 	@Override
 	public NoGoodCounter getNoGoodCounter() {
 		return counter;
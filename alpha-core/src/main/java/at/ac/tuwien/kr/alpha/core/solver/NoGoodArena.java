@@ -0,0 +1,274 @@
+package at.ac.tuwien.kr.alpha.core.solver;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
+
+import java.util.Arrays;
+
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodInterface.Type;
+
+/**
+ * Flat storage for the literals and metadata of all {@link WatchedNoGood}s of a {@link NoGoodStoreAlphaRoaming}.
+ *
+ * The literals of all NoGoods are stored contiguously in one growable int array, watch pointers, activity, type, LBD,
+ * and whether the NoGood was recently used in conflict analysis are kept in parallel int arrays addressed by the index
+ * of the NoGood. A {@link WatchedNoGood} is merely a view onto one such index that gives the NoGood an identity (as
+ * required for {@link Antecedent}s).
+ *
+ * Slots of deleted NoGoods become reusable only after {@link #reclaimDeleted()}, i.e., once no watch list refers to
+ * them anymore. Literals of deleted NoGoods are garbage collected by compacting the literal array in the same step.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class NoGoodArena {
+	private static final Type[] TYPES = Type.values();
+	private static final int FLAG_USED = 1 << 8;
+	private static final int TYPE_MASK = 0xFF;
+	private static final int INITIAL_NOGOODS = 16;
+	private static final int INITIAL_LITERALS = 256;
+
+	private int[] literals = new int[INITIAL_LITERALS];
+	private int literalsSize;
+	private int garbageLiterals;
+
+	private WatchedNoGood[] views = new WatchedNoGood[INITIAL_NOGOODS];
+	private int[] offsets = new int[INITIAL_NOGOODS];
+	private int[] sizes = new int[INITIAL_NOGOODS];
+	private int[] heads = new int[INITIAL_NOGOODS];
+	private int[] alphas = new int[INITIAL_NOGOODS];
+	private int[] activities = new int[INITIAL_NOGOODS];
+	private int[] lbds = new int[INITIAL_NOGOODS];
+	private int[] flags = new int[INITIAL_NOGOODS];
+	private int slots;
+
+	private int[] freeIndices = new int[INITIAL_NOGOODS];	// Slots that no watch list refers to any more.
+	private int freeIndicesSize;
+	private int[] deletedIndices = new int[INITIAL_NOGOODS];	// Slots of deleted NoGoods that may still occur in watch lists.
+	private int deletedIndicesSize;
+
+	void clear() {
+		literals = new int[INITIAL_LITERALS];
+		literalsSize = 0;
+		garbageLiterals = 0;
+		views = new WatchedNoGood[INITIAL_NOGOODS];
+		slots = 0;
+		freeIndicesSize = 0;
+		deletedIndicesSize = 0;
+	}
+
+	/**
+	 * Stores the given NoGood such that the literals at positions a and b become the watched literals at positions 0
+	 * and 1, and returns the view onto the stored NoGood.
+	 */
+	WatchedNoGood add(NoGood noGood, int a, int b, int alpha) {
+		final int size = noGood.size();
+		if (size < 3) {
+			throw oops("WatchedNoGood should not be used for small NoGoods.");
+		}
+		if (a == b) {
+			throw new IllegalArgumentException("First two pointers must not point at the same literal.");
+		}
+		if (a < 0 || b < 0 || alpha < -1 || a >= size || b >= size || alpha >= size) {
+			throw new IllegalArgumentException("Pointers must be within bounds.");
+		}
+		final int index = allocateSlot();
+		final int offset = allocateLiterals(size);
+		for (int i = 0; i < size; i++) {
+			literals[offset + i] = noGood.getLiteral(i);
+		}
+		offsets[index] = offset;
+		sizes[index] = size;
+		heads[index] = noGood.hasHead() ? 0 : -1;
+		alphas[index] = alpha;
+		activities[index] = 0;
+		lbds[index] = LBD_NO_VALUE;
+		flags[index] = noGood.getType().ordinal();
+		if (b == 0) {
+			swap(index, 1, a);
+		} else {
+			swap(index, 0, a);
+			swap(index, 1, b);
+		}
+		WatchedNoGood view = new WatchedNoGood(this, index);
+		views[index] = view;
+		return view;
+	}
+
+	/**
+	 * Returns the view onto the NoGood stored at the given index, or null if that NoGood has been removed.
+	 */
+	WatchedNoGood get(int index) {
+		return views[index];
+	}
+
+	/**
+	 * Removes the given NoGood. Its slot is reused only after the next call of {@link #reclaimDeleted()}.
+	 */
+	/**
+	 * Returns the number of slots ever allocated, i.e., an upper bound of the indices of the stored NoGoods.
+	 */
+	int getNumberOfSlots() {
+		return slots;
+	}
+
+	void remove(WatchedNoGood watchedNoGood) {
+		final int index = watchedNoGood.getStoreIndex();
+		if (index < 0 || views[index] != watchedNoGood) {
+			throw oops("Could not remove NoGood from arena.");
+		}
+		// Detach the view by copying its literals, it may still be referenced, e.g., from a conflict analysis result.
+		watchedNoGood.detach(copyLiterals(index), getType(index));
+		views[index] = null;
+		garbageLiterals += sizes[index];
+		if (deletedIndicesSize == deletedIndices.length) {
+			deletedIndices = Arrays.copyOf(deletedIndices, arrayGrowthSize(deletedIndices.length));
+		}
+		deletedIndices[deletedIndicesSize++] = index;
+	}
+
+	boolean hasDeleted() {
+		return deletedIndicesSize > 0;
+	}
+
+	/**
+	 * Makes the slots of all removed NoGoods available again and compacts the literal storage if more than half of it
+	 * is occupied by literals of removed NoGoods. Must only be called once no watch list refers to removed NoGoods.
+	 */
+	void reclaimDeleted() {
+		for (int i = 0; i < deletedIndicesSize; i++) {
+			if (freeIndicesSize == freeIndices.length) {
+				freeIndices = Arrays.copyOf(freeIndices, arrayGrowthSize(freeIndices.length));
+			}
+			freeIndices[freeIndicesSize++] = deletedIndices[i];
+		}
+		deletedIndicesSize = 0;
+		if (2 * garbageLiterals > literalsSize) {
+			compactLiterals();
+		}
+	}
+
+	private void compactLiterals() {
+		final int[] compacted = new int[Math.max(INITIAL_LITERALS, arrayGrowthSize(literalsSize - garbageLiterals))];
+		int compactedSize = 0;
+		for (int index = 0; index < slots; index++) {
+			if (views[index] == null) {
+				continue;
+			}
+			System.arraycopy(literals, offsets[index], compacted, compactedSize, sizes[index]);
+			offsets[index] = compactedSize;
+			compactedSize += sizes[index];
+		}
+		literals = compacted;
+		literalsSize = compactedSize;
+		garbageLiterals = 0;
+	}
+
+	private int allocateSlot() {
+		if (freeIndicesSize > 0) {
+			return freeIndices[--freeIndicesSize];
+		}
+		if (slots == views.length) {
+			final int newCapacity = arrayGrowthSize(views.length);
+			views = Arrays.copyOf(views, newCapacity);
+			offsets = Arrays.copyOf(offsets, newCapacity);
+			sizes = Arrays.copyOf(sizes, newCapacity);
+			heads = Arrays.copyOf(heads, newCapacity);
+			alphas = Arrays.copyOf(alphas, newCapacity);
+			activities = Arrays.copyOf(activities, newCapacity);
+			lbds = Arrays.copyOf(lbds, newCapacity);
+			flags = Arrays.copyOf(flags, newCapacity);
+		}
+		return slots++;
+	}
+
+	private int allocateLiterals(int size) {
+		if (literalsSize + size > literals.length) {
+			int newCapacity = arrayGrowthSize(literals.length);
+			if (newCapacity < literalsSize + size) {
+				newCapacity = literalsSize + size;
+			}
+			literals = Arrays.copyOf(literals, newCapacity);
+		}
+		final int offset = literalsSize;
+		literalsSize += size;
+		return offset;
+	}
+
+	void swap(int index, int a, int b) {
+		final int offset = offsets[index];
+		final int tmp = literals[offset + a];
+		literals[offset + a] = literals[offset + b];
+		literals[offset + b] = tmp;
+		if (heads[index] != -1) {
+			// If the NoGood has a head, ensure the head pointer and alpha watch follow the swap.
+			if (heads[index] == a) {
+				heads[index] = b;
+			} else if (heads[index] == b) {
+				heads[index] = a;
+			}
+			if (alphas[index] == a) {
+				alphas[index] = b;
+			} else if (alphas[index] == b) {
+				alphas[index] = a;
+			}
+		}
+	}
+
+	int getLiteral(int index, int position) {
+		return literals[offsets[index] + position];
+	}
+
+	int[] copyLiterals(int index) {
+		return Arrays.copyOfRange(literals, offsets[index], offsets[index] + sizes[index]);
+	}
+
+	int size(int index) {
+		return sizes[index];
+	}
+
+	int getHeadIndex(int index) {
+		return heads[index];
+	}
+
+	int getAlphaPointer(int index) {
+		return alphas[index];
+	}
+
+	void setAlphaPointer(int index, int value) {
+		alphas[index] = value;
+	}
+
+	int getActivity(int index) {
+		return activities[index];
+	}
+
+	void setActivity(int index, int activity) {
+		activities[index] = activity;
+	}
+
+	Type getType(int index) {
+		return TYPES[flags[index] & TYPE_MASK];
+	}
+
+	int getLBD(int index) {
+		return lbds[index];
+	}
+
+	void setLBD(int index, int lbd) {
+		lbds[index] = lbd;
+	}
+
+	boolean isUsed(int index) {
+		return (flags[index] & FLAG_USED) != 0;
+	}
+
+	void setUsed(int index, boolean used) {
+		if (used) {
+			flags[index] |= FLAG_USED;
+		} else {
+			flags[index] &= ~FLAG_USED;
+		}
+	}
+}
@@ -62,6 +62,15 @@ void remove(NoGoodInterface noGood) {
 		countByCardinality[getAbstractCardinality(noGood)]--;
 	}
 
+	/**
+	 * Decreases counters for a binary NoGood of the given type
+	 * @param type
+	 */
+	void removeBinary(Type type) {
+		countByType[type.ordinal()]--;
+		countByCardinality[CARD_BINARY]--;
+	}
+
 	private int getAbstractCardinality(NoGoodInterface noGood) {
 		if (noGood.isUnary()) {
 			return CARD_UNARY;
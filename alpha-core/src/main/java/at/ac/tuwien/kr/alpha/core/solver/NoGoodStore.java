@@ -1,5 +1,7 @@
 package at.ac.tuwien.kr.alpha.core.solver;
 
+import java.util.BitSet;
+
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
 
 /**
@@ -48,6 +50,12 @@ public interface NoGoodStore {
 
 	void growForMaxAtomId(int maxAtomId);
 
+	/**
+	 * Removes all nogoods containing any of the given atoms, which must be unassigned.
+	 * @param atoms the atoms whose nogoods are removed.
+	 */
+	void removeNoGoodsContaining(BitSet atoms);
+
 	/**
 	 * Tests whether a cleanup of the learned NoGoods database is appropriate and exectutes the cleaning if
 	 * necessary.
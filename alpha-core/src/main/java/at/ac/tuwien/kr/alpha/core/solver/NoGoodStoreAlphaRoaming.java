@@ -36,10 +36,9 @@
 import at.ac.tuwien.kr.alpha.core.common.NoGoodInterface;
 import at.ac.tuwien.kr.alpha.core.common.NoGoodInterface.Type;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
 import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
@@ -65,6 +64,14 @@
  *  The second condition ensures that after backtracking the NoGood is still satisfied or both watches
  *  point to unassigned literals. Observe that for an assignment to TRUE the (potentially lower) decision level of MBT
  *  is taken.
+ *  As in MiniSat, each watch carries a blocker literal (for ordinary watches the other watched literal at the time the
+ *  watch was set, for alpha watches the head). If the blocker satisfies the NoGood, the watch is kept without looking
+ *  at the NoGood itself. Since the blocker may no longer be watched, the satisfying literal of the invariant above may
+ *  be any literal of the NoGood.
+ *
+ *  Watched NoGoods are kept in a {@link NoGoodArena} that stores their literals and metadata in flat int arrays, the
+ *  (primitive) watch lists refer to NoGoods by their arena index. Deleting a NoGood only clears its arena slot, the watch lists are compacted lazily during propagation and in one batch after
+ *  each run of the learned-NoGood deletion.
  *
  *  Copyright (c) 2017-2020, the Alpha Team.
  */
@@ -74,10 +81,9 @@ public class NoGoodStoreAlphaRoaming implements NoGoodStore, BinaryNoGoodPropaga
 
 	private final WritableAssignment assignment;
 	private final LearnedNoGoodDeletion learnedNoGoodDeletion;
-	@SuppressWarnings(value = {"rawtypes", "unchecked"})
-	private ArrayList<WatchedNoGood>[] watches = new ArrayList[0];
-	@SuppressWarnings(value = {"rawtypes", "unchecked"})
-	private ArrayList<WatchedNoGood>[] watchesAlpha = new ArrayList[0];
+	private final NoGoodArena arena = new NoGoodArena();
+	private WatchList[] watches = new WatchList[0];
+	private WatchList[] watchesAlpha = new WatchList[0];
 	private BinaryWatchList[] binaryWatches = new BinaryWatchList[0];
 	private int maxAtomId;
 
@@ -97,13 +103,13 @@ public NoGoodStoreAlphaRoaming(WritableAssignment assignment) {
 		this(assignment, false);
 	}
 
-	@SuppressWarnings(value = {"rawtypes", "unchecked"})
 	void clear() {
 		assignment.clear();
 		learnedNoGoodDeletion.reset();
 		binaryWatches = new BinaryWatchList[0];
-		watches = new ArrayList[0];
-		watchesAlpha = new ArrayList[0];
+		watches = new WatchList[0];
+		watchesAlpha = new WatchList[0];
+		arena.clear();
 		maxAtomId = 0;
 	}
 
@@ -141,11 +147,11 @@ public void growForMaxAtomId(int maxAtomId) {
 		}
 		watches = Arrays.copyOf(watches, newCapacity);
 		for (int i = oldlength; i < watches.length; i++) {
-			watches[i] = new ArrayList<>();
+			watches[i] = new WatchList();
 		}
 		watchesAlpha = Arrays.copyOf(watchesAlpha, newCapacity);
 		for (int i = oldlength; i < watchesAlpha.length; i++) {
-			watchesAlpha[i] = new ArrayList<>();
+			watchesAlpha[i] = new WatchList();
 		}
 		this.maxAtomId = maxAtomId;
 	}
@@ -162,35 +168,91 @@ public void cleanupLearnedNoGoods() {
 		}
 	}
 
+	/**
+	 * Removes the given NoGood from the store. Its watches are not removed immediately but skipped during propagation
+	 * and removed by the next call of {@link #compactWatchLists()}.
+	 */
 	void removeFromWatches(WatchedNoGood toRemove) {
-		counter.remove(toRemove);
-		int watchedLiteral1 = toRemove.getLiteral(0);
-		int watchedLiteral2 = toRemove.getLiteral(1);
-		if (!watches(watchedLiteral2).remove(toRemove)
-			|| !watches(watchedLiteral1).remove(toRemove)) {
+		final int index = toRemove.getStoreIndex();
+		if (index < 0 || arena.get(index) != toRemove) {
 			throw oops("Could not remove learned NoGood from watch lists.");
 		}
 		if (toRemove.hasHead()) {
 			throw oops("NoGood has a head.");	// If this occurs, we need to remove the alpha watch too.
 		}
+		counter.remove(toRemove);
+		arena.remove(toRemove);
+	}
+
+	@Override
+	public void removeNoGoodsContaining(BitSet atoms) {
+		boolean didRemoveLearnedNoGoods = false;
+		for (int index = 0; index < arena.getNumberOfSlots(); index++) {
+			final WatchedNoGood watchedNoGood = arena.get(index);
+			if (watchedNoGood == null || !containsAny(watchedNoGood, atoms)) {
+				continue;
+			}
+			didRemoveLearnedNoGoods |= watchedNoGood.getType() == Type.LEARNT;
+			counter.remove(watchedNoGood);
+			arena.remove(watchedNoGood);
+		}
+		if (didRemoveLearnedNoGoods) {
+			learnedNoGoodDeletion.dropRemovedNoGoods();
+		}
+		if (arena.hasDeleted()) {
+			// Unlike deleted learned NoGoods, the removed ones may have a head and hence an alpha watch.
+			for (WatchList watchList : watchesAlpha) {
+				watchList.removeDeleted();
+			}
+			compactWatchLists();
+		}
+
+		// Binary NoGoods are kept in the binary watch lists of both of their literals.
+		final BitSet otherLiterals = new BitSet();
+		// The watch lists may cover more atoms than maxAtomId, which is only updated when they grow.
+		for (int atom = atoms.nextSetBit(0); atom >= 0 && atomToLiteral(atom, true) < binaryWatches.length; atom = atoms.nextSetBit(atom + 1)) {
+			binaryWatches[atomToLiteral(atom, false)].removeNoGoodsContaining(atoms, otherLiterals);
+			binaryWatches[atomToLiteral(atom, true)].removeNoGoodsContaining(atoms, otherLiterals);
+		}
+		for (int literal = otherLiterals.nextSetBit(0); literal >= 0; literal = otherLiterals.nextSetBit(literal + 1)) {
+			binaryWatches[literal].removeNoGoodsContaining(atoms, otherLiterals);
+		}
 	}
 
-	private ArrayList<WatchedNoGood> watches(int literal) {
-		return watches[literal];
+	private static boolean containsAny(WatchedNoGood watchedNoGood, BitSet atoms) {
+		for (int i = 0; i < watchedNoGood.size(); i++) {
+			if (atoms.get(atomOf(watchedNoGood.getLiteral(i)))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private ArrayList<WatchedNoGood> watchesAlpha(int literal) {
-		return watchesAlpha[literal];
+	/**
+	 * Removes the watches of all deleted NoGoods from all watch lists in one sweep, afterwards the arena slots of the
+	 * deleted NoGoods can be reused.
+	 */
+	void compactWatchLists() {
+		if (!arena.hasDeleted()) {
+			return;
+		}
+		for (WatchList watchList : watches) {
+			watchList.removeDeleted();
+		}
+		arena.reclaimDeleted();
 	}
 
 	private void addOrdinaryWatch(WatchedNoGood wng, int pointer) {
-		final int literal = wng.getLiteral(pointer);
-		watches(literal).add(wng);
+		watches[wng.getLiteral(pointer)].add(wng.getStoreIndex(), wng.getLiteral(1 - pointer));
 	}
 
 	private void addAlphaWatch(WatchedNoGood wng) {
-		final int literal = wng.getLiteralAtAlpha();
-		watchesAlpha(literal).add(wng);
+		watchesAlpha[wng.getLiteralAtAlpha()].add(wng.getStoreIndex(), wng.getHead());
+	}
+
+	private boolean isSatisfying(int literal) {
+		final ThriceTruth truth = assignment.getTruth(atomOf(literal));
+		return truth != null && truth.toBoolean() != isPositive(literal);
 	}
 
 	@Override
@@ -374,7 +436,7 @@ private ConflictCause addAndWatch(final NoGood noGood, int lbd) {
 				watchAlpha = posStrongHighestAssigned;
 			}
 		}
-		WatchedNoGood wng = new WatchedNoGood(noGood, watch1, watch2, watchAlpha);
+		WatchedNoGood wng = arena.add(noGood, watch1, watch2, watchAlpha);
 		LOGGER.trace("WatchedNoGood is {}.", wng);
 
 		// Record for eventual removal if this NoGood is learned.
@@ -451,46 +513,61 @@ private ConflictCause assignTruth(int atom, ThriceTruth truth, Antecedent implie
 	 * @param literal the literal that triggers the propagation.
 	 */
 	private ConflictCause propagateWeakly(int literal, int currentDecisionLevel, boolean restrictToBinaryNoGoods) {
-		final ArrayList<WatchedNoGood> watchesOfAssignedAtom = watches(literal);
-
 		// Propagate binary watches.
 		ConflictCause conflictCause = binaryWatches[literal].propagateWeakly();
 		if (conflictCause != null || restrictToBinaryNoGoods) {
 			return conflictCause;
 		}
 
-		// Check all watched multi-ary NoGoods.
-		Iterator<WatchedNoGood> watchIterator = watchesOfAssignedAtom.iterator();
-		clearOrdinaryWatchList(literal);
-		while (watchIterator.hasNext()) {
-			WatchedNoGood nextNoGood = watchIterator.next();
-			conflictCause = processWeaklyWatchedNoGood(literal, nextNoGood, currentDecisionLevel);
+		// Check all watched multi-ary NoGoods, compacting the watch list in place: entries [0, j) are kept.
+		final WatchList watchList = watches[literal];
+		final int[] entries = watchList.entries;
+		final int size = watchList.size;
+		int j = 0;
+		for (int i = 0; i < size; i += 2) {
+			final int index = entries[i];
+			final int blocker = entries[i + 1];
+			final WatchedNoGood watchedNoGood = arena.get(index);
+			if (watchedNoGood == null) {
+				// NoGood was deleted, drop its watch.
+				continue;
+			}
+			if (isSatisfying(blocker)) {
+				// Keep this watch without inspecting the NoGood.
+				entries[j++] = index;
+				entries[j++] = blocker;
+				continue;
+			}
+			final int assignedWatch = watchedNoGood.getLiteral(0) == literal ? 0 : 1;
+			final int otherLiteral = watchedNoGood.getLiteral(1 - assignedWatch);
+			conflictCause = processWeaklyWatchedNoGood(assignedWatch, watchedNoGood, currentDecisionLevel);
+			if (watchedNoGood.getLiteral(assignedWatch) != literal) {
+				// Watch was moved to another literal.
+				continue;
+			}
+			// Keep watching the same literal, with the other watched literal as blocker.
+			entries[j++] = index;
+			entries[j++] = otherLiteral;
 			if (conflictCause != null) {
-				// Copy over all non-treated NoGoods, so that they can be treated after backtracking.
-				ArrayList<WatchedNoGood> watchlist = watches(literal);
-				watchlist.add(nextNoGood);
-				while (watchIterator.hasNext()) {
-					watchlist.add(watchIterator.next());
-				}
+				// Keep all non-treated NoGoods, so that they can be treated after backtracking.
+				final int remaining = size - i - 2;
+				System.arraycopy(entries, i + 2, entries, j, remaining);
+				watchList.size = j + remaining;
 				return conflictCause;
 			}
 		}
+		watchList.size = j;
 		return null;
 	}
 
-	private ConflictCause processWeaklyWatchedNoGood(int assignedLiteral, WatchedNoGood watchedNoGood, int currentDecisionLevel) {
-		final int assignedWatch = watchedNoGood.getLiteral(0) == assignedLiteral ? 0 : 1;
+	private ConflictCause processWeaklyWatchedNoGood(int assignedWatch, WatchedNoGood watchedNoGood, int currentDecisionLevel) {
 		final int otherWatch = 1 - assignedWatch;
 
-		final int otherLiteral = watchedNoGood.getLiteral(otherWatch);
-		final ThriceTruth otherAtomTruth = assignment.getTruth(atomOf(otherLiteral));
-
 		// Find new literal to watch.
 
 		// Check if the other watch already satisfies the noGood.
-		if (otherAtomTruth != null && otherAtomTruth.toBoolean() != isPositive(otherLiteral)) {
+		if (isSatisfying(watchedNoGood.getLiteral(otherWatch))) {
 			// Keep this watch and return early.
-			addOrdinaryWatch(watchedNoGood, assignedWatch);
 			return null;
 		} else {
 			for (int i = 2; i < watchedNoGood.size(); i++) {
@@ -517,14 +594,8 @@ private ConflictCause processWeaklyWatchedNoGood(int assignedLiteral, WatchedNoG
 			LOGGER.trace("Nogood is unit:");
 			logNoGoodAndAssignment(watchedNoGood, assignment);
 		}
-		ConflictCause conflictCause = assignWeakComplement(otherWatch, watchedNoGood, currentDecisionLevel);
-		// Return conflict if noGood is violated.
-		if (conflictCause != null) {
-			return conflictCause;
-		}
-		// Watch same literal again.
-		addOrdinaryWatch(watchedNoGood, assignedWatch);
-		return null;
+		// Return conflict if noGood is violated, otherwise watch same literal again.
+		return assignWeakComplement(otherWatch, watchedNoGood, currentDecisionLevel);
 	}
 
 	private void logNoGoodAndAssignment(WatchedNoGood noGood, Assignment assignment) {
@@ -550,39 +621,45 @@ private ConflictCause propagateStrongly(int literal, int currentDecisionLevel, b
 			return conflictCause;
 		}
 
-		// Check all watched multi-ary NoGoods.
-		Iterator<WatchedNoGood> watchIterator = watchesAlpha(literal).iterator();
-		clearAlphaWatchList(literal);
-		while (watchIterator.hasNext()) {
-			WatchedNoGood nextNoGood = watchIterator.next();
-			if (!nextNoGood.hasHead()) {
+		// Check all watched multi-ary NoGoods, compacting the watch list in place: entries [0, j) are kept.
+		final WatchList watchList = watchesAlpha[literal];
+		final int[] entries = watchList.entries;
+		final int size = watchList.size;
+		int j = 0;
+		for (int i = 0; i < size; i += 2) {
+			final int index = entries[i];
+			final int head = entries[i + 1];
+			if (assignment.getTruth(atomOf(head)) == TRUE) {
+				// The head already satisfies the NoGood, keep this watch without inspecting the NoGood.
+				entries[j++] = index;
+				entries[j++] = head;
+				continue;
+			}
+			final WatchedNoGood watchedNoGood = arena.get(index);
+			if (!watchedNoGood.hasHead()) {
 				throw oops("Strong propagation encountered NoGood without head");
 			}
-			conflictCause = processStronglyWatchedNoGood(nextNoGood, currentDecisionLevel);
+			final int assignedIndex = watchedNoGood.getAlphaPointer();
+			conflictCause = processStronglyWatchedNoGood(watchedNoGood, currentDecisionLevel);
+			if (watchedNoGood.getAlphaPointer() != assignedIndex) {
+				// Alpha watch was moved to another literal.
+				continue;
+			}
+			entries[j++] = index;
+			entries[j++] = head;
 			if (conflictCause != null) {
-				// Copy over all non-treated NoGoods, so that they can be treated after backtracking.
-				ArrayList<WatchedNoGood> watchlist = watchesAlpha(literal);
-				watchlist.add(nextNoGood);
-				while (watchIterator.hasNext()) {
-					watchlist.add(watchIterator.next());
-				}
+				// Keep all non-treated NoGoods, so that they can be treated after backtracking.
+				final int remaining = size - i - 2;
+				System.arraycopy(entries, i + 2, entries, j, remaining);
+				watchList.size = j + remaining;
 				return conflictCause;
 			}
 		}
+		watchList.size = j;
 		return null;
 	}
 
 	private ConflictCause processStronglyWatchedNoGood(WatchedNoGood watchedNoGood, int currentDecisionLevel) {
-
-		final int headAtom = atomOf(watchedNoGood.getHead());
-		final ThriceTruth headAtomTruth = assignment.getTruth(headAtom);
-		// Check if the other watch, i.e., the head, already satisfies the noGood.
-		if (headAtomTruth != null && TRUE == headAtomTruth) {
-			// Keep this watch and return early.
-			addAlphaWatch(watchedNoGood);
-			return null;
-		}
-
 		final int assignedIndex = watchedNoGood.getAlphaPointer();
 
 		// Find new literal to watch.
@@ -603,14 +680,8 @@ private ConflictCause processStronglyWatchedNoGood(WatchedNoGood watchedNoGood,
 			}
 		}
 
-		// NoGood is unit, propagate.
-		ConflictCause conflictCause = assignStrongComplement(watchedNoGood, currentDecisionLevel);
-		if (conflictCause != null) {
-			return conflictCause;
-		}
-		// Watch same literal again.
-		addAlphaWatch(watchedNoGood);
-		return null;
+		// NoGood is unit, propagate. Return conflict if noGood is violated, otherwise watch same literal again.
+		return assignStrongComplement(watchedNoGood, currentDecisionLevel);
 	}
 
 	@Override
@@ -676,8 +747,10 @@ public void setChecksEnabled(boolean checksEnabled) {
 
 	class BinaryWatchList implements ShallowAntecedent {
 		private int[] noGoodsWithoutHead = new int[10];
+		private byte[] typesWithoutHead = new byte[10];
 		private int noGoodsWithoutHeadSize;
 		private int[] noGoodsWithHead = new int[10];
+		private byte[] typesWithHead = new byte[10];
 		private int noGoodsWithHeadSize;
 		private final int forLiteral;
 
@@ -699,11 +772,13 @@ ConflictCause add(NoGood noGood) {
 		private ConflictCause addHeadedNoGood(NoGood noGood) {
 			if (noGoodsWithHeadSize + 1 > noGoodsWithHead.length) {
 				noGoodsWithHead = Arrays.copyOf(noGoodsWithHead, arrayGrowthSize(noGoodsWithHeadSize));
+				typesWithHead = Arrays.copyOf(typesWithHead, noGoodsWithHead.length);
 			}
 			int otherLiteral = noGood.getLiteral(0) == forLiteral ? noGood.getLiteral(1) : noGood.getLiteral(0);
 			if (isPositive(otherLiteral)) {
 				throw oops("NoGood has wrong head.");
 			}
+			typesWithHead[noGoodsWithHeadSize] = (byte) noGood.getType().ordinal();
 			noGoodsWithHead[noGoodsWithHeadSize++] = otherLiteral;
 			// Assign (weakly) otherLiteral if the newly added NoGood is unit.
 			ThriceTruth literalTruth = assignment.getTruth(atomOf(forLiteral));
@@ -725,8 +800,10 @@ private ConflictCause addHeadedNoGood(NoGood noGood) {
 		private ConflictCause addOrdinaryNoGood(NoGood noGood) {
 			if (noGoodsWithoutHeadSize + 1 > noGoodsWithoutHead.length) {
 				noGoodsWithoutHead = Arrays.copyOf(noGoodsWithoutHead, arrayGrowthSize(noGoodsWithoutHeadSize));
+				typesWithoutHead = Arrays.copyOf(typesWithoutHead, noGoodsWithoutHead.length);
 			}
 			int otherLiteral = noGood.getLiteral(0) == forLiteral ? noGood.getLiteral(1) : noGood.getLiteral(0);
+			typesWithoutHead[noGoodsWithoutHeadSize] = (byte) noGood.getType().ordinal();
 			noGoodsWithoutHead[noGoodsWithoutHeadSize++] = otherLiteral;
 			// Assign otherLiteral if the newly added NoGood is unit.
 			ThriceTruth literalTruth = assignment.getTruth(atomOf(forLiteral));
@@ -737,6 +814,41 @@ private ConflictCause addOrdinaryNoGood(NoGood noGood) {
 			return null;
 		}
 
+		/**
+		 * Removes the NoGoods containing any of the given atoms. If the atom of this list's literal is among them, all
+		 * NoGoods are removed and the other literals, whose lists still contain them, are collected.
+		 */
+		void removeNoGoodsContaining(BitSet atoms, BitSet otherLiterals) {
+			final boolean isRemovingAll = atoms.get(atomOf(forLiteral));
+			noGoodsWithoutHeadSize = removeNoGoodsContaining(atoms, otherLiterals, isRemovingAll, noGoodsWithoutHead, typesWithoutHead, noGoodsWithoutHeadSize);
+			noGoodsWithHeadSize = removeNoGoodsContaining(atoms, otherLiterals, isRemovingAll, noGoodsWithHead, typesWithHead, noGoodsWithHeadSize);
+		}
+
+		private int removeNoGoodsContaining(BitSet atoms, BitSet otherLiterals, boolean isRemovingAll, int[] noGoods, byte[] types, int size) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				final int otherLiteral = noGoods[i];
+				final boolean isOtherRemoved = atoms.get(atomOf(otherLiteral));
+				if (!isRemovingAll && !isOtherRemoved) {
+					noGoods[kept] = otherLiteral;
+					types[kept++] = types[i];
+					continue;
+				}
+				if (!isRemovingAll) {
+					// Removal was counted when clearing the list of the other literal.
+					continue;
+				}
+				// Count each NoGood once, in the list of its smaller literal if the atoms of both literals are removed.
+				if (!isOtherRemoved || forLiteral < otherLiteral) {
+					counter.removeBinary(Type.values()[types[i]]);
+				}
+				if (!isOtherRemoved) {
+					otherLiterals.set(otherLiteral);
+				}
+			}
+			return kept;
+		}
+
 		ConflictCause propagateWeakly() {
 			didPropagate |= noGoodsWithHeadSize > 0 || noGoodsWithoutHeadSize > 0;
 			for (int i = 0; i < noGoodsWithoutHeadSize; i++) {
@@ -810,12 +922,31 @@ public String toString() {
 		}
 	}
 
-	private void clearOrdinaryWatchList(int literal) {
-		watches[literal] = new ArrayList<>();
-	}
+	/**
+	 * A watch list of primitive (NoGood index, blocker literal) pairs.
+	 */
+	private final class WatchList {
+		private int[] entries = new int[8];
+		private int size;
+
+		void add(int noGoodIndex, int blocker) {
+			if (size + 2 > entries.length) {
+				entries = Arrays.copyOf(entries, arrayGrowthSize(entries.length));
+			}
+			entries[size++] = noGoodIndex;
+			entries[size++] = blocker;
+		}
 
-	private void clearAlphaWatchList(int literal) {
-		watchesAlpha[literal] = new ArrayList<>();
+		void removeDeleted() {
+			int j = 0;
+			for (int i = 0; i < size; i += 2) {
+				if (arena.get(entries[i]) != null) {
+					entries[j++] = entries[i];
+					entries[j++] = entries[i + 1];
+				}
+			}
+			size = j;
+		}
 	}
 
 	@Override
@@ -908,7 +1039,9 @@ private void checkAlphaWatchesInvariant(int atom, boolean truth) {
 				}
 				throw oops("Watch invariant (alpha) violated");
 			}
-			for (WatchedNoGood watchedNoGood : watchesAlpha(atomLiteral)) {
+			WatchList alphaWatchList = watchesAlpha[atomLiteral];
+			for (int i = 0; i < alphaWatchList.size; i += 2) {
+				WatchedNoGood watchedNoGood = arena.get(alphaWatchList.entries[i]);
 				int headLiteral = watchedNoGood.getHead();
 				if (headLiteral == atomLiteral) {
 					throw oops("Watch invariant violated: alpha watch points at head.");
@@ -939,7 +1072,13 @@ private void checkOrdinaryWatchesInvariant(int atom, boolean truth) {
 				int otherLiteral = binaryWatchList.noGoodsWithHead[i];
 				checkBinaryWatch(atomSatisfies, atomDecisionLevel, atomReplayLevel, otherLiteral);
 			}
-			for (WatchedNoGood watchedNoGood : watches(atomLiteral)) {
+			WatchList watchList = watches[atomLiteral];
+			for (int i = 0; i < watchList.size; i += 2) {
+				WatchedNoGood watchedNoGood = arena.get(watchList.entries[i]);
+				if (watchedNoGood == null) {
+					// Deleted NoGood whose watch has not been removed yet.
+					continue;
+				}
 				// Ensure both watches are either unassigned, or one satisfies NoGood, or both are on highest decision level.
 				int otherPointer = atom ==  atomOf(watchedNoGood.getLiteral(1)) ? 0 : 1;
 				int otherLiteral = watchedNoGood.getLiteral(otherPointer);
@@ -952,13 +1091,44 @@ private void checkOrdinaryWatchesInvariant(int atom, boolean truth) {
 				int otherDecisionLevel = weakDecisionLevel(otherEntry);
 				int otherReplayLevel = weakReplayLevel(otherAtom);
 				boolean otherSatisfies = otherEntry != null && isPositive(otherLiteral) != otherEntry.getTruth().toBoolean();
-				if (watchInvariant(atomSatisfies, otherSatisfies, atomDecisionLevel, atomReplayLevel, otherDecisionLevel, otherReplayLevel)) {
+				if (watchInvariant(atomSatisfies, otherSatisfies, atomDecisionLevel, atomReplayLevel, otherDecisionLevel, otherReplayLevel)
+					|| isSatisfiedNotAboveWatches(watchedNoGood)) {
 					continue;
 				}
 				throw oops("Watch invariant violated");
 			}
 		}
 
+		/**
+		 * Checks whether some (possibly unwatched) literal satisfies the given NoGood at a decision level not higher
+		 * than (the replay level of) any assigned watched literal. Such NoGoods were skipped due to their blocker.
+		 */
+		private boolean isSatisfiedNotAboveWatches(WatchedNoGood watchedNoGood) {
+			for (int literal : watchedNoGood.getReasonLiterals()) {
+				Assignment.Entry entry = assignment.get(atomOf(literal));
+				if (entry == null || isPositive(literal) == entry.getTruth().toBoolean()) {
+					continue;
+				}
+				int satisfyingDecisionLevel = weakDecisionLevel(entry);
+				int satisfyingReplayLevel = weakReplayLevel(atomOf(literal));
+				if (isNotAbove(watchedNoGood.getLiteral(0), satisfyingDecisionLevel, satisfyingReplayLevel)
+					&& isNotAbove(watchedNoGood.getLiteral(1), satisfyingDecisionLevel, satisfyingReplayLevel)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isNotAbove(int watchedLiteral, int satisfyingDecisionLevel, int satisfyingReplayLevel) {
+			Assignment.Entry entry = assignment.get(atomOf(watchedLiteral));
+			if (entry == null || isPositive(watchedLiteral) != entry.getTruth().toBoolean()) {
+				// Unassigned or satisfying watches are fine.
+				return true;
+			}
+			int watchDecisionLevel = weakDecisionLevel(entry);
+			return watchDecisionLevel >= satisfyingDecisionLevel || watchDecisionLevel >= satisfyingReplayLevel;
+		}
+
 		private void checkBinaryWatch(boolean atomSatisfies, int atomDecisionLevel, int atomReplayLevel, int otherLiteral) {
 			int otherAtom = atomOf(otherLiteral);
 			Assignment.Entry otherEntry = assignment.get(otherAtom);
@@ -0,0 +1,157 @@
+package at.ac.tuwien.kr.alpha.core.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import at.ac.tuwien.kr.alpha.api.AnswerSet;
+import at.ac.tuwien.kr.alpha.api.StatisticsReportingSolver;
+
+/**
+ * A solver that runs several differently configured {@link DefaultSolver}s (each with its own grounder and atom store)
+ * in parallel on the same program.
+ *
+ * The first worker to either find an answer set or to prove that there is none wins the race, all other workers are
+ * cancelled. Subsequent answer sets are enumerated by the winning worker alone, hence no answer set is reported twice.
+ * While racing, workers may share short learned nogoods via a {@link LearnedNoGoodExchange}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class PortfolioSolver implements StatisticsReportingSolver {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioSolver.class);
+
+	private final List<DefaultSolver> workers;
+	private DefaultSolver winner;
+
+	PortfolioSolver(List<DefaultSolver> workers) {
+		if (workers.isEmpty()) {
+			throw new IllegalArgumentException("A portfolio solver needs at least one worker.");
+		}
+		this.workers = Collections.unmodifiableList(new ArrayList<>(workers));
+	}
+
+	@Override
+	public Spliterator<AnswerSet> spliterator() {
+		return new Spliterators.AbstractSpliterator<AnswerSet>(Long.MAX_VALUE, 0) {
+			@Override
+			public boolean tryAdvance(Consumer<? super AnswerSet> action) {
+				return PortfolioSolver.this.tryAdvance(action);
+			}
+		};
+	}
+
+	private boolean tryAdvance(Consumer<? super AnswerSet> action) {
+		if (winner != null) {
+			return winner.tryAdvance(action);
+		}
+		RaceResult result = race();
+		winner = result.worker;
+		// Nogoods learned while enumerating further answer sets depend on enumeration nogoods, hence must not be shared.
+		winner.setNoGoodExchange(null);
+		// The winner enumerates further answer sets on the caller's thread, like a stand-alone DefaultSolver.
+		winner.setCancellable(false);
+		if (result.answerSet == null) {
+			return false;
+		}
+		action.accept(result.answerSet);
+		return true;
+	}
+
+	/**
+	 * Runs all workers in parallel until the first one finds an answer set or exhausts its search space.
+	 * Losing workers are interrupted and stop at their next search iteration.
+	 */
+	private RaceResult race() {
+		List<Callable<RaceResult>> tasks = new ArrayList<>(workers.size());
+		for (int i = 0; i < workers.size(); i++) {
+			final int workerIndex = i;
+			final DefaultSolver worker = workers.get(i);
+			tasks.add(() -> {
+				final AnswerSet[] found = new AnswerSet[1];
+				worker.tryAdvance(answerSet -> found[0] = answerSet);
+				LOGGER.debug("Portfolio worker {} finished its search.", workerIndex);
+				return new RaceResult(worker, found[0]);
+			});
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(workers.size(), runnable -> {
+			Thread thread = new Thread(runnable, "alpha-portfolio-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			return executor.invokeAny(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while waiting for portfolio workers.");
+		} catch (ExecutionException e) {
+			throw new RuntimeException("All portfolio workers failed.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private StatisticsReportingSolver statisticsSource() {
+		return winner != null ? winner : workers.get(0);
+	}
+
+	@Override
+	public int getNumberOfChoices() {
+		return statisticsSource().getNumberOfChoices();
+	}
+
+	@Override
+	public int getNumberOfBacktracks() {
+		return statisticsSource().getNumberOfBacktracks();
+	}
+
+	@Override
+	public int getNumberOfBacktracksWithinBackjumps() {
+		return statisticsSource().getNumberOfBacktracksWithinBackjumps();
+	}
+
+	@Override
+	public int getNumberOfBackjumps() {
+		return statisticsSource().getNumberOfBackjumps();
+	}
+
+	@Override
+	public int getNumberOfBacktracksDueToRemnantMBTs() {
+		return statisticsSource().getNumberOfBacktracksDueToRemnantMBTs();
+	}
+
+	@Override
+	public int getNumberOfRestarts() {
+		return statisticsSource().getNumberOfRestarts();
+	}
+
+	@Override
+	public int getNumberOfDeletedNoGoods() {
+		return statisticsSource().getNumberOfDeletedNoGoods();
+	}
+
+	@Override
+	public int getNumberOfConflictsAfterClosing() {
+		return statisticsSource().getNumberOfConflictsAfterClosing();
+	}
+
+	private static class RaceResult {
+		private final DefaultSolver worker;
+		private final AnswerSet answerSet;
+
+		RaceResult(DefaultSolver worker, AnswerSet answerSet) {
+			this.worker = worker;
+			this.answerSet = answerSet;
+		}
+	}
+}
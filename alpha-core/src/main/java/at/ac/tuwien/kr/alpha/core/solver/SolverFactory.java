@@ -28,16 +28,81 @@
 package at.ac.tuwien.kr.alpha.core.solver;
 
 import at.ac.tuwien.kr.alpha.api.Solver;
+import at.ac.tuwien.kr.alpha.api.config.Heuristic;
+import at.ac.tuwien.kr.alpha.api.config.RestartStrategy;
 import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
 import at.ac.tuwien.kr.alpha.core.grounder.Grounder;
+import at.ac.tuwien.kr.alpha.core.grounder.NaiveGrounder;
+import at.ac.tuwien.kr.alpha.core.grounder.PipelinedGrounder;
 import at.ac.tuwien.kr.alpha.core.solver.heuristics.HeuristicsConfiguration;
 import at.ac.tuwien.kr.alpha.core.solver.heuristics.HeuristicsConfigurationBuilder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.function.Function;
 
 public final class SolverFactory {
-	
+
+	/**
+	 * Heuristics used (in this order) by the workers of a portfolio solver in addition to the configured one.
+	 */
+	private static final List<Heuristic> PORTFOLIO_HEURISTICS = Arrays.asList(Heuristic.VSIDS, Heuristic.BERKMIN, Heuristic.GDD_VSIDS, Heuristic.BERKMINLITERAL);
+
+	/**
+	 * Creates a solver for the configured solver name, where the solver obtains its atom store(s) and grounder(s) from the given provider.
+	 * In contrast to {@link #getInstance(SystemConfig, AtomStore, Grounder)}, this also supports solvers that need more than one grounder,
+	 * like the "portfolio" solver.
+	 * @param config the system configuration.
+	 * @param grounderProvider creates a fresh grounder for the program to solve that uses the given atom store.
+	 */
+	public static Solver getInstance(SystemConfig config, Function<AtomStore, Grounder> grounderProvider) {
+		if (!"portfolio".equals(config.getSolverName().toLowerCase())) {
+			AtomStore atomStore = new AtomStoreImpl();
+			return getInstance(config, atomStore, pipelineIfConfigured(config, atomStore, grounderProvider.apply(atomStore)));
+		}
+		final int portfolioSize = config.getPortfolioSize();
+		if (portfolioSize < 1) {
+			throw new IllegalArgumentException("Portfolio size must be at least 1, but is " + portfolioSize + ".");
+		}
+		final LearnedNoGoodExchange noGoodExchange = portfolioSize > 1 && !config.isDisableNoGoodSharing() ? new LearnedNoGoodExchange(portfolioSize) : null;
+		List<DefaultSolver> workers = new ArrayList<>(portfolioSize);
+		for (int i = 0; i < portfolioSize; i++) {
+			SystemConfig workerConfig = buildPortfolioWorkerConfig(config, i);
+			AtomStore atomStore = new AtomStoreImpl();
+			Grounder grounder = pipelineIfConfigured(workerConfig, atomStore, grounderProvider.apply(atomStore));
+			DefaultSolver worker = (DefaultSolver) getInstance(workerConfig, atomStore, grounder);
+			worker.setCancellable(true);
+			if (noGoodExchange != null) {
+				worker.setNoGoodExchange(noGoodExchange.getParticipant(i, atomStore));
+			}
+			workers.add(worker);
+		}
+		return new PortfolioSolver(workers);
+	}
+
+	/**
+	 * Wraps the given grounder into a {@link PipelinedGrounder} if pipelined grounding is configured. Only the default
+	 * solver waits for pending grounding rounds, and only a {@link NaiveGrounder} can be pipelined, hence other
+	 * combinations are rejected.
+	 */
+	private static Grounder pipelineIfConfigured(SystemConfig config, AtomStore atomStore, Grounder grounder) {
+		if (!config.isPipelineGrounding()) {
+			return grounder;
+		}
+		if (!"default".equals(config.getSolverName().toLowerCase())) {
+			throw new IllegalArgumentException("Pipelined grounding is only supported by the default and portfolio solvers, not by solver "
+					+ config.getSolverName() + ".");
+		}
+		if (!(grounder instanceof NaiveGrounder)) {
+			throw new IllegalArgumentException("Pipelined grounding is only supported for the naive grounder.");
+		}
+		return new PipelinedGrounder((NaiveGrounder) grounder, atomStore);
+	}
+
 	public static Solver getInstance(SystemConfig config, AtomStore atomStore, Grounder grounder) {
 		final String solverName = config.getSolverName();
 		final String nogoodStoreName = config.getNogoodStoreName();
@@ -64,10 +129,37 @@ public static Solver getInstance(SystemConfig config, AtomStore atomStore, Groun
 				return new NaiveSolver(atomStore, grounder);
 			case "default":
 				return new DefaultSolver(atomStore, grounder, store, assignment, random, config, heuristicsConfiguration);
+			case "portfolio":
+				throw new IllegalArgumentException("Portfolio solver needs one grounder per worker, use getInstance(SystemConfig, Function<AtomStore, Grounder>).");
 		}
 		throw new IllegalArgumentException("Unknown solver requested.");
 	}
 
+	/**
+	 * Derives the configuration of the i-th worker of a portfolio solver. Worker 0 runs the given configuration unchanged
+	 * (except for the solver name), all others differ in branching heuristic, restart strategy, seed, and learned-nogood
+	 * deletion, and do not replay choices.
+	 */
+	private static SystemConfig buildPortfolioWorkerConfig(SystemConfig config, int workerIndex) {
+		SystemConfig workerConfig = new SystemConfig(config);
+		workerConfig.setSolverName("default");
+		if (workerIndex == 0) {
+			return workerConfig;
+		}
+		List<Heuristic> heuristics = new ArrayList<>(PORTFOLIO_HEURISTICS);
+		heuristics.remove(config.getBranchingHeuristic());
+		workerConfig.setBranchingHeuristic(heuristics.get((workerIndex - 1) % heuristics.size()));
+		List<RestartStrategy> restartStrategies = new ArrayList<>(Arrays.asList(RestartStrategy.values()));
+		restartStrategies.remove(config.getRestartStrategy());
+		workerConfig.setRestartStrategy(restartStrategies.get((workerIndex - 1) % restartStrategies.size()));
+		workerConfig.setSeed(config.getSeed() + workerIndex);
+		workerConfig.setReplayChoices(SystemConfig.DEFAULT_REPLAY_CHOICES);
+		if (workerIndex % 2 == 1) {
+			workerConfig.setDisableNoGoodDeletion(!config.isDisableNoGoodDeletion());
+		}
+		return workerConfig;
+	}
+
 	private static HeuristicsConfiguration buildHeuristicsConfiguration(SystemConfig config) {
 		HeuristicsConfigurationBuilder heuristicsConfigurationBuilder = HeuristicsConfiguration.builder();
 		heuristicsConfigurationBuilder.setHeuristic(config.getBranchingHeuristic());
@@ -27,6 +27,7 @@
  */
 package at.ac.tuwien.kr.alpha.core.solver;
 
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.atoms.BasicAtom;
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
@@ -36,6 +37,7 @@
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -94,27 +96,48 @@ public String toString() {
 	private int[] strongDecisionLevels;
 	private Antecedent[] impliedBy;
 	private boolean[] callbackUponChange;
-	private ArrayList<OutOfOrderLiteral> outOfOrderLiterals = new ArrayList<>();
-	private int highestDecisionLevelContainingOutOfOrderLiterals;
+	// For each atom, one plus the lowest weak decision level it had when being unassigned by backtracking since the last
+	// reset, or zero if it has not been unassigned since then.
+	private int[] lowestBacktrackedDecisionLevels;
+	/**
+	 * Out-of-order literals, i.e., literals assigned at a higher decision level than the one they actually belong to,
+	 * stored in parallel arrays. Entries are ordered by the decision level at which they were (last) assigned, hence on
+	 * backjumping only the suffix of entries whose assignment got removed must be replayed.
+	 */
+	private int[] outOfOrderAtoms = new int[0];
+	private int[] outOfOrderValues = new int[0];
+	private int[] outOfOrderDecisionLevels = new int[0];
+	private int[] outOfOrderAssignedAtLevels = new int[0];
+	private Antecedent[] outOfOrderImpliedBy = new Antecedent[0];
+	private int outOfOrderSize;
 	private int[] trail = new int[0];
 	private int trailSize;
-	private ArrayList<Integer> trailIndicesOfDecisionLevels = new ArrayList<>();
+	private int[] trailIndicesOfDecisionLevels = new int[16];
+	private int currentDecisionLevel;
 
 	private int nextPositionInTrail;
 	private int newAssignmentsIterator;
+	// Position in the trail and atoms unassigned by backtracking since the last changed-atoms iterator was exhausted;
+	// unassigned atoms are only recorded once such an iterator was requested.
+	private int changedAtomsIterator;
+	private int[] unassignedAtoms = new int[0];
+	private int unassignedAtomsSize;
+	private boolean recordUnassignedAtoms;
 	private int mbtCount;
 	private boolean didChange;
 	private boolean checksEnabled;
+	private final AssignedAtomsIndex assignedAtomsIndex;
 	long replayCounter;
 
 	public TrailAssignment(AtomStore atomStore, boolean checksEnabled) {
 		this.checksEnabled = checksEnabled;
 		this.atomStore = atomStore;
+		this.assignedAtomsIndex = new AssignedAtomsIndex(atomStore);
 		this.values = new int[0];
 		this.strongDecisionLevels = new int[0];
 		this.impliedBy = new Antecedent[0];
 		this.callbackUponChange = new boolean[0];
-		this.trailIndicesOfDecisionLevels.add(0);
+		this.lowestBacktrackedDecisionLevels = new int[0];
 		nextPositionInTrail = 0;
 		newAssignmentsIterator = 0;
 	}
@@ -130,14 +153,17 @@ public void clear() {
 		Arrays.fill(strongDecisionLevels, -1);
 		Arrays.fill(impliedBy, null);
 		Arrays.fill(callbackUponChange, false);
-		outOfOrderLiterals = new ArrayList<>();
-		highestDecisionLevelContainingOutOfOrderLiterals = 0;
+		Arrays.fill(lowestBacktrackedDecisionLevels, 0);
+		Arrays.fill(outOfOrderImpliedBy, null);
+		outOfOrderSize = 0;
 		Arrays.fill(trail, 0);
 		trailSize = 0;
-		trailIndicesOfDecisionLevels = new ArrayList<>();
-		trailIndicesOfDecisionLevels.add(0);
+		currentDecisionLevel = 0;
 		nextPositionInTrail = 0;
 		newAssignmentsIterator = 0;
+		changedAtomsIterator = 0;
+		unassignedAtomsSize = 0;
+		assignedAtomsIndex.clear();
 	}
 
 	@Override
@@ -175,13 +201,7 @@ public int getRealWeakDecisionLevel(int atom) {
 		if (getTruth(atom) == null) {
 			return -1;
 		}
-		int lowestDecisionLevelForAtom = getWeakDecisionLevel(atom);
-		for (OutOfOrderLiteral outOfOrderLiteral : outOfOrderLiterals) {
-			if (outOfOrderLiteral.atom == atom && outOfOrderLiteral.decisionLevel < lowestDecisionLevelForAtom) {
-				lowestDecisionLevelForAtom = outOfOrderLiteral.decisionLevel;
-			}
-		}
-		return lowestDecisionLevelForAtom;
+		return Math.min(getWeakDecisionLevel(atom), getOutOfOrderDecisionLevel(atom));
 	}
 
 	/**
@@ -191,9 +211,9 @@ public int getRealWeakDecisionLevel(int atom) {
 	 */
 	public int getOutOfOrderDecisionLevel(int atom) {
 		int lowestDecisionLevel = Integer.MAX_VALUE;
-		for (OutOfOrderLiteral outOfOrderLiteral : outOfOrderLiterals) {
-			if (outOfOrderLiteral.atom == atom && outOfOrderLiteral.decisionLevel < lowestDecisionLevel) {
-				lowestDecisionLevel = outOfOrderLiteral.decisionLevel;
+		for (int i = 0; i < outOfOrderSize; i++) {
+			if (outOfOrderAtoms[i] == atom && outOfOrderDecisionLevels[i] < lowestDecisionLevel) {
+				lowestDecisionLevel = outOfOrderDecisionLevels[i];
 			}
 		}
 		return lowestDecisionLevel;
@@ -201,9 +221,10 @@ public int getOutOfOrderDecisionLevel(int atom) {
 
 	int getOutOfOrderStrongDecisionLevel(int atom) {
 		int lowestDecisionLevel = Integer.MAX_VALUE;
-		for (OutOfOrderLiteral outOfOrderLiteral : outOfOrderLiterals) {
-			if (outOfOrderLiteral.atom == atom && outOfOrderLiteral.value == TRUE && outOfOrderLiteral.decisionLevel < lowestDecisionLevel) {
-				lowestDecisionLevel = outOfOrderLiteral.decisionLevel;
+		final int trueValue = translateTruth(TRUE);
+		for (int i = 0; i < outOfOrderSize; i++) {
+			if (outOfOrderAtoms[i] == atom && outOfOrderValues[i] == trueValue && outOfOrderDecisionLevels[i] < lowestDecisionLevel) {
+				lowestDecisionLevel = outOfOrderDecisionLevels[i];
 			}
 		}
 		return lowestDecisionLevel;
@@ -215,16 +236,21 @@ private void informCallback(int atom) {
 		}
 	}
 
-	private void removeLastDecisionLevel() {
-		// Remove all atoms recorded in the highest decision level.
-		int start = trailIndicesOfDecisionLevels.get(getDecisionLevel());
+	/**
+	 * Removes all decision levels above the given one in a single pass over the trail.
+	 */
+	private void removeDecisionLevelsAbove(int targetDecisionLevel) {
+		if (targetDecisionLevel >= currentDecisionLevel) {
+			return;
+		}
+		int start = trailIndicesOfDecisionLevels[targetDecisionLevel + 1];
 		for (int i = start; i < trailSize; i++) {
 			int backtrackAtom = atomOf(trail[i]);
 			// Skip already backtracked atoms.
 			if (getTruth(backtrackAtom) == null) {
 				continue;
 			}
-			if (getWeakDecisionLevel(backtrackAtom) < getDecisionLevel()) {
+			if (getWeakDecisionLevel(backtrackAtom) <= targetDecisionLevel) {
 				// Restore TRUE to MBT if this was assigned at a lower level.
 				if (getTruth(backtrackAtom) != TRUE) {
 					throw oops("Backtracking assignment with lower decision level whose value is not TRUE.");
@@ -235,48 +261,98 @@ private void removeLastDecisionLevel() {
 				if (getTruth(backtrackAtom) == MBT) {
 					mbtCount--;
 				}
+				final int weakDecisionLevel = getWeakDecisionLevel(backtrackAtom);
+				if (lowestBacktrackedDecisionLevels[backtrackAtom] == 0 || lowestBacktrackedDecisionLevels[backtrackAtom] > weakDecisionLevel + 1) {
+					lowestBacktrackedDecisionLevels[backtrackAtom] = weakDecisionLevel + 1;
+				}
 				values[backtrackAtom] = 0;
+				assignedAtomsIndex.remove(backtrackAtom);
 			}
 			strongDecisionLevels[backtrackAtom] = -1;
 			informCallback(backtrackAtom);
+			recordUnassignedAtom(backtrackAtom);
 			didChange = true;
 		}
 		// Remove atoms from trail.
 		trailSize = start;
-		trailIndicesOfDecisionLevels.remove(trailIndicesOfDecisionLevels.size() - 1);
+		currentDecisionLevel = targetDecisionLevel;
 	}
 
+	private void recordUnassignedAtom(int atom) {
+		if (!recordUnassignedAtoms) {
+			return;
+		}
+		if (unassignedAtomsSize == unassignedAtoms.length) {
+			unassignedAtoms = Arrays.copyOf(unassignedAtoms, Math.max(16, arrayGrowthSize(unassignedAtoms.length)));
+		}
+		unassignedAtoms[unassignedAtomsSize++] = atom;
+	}
+
+	/**
+	 * Replays out-of-order literals whose assignment was removed by backjumping, if they belong to the current decision
+	 * level or below. Out-of-order literals belonging to a higher decision level are dropped.
+	 */
 	private void replayOutOfOrderLiterals() {
-		// Replay out-of-order assigned literals.
-		if (highestDecisionLevelContainingOutOfOrderLiterals >= getDecisionLevel()) {
-			// Replay all still-valid literals and remove invalid ones.
-			LOGGER.trace("Replaying out-of-order literals.");
-			int k = 0; // counter for out-of-order literals to keep further.
-			for (OutOfOrderLiteral outOfOrderLiteral : outOfOrderLiterals) {
-				if (outOfOrderLiteral.decisionLevel <= getDecisionLevel()) {
-					// Replay assignment at current decision level.
-					assign(outOfOrderLiteral.atom, outOfOrderLiteral.value, outOfOrderLiteral.impliedBy);
-					// If literal is actually below current decision level, keep it.
-					if (outOfOrderLiteral.decisionLevel < getDecisionLevel()) {
-						outOfOrderLiterals.set(k++, outOfOrderLiteral);
-					}
-				}
-			}
-			replayCounter += outOfOrderLiterals.size();
-			if (LOGGER.isTraceEnabled()) {
-				LOGGER.trace("Replay list contained {} literals, {} were again assigned. Overall replays: {}.", outOfOrderLiterals.size(), k, replayCounter);
+		// Find the first entry assigned above the current decision level, all entries before it are still assigned.
+		int firstRemoved = outOfOrderSize;
+		while (firstRemoved > 0 && outOfOrderAssignedAtLevels[firstRemoved - 1] > currentDecisionLevel) {
+			firstRemoved--;
+		}
+		if (firstRemoved == outOfOrderSize) {
+			return;
+		}
+		LOGGER.trace("Replaying out-of-order literals.");
+		int k = firstRemoved; // counter for out-of-order literals to keep further.
+		for (int i = firstRemoved; i < outOfOrderSize; i++) {
+			final int outOfOrderDecisionLevel = outOfOrderDecisionLevels[i];
+			if (outOfOrderDecisionLevel > currentDecisionLevel) {
+				continue;
 			}
-			// Remove remaining entries from k onwards.
-			while (outOfOrderLiterals.size() > k) {
-				outOfOrderLiterals.remove(outOfOrderLiterals.size() - 1);
+			// Replay assignment at current decision level.
+			final int atom = outOfOrderAtoms[i];
+			final int value = outOfOrderValues[i];
+			final Antecedent impliedBy = outOfOrderImpliedBy[i];
+			assign(atom, translateTruth(value), impliedBy);
+			// If literal is actually below current decision level, keep it.
+			if (outOfOrderDecisionLevel < currentDecisionLevel) {
+				outOfOrderAtoms[k] = atom;
+				outOfOrderValues[k] = value;
+				outOfOrderDecisionLevels[k] = outOfOrderDecisionLevel;
+				outOfOrderAssignedAtLevels[k] = currentDecisionLevel;
+				outOfOrderImpliedBy[k] = impliedBy;
+				k++;
 			}
-			highestDecisionLevelContainingOutOfOrderLiterals = outOfOrderLiterals.isEmpty() ? 0 : getDecisionLevel();
 		}
+		replayCounter += outOfOrderSize - firstRemoved;
+		if (LOGGER.isTraceEnabled()) {
+			LOGGER.trace("Replay list contained {} literals to replay, {} were kept. Overall replays: {}.", outOfOrderSize - firstRemoved, k - firstRemoved, replayCounter);
+		}
+		// Remove remaining entries from k onwards.
+		Arrays.fill(outOfOrderImpliedBy, k, outOfOrderSize, null);
+		outOfOrderSize = k;
+	}
+
+	private void addOutOfOrderLiteral(int atom, ThriceTruth value, int outOfOrderDecisionLevel, Antecedent impliedBy) {
+		if (outOfOrderSize == outOfOrderAtoms.length) {
+			int newCapacity = Math.max(16, arrayGrowthSize(outOfOrderAtoms.length));
+			outOfOrderAtoms = Arrays.copyOf(outOfOrderAtoms, newCapacity);
+			outOfOrderValues = Arrays.copyOf(outOfOrderValues, newCapacity);
+			outOfOrderDecisionLevels = Arrays.copyOf(outOfOrderDecisionLevels, newCapacity);
+			outOfOrderAssignedAtLevels = Arrays.copyOf(outOfOrderAssignedAtLevels, newCapacity);
+			outOfOrderImpliedBy = Arrays.copyOf(outOfOrderImpliedBy, newCapacity);
+		}
+		outOfOrderAtoms[outOfOrderSize] = atom;
+		outOfOrderValues[outOfOrderSize] = translateTruth(value);
+		outOfOrderDecisionLevels[outOfOrderSize] = outOfOrderDecisionLevel;
+		outOfOrderAssignedAtLevels[outOfOrderSize] = currentDecisionLevel;
+		outOfOrderImpliedBy[outOfOrderSize] = impliedBy;
+		outOfOrderSize++;
 	}
 
 	private void resetTrailPointersAndReplayOutOfOrderLiterals() {
 		nextPositionInTrail = Math.min(nextPositionInTrail, trailSize);
 		newAssignmentsIterator = Math.min(newAssignmentsIterator, trailSize);
+		changedAtomsIterator = Math.min(changedAtomsIterator, trailSize);
 		replayOutOfOrderLiterals();
 		if (checksEnabled) {
 			runInternalChecks();
@@ -286,15 +362,13 @@ private void resetTrailPointersAndReplayOutOfOrderLiterals() {
 	@Override
 	public void backjump(int decisionLevel) {
 		// Remove everything above the target level, but keep the target level unchanged.
-		while (getDecisionLevel() > decisionLevel) {
-			removeLastDecisionLevel();
-		}
+		removeDecisionLevelsAbove(decisionLevel);
 		resetTrailPointersAndReplayOutOfOrderLiterals();
 	}
 
 	@Override
 	public void backtrack() {
-		removeLastDecisionLevel();
+		removeDecisionLevelsAbove(getDecisionLevel() - 1);
 		resetTrailPointersAndReplayOutOfOrderLiterals();
 	}
 
@@ -308,7 +382,10 @@ public ConflictCause choose(int atom, ThriceTruth value) {
 		if (checksEnabled) {
 			runInternalChecks();
 		}
-		trailIndicesOfDecisionLevels.add(trailSize);
+		if (++currentDecisionLevel == trailIndicesOfDecisionLevels.length) {
+			trailIndicesOfDecisionLevels = Arrays.copyOf(trailIndicesOfDecisionLevels, arrayGrowthSize(trailIndicesOfDecisionLevels.length));
+		}
+		trailIndicesOfDecisionLevels[currentDecisionLevel] = trailSize;
 		return assign(atom, value, null);
 	}
 
@@ -325,10 +402,7 @@ public ConflictCause assign(int atom, ThriceTruth value, Antecedent impliedBy) {
 	public ConflictCause assign(int atom, ThriceTruth value, Antecedent impliedBy, int decisionLevel) {
 		ConflictCause conflictCause = assign(atom, value, impliedBy);
 		if (conflictCause == null && decisionLevel < getDecisionLevel()) {
-			outOfOrderLiterals.add(new OutOfOrderLiteral(atom, value, decisionLevel, impliedBy));
-			if (highestDecisionLevelContainingOutOfOrderLiterals < getDecisionLevel()) {
-				highestDecisionLevelContainingOutOfOrderLiterals = getDecisionLevel();
-			}
+			addOutOfOrderLiteral(atom, value, decisionLevel, impliedBy);
 		}
 		return conflictCause;
 	}
@@ -362,6 +436,7 @@ private ConflictCause assignWithTrail(int atom, ThriceTruth value, Antecedent im
 		if (currentTruth == null) {
 			trail[trailSize++] = atomToLiteral(atom, value.toBoolean());
 			values[atom] = (getDecisionLevel() << 2) | translateTruth(value);
+			assignedAtomsIndex.add(atom);
 			this.impliedBy[atom] = impliedBy;
 			// Adjust MBT counter.
 			if (value == MBT) {
@@ -499,10 +574,11 @@ private void runInternalChecks() {
 			LOGGER.trace("MBT count agrees with amount of MBT-assigned atoms.");
 		}
 		// Check that out of order literals are actually assigned.
-		for (OutOfOrderLiteral outOfOrderLiteral : outOfOrderLiterals) {
-			if (outOfOrderLiteral.decisionLevel <= getDecisionLevel()) {
-				ThriceTruth atomTruth = getTruth(outOfOrderLiteral.atom);
-				if (outOfOrderLiteral.value == atomTruth || outOfOrderLiteral.value == MBT && atomTruth == TRUE) {
+		for (int i = 0; i < outOfOrderSize; i++) {
+			if (outOfOrderDecisionLevels[i] <= getDecisionLevel()) {
+				ThriceTruth value = translateTruth(outOfOrderValues[i]);
+				ThriceTruth atomTruth = getTruth(outOfOrderAtoms[i]);
+				if (value == atomTruth || value == MBT && atomTruth == TRUE) {
 					continue;
 				}
 				throw oops("Out-of-order assigned literal is not in current assignment.");
@@ -529,7 +605,8 @@ private List<Integer> getMBTAssignedAtoms() {
 	public boolean closeUnassignedAtoms() {
 		boolean didAssign = false;
 		for (int i = 1; i <= atomStore.getMaxAtomId(); i++) {
-			if (!isAssigned(i)) {
+			// Skip IDs that have been released and not been reused yet.
+			if (!isAssigned(i) && atomStore.get(i) != null) {
 				assign(i, FALSE, CLOSING_INDICATOR_ANTECEDENT);
 				didAssign = true;
 			}
@@ -537,6 +614,29 @@ public boolean closeUnassignedAtoms() {
 		return didAssign;
 	}
 
+	@Override
+	public int getLowestBacktrackedDecisionLevel(int atom) {
+		return lowestBacktrackedDecisionLevels[atom] - 1;
+	}
+
+	@Override
+	public void resetLowestBacktrackedDecisionLevels() {
+		Arrays.fill(lowestBacktrackedDecisionLevels, 0);
+	}
+
+	@Override
+	public void forgetAtoms(BitSet atoms) {
+		for (int atom = atoms.nextSetBit(0); atom >= 0; atom = atoms.nextSetBit(atom + 1)) {
+			if (isAssigned(atom)) {
+				throw oops("Forgetting assigned atom " + atom);
+			}
+			impliedBy[atom] = null;
+			callbackUponChange[atom] = false;
+			lowestBacktrackedDecisionLevels[atom] = 0;
+			assignedAtomsIndex.forget(atom);
+		}
+	}
+
 	@Override
 	public boolean didChange() {
 		boolean oldDidChange = didChange;
@@ -562,6 +662,7 @@ public void growForMaxAtomId() {
 		Arrays.fill(strongDecisionLevels, oldLength, strongDecisionLevels.length, -1);
 		impliedBy = Arrays.copyOf(impliedBy, newCapacity);
 		callbackUponChange = Arrays.copyOf(callbackUponChange, newCapacity);
+		lowestBacktrackedDecisionLevels = Arrays.copyOf(lowestBacktrackedDecisionLevels, newCapacity);
 		trail = Arrays.copyOf(trail, newCapacity * 2);	// Trail has at most 2 assignments (MBT+TRUE) for each atom.
 	}
 
@@ -578,7 +679,7 @@ public int getNumberOfAssignedAtoms() {
 	@Override
 	public int getNumberOfAtomsAssignedSinceLastDecision() {
 		Set<Integer> newlyAssignedAtoms = new HashSet<>();
-		int trailIndex = trailIndicesOfDecisionLevels.get(getDecisionLevel());
+		int trailIndex = trailIndicesOfDecisionLevels[currentDecisionLevel];
 		for (; trailIndex < trailSize; trailIndex++) {
 			newlyAssignedAtoms.add(atomOf(trail[trailIndex]));
 		}
@@ -587,7 +688,7 @@ public int getNumberOfAtomsAssignedSinceLastDecision() {
 
 	@Override
 	public int getDecisionLevel() {
-		return trailIndicesOfDecisionLevels.size() - 1;
+		return currentDecisionLevel;
 	}
 
 	@Override
@@ -617,11 +718,67 @@ public String toString() {
 		return sb.toString();
 	}
 
+	@Override
+	public IntIterator getAssignedAtomsOverPredicate(Predicate predicate) {
+		if (!assignedAtomsIndex.isEnabled()) {
+			assignedAtomsIndex.enable(new IntIterator() {
+				private int atom = nextAssignedAtom(1);
+
+				private int nextAssignedAtom(int from) {
+					int next = from;
+					while (next < values.length && getTruth(next) == null) {
+						next++;
+					}
+					return next;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return atom < values.length;
+				}
+
+				@Override
+				public int next() {
+					int current = atom;
+					atom = nextAssignedAtom(atom + 1);
+					return current;
+				}
+			});
+		}
+		return assignedAtomsIndex.getAssignedAtoms(predicate);
+	}
+
 	@Override
 	public AssignmentIterator getNewPositiveAssignmentsIterator() {
 		return new AssignmentIterator();
 	}
 
+	@Override
+	public IntIterator getChangedAtomsIterator() {
+		recordUnassignedAtoms = true;
+		return new IntIterator() {
+			private int unassignedAtomsPosition;
+
+			@Override
+			public boolean hasNext() {
+				if (unassignedAtomsPosition < unassignedAtomsSize) {
+					return true;
+				}
+				unassignedAtomsSize = 0;
+				unassignedAtomsPosition = 0;
+				return changedAtomsIterator < trailSize;
+			}
+
+			@Override
+			public int next() {
+				if (unassignedAtomsPosition < unassignedAtomsSize) {
+					return unassignedAtoms[unassignedAtomsPosition++];
+				}
+				return atomOf(trail[changedAtomsIterator++]);
+			}
+		};
+	}
+
 	@Override
 	public void setChecksEnabled(boolean checksEnabled) {
 		this.checksEnabled = checksEnabled;
@@ -652,25 +809,6 @@ public int next() {
 		}
 	}
 
-	private static class OutOfOrderLiteral {
-		final int atom;
-		final ThriceTruth value;
-		final int decisionLevel;
-		final Antecedent impliedBy;
-
-		private OutOfOrderLiteral(int atom, ThriceTruth value, int decisionLevel, Antecedent impliedBy) {
-			this.atom = atom;
-			this.decisionLevel = decisionLevel;
-			this.impliedBy = impliedBy;
-			this.value = value;
-		}
-
-		@Override
-		public String toString() {
-			return atom + "=" + value + "@" + decisionLevel + " implied by " + impliedBy;
-		}
-	}
-
 	private class TrailPollable implements Pollable {
 
 		@Override
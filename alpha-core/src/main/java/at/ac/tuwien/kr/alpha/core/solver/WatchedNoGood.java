@@ -29,116 +29,83 @@
 
 import java.util.Iterator;
 
-import at.ac.tuwien.kr.alpha.core.common.NoGood;
 import at.ac.tuwien.kr.alpha.core.common.NoGoodInterface;
 
-import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.literalToString;
 
+/**
+ * A NoGood stored in the {@link NoGoodArena} of a {@link NoGoodStoreAlphaRoaming}. This is a flyweight view, literals,
+ * watch pointers, activity, and LBD are all kept in the arena.
+ *
+ * Once the NoGood is removed from the store, the view is detached from the arena and only keeps a copy of its literals.
+ */
 public final class WatchedNoGood implements NoGoodInterface, Antecedent {
-	private int activity;
-	private final int[] literals;
-	private int alpha;
-	private int head;
-	private final Type type;
-	private boolean isLbdLessOrEqual2;
-
-	WatchedNoGood(NoGood noGood, int a, int b, int alpha) {
-		if (noGood.size() < 3) {
-			throw oops("WatchedNoGood should not be used for small NoGoods.");
-		}
-		literals = new int[noGood.size()];
-		checkPointers(a, b, alpha);
-		int i = 0;
-		for (Integer lit : noGood) {
-			literals[i++] = lit;
-		}
-		this.alpha = alpha;
-		head = noGood.hasHead() ? 0 : -1;
-		activity = 0;
-		if (b == 0) {
-			swap(1, a);
-		} else {
-			swap(0, a);
-			swap(1, b);
-		}
-		this.type = noGood.getType();
+	private final NoGoodArena arena;
+	private int storeIndex;
+	private int[] detachedLiterals;
+	private Type detachedType;
+
+	WatchedNoGood(NoGoodArena arena, int storeIndex) {
+		this.arena = arena;
+		this.storeIndex = storeIndex;
 	}
 
-	private void checkPointers(int a, int b, int alpha) {
-		if (a == b) {
-			throw new IllegalArgumentException("First two pointers must not point at the same literal.");
-		}
-		if (a < 0 || b < 0 || alpha < -1 || a >= literals.length || b >= literals.length || alpha >= literals.length) {
-			throw new IllegalArgumentException("Pointers must be within bounds.");
-		}
+	void detach(int[] literals, Type type) {
+		detachedLiterals = literals;
+		detachedType = type;
+		storeIndex = -1;
 	}
 
-	private void swap(int a, int b) {
-		int tmp = literals[a];
-		literals[a] = literals[b];
-		literals[b] = tmp;
-		if (hasHead()) {
-			// If WatchedNoGood has a head, ensure the head pointer and alpha watch follow the swap.
-			if (head == a) {
-				head = b;
-			} else if (head == b) {
-				head = a;
-			}
-			if (alpha == a) {
-				alpha = b;
-			} else if (alpha == b) {
-				alpha = a;
-			}
-		}
+	private boolean isDetached() {
+		return storeIndex < 0;
 	}
 
 	@Override
 	public boolean hasHead() {
-		return head != -1;
+		return !isDetached() && arena.getHeadIndex(storeIndex) != -1;
 	}
 
 	@Override
 	public int getHead() {
-		return literals[head];
+		return arena.getLiteral(storeIndex, arena.getHeadIndex(storeIndex));
 	}
 
 	int getHeadIndex() {
-		return head;
+		return isDetached() ? -1 : arena.getHeadIndex(storeIndex);
 	}
 
 	void setWatch(int index, int value) {
 		if (index != 0 && index != 1) {
 			throw new IndexOutOfBoundsException();
 		}
-		swap(index, value);
+		arena.swap(storeIndex, index, value);
 	}
 
 	@Override
 	public int getLiteral(int index) {
-		return literals[index];
+		return isDetached() ? detachedLiterals[index] : arena.getLiteral(storeIndex, index);
 	}
 
 	int getAlphaPointer() {
-		return alpha;
+		return isDetached() ? -1 : arena.getAlphaPointer(storeIndex);
 	}
 
 	void setAlphaPointer(int value) {
-		alpha = value;
+		arena.setAlphaPointer(storeIndex, value);
 	}
 
 	int getLiteralAtAlpha() {
-		return literals[alpha];
+		return arena.getLiteral(storeIndex, arena.getAlphaPointer(storeIndex));
 	}
 
 	@Override
 	public int size() {
-		return literals.length;
+		return isDetached() ? detachedLiterals.length : arena.size(storeIndex);
 	}
 
 	@Override
 	public Type getType() {
-		return type;
+		return isDetached() ? detachedType : arena.getType(storeIndex);
 	}
 
 	@Override
@@ -153,12 +120,12 @@ public Iterator<Integer> iterator() {
 
 			@Override
 			public boolean hasNext() {
-				return literals.length > i;
+				return size() > i;
 			}
 
 			@Override
 			public Integer next() {
-				return literals[i++];
+				return getLiteral(i++);
 			}
 		};
 	}
@@ -172,44 +139,96 @@ public String toString() {
 
 		sb.append("{ ");
 
-		int hcount = 0;
-		for (int literal : literals) {
-			sb.append(literalToString(literal));
-			sb.append(hasHead() && head == hcount ? "h" : "");
+		final int headIndex = getHeadIndex();
+		for (int i = 0; i < size(); i++) {
+			sb.append(literalToString(getLiteral(i)));
+			sb.append(headIndex == i ? "h" : "");
 			sb.append(" ");
-			hcount++;
 		}
 
 		sb.append("}{");
-		sb.append(alpha);
+		sb.append(getAlphaPointer());
 		sb.append("}");
 		return sb.toString();
 	}
 
+	/**
+	 * Returns a copy of the literals of this NoGood, use {@link #getNumberOfReasonLiterals()} and
+	 * {@link #getReasonLiteral(int)} to avoid copying.
+	 */
 	@Override
 	public int[] getReasonLiterals() {
-		return literals;
+		return isDetached() ? detachedLiterals.clone() : arena.copyLiterals(storeIndex);
+	}
+
+	@Override
+	public int getNumberOfReasonLiterals() {
+		return size();
+	}
+
+	@Override
+	public int getReasonLiteral(int index) {
+		return getLiteral(index);
 	}
 
 	public int getActivity() {
-		return activity;
+		return isDetached() ? 0 : arena.getActivity(storeIndex);
 	}
 
 	@Override
 	public void decreaseActivity() {
-		activity >>= 1;
+		if (!isDetached()) {
+			arena.setActivity(storeIndex, arena.getActivity(storeIndex) >> 1);
+		}
 	}
 
+	/**
+	 * Bumps the activity and marks this NoGood as used since its last inspection by {@link LearnedNoGoodDeletion}.
+	 */
 	@Override
 	public void bumpActivity() {
-		activity++;
+		if (!isDetached()) {
+			arena.setActivity(storeIndex, arena.getActivity(storeIndex) + 1);
+			arena.setUsed(storeIndex, true);
+		}
+	}
+
+	@Override
+	public int getLBD() {
+		return isDetached() ? NoGoodStore.LBD_NO_VALUE : arena.getLBD(storeIndex);
+	}
+
+	/**
+	 * Lowers the LBD of this NoGood if the given (recomputed) LBD is smaller than the recorded one, or records it if the
+	 * NoGood was added without an LBD.
+	 */
+	@Override
+	public void updateLBD(int lbd) {
+		if (isDetached() || lbd == NoGoodStore.LBD_NO_VALUE) {
+			return;
+		}
+		final int recordedLBD = arena.getLBD(storeIndex);
+		if (recordedLBD == NoGoodStore.LBD_NO_VALUE || lbd < recordedLBD) {
+			arena.setLBD(storeIndex, lbd);
+		}
 	}
 
 	void setLBD(int lbd) {
-		isLbdLessOrEqual2 = lbd <= 2;
+		arena.setLBD(storeIndex, lbd);
+	}
+
+	boolean isUsed() {
+		return !isDetached() && arena.isUsed(storeIndex);
+	}
+
+	void clearUsed() {
+		arena.setUsed(storeIndex, false);
 	}
 
-	boolean isLbdLessOrEqual2() {
-		return isLbdLessOrEqual2;
+	/**
+	 * Returns the index of this NoGood in the arena of {@link NoGoodStoreAlphaRoaming}, or -1 if it is not stored.
+	 */
+	int getStoreIndex() {
+		return storeIndex;
 	}
 }
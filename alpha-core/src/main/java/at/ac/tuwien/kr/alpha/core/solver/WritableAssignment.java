@@ -30,6 +30,8 @@
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.isPositive;
 
+import java.util.BitSet;
+
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
 
@@ -101,6 +103,23 @@ default int minimumConflictLevel(NoGood noGood) {
 	 */
 	boolean closeUnassignedAtoms();
 
+	/**
+	 * Returns the lowest decision level at which the given atom was assigned before being unassigned by backtracking since
+	 * the last call of {@link #resetLowestBacktrackedDecisionLevels()}.
+	 * @param atom the atom to look up.
+	 * @return the lowest such decision level, or -1 if the atom has not been unassigned by backtracking since then.
+	 */
+	int getLowestBacktrackedDecisionLevel(int atom);
+
+	void resetLowestBacktrackedDecisionLevels();
+
+	/**
+	 * Drops all information kept for the given unassigned atoms, since their IDs have been released and may be reused for
+	 * other atoms.
+	 * @param atoms the released atoms.
+	 */
+	void forgetAtoms(BitSet atoms);
+
 	/**
 	 * Returns whether the assignment did change since this method was last called.
 	 * @return true if the assignment changed since this method was last called.
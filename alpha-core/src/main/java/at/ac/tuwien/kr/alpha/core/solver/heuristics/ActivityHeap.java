@@ -0,0 +1,161 @@
+package at.ac.tuwien.kr.alpha.core.solver.heuristics;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+
+import java.util.Arrays;
+
+/**
+ * A binary max-heap of atoms ordered by their activity, which is stored in a dense array indexed by atom.
+ *
+ * Every atom is contained at most once. The position of each atom in the heap is tracked, such that a change of the
+ * activity of an atom already in the heap restores the heap property in place (in logarithmic time) instead of
+ * inserting the atom a second time.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class ActivityHeap {
+	private static final int NOT_IN_HEAP = -1;
+
+	private double[] activities = new double[0];
+	private int[] positions = new int[0];
+	private int[] heap = new int[0];
+	private int size;
+
+	void growToCapacity(int newCapacity) {
+		if (newCapacity <= activities.length) {
+			return;
+		}
+		final int oldCapacity = activities.length;
+		activities = Arrays.copyOf(activities, newCapacity);
+		positions = Arrays.copyOf(positions, newCapacity);
+		Arrays.fill(positions, oldCapacity, newCapacity, NOT_IN_HEAP);
+	}
+
+	int capacity() {
+		return activities.length;
+	}
+
+	double getActivity(int atom) {
+		return activities[atom];
+	}
+
+	/**
+	 * Sets the activity of the given atom and inserts the atom into the heap if it is not contained yet.
+	 */
+	void setActivity(int atom, double activity) {
+		final double oldActivity = activities[atom];
+		activities[atom] = activity;
+		if (positions[atom] == NOT_IN_HEAP) {
+			insert(atom);
+		} else if (activity > oldActivity) {
+			siftUp(positions[atom]);
+		} else if (activity < oldActivity) {
+			siftDown(positions[atom]);
+		}
+	}
+
+	/**
+	 * Inserts the given atom with its current activity, if it is not contained in the heap yet.
+	 */
+	void insert(int atom) {
+		if (positions[atom] != NOT_IN_HEAP) {
+			return;
+		}
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, Math.max(arrayGrowthSize(heap.length), size + 1));
+		}
+		heap[size] = atom;
+		positions[atom] = size;
+		size++;
+		siftUp(size - 1);
+	}
+
+	boolean contains(int atom) {
+		return atom < positions.length && positions[atom] != NOT_IN_HEAP;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Removes and returns the atom with the highest activity. The heap must not be empty.
+	 */
+	int removeMax() {
+		final int max = heap[0];
+		positions[max] = NOT_IN_HEAP;
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			positions[heap[0]] = 0;
+			siftDown(0);
+		}
+		return max;
+	}
+
+	/**
+	 * Transforms the activities of all atoms (contained in the heap or not) into (activity + offset) / divisor.
+	 * Since this transformation is monotone, the order of atoms in the heap stays valid.
+	 */
+	void rescaleActivities(double offset, double divisor) {
+		for (int atom = 1; atom < activities.length; atom++) {
+			activities[atom] = (activities[atom] + offset) / divisor;
+		}
+	}
+
+	private void siftUp(int position) {
+		final int atom = heap[position];
+		final double activity = activities[atom];
+		while (position > 0) {
+			final int parentPosition = (position - 1) >>> 1;
+			final int parent = heap[parentPosition];
+			if (activities[parent] >= activity) {
+				break;
+			}
+			heap[position] = parent;
+			positions[parent] = position;
+			position = parentPosition;
+		}
+		heap[position] = atom;
+		positions[atom] = position;
+	}
+
+	private void siftDown(int position) {
+		final int atom = heap[position];
+		final double activity = activities[atom];
+		while (true) {
+			int childPosition = 2 * position + 1;
+			if (childPosition >= size) {
+				break;
+			}
+			if (childPosition + 1 < size && activities[heap[childPosition + 1]] > activities[heap[childPosition]]) {
+				childPosition++;
+			}
+			final int child = heap[childPosition];
+			if (activities[child] <= activity) {
+				break;
+			}
+			heap[position] = child;
+			positions[child] = position;
+			position = childPosition;
+		}
+		heap[position] = atom;
+		positions[atom] = position;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(heap[i]);
+		}
+		return sb.append(']').toString();
+	}
+}
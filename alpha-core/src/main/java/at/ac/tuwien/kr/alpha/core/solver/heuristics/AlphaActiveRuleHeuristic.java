@@ -50,10 +50,10 @@ public AlphaActiveRuleHeuristic(Assignment assignment, ChoiceManager choiceManag
 	protected void incrementActivityCounter(int literal) {
 		int atom = atomOf(literal);
 		if (choiceManager.isAtomChoice(atom)) {
-			activityCounters.compute(atom, (k, v) -> (v == null ? DEFAULT_ACTIVITY : v) + 1);
+			activityCounters.increment(atom);
 		} else {
 			for (int body : atomsToBodiesAtoms.get(atom)) {
-				activityCounters.compute(body, (k, v) -> (v == null ? DEFAULT_ACTIVITY : v) + 1);
+				activityCounters.increment(body);
 			}
 		}
 	}
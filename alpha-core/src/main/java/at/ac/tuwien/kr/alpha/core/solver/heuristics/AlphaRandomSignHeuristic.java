@@ -45,7 +45,7 @@ public AlphaRandomSignHeuristic(Assignment assignment, ChoiceManager choiceManag
 	}
 
 	@Override
-	protected void incrementSignCounter(Integer literal) {
+	protected void incrementSignCounter(int literal) {
 		LOGGER.trace("AlphaRandomSignHeuristic does NOT increment sign counters because they are not needed.");
 	}
 
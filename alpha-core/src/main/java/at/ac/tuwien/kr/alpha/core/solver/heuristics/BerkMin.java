@@ -27,7 +27,6 @@
 
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
-import at.ac.tuwien.kr.alpha.core.programs.atoms.Literals;
 import at.ac.tuwien.kr.alpha.core.solver.ChoiceManager;
 import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
 import at.ac.tuwien.kr.alpha.core.solver.learning.GroundConflictNoGoodLearner.ConflictAnalysisResult;
@@ -35,9 +34,11 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
-import java.util.stream.Stream;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.FALSE;
@@ -48,6 +49,9 @@
  * Goldberg, E.; Novikov, Y. (2002): BerkMin: A fast and robust SAT-solver.
  * In : Design, Automation and Test in Europe Conference and Exhibition, 2002. Proceedings. IEEE, pp. 142-149.
  * 
+ * Activity and sign counters are kept in arrays indexed by atom and literal, respectively, and activities are decayed
+ * lazily (cf. {@link DecayingActivityCounters}).
+ * 
  * Copyright (c) 2016-2018 Siemens AG
  */
 public class BerkMin implements ActivityBasedBranchingHeuristic {
@@ -63,9 +67,9 @@ public class BerkMin implements ActivityBasedBranchingHeuristic {
 	final ChoiceManager choiceManager;
 	final Random rand;
 
-	private Map<Integer, Double> activityCounters = new LinkedHashMap<>();
-	private Map<Integer, Integer> signCounters = new LinkedHashMap<>();
-	private Deque<NoGood> stackOfNoGoods = new ArrayDeque<>();
+	private final DecayingActivityCounters activityCounters = new DecayingActivityCounters();
+	private int[] signCounters = new int[0];
+	private final NoGoodStack stackOfNoGoods;
 	private int decayPeriod;
 	private double decayFactor;
 	private int stepsSinceLastDecay;
@@ -76,6 +80,7 @@ public class BerkMin implements ActivityBasedBranchingHeuristic {
 		this.decayPeriod = decayPeriod;
 		this.decayFactor = decayFactor;
 		this.rand = random;
+		this.stackOfNoGoods = new NoGoodStack(assignment, choiceManager);
 	}
 
 	BerkMin(Assignment assignment, ChoiceManager choiceManager, Random random) {
@@ -135,24 +140,14 @@ public void analyzedConflict(ConflictAnalysisResult analysisResult) {
 	@Override
 	public void newNoGood(NoGood newNoGood) {
 		pushToStack(newNoGood);
-		for (Integer literal : newNoGood) {
+		for (int literal : newNoGood) {
 			incrementSignCounter(literal);
 		}
 	}
 
-	private int numChoicePoints(NoGood noGood) {
-		int numChoicePoints = 0;
-		for (Integer literal : noGood) {
-			if (choiceManager.isAtomChoice(literal)) {
-				numChoicePoints++;
-			}
-		}
-		return numChoicePoints;
-	}
-
 	@Override
 	public double getActivity(int literal) {
-		return activityCounters.getOrDefault(atomOf(literal), DEFAULT_ACTIVITY);
+		return activityCounters.get(atomOf(literal));
 	}
 
 	/**
@@ -160,7 +155,8 @@ public double getActivity(int literal) {
 	 * In BerkMin, the atom to choose on is the most active atom in the current top clause.
 	 * Here, we can only consider atoms which are currently active choice points. If we do
 	 * not find such an atom in the current top clause, we consider the next undefined
-	 * nogood in the stack, then the one after that and so on.
+	 * nogood in the stack, then the one after that and so on. Nogoods that are fully assigned are skipped in
+	 * amortized constant time (cf. {@link NoGoodStack}).
 	 */
 	@Override
 	public int chooseLiteral() {
@@ -170,12 +166,10 @@ public int chooseLiteral() {
 	}
 	
 	protected int chooseAtom() {
-		for (NoGood noGood : stackOfNoGoods) {
-			if (assignment.isUndefined(noGood)) {
-				int mostActiveAtom = getMostActiveChoosableAtom(noGood);
-				if (mostActiveAtom != DEFAULT_CHOICE_ATOM) {
-					return mostActiveAtom;
-				}
+		for (int i = stackOfNoGoods.firstUndefined(); i >= 0; i = stackOfNoGoods.nextUndefined(i)) {
+			int mostActiveAtom = getMostActiveChoosableAtom(stackOfNoGoods.get(i));
+			if (mostActiveAtom != DEFAULT_CHOICE_ATOM) {
+				return mostActiveAtom;
 			}
 		}
 		return DEFAULT_CHOICE_ATOM;
@@ -186,8 +180,8 @@ private boolean chooseSign(int atom) {
 			return true;
 		}
 
-		int positiveCounter = signCounters.getOrDefault(+atom, DEFAULT_SIGN_COUNTER);
-		int negativeCounter = signCounters.getOrDefault(-atom, DEFAULT_SIGN_COUNTER);
+		int positiveCounter = getSignCounter(atomToLiteral(atom, true));
+		int negativeCounter = getSignCounter(atomToLiteral(atom, false));
 
 		if (positiveCounter > negativeCounter) {
 			return false;
@@ -207,7 +201,7 @@ protected void pushToStack(NoGood noGood) {
 	private void incrementActivityCounter(int literal) {
 		int atom = atomOf(literal);
 		if (choiceManager.isAtomChoice(atom)) {
-			activityCounters.compute(atom, (k, v) -> (v == null ? DEFAULT_ACTIVITY : v) + 1);
+			activityCounters.increment(atom);
 		}
 		// TODO: check performance
 		// note that here (and in incrementSignCounter) we only count atoms that are
@@ -219,17 +213,24 @@ private void incrementActivityCounter(int literal) {
 		// integers for rule bodies, uneven for other atoms)
 	}
 	
-	private void incrementSignCounter(Integer literal) {
+	private void incrementSignCounter(int literal) {
 		if (choiceManager.isAtomChoice(atomOf(literal))) {
-			signCounters.compute(literal, (k, v) -> (v == null ? DEFAULT_SIGN_COUNTER : v) + 1);
+			if (literal >= signCounters.length) {
+				signCounters = Arrays.copyOf(signCounters, Math.max(arrayGrowthSize(signCounters.length), literal + 1));
+			}
+			signCounters[literal]++;
 		}
 	}
 
+	private int getSignCounter(int literal) {
+		return literal < signCounters.length ? signCounters[literal] : DEFAULT_SIGN_COUNTER;
+	}
+
 	private void decayAllIfTimeHasCome() {
 		stepsSinceLastDecay++;
 		if (stepsSinceLastDecay >= decayPeriod) {
-			// Decay all:
-			activityCounters.replaceAll((k, v) -> v * decayFactor);
+			// Decay all (lazily):
+			activityCounters.decay(decayFactor);
 			stepsSinceLastDecay = 0;
 		}
 	}
@@ -239,34 +240,37 @@ private void decayAllIfTimeHasCome() {
 	 * @return the violated nogood closest to the top of the stack of nogoods.
 	 */
 	NoGood getCurrentTopClause() {
-		for (NoGood noGood : stackOfNoGoods) {
-			if (assignment.isUndefined(noGood)) {
-				return noGood;
-			}
-		}
-		return null;
+		int top = stackOfNoGoods.firstUndefined();
+		return top >= 0 ? stackOfNoGoods.get(top) : null;
 	}
-	
+
 	/**
-	 * If {@code noGood != null}, returns the most active unassigned literal from {@code noGood}. Else, returns the most active atom of all the known atoms.
-	 * @param noGood
-	 * @return
+	 * Returns the most active unassigned atom from {@code noGood} that is an active choice point,
+	 * or {@link #DEFAULT_CHOICE_ATOM} if there is none.
 	 */
 	private int getMostActiveChoosableAtom(NoGood noGood) {
-		if (noGood != null) {
-			return getMostActiveChoosableAtom(noGood.stream().boxed().map(Literals::atomOf));
-		} else {
-			return getMostActiveChoosableAtom(activityCounters.keySet().stream());
-		}
+		return getMostActiveChoosableAtom(noGood.stream().iterator());
 	}
-	
-	protected int getMostActiveChoosableAtom(Stream<Integer> streamOfLiterals) {
-		return streamOfLiterals
-			.map(Literals::atomOf)
-			.filter(this::isUnassigned)
-			.filter(choiceManager::isActiveChoiceAtom)
-			.max(Comparator.comparingDouble(this::getActivity))
-			.orElse(DEFAULT_CHOICE_ATOM);
+
+	/**
+	 * Returns the most active unassigned atom of the given literals that is an active choice point,
+	 * or {@link #DEFAULT_CHOICE_ATOM} if there is none. Among equally active atoms, the first one is returned.
+	 */
+	protected int getMostActiveChoosableAtom(PrimitiveIterator.OfInt literals) {
+		int mostActiveAtom = DEFAULT_CHOICE_ATOM;
+		double highestActivity = Double.NEGATIVE_INFINITY;
+		while (literals.hasNext()) {
+			int atom = atomOf(literals.nextInt());
+			if (!isUnassigned(atom) || !choiceManager.isActiveChoiceAtom(atom)) {
+				continue;
+			}
+			double activity = activityCounters.get(atom);
+			if (activity > highestActivity) {
+				highestActivity = activity;
+				mostActiveAtom = atom;
+			}
+		}
+		return mostActiveAtom;
 	}
 
 	private boolean isUnassigned(int atom) {
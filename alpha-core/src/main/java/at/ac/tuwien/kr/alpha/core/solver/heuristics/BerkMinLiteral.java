@@ -58,7 +58,7 @@ public class BerkMinLiteral extends BerkMin {
 
 	@Override
 	public int chooseAtom() {
-		return  getMostActiveChoosableAtom(activeLiterals.stream());
+		return getMostActiveChoosableAtom(activeLiterals.stream().mapToInt(Integer::intValue).iterator());
 	}
 
 	private void pushToStack(Integer literal) {
@@ -0,0 +1,56 @@
+package at.ac.tuwien.kr.alpha.core.solver.heuristics;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+
+import java.util.Arrays;
+
+/**
+ * Activity counters of atoms stored densely by atom, with lazy decay.
+ *
+ * Instead of multiplying every counter by the decay factor, a global scale is multiplied and all increments are made
+ * relative to it, i.e., the activity of an atom is its stored value times the scale. Only if the scale becomes extreme,
+ * all stored values are rescaled at once. Decaying is thereby constant-time except for these rare rescalings.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class DecayingActivityCounters {
+	private static final double RESCALE_THRESHOLD = 1E100;
+
+	private double[] storedActivities = new double[0];
+	private double scale = 1.0;
+
+	/**
+	 * Returns the activity of the given atom, which is zero if it has never been incremented.
+	 */
+	double get(int atom) {
+		if (atom >= storedActivities.length) {
+			return 0.0;
+		}
+		return storedActivities[atom] * scale;
+	}
+
+	void increment(int atom) {
+		if (atom >= storedActivities.length) {
+			storedActivities = Arrays.copyOf(storedActivities, Math.max(arrayGrowthSize(storedActivities.length), atom + 1));
+		}
+		storedActivities[atom] += 1.0 / scale;
+	}
+
+	/**
+	 * Multiplies the activities of all atoms by the given factor.
+	 */
+	void decay(double factor) {
+		if (factor == 0.0) {
+			Arrays.fill(storedActivities, 0.0);
+			scale = 1.0;
+			return;
+		}
+		scale *= factor;
+		if (scale < 1 / RESCALE_THRESHOLD || scale > RESCALE_THRESHOLD) {
+			for (int atom = 0; atom < storedActivities.length; atom++) {
+				storedActivities[atom] *= scale;
+			}
+			scale = 1.0;
+		}
+	}
+}
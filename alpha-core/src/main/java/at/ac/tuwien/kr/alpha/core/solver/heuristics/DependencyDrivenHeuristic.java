@@ -27,7 +27,6 @@
 
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
-import at.ac.tuwien.kr.alpha.core.programs.atoms.Literals;
 import at.ac.tuwien.kr.alpha.core.solver.ChoiceManager;
 import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
 import at.ac.tuwien.kr.alpha.core.solver.heuristics.activity.BodyActivityProvider;
@@ -40,10 +39,16 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.*;
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.FALSE;
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.TRUE;
@@ -56,6 +61,8 @@
  * enrich the information available for a choice point. Intuitively, all atoms occurring in the head or the
  * body of a rule depend on a choice point representing the body of this rule.
  * 
+ * As in {@link BerkMin}, activity and sign counters are kept in arrays and activities are decayed lazily.
+ * 
  * Copyright (c) 2017-2018 Siemens AG
  */
 public class DependencyDrivenHeuristic implements ActivityBasedBranchingHeuristic {
@@ -72,9 +79,9 @@ public class DependencyDrivenHeuristic implements ActivityBasedBranchingHeuristi
 	protected final Random rand;
 	protected final BodyActivityProvider bodyActivity;
 
-	protected final Map<Integer, Double> activityCounters = new HashMap<>();
-	protected final Map<Integer, Integer> signCounters = new HashMap<>();
-	protected final Deque<NoGood> stackOfNoGoods = new ArrayDeque<>();
+	final DecayingActivityCounters activityCounters = new DecayingActivityCounters();
+	private int[] signCounters = new int[0];
+	final NoGoodStack stackOfNoGoods;
 	private int decayPeriod;
 	private double decayFactor;
 	private int stepsSinceLastDecay;
@@ -105,7 +112,8 @@ public DependencyDrivenHeuristic(Assignment assignment, ChoiceManager choiceMana
 		this.decayPeriod = decayPeriod;
 		this.decayFactor = decayFactor;
 		this.rand = random;
-		this.bodyActivity = BodyActivityProviderFactory.getInstance(bodyActivityType, bodyAtomToLiterals, activityCounters, DEFAULT_ACTIVITY);
+		this.stackOfNoGoods = new NoGoodStack(assignment, choiceManager);
+		this.bodyActivity = BodyActivityProviderFactory.getInstance(bodyActivityType, bodyAtomToLiterals, activityCounters::get, DEFAULT_ACTIVITY);
 	}
 
 	public DependencyDrivenHeuristic(Assignment assignment, ChoiceManager choiceManager, Random random, BodyActivityType bodyActivityType) {
@@ -157,7 +165,7 @@ public void analyzedConflict(ConflictAnalysisResult analysisResult) {
 			incrementActivityCounter(atomToLiteral(resolutionAtom, false));
 		}
 		if (analysisResult.learnedNoGood != null) {
-			for (Integer literal : analysisResult.learnedNoGood) {
+			for (int literal : analysisResult.learnedNoGood) {
 				incrementSignCounter(literal);
 			}
 		}
@@ -168,7 +176,7 @@ public void analyzedConflict(ConflictAnalysisResult analysisResult) {
 	public void newNoGood(NoGood newNoGood) {
 		recordAtomRelationships(newNoGood);
 		pushToStack(newNoGood);
-		for (Integer literal : newNoGood) {
+		for (int literal : newNoGood) {
 			incrementSignCounter(literal);
 		}
 	}
@@ -180,7 +188,7 @@ public void newNoGoods(Collection<NoGood> newNoGoods) {
 
 	@Override
 	public double getActivity(int literal) {
-		return activityCounters.getOrDefault(atomOf(literal), DEFAULT_ACTIVITY);
+		return activityCounters.get(atomOf(literal));
 	}
 	
 	/**
@@ -202,17 +210,26 @@ public int chooseLiteral() {
 	}
 	
 	protected int chooseAtom() {
-		for (NoGood noGood : stackOfNoGoods) {
-			int mostActiveAtom = getMostActiveAtom(noGood);
+		for (int i = stackOfNoGoods.size() - 1; i >= 0; i--) {
+			int mostActiveAtom = getMostActiveAtom(stackOfNoGoods.get(i));
 			if (choiceManager.isActiveChoiceAtom(mostActiveAtom)) {
 				return mostActiveAtom;
 			}
 
-			Collection<Integer> bodies = atomsToBodiesAtoms.get(mostActiveAtom);
-			Optional<Integer> mostActiveBody = bodies.stream().filter(this::isUnassigned).filter(choiceManager::isActiveChoiceAtom)
-					.max(Comparator.comparingDouble(bodyActivity::get));
-			if (mostActiveBody.isPresent()) {
-				return mostActiveBody.get();
+			int mostActiveBody = DEFAULT_CHOICE_ATOM;
+			double highestBodyActivity = Double.NEGATIVE_INFINITY;
+			for (int body : atomsToBodiesAtoms.get(mostActiveAtom)) {
+				if (!isUnassigned(body) || !choiceManager.isActiveChoiceAtom(body)) {
+					continue;
+				}
+				double activity = bodyActivity.get(body);
+				if (activity > highestBodyActivity) {
+					highestBodyActivity = activity;
+					mostActiveBody = body;
+				}
+			}
+			if (mostActiveBody != DEFAULT_CHOICE_ATOM) {
+				return mostActiveBody;
 			}
 		}
 		return DEFAULT_CHOICE_ATOM;
@@ -225,8 +242,8 @@ protected boolean chooseSign(int atom) {
 			return true;
 		}
 
-		int positiveCounter = signCounters.getOrDefault(atomToLiteral(atom, true),  DEFAULT_SIGN_COUNTER);
-		int negativeCounter = signCounters.getOrDefault(atomToLiteral(atom, false), DEFAULT_SIGN_COUNTER);
+		int positiveCounter = getSignCounter(atomToLiteral(atom, true));
+		int negativeCounter = getSignCounter(atomToLiteral(atom, false));
 
 		if (positiveCounter > negativeCounter) {
 			return false;
@@ -278,7 +295,7 @@ private void pushToStack(NoGood noGood) {
 	protected void incrementActivityCounter(int literal) {
 		int atom = atomOf(literal);
 		if (choiceManager.isAtomChoice(atom)) {
-			activityCounters.compute(atom, (k, v) -> (v == null ? DEFAULT_ACTIVITY : v) + 1);
+			activityCounters.increment(atom);
 		}
 		// TODO: check performance
 		// note that here (and in incrementSignCounter) we only count atoms that are
@@ -290,15 +307,22 @@ protected void incrementActivityCounter(int literal) {
 		// integers for rule bodies, uneven for other atoms)
 	}
 	
-	protected void incrementSignCounter(Integer literal) {
-		signCounters.compute(literal, (k, v) -> (v == null ? DEFAULT_SIGN_COUNTER : v) + 1);
+	protected void incrementSignCounter(int literal) {
+		if (literal >= signCounters.length) {
+			signCounters = Arrays.copyOf(signCounters, Math.max(arrayGrowthSize(signCounters.length), literal + 1));
+		}
+		signCounters[literal]++;
+	}
+
+	protected int getSignCounter(int literal) {
+		return literal < signCounters.length ? signCounters[literal] : DEFAULT_SIGN_COUNTER;
 	}
 
 	private void decayAllIfTimeHasCome() {
 		stepsSinceLastDecay++;
 		if (stepsSinceLastDecay >= decayPeriod) {
-			// Decay all:
-			activityCounters.replaceAll((k, v) -> v * decayFactor);
+			// Decay all (lazily):
+			activityCounters.decay(decayFactor);
 			stepsSinceLastDecay = 0;
 		}
 	}
@@ -308,12 +332,8 @@ private void decayAllIfTimeHasCome() {
 	 * @return the violated nogood closest to the top of the stack of nogoods.
 	 */
 	NoGood getCurrentTopClause() {
-		for (NoGood noGood : stackOfNoGoods) {
-			if (assignment.isUndefined(noGood)) {
-				return noGood;
-			}
-		}
-		return null;
+		int top = stackOfNoGoods.firstUndefined();
+		return top >= 0 ? stackOfNoGoods.get(top) : null;
 	}
 
 	protected boolean isUnassigned(int atom) {
@@ -321,17 +341,22 @@ protected boolean isUnassigned(int atom) {
 		return truth != FALSE && truth != TRUE; // do not use assignment.isAssigned(atom) because we may also choose MBTs
 	}
 
+	/**
+	 * Returns the most active atom of the given nogood. Among equally active atoms, the first one is returned.
+	 */
 	private int getMostActiveAtom(NoGood noGood) {
-		if (noGood != null) {
-			return getMostActiveAtom(noGood.stream().boxed());
-		} else {
-			return getMostActiveAtom(activityCounters.keySet().stream());
+		int mostActiveAtom = DEFAULT_CHOICE_ATOM;
+		double highestActivity = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < noGood.size(); i++) {
+			int atom = atomOf(noGood.getLiteral(i));
+			double activity = activityCounters.get(atom);
+			if (activity > highestActivity) {
+				highestActivity = activity;
+				mostActiveAtom = atom;
+			}
 		}
-	}
-
-	private int getMostActiveAtom(Stream<Integer> streamOfLiterals) {
-		return streamOfLiterals.map(Literals::atomOf).max(Comparator.comparingDouble(this::getActivity)).orElse(DEFAULT_CHOICE_ATOM);
-		// TODO: exploit synergy with getMostActiveChoosableAtom
+		return mostActiveAtom;
+		// TODO: exploit synergy with BerkMin.getMostActiveChoosableAtom
 	}
 
 	/**
@@ -39,8 +39,6 @@
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.PriorityQueue;
 
 /**
  * Manages a heap of atoms that are assigned an activity, such that the most active atom
@@ -48,6 +46,8 @@
  * In contrast to standard heuristics like VSIDS, activities are not periodically decayed but
  * the increment added when increasing activities is constantly increased itself, which has the
  * same effect.
+ * Atoms are kept in an {@link ActivityHeap}, i.e., every atom is contained at most once and changes of its activity
+ * are reflected by moving it within the heap.
  *
  */
 public class HeapOfActiveAtoms {
@@ -58,8 +58,7 @@ public class HeapOfActiveAtoms {
 	private static final double SCORE_EPSILON = 1E-100;
 
 	private boolean[] incrementedActivityScores = new boolean[0];
-	protected double[] activityScores = new double[0];
-	protected final PriorityQueue<Integer> heap = new PriorityQueue<>(new AtomActivityComparator().reversed());
+	final ActivityHeap heap = new ActivityHeap();
 
 	protected ChoiceManager choiceManager;
 	private int decayPeriod;
@@ -80,7 +79,7 @@ public HeapOfActiveAtoms(int decayPeriod, double decayFactor, ChoiceManager choi
 	}
 
 	public double getActivity(int literal) {
-		return activityScores[atomOf(literal)];
+		return heap.getActivity(atomOf(literal));
 	}
 
 	/**
@@ -169,7 +168,7 @@ private void initActivityMOMs(NoGood newNoGood) {
 				double score = moms.getScore(atom);
 				if (score > 0.0) {
 					double newActivity = 1 - 1 / (Math.log(score + 1.01));
-					if (newActivity - activityScores[atom] > SCORE_EPSILON) {	// avoid computation overhead if score does not increase
+					if (newActivity - heap.getActivity(atom) > SCORE_EPSILON) {	// avoid computation overhead if score does not increase
 						if (numberOfNormalizations > 0) {
 							newActivity = normalizeNewActivityScore(newActivity);
 						}
@@ -181,7 +180,7 @@ private void initActivityMOMs(NoGood newNoGood) {
 	}
 
 	void growToCapacity(int newCapacity) {
-		activityScores = Arrays.copyOf(activityScores, newCapacity);
+		heap.growToCapacity(newCapacity);
 		incrementedActivityScores = Arrays.copyOf(incrementedActivityScores, newCapacity);
 	}
 
@@ -194,10 +193,14 @@ private void initActivityNaive(NoGood newNoGood) {
 	}
 
 	/**
-	 * Returns the atom with the highest activity score and removes it from the heap.
+	 * Returns the atom with the highest activity score and removes it from the heap,
+	 * or {@link BranchingHeuristic#DEFAULT_CHOICE_ATOM} if the heap is empty.
 	 */
-	public Integer getMostActiveAtom() {
-		return heap.poll();
+	public int getMostActiveAtom() {
+		if (heap.isEmpty()) {
+			return BranchingHeuristic.DEFAULT_CHOICE_ATOM;
+		}
+		return heap.removeMax();
 	}
 
 	/**
@@ -212,13 +215,14 @@ public void incrementActivity(int atom) {
 	
 	protected void incrementActivity(int atom, double increment) {
 		// newActivity := oldActivity + increment
-		double newActivity = activityScores[atom] + increment;
+		double newActivity = heap.getActivity(atom) + increment;
 		setActivity(atom, newActivity);
 		incrementedActivityScores[atom] = true;
 	}
 
 	private void setActivity(int atom, double newActivity) {
-		activityScores[atom] = newActivity;
+		// Inserts the atom or, if it is in the heap already, moves it to its new position.
+		heap.setActivity(atom, newActivity);
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("Activity of atom {} set to {}", atom, newActivity);
 		}
@@ -226,22 +230,19 @@ private void setActivity(int atom, double newActivity) {
 		if (newActivity > NORMALIZATION_THRESHOLD) {
 			normalizeActivityScores();
 		}
-
-		heap.add(atom); // ignores the fact that atom may already be in the heap for performance reasons (may be revised in future)
 	}
 
 	/**
 	 * Makes all activity scores smaller if they get too high.
 	 * 
 	 * Avoids <a href="https://en.wikipedia.org/wiki/Denormal_number">denormal numbers</a> similarly as done in clasp.
+	 * Normalization preserves the order of activity scores, hence the heap need not be reorganized.
 	 */
 	private void normalizeActivityScores() {
 		LOGGER.debug("Normalizing activity scores");
 		numberOfNormalizations++;
 		currentActivityIncrement /= NORMALIZATION_THRESHOLD;
-		for (int atom = 1; atom < activityScores.length; atom++) {
-			activityScores[atom] = (activityScores[atom] + INCREMENT_TO_AVOID_DENORMALS) / NORMALIZATION_THRESHOLD;
-		}
+		heap.rescaleActivities(INCREMENT_TO_AVOID_DENORMALS, NORMALIZATION_THRESHOLD);
 	}
 
 	private double normalizeNewActivityScore(double newActivity) {
@@ -251,25 +252,16 @@ private double normalizeNewActivityScore(double newActivity) {
 		return newActivity;
 	}
 
-	private class AtomActivityComparator implements Comparator<Integer> {
-
-		@Override
-		public int compare(Integer a1, Integer a2) {
-			return Double.compare(activityScores[a1], activityScores[a2]);
-		}
-
-	}
-
 	private class ChoicePointActivityListener implements ChoiceInfluenceManager.ActivityListener {
 
 		@Override
 		public void callbackOnChanged(int atom, boolean active) {
 			if (active && choiceManager.isActiveChoiceAtom(atom)) {
-				if (atom < activityScores.length) {
+				if (atom < heap.capacity()) {
 					/* if atom has no activity score, probably the atom is still being buffered
 					   by DependencyDrivenVSIDSHeuristic and will get an initial activity
 					   when the buffer is ingested */
-					heap.add(atom);
+					heap.insert(atom);
 				}
 			}
 		}
@@ -0,0 +1,119 @@
+package at.ac.tuwien.kr.alpha.core.solver.heuristics;
+
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import at.ac.tuwien.kr.alpha.core.common.Assignment;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.solver.ChoiceManager;
+
+/**
+ * The stack of nogoods maintained by {@link BerkMin}-like heuristics, which only look at nogoods that are still
+ * undefined, i.e., that contain at least one unassigned atom.
+ *
+ * Iterating over the undefined nogoods from the top of the stack skips nogoods found to be fully assigned in earlier
+ * iterations. Such a nogood remains fully assigned until the solver backtracks below the highest decision level of
+ * its atoms, hence it is recorded with this level on a trail. Before each iteration, nogoods are taken back from the
+ * trail if the solver may have backtracked below their level since the previous iteration. Skipping costs amortized
+ * constant time per nogood, since every nogood is taken back at most as often as it is skipped.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+final class NoGoodStack {
+	private final Assignment assignment;
+	private final ChoiceManager choiceManager;
+
+	private NoGood[] noGoods = new NoGood[16];
+	private int size;
+	private final BitSet notSkipped = new BitSet();
+
+	// Trail of skipped nogoods: their stack indices and the maximum decision level of the nogood and all nogoods
+	// skipped before it, which is non-decreasing along the trail.
+	private int[] skippedIndices = new int[16];
+	private int[] skippedMaxLevels = new int[16];
+	private int skippedSize;
+
+	private int decisionLevelAtLastIteration;
+	private int backtracksAtLastIteration;
+
+	NoGoodStack(Assignment assignment, ChoiceManager choiceManager) {
+		this.assignment = assignment;
+		this.choiceManager = choiceManager;
+	}
+
+	void push(NoGood noGood) {
+		if (size == noGoods.length) {
+			noGoods = Arrays.copyOf(noGoods, arrayGrowthSize(noGoods.length));
+		}
+		notSkipped.set(size);
+		noGoods[size++] = noGood;
+	}
+
+	NoGood get(int index) {
+		return noGoods[index];
+	}
+
+	/**
+	 * Returns the number of nogoods on the stack, including fully assigned ones; the top of the stack has index
+	 * {@code size() - 1}.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the index of the undefined nogood closest to the top of the stack, or -1 if there is none.
+	 * Iterate further down the stack by {@link #nextUndefined(int)}.
+	 */
+	int firstUndefined() {
+		restoreSkippedAfterBacktracking();
+		return nextUndefined(size);
+	}
+
+	/**
+	 * Returns the index of the undefined nogood closest to the top of the stack below the given index, or -1 if there
+	 * is none.
+	 */
+	int nextUndefined(int index) {
+		for (int i = notSkipped.previousSetBit(index - 1); i >= 0; i = notSkipped.previousSetBit(i - 1)) {
+			if (assignment.isUndefined(noGoods[i])) {
+				return i;
+			}
+			skip(i);
+		}
+		return -1;
+	}
+
+	private void skip(int index) {
+		int level = 0;
+		for (int literal : noGoods[index]) {
+			level = Math.max(level, assignment.getWeakDecisionLevel(atomOf(literal)));
+		}
+		if (skippedSize == skippedIndices.length) {
+			skippedIndices = Arrays.copyOf(skippedIndices, arrayGrowthSize(skippedIndices.length));
+			skippedMaxLevels = Arrays.copyOf(skippedMaxLevels, skippedIndices.length);
+		}
+		skippedIndices[skippedSize] = index;
+		skippedMaxLevels[skippedSize] = skippedSize == 0 ? level : Math.max(level, skippedMaxLevels[skippedSize - 1]);
+		skippedSize++;
+		notSkipped.clear(index);
+	}
+
+	/**
+	 * Takes back all skipped nogoods that may have become undefined since the last iteration. The lowest decision level
+	 * reached in the meantime is bounded from below by means of the number of backtracks done by the choice manager.
+	 */
+	private void restoreSkippedAfterBacktracking() {
+		final int decisionLevel = assignment.getDecisionLevel();
+		final int backtracks = choiceManager.getBacktracks();
+		final int lowestDecisionLevel = Math.max(0, Math.min(decisionLevel, decisionLevelAtLastIteration - (backtracks - backtracksAtLastIteration)));
+		decisionLevelAtLastIteration = decisionLevel;
+		backtracksAtLastIteration = backtracks;
+		while (skippedSize > 0 && skippedMaxLevels[skippedSize - 1] > lowestDecisionLevel) {
+			notSkipped.set(skippedIndices[--skippedSize]);
+		}
+	}
+}
@@ -29,24 +29,24 @@
 
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
 
-import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 
 public abstract class BodyActivityProvider {
 
 	protected final MultiValuedMap<Integer, Integer> bodyToLiterals;
-	protected final Map<Integer, Double> activityCounters;
+	protected final IntToDoubleFunction atomActivity;
 	protected final double defaultActivity;
 
-	public BodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
+	public BodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, IntToDoubleFunction atomActivity, double defaultActivity) {
 		this.bodyToLiterals = bodyToLiterals;
-		this.activityCounters = activityCounters;
+		this.atomActivity = atomActivity;
 		this.defaultActivity = defaultActivity;
 	}
 
 	public abstract double get(int bodyRepresentingAtom);
 
 	protected double getActivity(int literal) {
-		return activityCounters.getOrDefault(atomOf(literal), defaultActivity);
+		return atomActivity.applyAsDouble(atomOf(literal));
 	}
 
 }
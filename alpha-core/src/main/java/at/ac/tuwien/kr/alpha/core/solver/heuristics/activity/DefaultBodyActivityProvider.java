@@ -27,17 +27,17 @@
 
 import org.apache.commons.collections4.MultiValuedMap;
 
-import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 
 public class DefaultBodyActivityProvider extends BodyActivityProvider {
 
-	public DefaultBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
-		super(bodyToLiterals, activityCounters, defaultActivity);
+	public DefaultBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, IntToDoubleFunction atomActivity, double defaultActivity) {
+		super(bodyToLiterals, atomActivity, defaultActivity);
 	}
 
 	@Override
 	public double get(int bodyRepresentingAtom) {
-		return activityCounters.getOrDefault(bodyRepresentingAtom, defaultActivity);
+		return atomActivity.applyAsDouble(bodyRepresentingAtom);
 	}
 
 }
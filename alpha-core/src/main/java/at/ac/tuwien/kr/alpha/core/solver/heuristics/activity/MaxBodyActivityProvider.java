@@ -27,12 +27,12 @@
 
 import org.apache.commons.collections4.MultiValuedMap;
 
-import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 
 public class MaxBodyActivityProvider extends BodyActivityProvider {
 
-	public MaxBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
-		super(bodyToLiterals, activityCounters, defaultActivity);
+	public MaxBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, IntToDoubleFunction atomActivity, double defaultActivity) {
+		super(bodyToLiterals, atomActivity, defaultActivity);
 	}
 
 	@Override
@@ -27,12 +27,12 @@
 
 import org.apache.commons.collections4.MultiValuedMap;
 
-import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 
 public class MinBodyActivityProvider extends BodyActivityProvider {
 
-	public MinBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, Map<Integer, Double> activityCounters, double defaultActivity) {
-		super(bodyToLiterals, activityCounters, defaultActivity);
+	public MinBodyActivityProvider(MultiValuedMap<Integer, Integer> bodyToLiterals, IntToDoubleFunction atomActivity, double defaultActivity) {
+		super(bodyToLiterals, atomActivity, defaultActivity);
 	}
 
 	@Override
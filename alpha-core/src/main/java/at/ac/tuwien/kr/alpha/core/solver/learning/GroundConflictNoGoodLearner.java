@@ -40,6 +40,7 @@
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static at.ac.tuwien.kr.alpha.commons.util.Util.arrayGrowthSize;
 import static at.ac.tuwien.kr.alpha.commons.util.Util.oops;
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.*;
 import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
@@ -52,9 +53,32 @@
 public class GroundConflictNoGoodLearner {
 	private static final Logger LOGGER = LoggerFactory.getLogger(GroundConflictNoGoodLearner.class);
 
+	private static final byte UNKNOWN = 0;
+	private static final byte ON_STACK = 1;
+	private static final byte REDUNDANT = 2;
+	private static final byte POISONED = 3;
+	private static final int INITIAL_BUFFER_SIZE = 32;
+
 	private final Assignment assignment;
 	private final AtomStore atomStore;
 
+	// Reusable buffers for conflict analysis; atom-indexed marks are valid only if they are equal to the current epoch.
+	private int epoch;
+	private int[] seenStamps = new int[0];
+	private int[] processedStamps = new int[0];
+	private int[] minimizationStamps = new int[0];
+	private byte[] minimizationStates = new byte[0];
+	private int[] levelStamps = new int[INITIAL_BUFFER_SIZE];
+	private int[] antecedentLevelStamps = new int[INITIAL_BUFFER_SIZE];
+	private int antecedentLevelStamp;
+	private int[] resolutionLiterals = new int[INITIAL_BUFFER_SIZE];
+	private int resolutionLiteralsSize;
+	private int[] resolutionAtoms = new int[INITIAL_BUFFER_SIZE];
+	private int resolutionAtomsSize;
+	private int[] stackAtoms = new int[INITIAL_BUFFER_SIZE];
+	private int[] stackPositions = new int[INITIAL_BUFFER_SIZE];
+	private Antecedent[] stackAntecedents = new Antecedent[INITIAL_BUFFER_SIZE];
+
 	/**
 	 * Given a conflicting NoGood, computes a conflict-free backjumping level such that the given NoGood is not
 	 * violated.
@@ -158,9 +182,8 @@ public ConflictAnalysisResult analyzeConflictFromAddingNoGood(Antecedent violate
 
 	private int backjumpLevelRemovingConflict(Antecedent violatedNoGood) {
 		int highestDL = 0;
-		int[] reasonLiterals = violatedNoGood.getReasonLiterals();
-		for (int literal : reasonLiterals) {
-			int literalDL = assignment.getWeakDecisionLevel(atomOf(literal));
+		for (int i = 0; i < violatedNoGood.getNumberOfReasonLiterals(); i++) {
+			int literalDL = assignment.getWeakDecisionLevel(atomOf(violatedNoGood.getReasonLiteral(i)));
 			if (literalDL > highestDL) {
 				highestDL = literalDL;
 			}
@@ -190,15 +213,14 @@ private ConflictAnalysisResult analyzeTrailBased(Antecedent conflictReason) {
 			LOGGER.trace("Conflict on decision level 0.");
 			return ConflictAnalysisResult.UNSAT;
 		}
+		startAnalysis();
 		int numLiteralsInConflictLevel = 0;
-		List<Integer> resolutionLiterals = new ArrayList<>();
-		List<Integer> resolutionAtoms = new ArrayList<>();
 		int currentDecisionLevel = assignment.getDecisionLevel();
-		Set<Integer> seenAtoms = new HashSet<>();		// NOTE: other solvers use a global array for seen atoms, this might be slightly faster (initial tests with local arrays showed no significant improvement).
-		Set<Integer> processedAtoms = new HashSet<>();	// Since trail contains 2 entries for MBT->TRUE assigned atoms, explicitly record which seen atoms have ben processed to avoid processing seen atoms twice.
-		int[] currentConflictReason = conflictReason.getReasonLiterals();
-		int backjumpLevel = -1;
+		// NOTE: seen and processed atoms are marked by stamping them with the current epoch. Processed atoms are recorded
+		// explicitly, since the trail contains 2 entries for MBT->TRUE assigned atoms and seen atoms must not be processed twice.
+		Antecedent currentConflictReason = conflictReason;
 		conflictReason.bumpActivity();
+		updateLBD(conflictReason);
 		TrailAssignment.TrailBackwardsWalker trailWalker = ((TrailAssignment)assignment).getTrailBackwardsWalker();
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("Current trail is: {}", trailWalker);
@@ -208,28 +230,25 @@ private ConflictAnalysisResult analyzeTrailBased(Antecedent conflictReason) {
 		do {
 			// Add current conflict reasons; only add those of lower decision levels, since from current one, only the 1UIP literal will be added.
 			if (LOGGER.isTraceEnabled()) {
-				LOGGER.trace("Atom {} implied by {}, resolving with that nogood", nextAtom, reasonsToString(currentConflictReason));
+				LOGGER.trace("Atom {} implied by {}, resolving with that nogood", nextAtom, reasonsToString(currentConflictReason.getReasonLiterals()));
 			}
-			for (int literal : currentConflictReason) {
+			for (int j = 0; j < currentConflictReason.getNumberOfReasonLiterals(); j++) {
+				int literal = currentConflictReason.getReasonLiteral(j);
+				int atom = atomOf(literal);
 				// Seen atoms have already been dealt with.
-				if (!seenAtoms.contains(atomOf(literal))) {
-					seenAtoms.add(atomOf(literal));
-					int literalDecisionLevel = assignment.getWeakDecisionLevel(atomOf(literal));
-					if (literalDecisionLevel == currentDecisionLevel) {
+				if (seenStamps[atom] != epoch) {
+					seenStamps[atom] = epoch;
+					if (assignment.getWeakDecisionLevel(atom) == currentDecisionLevel) {
 						numLiteralsInConflictLevel++;
 					} else {
-						resolutionLiterals.add(literal);
-						if (literalDecisionLevel > backjumpLevel) {
-							backjumpLevel = literalDecisionLevel;
-						}
+						resolutionLiterals = append(resolutionLiterals, resolutionLiteralsSize++, literal);
 					}
-					resolutionAtoms.add(atomOf(literal));
+					resolutionAtoms = append(resolutionAtoms, resolutionAtomsSize++, atom);
 				}
 			}
 			if (LOGGER.isTraceEnabled()) {
 				LOGGER.trace("LiteralsInConflictLevel now: {}", numLiteralsInConflictLevel);
-				LOGGER.trace("Seen atoms are {}.", seenAtoms);
-				LOGGER.trace("Intermediate learned literals: {}", reasonsToString(resolutionLiterals));
+				LOGGER.trace("Intermediate learned literals: {}", reasonsToString(Arrays.copyOf(resolutionLiterals, resolutionLiteralsSize)));
 			}
 			// Find next literal, i.e. first from top of trail that has been seen but is not yet processed, also skip atoms whose TRUE assignment is on current level but their MBT/weak assignment is lower.
 			do {
@@ -238,18 +257,19 @@ private ConflictAnalysisResult analyzeTrailBased(Antecedent conflictReason) {
 				if (LOGGER.isTraceEnabled()) {
 					LOGGER.trace("Next literal on trail is: {}", isPositive(nextLiteral) ? "+" + nextAtom : "-" + nextAtom);
 				}
-			} while (assignment.getWeakDecisionLevel(nextAtom) != currentDecisionLevel || !seenAtoms.contains(nextAtom) || processedAtoms.contains(nextAtom));
+			} while (assignment.getWeakDecisionLevel(nextAtom) != currentDecisionLevel || seenStamps[nextAtom] != epoch || processedStamps[nextAtom] == epoch);
 			Antecedent impliedBy = assignment.getImpliedBy(nextAtom);
 			if (impliedBy != null) {
-				currentConflictReason = impliedBy.getReasonLiterals();
+				currentConflictReason = impliedBy;
 				impliedBy.bumpActivity();
+				updateLBD(impliedBy);
 			}
-			processedAtoms.add(nextAtom);
+			processedStamps[nextAtom] = epoch;
 		} while (numLiteralsInConflictLevel-- > 1);
 		// Add the 1UIP literal.
-		resolutionLiterals.add(atomToLiteral(nextAtom, assignment.getTruth(nextAtom).toBoolean()));
+		resolutionLiterals = append(resolutionLiterals, resolutionLiteralsSize++, atomToLiteral(nextAtom, assignment.getTruth(nextAtom).toBoolean()));
 
-		int[] learnedLiterals = minimizeLearnedLiterals(resolutionLiterals, seenAtoms);
+		int[] learnedLiterals = minimizeLearnedLiterals();
 
 		NoGood learnedNoGood = NoGood.learnt(learnedLiterals);
 		if (LOGGER.isTraceEnabled()) {
@@ -267,49 +287,217 @@ private ConflictAnalysisResult analyzeTrailBased(Antecedent conflictReason) {
 		if (LOGGER.isTraceEnabled()) {
 			LOGGER.trace("Backjumping decision level: {}", backjumpingDecisionLevel);
 		}
-		return new ConflictAnalysisResult(learnedNoGood, backjumpingDecisionLevel, resolutionAtoms, computeLBD(learnedLiterals));
+		Collection<Integer> resolutionAtomsView = new IntArrayView(Arrays.copyOf(resolutionAtoms, resolutionAtomsSize));
+		return new ConflictAnalysisResult(learnedNoGood, backjumpingDecisionLevel, resolutionAtomsView, computeLBD(learnedLiterals));
+	}
+
+	/**
+	 * Starts a new conflict analysis: advances the epoch (thereby clearing all marks of the previous analysis) and ensures
+	 * all atom-indexed buffers are large enough.
+	 */
+	private void startAnalysis() {
+		final int requiredCapacity = atomStore.getMaxAtomId() + 1;
+		if (seenStamps.length < requiredCapacity) {
+			int newCapacity = Math.max(requiredCapacity, arrayGrowthSize(seenStamps.length));
+			seenStamps = Arrays.copyOf(seenStamps, newCapacity);
+			processedStamps = Arrays.copyOf(processedStamps, newCapacity);
+			minimizationStamps = Arrays.copyOf(minimizationStamps, newCapacity);
+			minimizationStates = Arrays.copyOf(minimizationStates, newCapacity);
+		}
+		if (epoch == Integer.MAX_VALUE) {
+			Arrays.fill(seenStamps, 0);
+			Arrays.fill(processedStamps, 0);
+			Arrays.fill(minimizationStamps, 0);
+			Arrays.fill(levelStamps, 0);
+			epoch = 0;
+		}
+		epoch++;
+		resolutionLiteralsSize = 0;
+		resolutionAtomsSize = 0;
 	}
 
-	private int[] minimizeLearnedLiterals(List<Integer> resolutionLiterals, Set<Integer> seenAtoms) {
-		int[] learnedLiterals = new int[resolutionLiterals.size()];
-		int i = 0;
-		// Do local clause minimization: if an implied literal has all its antecedents seen (i.e., in the clause already), it can be removed.
-		learnedLiteralsLoop:
-		for (Integer resolutionLiteral : resolutionLiterals) {
-			if (assignment.getWeakDecisionLevel(atomOf(resolutionLiteral)) == 0) {
+	private static int[] append(int[] buffer, int position, int value) {
+		int[] result = buffer;
+		if (position == buffer.length) {
+			result = Arrays.copyOf(buffer, arrayGrowthSize(buffer.length));
+		}
+		result[position] = value;
+		return result;
+	}
+
+	/**
+	 * Removes redundant literals from the resolution literals using recursive minimization (cf. MiniSat): a literal is
+	 * redundant if it is implied by other literals of the learned nogood, either directly or transitively via implied
+	 * literals that are redundant themselves. Literals from decision level 0 are always removed, the 1UIP literal is
+	 * always kept.
+	 */
+	private int[] minimizeLearnedLiterals() {
+		int abstractLevels = 0;
+		for (int i = 0; i < resolutionLiteralsSize; i++) {
+			abstractLevels |= abstractLevel(assignment.getWeakDecisionLevel(atomOf(resolutionLiterals[i])));
+		}
+		int[] learnedLiterals = new int[resolutionLiteralsSize];
+		int learnedSize = 0;
+		final int uipPosition = resolutionLiteralsSize - 1;
+		for (int i = 0; i < resolutionLiteralsSize; i++) {
+			final int literal = resolutionLiterals[i];
+			final int atom = atomOf(literal);
+			if (i == uipPosition) {
+				learnedLiterals[learnedSize++] = literal;
+				continue;
+			}
+			if (assignment.getWeakDecisionLevel(atom) == 0) {
 				// Skip literals from decision level 0.
 				continue;
 			}
-			Antecedent antecedent = assignment.getImpliedBy(atomOf(resolutionLiteral));
-			if (antecedent == null) {
-				// The resolutionLiteral is a decision, keep it.
-				learnedLiterals[i++] = resolutionLiteral;
-			} else {
-				for (int antecedentReasonLiteral : antecedent.getReasonLiterals()) {
-					// Only add current resolutionLiteral if at least one of its antecedents has not been seen already.
-					if (!seenAtoms.contains(atomOf(antecedentReasonLiteral))) {
-						learnedLiterals[i++] = resolutionLiteral;
-						continue learnedLiteralsLoop;
-					}
-				}
+			Antecedent antecedent = assignment.getImpliedBy(atom);
+			// Decisions are never redundant.
+			if (antecedent == null || !isRedundant(atom, antecedent, abstractLevels)) {
+				learnedLiterals[learnedSize++] = literal;
 			}
 		}
-		// Shrink array if we did not copy over all literals from resolutionLiterals.
-		if (i < resolutionLiterals.size()) {
-			learnedLiterals = Arrays.copyOf(learnedLiterals, i);
+		// Shrink array if we did not copy over all resolution literals.
+		if (learnedSize < learnedLiterals.length) {
+			learnedLiterals = Arrays.copyOf(learnedLiterals, learnedSize);
 		}
 		return learnedLiterals;
 	}
 
+	/**
+	 * Checks whether the given atom is implied by the seen atoms via its antecedent, by a depth-first search over the
+	 * antecedents of the atoms in it. The search is iterative to avoid stack overflows on long implication chains, its
+	 * results are recorded for all visited atoms such that every atom is visited at most once per conflict analysis.
+	 * Atoms that cannot be implied from the levels in abstractLevels are rejected without further search.
+	 */
+	private boolean isRedundant(int atom, Antecedent antecedent, int abstractLevels) {
+		int stackSize = 0;
+		stackAtoms = append(stackAtoms, stackSize, atom);
+		stackPositions = append(stackPositions, stackSize, 0);
+		stackAntecedents[stackSize++] = antecedent;
+		while (stackSize > 0) {
+			final int top = stackSize - 1;
+			final Antecedent reason = stackAntecedents[top];
+			if (stackPositions[top] == reason.getNumberOfReasonLiterals()) {
+				// All reasons of the atom on top are seen or redundant, hence the atom is redundant as well.
+				setMinimizationState(stackAtoms[top], REDUNDANT);
+				stackAntecedents[top] = null;
+				stackSize--;
+				continue;
+			}
+			final int reasonAtom = atomOf(reason.getReasonLiteral(stackPositions[top]++));
+			if (reasonAtom == stackAtoms[top] || seenStamps[reasonAtom] == epoch) {
+				continue;
+			}
+			final int reasonDecisionLevel = assignment.getWeakDecisionLevel(reasonAtom);
+			final byte state = getMinimizationState(reasonAtom);
+			if (reasonDecisionLevel == 0 || state == REDUNDANT) {
+				continue;
+			}
+			// Atoms currently on the stack are rejected as well, since reaching them again indicates a cyclic implication (possible with MBT->TRUE).
+			Antecedent reasonAntecedent = null;
+			if (state == UNKNOWN && (abstractLevel(reasonDecisionLevel) & abstractLevels) != 0) {
+				reasonAntecedent = assignment.getImpliedBy(reasonAtom);
+			}
+			if (reasonAntecedent == null) {
+				for (int i = 0; i < stackSize; i++) {
+					setMinimizationState(stackAtoms[i], POISONED);
+					stackAntecedents[i] = null;
+				}
+				setMinimizationState(reasonAtom, POISONED);
+				return false;
+			}
+			setMinimizationState(reasonAtom, ON_STACK);
+			stackAtoms = append(stackAtoms, stackSize, reasonAtom);
+			stackPositions = append(stackPositions, stackSize, 0);
+			if (stackSize == stackAntecedents.length) {
+				stackAntecedents = Arrays.copyOf(stackAntecedents, arrayGrowthSize(stackAntecedents.length));
+			}
+			stackAntecedents[stackSize++] = reasonAntecedent;
+		}
+		return true;
+	}
+
+	private static int abstractLevel(int decisionLevel) {
+		return 1 << (decisionLevel & 31);
+	}
+
+	private byte getMinimizationState(int atom) {
+		return minimizationStamps[atom] == epoch ? minimizationStates[atom] : UNKNOWN;
+	}
+
+	private void setMinimizationState(int atom, byte state) {
+		minimizationStamps[atom] = epoch;
+		minimizationStates[atom] = state;
+	}
+
 	private int computeLBD(int[] literals) {
-		HashSet<Integer> occurringDecisionLevels = new HashSet<>();
+		int lbd = 0;
 		for (int literal : literals) {
 			if (!assignment.isAssigned(atomOf(literal))) {
 				throw oops("Atom is not assigned: " + atomOf(literal));
 			}
-			occurringDecisionLevels.add(assignment.getWeakDecisionLevel(atomOf(literal)));
+			int decisionLevel = assignment.getWeakDecisionLevel(atomOf(literal));
+			if (decisionLevel >= levelStamps.length) {
+				levelStamps = Arrays.copyOf(levelStamps, Math.max(decisionLevel + 1, arrayGrowthSize(levelStamps.length)));
+			}
+			if (levelStamps[decisionLevel] != epoch) {
+				levelStamps[decisionLevel] = epoch;
+				lbd++;
+			}
+		}
+		return lbd;
+	}
+
+	/**
+	 * Recomputes the LBD of a learned NoGood taking part in conflict analysis (cf. Glucose). Since all its literals are
+	 * assigned, the recomputed LBD is valid and may be lower than the one at the time the NoGood was learned.
+	 */
+	private void updateLBD(Antecedent antecedent) {
+		final int recordedLBD = antecedent.getLBD();
+		// Nothing to gain for NoGoods without LBD or whose LBD is minimal already.
+		if (recordedLBD == LBD_NO_VALUE || recordedLBD <= 2) {
+			return;
+		}
+		if (antecedentLevelStamp == Integer.MAX_VALUE) {
+			Arrays.fill(antecedentLevelStamps, 0);
+			antecedentLevelStamp = 0;
+		}
+		antecedentLevelStamp++;
+		int lbd = 0;
+		for (int i = 0; i < antecedent.getNumberOfReasonLiterals() && lbd < recordedLBD; i++) {
+			int decisionLevel = assignment.getWeakDecisionLevel(atomOf(antecedent.getReasonLiteral(i)));
+			if (decisionLevel >= antecedentLevelStamps.length) {
+				antecedentLevelStamps = Arrays.copyOf(antecedentLevelStamps, Math.max(decisionLevel + 1, arrayGrowthSize(antecedentLevelStamps.length)));
+			}
+			if (antecedentLevelStamps[decisionLevel] != antecedentLevelStamp) {
+				antecedentLevelStamps[decisionLevel] = antecedentLevelStamp;
+				lbd++;
+			}
+		}
+		if (lbd < recordedLBD) {
+			antecedent.updateLBD(lbd);
+		}
+	}
+
+	/**
+	 * An unmodifiable list view onto an int array, avoids boxing all resolution atoms up front.
+	 */
+	private static final class IntArrayView extends AbstractList<Integer> implements RandomAccess {
+		private final int[] values;
+
+		IntArrayView(int[] values) {
+			this.values = values;
+		}
+
+		@Override
+		public Integer get(int index) {
+			return values[index];
+		}
+
+		@Override
+		public int size() {
+			return values.length;
 		}
-		return occurringDecisionLevels.size();
 	}
 
 	/**
@@ -0,0 +1,44 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+/**
+ * Restarts after a number of conflicts that starts at an initial limit and is multiplied by a constant factor after
+ * each restart.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class GeometricRestartPolicy implements RestartPolicy {
+	public static final int DEFAULT_INITIAL_LIMIT = 100;
+	public static final double DEFAULT_FACTOR = 1.5;
+
+	private final double factor;
+	private double conflictLimit;
+	private int conflictsSinceRestart;
+
+	public GeometricRestartPolicy(int initialLimit, double factor) {
+		if (initialLimit < 1 || factor < 1.0) {
+			throw new IllegalArgumentException("Geometric restarts need a positive initial limit and a factor of at least 1.");
+		}
+		this.conflictLimit = initialLimit;
+		this.factor = factor;
+	}
+
+	public GeometricRestartPolicy() {
+		this(DEFAULT_INITIAL_LIMIT, DEFAULT_FACTOR);
+	}
+
+	@Override
+	public void conflictAnalyzed(int lbd) {
+		conflictsSinceRestart++;
+	}
+
+	@Override
+	public boolean shouldRestart() {
+		return conflictsSinceRestart >= conflictLimit;
+	}
+
+	@Override
+	public void restarted() {
+		conflictsSinceRestart = 0;
+		conflictLimit *= factor;
+	}
+}
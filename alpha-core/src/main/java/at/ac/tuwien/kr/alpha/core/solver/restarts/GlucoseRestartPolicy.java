@@ -0,0 +1,70 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
+
+/**
+ * Restarts dynamically as done by the glucose SAT solver: whenever the average LBD of the most recently learned nogoods
+ * (a short moving window) exceeds the average LBD of all learned nogoods by some margin, the search is assumed to be
+ * stuck in a bad part of the search space and is restarted.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class GlucoseRestartPolicy implements RestartPolicy {
+	public static final int DEFAULT_WINDOW_SIZE = 50;
+	public static final double DEFAULT_MARGIN = 0.8;
+
+	private final int[] window;
+	private final double margin;
+	private int windowStart;
+	private int windowFill;
+	private long windowSum;
+	private long totalSum;
+	private long totalCount;
+
+	public GlucoseRestartPolicy(int windowSize, double margin) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("Window size must be positive, but is " + windowSize + ".");
+		}
+		this.window = new int[windowSize];
+		this.margin = margin;
+	}
+
+	public GlucoseRestartPolicy() {
+		this(DEFAULT_WINDOW_SIZE, DEFAULT_MARGIN);
+	}
+
+	@Override
+	public void conflictAnalyzed(int lbd) {
+		if (lbd == LBD_NO_VALUE) {
+			return;
+		}
+		totalSum += lbd;
+		totalCount++;
+		if (windowFill == window.length) {
+			// Window is full, replace oldest entry.
+			windowSum -= window[windowStart];
+			window[windowStart] = lbd;
+			windowStart = (windowStart + 1) % window.length;
+		} else {
+			window[(windowStart + windowFill) % window.length] = lbd;
+			windowFill++;
+		}
+		windowSum += lbd;
+	}
+
+	@Override
+	public boolean shouldRestart() {
+		if (windowFill < window.length) {
+			return false;
+		}
+		// Compare averages without division: windowSum / windowSize * margin > totalSum / totalCount.
+		return (double) windowSum * margin * totalCount > (double) totalSum * window.length;
+	}
+
+	@Override
+	public void restarted() {
+		windowStart = 0;
+		windowFill = 0;
+		windowSum = 0;
+	}
+}
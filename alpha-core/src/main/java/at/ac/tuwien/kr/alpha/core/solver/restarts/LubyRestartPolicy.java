@@ -0,0 +1,65 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+/**
+ * Restarts after a number of conflicts given by the Luby series (1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...) multiplied by a
+ * constant unit.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class LubyRestartPolicy implements RestartPolicy {
+	public static final int DEFAULT_UNIT = 100;
+
+	private final int unit;
+	private int numberOfRestarts;
+	private int conflictsSinceRestart;
+	private long conflictLimit;
+
+	public LubyRestartPolicy(int unit) {
+		if (unit < 1) {
+			throw new IllegalArgumentException("Luby unit must be positive, but is " + unit + ".");
+		}
+		this.unit = unit;
+		this.conflictLimit = unit * luby(1);
+	}
+
+	public LubyRestartPolicy() {
+		this(DEFAULT_UNIT);
+	}
+
+	/**
+	 * Computes the i-th element (starting at 1) of the Luby series.
+	 */
+	static long luby(int i) {
+		// Find the finite subsequence that contains index i, and the size of that subsequence.
+		int size = 1;
+		int sequence = 0;
+		while (size < i + 1) {
+			sequence++;
+			size = 2 * size + 1;
+		}
+		int x = i - 1;
+		while (size - 1 != x) {
+			size = (size - 1) >> 1;
+			sequence--;
+			x = x % size;
+		}
+		return 1L << sequence;
+	}
+
+	@Override
+	public void conflictAnalyzed(int lbd) {
+		conflictsSinceRestart++;
+	}
+
+	@Override
+	public boolean shouldRestart() {
+		return conflictsSinceRestart >= conflictLimit;
+	}
+
+	@Override
+	public void restarted() {
+		numberOfRestarts++;
+		conflictsSinceRestart = 0;
+		conflictLimit = unit * luby(numberOfRestarts + 1);
+	}
+}
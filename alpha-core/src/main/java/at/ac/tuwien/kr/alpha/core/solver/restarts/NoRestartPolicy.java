@@ -0,0 +1,22 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+/**
+ * A {@link RestartPolicy} that never restarts.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class NoRestartPolicy implements RestartPolicy {
+
+	@Override
+	public void conflictAnalyzed(int lbd) {
+	}
+
+	@Override
+	public boolean shouldRestart() {
+		return false;
+	}
+
+	@Override
+	public void restarted() {
+	}
+}
@@ -0,0 +1,26 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+/**
+ * Decides when the solver restarts its search, i.e., backjumps to decision level 0 while keeping learned nogoods and
+ * heuristic activities.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public interface RestartPolicy {
+
+	/**
+	 * Informs the policy about a conflict from which a nogood of the given LBD was learned.
+	 * @param lbd the LBD of the learned nogood, or {@link at.ac.tuwien.kr.alpha.core.solver.NoGoodStore#LBD_NO_VALUE}.
+	 */
+	void conflictAnalyzed(int lbd);
+
+	/**
+	 * @return true iff the solver should restart now.
+	 */
+	boolean shouldRestart();
+
+	/**
+	 * Informs the policy that the solver did restart.
+	 */
+	void restarted();
+}
@@ -0,0 +1,23 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+import at.ac.tuwien.kr.alpha.api.config.RestartStrategy;
+
+/**
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public final class RestartPolicyFactory {
+
+	public static RestartPolicy getInstance(RestartStrategy restartStrategy) {
+		switch (restartStrategy) {
+			case NONE:
+				return new NoRestartPolicy();
+			case LUBY:
+				return new LubyRestartPolicy();
+			case GEOMETRIC:
+				return new GeometricRestartPolicy();
+			case GLUCOSE:
+				return new GlucoseRestartPolicy();
+		}
+		throw new IllegalArgumentException("Unknown restart strategy requested: " + restartStrategy);
+	}
+}
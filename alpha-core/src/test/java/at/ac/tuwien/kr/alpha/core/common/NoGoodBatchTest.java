@@ -0,0 +1,40 @@
+package at.ac.tuwien.kr.alpha.core.common;
+
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link NoGoodBatch}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class NoGoodBatchTest {
+
+	@Test
+	public void keepsNoGoodsInOrderAcrossGrowingAndClearing() {
+		NoGoodBatch batch = new NoGoodBatch();
+		List<NoGood> view = batch.getNoGoods();
+		for (int id = 0; id < 100; id++) {
+			batch.add(2 * id, new NoGood(atomToLiteral(id + 1)));
+		}
+		assertEquals(100, batch.size());
+		assertEquals(100, view.size());
+		assertEquals(84, batch.getId(42));
+		assertEquals(new NoGood(atomToLiteral(43)), view.get(42));
+
+		batch.clear();
+		assertTrue(batch.isEmpty());
+		assertTrue(view.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> batch.getNoGood(0));
+
+		batch.add(7, new NoGood(atomToLiteral(1), atomToLiteral(2, false)));
+		assertEquals(Collections.singleton(7), batch.toMap().keySet());
+	}
+}
@@ -0,0 +1,89 @@
+package at.ac.tuwien.kr.alpha.core.externals;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.api.common.fixedinterpretations.PredicateInterpretation;
+import at.ac.tuwien.kr.alpha.api.externals.Predicate;
+import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
+
+/**
+ * Tests {@link Externals#processPredicateMethod(Method)}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class ExternalsTest {
+
+	private static final AtomicInteger PURE_CALLS = new AtomicInteger();
+	private static final AtomicInteger IMPURE_CALLS = new AtomicInteger();
+
+	@Predicate(pure = true)
+	public static Set<List<ConstantTerm<Integer>>> pureSuccessor(int value) {
+		PURE_CALLS.incrementAndGet();
+		return Collections.singleton(Collections.singletonList(Terms.newConstant(value + 1)));
+	}
+
+	@Predicate
+	public static boolean impureIsEven(int value) {
+		IMPURE_CALLS.incrementAndGet();
+		return value % 2 == 0;
+	}
+
+	@Predicate
+	public static boolean isSumOfFour(long sum, int a, Integer b, int c, long d) {
+		return sum == a + b + c + d;
+	}
+
+	private static PredicateInterpretation interpretationOf(String methodName) {
+		for (Method method : ExternalsTest.class.getMethods()) {
+			if (method.getName().equals(methodName)) {
+				return Externals.processPredicateMethod(method);
+			}
+		}
+		throw new IllegalArgumentException("No method " + methodName + ".");
+	}
+
+	@Test
+	public void pureMethodIsCalledOncePerArguments() {
+		PredicateInterpretation successor = interpretationOf("pureSuccessor");
+		int callsBefore = PURE_CALLS.get();
+		for (int i = 0; i < 3; i++) {
+			assertEquals(Collections.singleton(Collections.singletonList(Terms.newConstant(2))), successor.evaluate(Collections.<Term>singletonList(Terms.newConstant(1))));
+			assertEquals(Collections.singleton(Collections.singletonList(Terms.newConstant(3))), successor.evaluate(Collections.<Term>singletonList(Terms.newConstant(2))));
+		}
+		assertEquals(callsBefore + 2, PURE_CALLS.get());
+	}
+
+	@Test
+	public void impureMethodIsCalledOnEveryEvaluation() {
+		PredicateInterpretation isEven = interpretationOf("impureIsEven");
+		int callsBefore = IMPURE_CALLS.get();
+		for (int i = 0; i < 3; i++) {
+			assertEquals(PredicateInterpretation.TRUE, isEven.evaluate(Collections.<Term>singletonList(Terms.newConstant(4))));
+			assertEquals(PredicateInterpretation.FALSE, isEven.evaluate(Collections.<Term>singletonList(Terms.newConstant(5))));
+		}
+		assertEquals(callsBefore + 6, IMPURE_CALLS.get());
+	}
+
+	@Test
+	public void methodWithManyPrimitiveParameters() {
+		PredicateInterpretation isSumOfFour = interpretationOf("isSumOfFour");
+		List<Term> summands = Arrays.asList(Terms.newConstant(1), Terms.newConstant(2), Terms.newConstant(3));
+		assertEquals(PredicateInterpretation.TRUE, isSumOfFour.evaluate(Arrays.asList(Terms.newConstant(10L), summands.get(0), summands.get(1), summands.get(2), Terms.newConstant(4L))));
+		assertEquals(PredicateInterpretation.FALSE, isSumOfFour.evaluate(Arrays.asList(Terms.newConstant(11L), summands.get(0), summands.get(1), summands.get(2), Terms.newConstant(4L))));
+		// An integer is not passed for a long parameter.
+		assertThrows(IllegalArgumentException.class,
+			() -> isSumOfFour.evaluate(Arrays.asList(Terms.newConstant(10L), summands.get(0), summands.get(1), summands.get(2), Terms.newConstant(4))));
+	}
+}
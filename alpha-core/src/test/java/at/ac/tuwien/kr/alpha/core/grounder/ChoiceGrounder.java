@@ -34,6 +34,7 @@
 import static java.util.Arrays.asList;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -196,7 +197,9 @@ public void updateAssignment(IntIterator it) {
 	}
 
 	@Override
-	public void forgetAssignment(int[] atomIds) {
+	public void forgetAtoms(BitSet atoms) {
+		// All atoms occur in the fixed nogoods of this test grounder, hence none is released.
+		atoms.clear();
 	}
 
 	private int solverDerivedNoGoodIdCounter = 20;
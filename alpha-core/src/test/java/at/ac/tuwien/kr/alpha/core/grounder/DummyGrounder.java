@@ -35,6 +35,7 @@
 import static java.util.Collections.singletonList;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -110,10 +111,12 @@ public DummyGrounder(AtomStore atomStore, java.util.function.Predicate<Predicate
 	}
 
 	@Override
-	public void forgetAssignment(int[] atomIds) {
-		for (int atomId : atomIds) {
+	public void forgetAtoms(BitSet atoms) {
+		for (int atomId = atoms.nextSetBit(0); atomId >= 0; atomId = atoms.nextSetBit(atomId + 1)) {
 			currentTruthValues[atomId] = -1;
 		}
+		// All atoms occur in the fixed nogoods of this test grounder, hence none is released.
+		atoms.clear();
 	}
 
 	private int solverDerivedNoGoodIdCounter = 20;
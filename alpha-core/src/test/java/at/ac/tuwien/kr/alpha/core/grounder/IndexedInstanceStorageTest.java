@@ -29,15 +29,23 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.terms.ConstantTerm;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
 import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
 import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
 import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
 
@@ -97,4 +105,139 @@ public void testIndexedInstanceStorage() {
 		assertEquals(matching1.size(), 0);
 	}
 
+	@Test
+	public void testInstancesFromPartiallyGroundAtomUseCompositeIndex() {
+		IndexedInstanceStorage storage = new IndexedInstanceStorage(Predicates.getPredicate("p", 3), true);
+		ConstantTerm<String> t1 = Terms.newConstant("1");
+		ConstantTerm<String> t2 = Terms.newConstant("2");
+		ConstantTerm<String> t3 = Terms.newConstant("3");
+		VariableTerm x = Terms.newVariable("X");
+
+		storage.addInstance(new Instance(t1, t2, t3));
+		storage.addInstance(new Instance(t1, t3, t3));
+
+		// The index on positions 0 and 2 is created here and maintained afterwards.
+		List<Instance> matching = storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), t1, x, t3));
+		assertEquals(2, matching.size());
+
+		storage.addInstance(new Instance(t1, t1, t2));
+		storage.addInstance(new Instance(t2, t1, t3));
+		matching = storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), t1, x, t3));
+		assertEquals(2, matching.size());
+		assertTrue(matching.contains(new Instance(t1, t2, t3)));
+		assertTrue(matching.contains(new Instance(t1, t3, t3)));
+
+		storage.markRecentlyAddedInstancesDone();
+		storage.removeInstance(new Instance(t1, t2, t3));
+		matching = storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), t1, x, t3));
+		assertEquals(1, matching.size());
+		assertTrue(storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), t3, x, t3)).isEmpty());
+	}
+
+	@Test
+	public void testLookupOfUnknownTermsDoesNotGrowTermDictionary() {
+		TermDictionary termDictionary = new TermDictionary();
+		IndexedInstanceStorage storage = new IndexedInstanceStorage(Predicates.getPredicate("p", 3), true, termDictionary);
+		ConstantTerm<String> t1 = Terms.newConstant("1");
+		ConstantTerm<String> t2 = Terms.newConstant("2");
+		ConstantTerm<String> unknown = Terms.newConstant("unknown");
+		VariableTerm x = Terms.newVariable("X");
+
+		storage.addInstance(new Instance(t1, t2, t2));
+		assertEquals(1, storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), t1, x, t2)).size());
+		assertEquals(2, termDictionary.size());
+		assertTrue(storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), unknown, x, t2)).isEmpty());
+		assertTrue(storage.getInstancesMatchingAtPosition(unknown, 1).isEmpty());
+		assertEquals(2, termDictionary.size());
+		assertEquals(TermDictionary.NOT_ENCODED, termDictionary.lookup(unknown));
+		assertEquals(t2, termDictionary.decode(termDictionary.lookup(t2)));
+	}
+
+	@Test
+	public void testRemovedInstancesAreNotFoundAndRowsAreReused() {
+		IndexedInstanceStorage storage = new IndexedInstanceStorage(Predicates.getPredicate("p", 2), true);
+		VariableTerm x = Terms.newVariable("X");
+		for (int i = 0; i < 100; i++) {
+			storage.addInstance(new Instance(Terms.newConstant(i % 10), Terms.newConstant(i)));
+		}
+		// Adding an instance twice has no effect.
+		storage.addInstance(new Instance(Terms.newConstant(3), Terms.newConstant(3)));
+		assertEquals(100, storage.size());
+		assertEquals(10, storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), Terms.newConstant(3), x)).size());
+		storage.markRecentlyAddedInstancesDone();
+
+		for (int i = 0; i < 100; i += 2) {
+			storage.removeInstance(new Instance(Terms.newConstant(i % 10), Terms.newConstant(i)));
+		}
+		assertEquals(50, storage.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i % 2 == 1, storage.containsInstance(new Instance(Terms.newConstant(i % 10), Terms.newConstant(i))));
+		}
+		assertTrue(storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), Terms.newConstant(4), x)).isEmpty());
+
+		storage.addInstance(new Instance(Terms.newConstant(4), Terms.newConstant(100)));
+		assertEquals(51, storage.size());
+		List<Instance> matching = storage.getInstancesFromPartiallyGroundAtom(Atoms.newBasicAtom(storage.getPredicate(), Terms.newConstant(4), x));
+		assertEquals(1, matching.size());
+		assertTrue(matching.contains(new Instance(Terms.newConstant(4), Terms.newConstant(100))));
+		assertEquals(51, storage.getAllInstances().size());
+	}
+
+	/**
+	 * Asserts that the given rows are those of all instances in the storage, sorted by the IDs at the given positions.
+	 */
+	private static void assertSortedRowsOfAllInstances(IndexedInstanceStorage storage, int[] sortedRows, int[] positionOrder) {
+		Set<Instance> instances = new HashSet<>();
+		for (int i = 0; i < sortedRows.length; i++) {
+			List<Term> terms = new ArrayList<>();
+			for (int position = 0; position < storage.getPredicate().getArity(); position++) {
+				terms.add(storage.getTermDictionary().decode(storage.getTermId(sortedRows[i], position)));
+			}
+			instances.add(new Instance(terms));
+			if (i > 0) {
+				for (int position : positionOrder) {
+					int previous = storage.getTermId(sortedRows[i - 1], position);
+					int current = storage.getTermId(sortedRows[i], position);
+					assertTrue(previous <= current);
+					if (previous < current) {
+						break;
+					}
+				}
+			}
+		}
+		assertEquals(sortedRows.length, instances.size());
+		assertEquals(storage.getAllInstances(), instances);
+	}
+
+	@Test
+	public void testSortedRowsAreUpdatedIncrementally() {
+		WorkingMemory workingMemory = new WorkingMemory();
+		Predicate edge = Predicates.getPredicate("edge", 2);
+		Predicate node = Predicates.getPredicate("node", 1);
+		workingMemory.initialize(edge);
+		workingMemory.initialize(node);
+		IndexedInstanceStorage edges = workingMemory.get(edge, true);
+		int[] positionOrder = {1, 0};
+		for (int i = 0; i < 50; i++) {
+			workingMemory.addInstance(edge, true, new Instance(Terms.newConstant(i), Terms.newConstant((i * 7) % 11)));
+		}
+		int[] sorted = edges.getRowsSortedBy(positionOrder);
+		assertSortedRowsOfAllInstances(edges, sorted, positionOrder);
+
+		// A lazy grounding round that only modifies another storage does not re-sort this one.
+		workingMemory.addInstance(node, true, new Instance(Terms.newConstant(1)));
+		assertSame(sorted, edges.getRowsSortedBy(positionOrder));
+
+		// Added rows are merged in, removed ones dropped, also if a removed row is reused by an added instance.
+		edges.markRecentlyAddedInstancesDone();
+		edges.removeInstance(new Instance(Terms.newConstant(3), Terms.newConstant(10)));
+		edges.removeInstance(new Instance(Terms.newConstant(4), Terms.newConstant(6)));
+		workingMemory.addInstance(edge, true, new Instance(Terms.newConstant(3), Terms.newConstant(0)));
+		workingMemory.addInstance(edge, true, new Instance(Terms.newConstant(100), Terms.newConstant(5)));
+		sorted = edges.getRowsSortedBy(positionOrder);
+		assertEquals(50, sorted.length);
+		assertSortedRowsOfAllInstances(edges, sorted, positionOrder);
+		assertSame(sorted, edges.getRowsSortedBy(positionOrder));
+	}
+
 }
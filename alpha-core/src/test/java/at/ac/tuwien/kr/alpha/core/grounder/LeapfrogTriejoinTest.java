@@ -0,0 +1,94 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.api.grounder.Substitution;
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
+import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.api.programs.terms.VariableTerm;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
+import at.ac.tuwien.kr.alpha.commons.programs.literals.Literals;
+import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
+import at.ac.tuwien.kr.alpha.commons.substitutions.BasicSubstitution;
+import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
+
+/**
+ * Tests {@link LeapfrogTriejoin}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class LeapfrogTriejoinTest {
+	private static final Predicate EDGE = Predicates.getPredicate("e", 2);
+	private static final VariableTerm X = Terms.newVariable("X");
+	private static final VariableTerm Y = Terms.newVariable("Y");
+	private static final VariableTerm Z = Terms.newVariable("Z");
+
+	private WorkingMemory workingMemory;
+
+	@BeforeEach
+	public void setUp() {
+		workingMemory = new WorkingMemory();
+		workingMemory.initialize(EDGE);
+		int[][] edges = {{1, 2}, {2, 3}, {3, 1}, {1, 3}, {3, 4}};
+		for (int[] edge : edges) {
+			workingMemory.addInstance(EDGE, true, new Instance(Terms.newConstant(edge[0]), Terms.newConstant(edge[1])));
+		}
+	}
+
+	private static Literal edge(VariableTerm from, VariableTerm to) {
+		return Literals.fromAtom(Atoms.newBasicAtom(EDGE, from, to), true);
+	}
+
+	private static Set<Instance> valuesOf(List<Substitution> substitutions) {
+		Set<Instance> values = new HashSet<>();
+		for (Substitution substitution : substitutions) {
+			values.add(new Instance(substitution.eval(X), substitution.eval(Y), substitution.eval(Z)));
+		}
+		return values;
+	}
+
+	private static Instance triangle(int x, int y, int z) {
+		return new Instance(Terms.newConstant(x), Terms.newConstant(y), Terms.newConstant(z));
+	}
+
+	@Test
+	public void joinsTriangles() {
+		LeapfrogTriejoin triejoin = new LeapfrogTriejoin(Arrays.asList(edge(X, Y), edge(Y, Z), edge(Z, X)), Collections.emptySet());
+		List<Substitution> substitutions = triejoin.join(workingMemory, new BasicSubstitution());
+		assertEquals(3, substitutions.size());
+		assertEquals(new HashSet<>(Arrays.asList(triangle(1, 2, 3), triangle(2, 3, 1), triangle(3, 1, 2))), valuesOf(substitutions));
+	}
+
+	@Test
+	public void joinsTrianglesExtendingPartialSubstitution() {
+		LeapfrogTriejoin triejoin = new LeapfrogTriejoin(Arrays.asList(edge(Y, Z), edge(Z, X)), new HashSet<>(Arrays.asList(X, Y)));
+		Substitution partialSubstitution = new BasicSubstitution();
+		partialSubstitution.put(X, Terms.newConstant(1));
+		partialSubstitution.put(Y, Terms.newConstant(2));
+		assertEquals(Collections.singleton(triangle(1, 2, 3)), valuesOf(triejoin.join(workingMemory, partialSubstitution)));
+
+		partialSubstitution = new BasicSubstitution();
+		partialSubstitution.put(X, Terms.newConstant(1));
+		partialSubstitution.put(Y, Terms.newConstant(3));
+		assertTrue(triejoin.join(workingMemory, partialSubstitution).isEmpty());
+	}
+
+	@Test
+	public void cyclicityOfPositiveBodies() {
+		assertTrue(LeapfrogTriejoin.isCyclic(Arrays.asList(edge(X, Y), edge(Y, Z), edge(Z, X))));
+		assertFalse(LeapfrogTriejoin.isCyclic(Arrays.asList(edge(X, Y), edge(Y, Z))));
+		assertFalse(LeapfrogTriejoin.isCyclic(Collections.singletonList(edge(X, Y))));
+	}
+}
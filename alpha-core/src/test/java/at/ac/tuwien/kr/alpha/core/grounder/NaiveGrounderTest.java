@@ -27,10 +27,12 @@
 
 import static at.ac.tuwien.kr.alpha.core.test.util.TestUtils.atom;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -224,7 +226,7 @@ private void testDeadEnd(String predicateNameOfStartingLiteral, RuleGroundingOrd
 		CompiledRule nonGroundRule = grounder.getNonGroundRule(0);
 		String strLiteral = "p1".equals(predicateNameOfStartingLiteral) ? "p1(X)" : "p1(Y)";
 		final Literal startingLiteral = PROGRAM_PART_PARSER.parseLiteral(strLiteral);
-		((RuleGroundingInfoImpl) nonGroundRule.getGroundingInfo()).groundingOrders.put(startingLiteral, groundingOrder);
+		((RuleGroundingInfoImpl) grounder.groundingInfoOf(nonGroundRule)).groundingOrders.put(startingLiteral, groundingOrder);
 
 		grounder.bootstrap();
 		TrailAssignment currentAssignment = new TrailAssignment(atomStore);
@@ -269,6 +271,84 @@ public void testGroundingOfRuleNotSwitchedOffByFalseNegativeBody() {
 		testIfGrounderGroundsRule(program, 0, litAX, 1, ThriceTruth.FALSE, true);
 	}
 
+	/**
+	 * Asserts that an atom forgotten by {@link NaiveGrounder#forgetAtoms(BitSet)} is dropped from the working memory, such
+	 * that rules joining it as a non-ground literal are only grounded once it is reported as assigned again.
+	 */
+	@Test
+	public void forgottenAtomIsJoinedAgainOnlyAfterBeingAssignedAgain() {
+		ASPCore2Program program = PROGRAM_PARSER.parse("p(1) :- not q. "
+				+ "q :- not p(1). "
+				+ "s(1) :- not t. "
+				+ "t :- not s(1). "
+				+ "r(X, Y) :- p(X), s(Y). ");
+		CompiledProgram internalPrg = InternalProgram.fromNormalProgram(NORMALIZE_TRANSFORM.apply(program));
+		AtomStore atomStore = new AtomStoreImpl();
+		TrailAssignment currentAssignment = new TrailAssignment(atomStore);
+		NaiveGrounder grounder = (NaiveGrounder) GrounderFactory.getInstance("naive", internalPrg, atomStore, true);
+		grounder.getNoGoods(currentAssignment);
+		int p1 = atomStore.get(atom("p", 1));
+		int s1 = atomStore.get(atom("s", 1));
+		currentAssignment.growForMaxAtomId();
+
+		addAtomsToWorkingMemoryWithoutChangingTheAssignment(atomStore, grounder, new int[] {p1});
+		grounder.getNoGoods(currentAssignment);
+		final BitSet forgottenAtoms = new BitSet();
+		forgottenAtoms.set(p1);
+		grounder.forgetAtoms(forgottenAtoms);
+		// The ground rule of p(1) is kept, hence p(1) is not released.
+		assertTrue(forgottenAtoms.isEmpty());
+
+		assign(currentAssignment, new int[] {p1, s1}, new ThriceTruth[] {ThriceTruth.TRUE, ThriceTruth.TRUE});
+		addAtomsToWorkingMemoryWithoutChangingTheAssignment(atomStore, grounder, new int[] {s1});
+		grounder.getNoGoods(currentAssignment);
+		assertFalse(atomStore.contains(atom("r", 1, 1)));
+
+		addAtomsToWorkingMemoryWithoutChangingTheAssignment(atomStore, grounder, new int[] {p1});
+		grounder.getNoGoods(currentAssignment);
+		assertTrue(atomStore.contains(atom("r", 1, 1)));
+	}
+
+	/**
+	 * Asserts that a ground rule whose starting literal got forgotten is dropped together with the atoms occurring in it
+	 * only, and that it is derived again with reused atom IDs once the starting literal is assigned again.
+	 */
+	@Test
+	public void droppedGroundRuleIsDerivedAgainWithReleasedAtomIds() {
+		ASPCore2Program program = PROGRAM_PARSER.parse("p(1) :- not q. "
+				+ "q :- not p(1). "
+				+ "s(1) :- not t. "
+				+ "t :- not s(1). "
+				+ "r(X, Y) :- p(X), s(Y). ");
+		CompiledProgram internalPrg = InternalProgram.fromNormalProgram(NORMALIZE_TRANSFORM.apply(program));
+		AtomStore atomStore = new AtomStoreImpl();
+		TrailAssignment currentAssignment = new TrailAssignment(atomStore);
+		NaiveGrounder grounder = (NaiveGrounder) GrounderFactory.getInstance("naive", internalPrg, atomStore, true);
+		grounder.getNoGoods(currentAssignment);
+		int p1 = atomStore.get(atom("p", 1));
+		int s1 = atomStore.get(atom("s", 1));
+		assign(currentAssignment, new int[] {p1, s1}, new ThriceTruth[] {ThriceTruth.TRUE, ThriceTruth.TRUE});
+		grounder.updateAssignment(currentAssignment.getNewPositiveAssignmentsIterator());
+		grounder.getNoGoods(currentAssignment);
+		int r11 = atomStore.get(atom("r", 1, 1));
+
+		// Forget all atoms except s(1), only the ground rule of r(1, 1) is dropped.
+		final BitSet forgottenAtoms = new BitSet();
+		forgottenAtoms.set(1, atomStore.getMaxAtomId() + 1);
+		forgottenAtoms.clear(s1);
+		grounder.forgetAtoms(forgottenAtoms);
+		assertFalse(atomStore.contains(atom("r", 1, 1)));
+		assertTrue(atomStore.contains(atom("p", 1)));
+		assertTrue(forgottenAtoms.get(r11));
+		assertEquals(2, forgottenAtoms.cardinality());
+
+		addAtomsToWorkingMemoryWithoutChangingTheAssignment(atomStore, grounder, new int[] {p1});
+		Map<Integer, NoGood> noGoods = grounder.getNoGoods(currentAssignment);
+		int newR11 = atomStore.get(atom("r", 1, 1));
+		assertTrue(forgottenAtoms.get(newR11));
+		assertExistsNoGoodContaining(noGoods.values(), Literals.atomToLiteral(newR11));
+	}
+
 	/**
 	 * Tests if {@link NaiveGrounder#getGroundInstantiations(InternalRule, RuleGroundingOrder, Substitution, Assignment)}
 	 * produces ground instantiations for the rule with ID {@code ruleID} in {@code program} when {@code startingLiteral}
@@ -292,7 +372,7 @@ private void testIfGrounderGroundsRule(ASPCore2Program program, int ruleID, Lite
 		final CompiledRule nonGroundRule = grounder.getNonGroundRule(ruleID);
 		final Substitution substStartingLiteral = BasicSubstitution.specializeSubstitution(startingLiteral, new Instance(Terms.newConstant(startingInstance)),
 				BasicSubstitution.EMPTY_SUBSTITUTION);
-		final BindingResult bindingResult = grounder.getGroundInstantiations(nonGroundRule, nonGroundRule.getGroundingInfo().orderStartingFrom(startingLiteral),
+		final BindingResult bindingResult = grounder.getGroundInstantiations(nonGroundRule, grounder.groundingInfoOf(nonGroundRule).orderStartingFrom(startingLiteral),
 				substStartingLiteral, currentAssignment);
 		assertEquals(expectNoGoods, bindingResult.size() > 0);
 	}
@@ -409,7 +489,7 @@ private void testPermissiveGrounderHeuristicTolerance(ASPCore2Program program, i
 		final CompiledRule nonGroundRule = grounder.getNonGroundRule(ruleID);
 		final Substitution substStartingLiteral = BasicSubstitution.specializeSubstitution(startingLiteral, new Instance(Terms.newConstant(startingInstance)),
 				BasicSubstitution.EMPTY_SUBSTITUTION);
-		final BindingResult bindingResult = grounder.getGroundInstantiations(nonGroundRule, nonGroundRule.getGroundingInfo().orderStartingFrom(startingLiteral),
+		final BindingResult bindingResult = grounder.getGroundInstantiations(nonGroundRule, grounder.groundingInfoOf(nonGroundRule).orderStartingFrom(startingLiteral),
 				substStartingLiteral, currentAssignment);
 		assertEquals(expectNoGoods, bindingResult.size() > 0);
 		if (bindingResult.size() > 0) {
@@ -0,0 +1,53 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.common.NoGoodBatch;
+
+/**
+ * Tests {@link NogoodRegistry}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class NogoodRegistryTest {
+
+	@Test
+	public void equalNoGoodsGetTheSameId() {
+		NogoodRegistry registry = new NogoodRegistry();
+		int id = registry.register(new NoGood(atomToLiteral(1), atomToLiteral(2, false)));
+		assertEquals(id, registry.register(new NoGood(atomToLiteral(2, false), atomToLiteral(1))));
+		assertNotEquals(id, registry.register(new NoGood(atomToLiteral(1), atomToLiteral(2))));
+	}
+
+	@Test
+	public void headDistinguishesNoGoods() {
+		NogoodRegistry registry = new NogoodRegistry();
+		int withHead = registry.register(NoGood.headFirst(atomToLiteral(1, false), atomToLiteral(2)));
+		int withoutHead = registry.register(new NoGood(atomToLiteral(1, false), atomToLiteral(2)));
+		assertNotEquals(withHead, withoutHead);
+		assertEquals(withHead, registry.register(NoGood.headFirst(atomToLiteral(1, false), atomToLiteral(2))));
+	}
+
+	@Test
+	public void onlyNewNoGoodsAreReportedAfterGrowing() {
+		NogoodRegistry registry = new NogoodRegistry();
+		NoGoodBatch difference = new NoGoodBatch();
+		for (int atom = 1; atom <= 1000; atom++) {
+			registry.register(Arrays.asList(new NoGood(atomToLiteral(atom), atomToLiteral(atom + 1, false))), difference);
+		}
+		assertEquals(1000, difference.size());
+		assertEquals(2.0f, registry.computeAverageNoGoodLength());
+
+		difference.clear();
+		registry.register(Arrays.asList(new NoGood(atomToLiteral(500), atomToLiteral(501, false)), new NoGood(atomToLiteral(1), atomToLiteral(3))), difference);
+		assertEquals(1, difference.size());
+		assertEquals(1000, difference.getId(0));
+	}
+}
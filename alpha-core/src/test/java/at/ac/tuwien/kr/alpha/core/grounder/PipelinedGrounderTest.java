@@ -0,0 +1,113 @@
+package at.ac.tuwien.kr.alpha.core.grounder;
+
+import static at.ac.tuwien.kr.alpha.core.test.util.TestUtils.assertAnswerSetsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.api.AnswerSet;
+import at.ac.tuwien.kr.alpha.api.Solver;
+import at.ac.tuwien.kr.alpha.api.config.GrounderHeuristicsConfiguration;
+import at.ac.tuwien.kr.alpha.api.config.InputConfig;
+import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
+import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
+import at.ac.tuwien.kr.alpha.core.programs.transformation.NormalizeProgramTransformation;
+import at.ac.tuwien.kr.alpha.core.solver.SolverFactory;
+
+/**
+ * Tests {@link PipelinedGrounder} by comparing the answer sets found with and without pipelined grounding.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class PipelinedGrounderTest {
+
+	private static Set<AnswerSet> solve(String program, boolean pipelineGrounding) {
+		return solve(program, pipelineGrounding, new GrounderHeuristicsConfiguration());
+	}
+
+	private static Set<AnswerSet> solve(String program, boolean pipelineGrounding, GrounderHeuristicsConfiguration heuristicsConfiguration) {
+		return solve(program, pipelineGrounding, heuristicsConfiguration, SystemConfig.DEFAULT_SOLVER_NAME);
+	}
+
+	private static Set<AnswerSet> solve(String program, boolean pipelineGrounding, GrounderHeuristicsConfiguration heuristicsConfiguration,
+			String solverName) {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setSolverName(solverName);
+		cfg.setPortfolioSize(2);
+		cfg.setPipelineGrounding(pipelineGrounding);
+		cfg.setDebugInternalChecks(true);
+		cfg.setSeed(0);
+		InternalProgram internalProgram = InternalProgram.fromNormalProgram(
+				new NormalizeProgramTransformation(cfg.getAggregateRewritingConfig()).apply(new ProgramParserImpl().parse(program)));
+		Solver solver = SolverFactory.getInstance(cfg, atomStore -> GrounderFactory.getInstance(cfg.getGrounderName(), internalProgram, atomStore,
+				InputConfig.DEFAULT_FILTER, heuristicsConfiguration, false));
+		return new HashSet<>(solver.collectList());
+	}
+
+	@Test
+	public void findsTheSameAnswerSets() {
+		String program = "a :- not b. b :- not a. c :- not d. d :- not c. e :- a, c.";
+		Set<AnswerSet> answerSets = solve(program, true);
+		assertAnswerSetsEqual(new String[] {"a, c, e", "a, d", "b, c", "b, d"}, answerSets);
+	}
+
+	@Test
+	public void findsTheSameAnswerSetsForGraphColoring() {
+		String program = "node(1..9). edge(X, Y) :- node(X), node(Y), Y = X + 1. edge(X, Y) :- node(X), node(Y), Y = X + 3. "
+				+ "red(X) :- node(X), not green(X), not blue(X). "
+				+ "green(X) :- node(X), not red(X), not blue(X). "
+				+ "blue(X) :- node(X), not red(X), not green(X). "
+				+ ":- edge(X, Y), red(X), red(Y). :- edge(X, Y), green(X), green(Y). :- edge(X, Y), blue(X), blue(Y). "
+				+ "reach(X) :- red(X). reach(Y) :- reach(X), edge(X, Y), blue(Y).";
+		Set<AnswerSet> answerSets = solve(program, true);
+		assertEquals(solve(program, false), answerSets);
+		assertTrue(answerSets.size() > 1);
+	}
+
+	@Test
+	public void unsatisfiablePigeonHole() {
+		String program = "p(1..5). h(1..4). "
+				+ "{ in(P, H) : h(H) } :- p(P). "
+				+ "assigned(P) :- in(P, H). "
+				+ ":- p(P), not assigned(P). "
+				+ ":- in(P, H1), in(P, H2), H1 != H2. "
+				+ ":- in(P1, H), in(P2, H), P1 != P2.";
+		assertTrue(solve(program, true).isEmpty());
+	}
+
+	@Test
+	public void findsTheSameAnswerSetsWithPermissiveGrounderAndAccumulator() {
+		// Non-strict tolerances make the grounder look up the truth values of atoms not in the working memory, and the
+		// accumulator keeps atoms in working memory that are no longer true in the mirrored truth values.
+		String program = "node(1..6). edge(X, Y) :- node(X), node(Y), Y = X + 1. edge(6, 1). "
+				+ "in(X) :- node(X), not out(X). out(X) :- node(X), not in(X). "
+				+ ":- edge(X, Y), in(X), in(Y). "
+				+ "covered(Y) :- edge(X, Y), in(X). covered(X) :- in(X). "
+				+ ":- node(X), not covered(X).";
+		for (GrounderHeuristicsConfiguration heuristicsConfiguration : new GrounderHeuristicsConfiguration[] {
+				GrounderHeuristicsConfiguration.getInstance("1", "2"), GrounderHeuristicsConfiguration.permissive()}) {
+			heuristicsConfiguration.setAccumulatorEnabled(true);
+			Set<AnswerSet> answerSets = solve(program, true, heuristicsConfiguration);
+			assertEquals(solve(program, false, new GrounderHeuristicsConfiguration()), answerSets);
+			assertTrue(answerSets.size() > 1);
+		}
+	}
+
+	@Test
+	public void findsTheSameAnswerSetsWithPortfolioSolver() {
+		String program = "a :- not b. b :- not a. c :- not d. d :- not c. e :- a, c.";
+		Set<AnswerSet> answerSets = solve(program, true, new GrounderHeuristicsConfiguration(), "portfolio");
+		assertAnswerSetsEqual(new String[] {"a, c, e", "a, d", "b, c", "b, d"}, answerSets);
+	}
+
+	@Test
+	public void naiveSolverIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> solve("a :- not b. b :- not a.", true, new GrounderHeuristicsConfiguration(), "naive"));
+	}
+}
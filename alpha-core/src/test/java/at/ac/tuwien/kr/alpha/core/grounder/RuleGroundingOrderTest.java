@@ -28,6 +28,7 @@
 package at.ac.tuwien.kr.alpha.core.grounder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -37,8 +38,12 @@
 import org.junit.jupiter.api.Test;
 
 import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.api.programs.Predicate;
 import at.ac.tuwien.kr.alpha.api.programs.ProgramParser;
 import at.ac.tuwien.kr.alpha.api.programs.literals.Literal;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
+import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
 import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
 import at.ac.tuwien.kr.alpha.core.parser.ProgramPartParser;
 import at.ac.tuwien.kr.alpha.core.programs.CompiledProgram;
@@ -157,6 +162,42 @@ public void testPositionFromWhichAllVarsAreBound_joinedNonGround() {
 		assertTrue(1 <= rgo0.orderStartingFrom(litDXZ).getPositionFromWhichAllVarsAreBound());
 	}
 
+	@Test
+	public void groundingOrderFollowsCardinalities() {
+		String aspStr = "h(X,Y,Z) :- a(X), b(X,Y), c(X,Z).";
+		CompiledProgram internalPrg = PARSE_AND_PREPROCESS.apply(aspStr);
+		RuleGroundingInfo rgo0 = computeGroundingOrdersForRule(internalPrg, 0);
+		final Literal litAX = PROGRAM_PART_PARSER.parseLiteral("a(X)");
+		assertEquals("a(X) : b(X, Y), c(X, Z)", rgo0.orderStartingFrom(litAX).toString());
+
+		// Every instance of c(X,Z) has a different X, while all instances of b(X,Y) share the same X.
+		Predicate a = Predicates.getPredicate("a", 1);
+		Predicate b = Predicates.getPredicate("b", 2);
+		Predicate c = Predicates.getPredicate("c", 2);
+		WorkingMemory workingMemory = new WorkingMemory();
+		workingMemory.initialize(a);
+		workingMemory.initialize(b);
+		workingMemory.initialize(c);
+		// Grounding with X bound creates these indices on demand.
+		workingMemory.get(b, true).addIndexPosition(0);
+		workingMemory.get(c, true).addIndexPosition(0);
+		for (int i = 0; i < 20; i++) {
+			workingMemory.addInstance(a, true, new Instance(Terms.newConstant(i)));
+			workingMemory.addInstance(b, true, new Instance(Terms.newConstant(0), Terms.newConstant(i)));
+			workingMemory.addInstance(c, true, new Instance(Terms.newConstant(i), Terms.newConstant(i)));
+		}
+		rgo0.replanIfCardinalitiesDrifted(workingMemory);
+		assertEquals("a(X) : c(X, Z), b(X, Y)", rgo0.orderStartingFrom(litAX).toString());
+
+		// Only a moderate growth of b(X,Y) does not lead to a new grounding order.
+		for (int i = 1; i < 10; i++) {
+			workingMemory.addInstance(b, true, new Instance(Terms.newConstant(i), Terms.newConstant(0)));
+		}
+		RuleGroundingOrder previousOrder = rgo0.orderStartingFrom(litAX);
+		rgo0.replanIfCardinalitiesDrifted(workingMemory);
+		assertSame(previousOrder, rgo0.orderStartingFrom(litAX));
+	}
+
 	private RuleGroundingInfo computeGroundingOrdersForRule(CompiledProgram program, int ruleIndex) {
 		CompiledRule rule = program.getRules().get(ruleIndex);
 		RuleGroundingInfo rgo = new RuleGroundingInfoImpl(rule);
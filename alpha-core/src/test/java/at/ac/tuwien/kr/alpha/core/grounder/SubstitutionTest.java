@@ -28,6 +28,8 @@
 package at.ac.tuwien.kr.alpha.core.grounder;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.util.Arrays;
 
@@ -49,6 +51,8 @@
 import at.ac.tuwien.kr.alpha.commons.programs.literals.Literals;
 import at.ac.tuwien.kr.alpha.commons.programs.rules.Rules;
 import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
+import at.ac.tuwien.kr.alpha.commons.substitutions.ArraySubstitution;
+import at.ac.tuwien.kr.alpha.commons.substitutions.ArraySubstitution.VariableSlots;
 import at.ac.tuwien.kr.alpha.commons.substitutions.BasicSubstitution;
 import at.ac.tuwien.kr.alpha.commons.substitutions.Instance;
 import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
@@ -163,4 +167,29 @@ private void groundLiteralToString(boolean negated) {
 		String printedString = SubstitutionTestUtil.groundLiteralToString(atom.toLiteral(!negated), substitution, true);
 		assertEquals((negated ? "not " : "") + "p(a, b)", printedString);
 	}
+
+	@Test
+	public void arraySubstitutionSpecializesLikeBasicSubstitution() {
+		Substitution empty = new ArraySubstitution(VariableSlots.of(Arrays.asList(X, Y)));
+		Substitution specialized = BasicSubstitution.specializeSubstitution(PX, PA, empty);
+		assertEquals(ArraySubstitution.class, specialized.getClass());
+		assertFalse(empty.isVariableSet(X));
+		assertEquals(A, specialized.eval(X));
+		assertNull(specialized.eval(Y));
+
+		Substitution expected = new BasicSubstitution();
+		expected.put(X, A);
+		assertEquals(expected, specialized);
+		assertEquals(specialized, expected);
+		assertEquals(expected.hashCode(), specialized.hashCode());
+		assertEquals(expected.toString(), specialized.toString());
+
+		// Variables without slot can be bound nonetheless.
+		VariableTerm z = Terms.newVariable("Z");
+		Substitution extended = BasicSubstitution.copyOf(specialized);
+		extended.put(z, B);
+		assertEquals(B, extended.eval(z));
+		assertEquals(A, extended.eval(X));
+		assertNull(specialized.eval(z));
+	}
 }
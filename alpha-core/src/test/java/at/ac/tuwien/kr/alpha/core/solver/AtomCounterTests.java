@@ -26,6 +26,8 @@
 package at.ac.tuwien.kr.alpha.core.solver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
@@ -98,6 +100,24 @@ public void testGetStatsByType() {
 		expectGetStatsByType(atomCounter, "RuleAtom", 1);
 	}
 
+	@Test
+	public void testReleasedAtomIsNotCountedAndItsIdIsReused() {
+		final AtomStoreImpl atomStoreImpl = (AtomStoreImpl) atomStore;
+		final AtomCounter atomCounter = atomStoreImpl.getAtomCounter();
+		createBasicAtom1();
+		createBasicAtom2();
+		final int released = atomStoreImpl.get(Atoms.newBasicAtom(Predicates.getPredicate("p", 0)));
+
+		atomStoreImpl.release(released);
+		expectGetNumberOfAtoms(atomCounter, "BasicAtomImpl", 1);
+		assertFalse(atomStoreImpl.contains(Atoms.newBasicAtom(Predicates.getPredicate("p", 0))));
+		assertNull(atomStoreImpl.get(released));
+		assertTrue(atomStoreImpl.contains(Atoms.newBasicAtom(Predicates.getPredicate("q", 1), Terms.newConstant(1))));
+		createChoiceAtom();
+		assertEquals(released, atomStoreImpl.get(ChoiceAtom.on(1)));
+		assertEquals(2, atomStoreImpl.getMaxAtomId());
+	}
+
 	private void createBasicAtom1() {
 		atomStore.putIfAbsent(Atoms.newBasicAtom(Predicates.getPredicate("p", 0)));
 	}
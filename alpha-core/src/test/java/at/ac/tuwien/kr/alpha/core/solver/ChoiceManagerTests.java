@@ -26,10 +26,19 @@
 package at.ac.tuwien.kr.alpha.core.solver;
 
 import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomOf;
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.TRUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -45,6 +54,7 @@
 import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
 import at.ac.tuwien.kr.alpha.core.programs.atoms.RuleAtom;
 import at.ac.tuwien.kr.alpha.core.programs.transformation.NormalizeProgramTransformation;
+import at.ac.tuwien.kr.alpha.core.test.util.TestUtils;
 
 public class ChoiceManagerTests {
 	private Grounder grounder;
@@ -78,6 +88,50 @@ public void testIsAtomChoice() {
 		}
 	}
 
+	@Test
+	public void activeChoicePointsInOrderOfActivationAndChoiceStack() {
+		AtomStore atomStore = new AtomStoreImpl();
+		TestUtils.fillAtomStore(atomStore, 10);
+		WritableAssignment assignment = new TrailAssignment(atomStore);
+		assignment.growForMaxAtomId();
+		NoGoodStore store = new NoGoodStoreAlphaRoaming(assignment);
+		store.growForMaxAtomId(atomStore.getMaxAtomId());
+		ChoiceManager choiceManager = new ChoiceManager(assignment, store);
+		choiceManager.growForMaxAtomId(atomStore.getMaxAtomId());
+		// Choice atoms 1 and 2 with enablers 3 and 4, disablers 5 and 6; atom 1 derives head 7.
+		Map<Integer, Integer> enablers = new HashMap<>();
+		enablers.put(1, 3);
+		enablers.put(2, 4);
+		Map<Integer, Integer> disablers = new HashMap<>();
+		disablers.put(1, 5);
+		disablers.put(2, 6);
+		choiceManager.addChoiceInformation(Pair.of(enablers, disablers), Collections.singletonMap(7, Collections.singleton(1)));
+		assertEquals(7, choiceManager.getHeadDerivedByChoiceAtom(1));
+		assertEquals(ChoiceManager.DEFAULT_CHOICE_ATOM, choiceManager.getHeadDerivedByChoiceAtom(2));
+		assertEquals(ChoiceManager.DEFAULT_CHOICE_ATOM, choiceManager.getNextActiveChoiceAtom());
+
+		assertNull(assignment.assign(4, TRUE));
+		assertNull(assignment.assign(3, TRUE));
+		assertEquals(2, choiceManager.getNextActiveChoiceAtom());
+
+		choiceManager.choose(new Choice(2, true, false));
+		assertFalse(choiceManager.isActiveChoiceAtom(2));
+		assertEquals(1, choiceManager.getNextActiveChoiceAtom());
+		choiceManager.choose(new Choice(1, false, true));
+		assertEquals(ChoiceManager.DEFAULT_CHOICE_ATOM, choiceManager.getNextActiveChoiceAtom());
+		assertEquals(new NoGood(atomToLiteral(2, true), atomToLiteral(1, false)), choiceManager.computeEnumeration());
+
+		Choice backtracked = choiceManager.backtrack();
+		assertEquals(1, backtracked.getAtom());
+		assertFalse(backtracked.getTruthValue());
+		assertTrue(backtracked.isBacktracked());
+		assertNull(assignment.getTruth(1));
+		assertEquals(1, choiceManager.getNextActiveChoiceAtom());
+		choiceManager.backjump(0);
+		assertTrue(choiceManager.isActiveChoiceAtom(1));
+		assertTrue(choiceManager.isActiveChoiceAtom(2));
+	}
+
 	private Collection<NoGood> getNoGoods() {
 		return grounder.getNoGoods(null).values();
 	}
@@ -28,6 +28,7 @@
 package at.ac.tuwien.kr.alpha.core.solver;
 
 import static at.ac.tuwien.kr.alpha.core.common.NoGoodTest.fromOldLiterals;
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -144,6 +145,77 @@ public void testDeletionReducesNumberOfLearntNoGoods() {
 
 	}
 
+	@Test
+	public void testDeletionKeepsCoreAndUsedTier2NoGoods() {
+		assertNull(store.add(4, NoGood.learnt(fromOldLiterals(10, 11, 12)), 2));
+		assertNull(store.add(5, NoGood.learnt(fromOldLiterals(10, -13, -14)), 5));
+		assertNull(store.add(6, NoGood.learnt(fromOldLiterals(20, 21, 22)), 8));
+		assertNull(store.add(7, NoGood.learnt(fromOldLiterals(20, -23, -24)), 9));
+		List<WatchedNoGood> watchedNoGoods = learnedNoGoodDeletion.inspectLearnedNoGoods();
+		WatchedNoGood core = watchedNoGoods.get(0);
+		WatchedNoGood tier2 = watchedNoGoods.get(1);
+		WatchedNoGood usedLocal = watchedNoGoods.get(2);
+		usedLocal.bumpActivity();
+		tier2.bumpActivity();
+
+		learnedNoGoodDeletion.runNoGoodDeletion();
+		watchedNoGoods = learnedNoGoodDeletion.inspectLearnedNoGoods();
+		assertEquals(3, watchedNoGoods.size());
+		assertTrue(watchedNoGoods.contains(core));
+		assertTrue(watchedNoGoods.contains(tier2));
+		assertTrue(watchedNoGoods.contains(usedLocal));
+
+		// Not used since the last run, the tier-2 NoGood now is local and is deleted as the less active one.
+		usedLocal.bumpActivity();
+		learnedNoGoodDeletion.runNoGoodDeletion();
+		watchedNoGoods = learnedNoGoodDeletion.inspectLearnedNoGoods();
+		assertEquals(2, watchedNoGoods.size());
+		assertTrue(watchedNoGoods.contains(core));
+		assertTrue(watchedNoGoods.contains(usedLocal));
+	}
+
+	@Test
+	public void testLowerLBDPromotesNoGoodToCore() {
+		assertNull(store.add(4, NoGood.learnt(fromOldLiterals(10, 11, 12)), 7));
+		WatchedNoGood learnedNoGood = learnedNoGoodDeletion.inspectLearnedNoGoods().get(0);
+		learnedNoGood.updateLBD(9);
+		assertEquals(7, learnedNoGood.getLBD());
+		learnedNoGood.updateLBD(2);
+		assertEquals(2, learnedNoGood.getLBD());
+		learnedNoGoodDeletion.runNoGoodDeletion();
+		assertTrue(learnedNoGoodDeletion.inspectLearnedNoGoods().contains(learnedNoGood));
+		assertEquals(0, learnedNoGoodDeletion.getNumberOfDeletedNoGoods());
+	}
+
+	@Test
+	public void testUsedNoGoodsWithoutLBDAreReducedByActivity() {
+		assertNull(store.add(4, NoGood.learnt(fromOldLiterals(10, 11, 12)), LBD_NO_VALUE));
+		assertNull(store.add(5, NoGood.learnt(fromOldLiterals(10, -13, -14)), LBD_NO_VALUE));
+		List<WatchedNoGood> watchedNoGoods = learnedNoGoodDeletion.inspectLearnedNoGoods();
+		WatchedNoGood moreActive = watchedNoGoods.get(0);
+		WatchedNoGood lessActive = watchedNoGoods.get(1);
+		moreActive.bumpActivity();
+		moreActive.bumpActivity();
+		lessActive.bumpActivity();
+
+		learnedNoGoodDeletion.runNoGoodDeletion();
+		watchedNoGoods = learnedNoGoodDeletion.inspectLearnedNoGoods();
+		assertEquals(1, watchedNoGoods.size());
+		assertTrue(watchedNoGoods.contains(moreActive));
+	}
+
+	@Test
+	public void testLBDIsRecordedForNoGoodAddedWithoutLBD() {
+		assertNull(store.add(4, NoGood.learnt(fromOldLiterals(10, 11, 12)), LBD_NO_VALUE));
+		WatchedNoGood learnedNoGood = learnedNoGoodDeletion.inspectLearnedNoGoods().get(0);
+		assertEquals(LBD_NO_VALUE, learnedNoGood.getLBD());
+		learnedNoGood.updateLBD(5);
+		assertEquals(5, learnedNoGood.getLBD());
+		learnedNoGood.bumpActivity();
+		learnedNoGoodDeletion.runNoGoodDeletion();
+		assertTrue(learnedNoGoodDeletion.inspectLearnedNoGoods().contains(learnedNoGood));
+	}
+
 	private Map<Type, Integer> countNoGoodsByType(NoGoodStore store) {
 		final Map<Type, Integer> counters = new HashMap<>();
 		final NoGoodCounter noGoodCounter = store.getNoGoodCounter();
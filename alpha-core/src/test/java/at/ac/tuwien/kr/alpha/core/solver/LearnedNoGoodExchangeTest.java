@@ -0,0 +1,90 @@
+package at.ac.tuwien.kr.alpha.core.solver;
+
+import static at.ac.tuwien.kr.alpha.core.programs.atoms.Literals.atomToLiteral;
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.api.programs.atoms.BasicAtom;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.ChoiceAtom;
+
+public class LearnedNoGoodExchangeTest {
+
+	private static final BasicAtom A = Atoms.newBasicAtom(Predicates.getPredicate("a", 0));
+	private static final BasicAtom B = Atoms.newBasicAtom(Predicates.getPredicate("b", 0));
+	private static final BasicAtom C = Atoms.newBasicAtom(Predicates.getPredicate("c", 0));
+
+	private AtomStore firstAtomStore;
+	private AtomStore secondAtomStore;
+	private LearnedNoGoodExchange.Participant first;
+	private LearnedNoGoodExchange.Participant second;
+
+	@BeforeEach
+	public void setUp() {
+		firstAtomStore = new AtomStoreImpl();
+		secondAtomStore = new AtomStoreImpl();
+		LearnedNoGoodExchange exchange = new LearnedNoGoodExchange(2);
+		first = exchange.getParticipant(0, firstAtomStore);
+		second = exchange.getParticipant(1, secondAtomStore);
+	}
+
+	@Test
+	public void sharedNoGoodIsTranslatedToAtomIdsOfImporter() {
+		int a1 = firstAtomStore.putIfAbsent(A);
+		int b1 = firstAtomStore.putIfAbsent(B);
+		int b2 = secondAtomStore.putIfAbsent(B);
+		int a2 = secondAtomStore.putIfAbsent(A);
+		assertTrue(first.export(NoGood.learnt(atomToLiteral(a1), atomToLiteral(b1, false)), 2));
+
+		LearnedNoGoodExchange.SharedNoGood imported = second.poll();
+		assertNotNull(imported);
+		assertEquals(NoGood.learnt(atomToLiteral(a2), atomToLiteral(b2, false)), imported.getNoGood());
+		assertEquals(2, imported.getLBD());
+		assertNull(second.poll());
+		assertNull(first.poll());
+	}
+
+	@Test
+	public void noGoodWithAtomUnknownToImporterIsDropped() {
+		int a1 = firstAtomStore.putIfAbsent(A);
+		int c1 = firstAtomStore.putIfAbsent(C);
+		secondAtomStore.putIfAbsent(A);
+		assertTrue(first.export(NoGood.learnt(atomToLiteral(a1), atomToLiteral(c1)), 1));
+		assertNull(second.poll());
+		assertEquals(0, second.getNumberOfImportedNoGoods());
+	}
+
+	@Test
+	public void longOrHighLbdNoGoodsAreNotShared() {
+		int a1 = firstAtomStore.putIfAbsent(A);
+		int b1 = firstAtomStore.putIfAbsent(B);
+		NoGood noGood = NoGood.learnt(atomToLiteral(a1), atomToLiteral(b1));
+		assertFalse(first.export(noGood, LearnedNoGoodExchange.MAX_SHARED_LBD + 1));
+		assertFalse(first.export(noGood, LBD_NO_VALUE));
+
+		int[] literals = new int[LearnedNoGoodExchange.MAX_SHARED_SIZE + 1];
+		for (int i = 0; i < literals.length; i++) {
+			literals[i] = atomToLiteral(firstAtomStore.putIfAbsent(Atoms.newBasicAtom(Predicates.getPredicate("p" + i, 0))));
+		}
+		assertFalse(first.export(NoGood.learnt(literals), 1));
+		assertEquals(0, first.getNumberOfExportedNoGoods());
+	}
+
+	@Test
+	public void noGoodsOverChoiceAtomsAreNotShared() {
+		int a1 = firstAtomStore.putIfAbsent(A);
+		int choice = firstAtomStore.putIfAbsent(ChoiceAtom.on(1));
+		assertFalse(first.export(NoGood.learnt(atomToLiteral(a1), atomToLiteral(choice)), 1));
+	}
+}
@@ -7,12 +7,15 @@
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.FALSE;
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.MBT;
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.TRUE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -623,4 +626,51 @@ public void alphaWatchNotIgnored() {
 		assertNull(store.propagate());
 		assertEquals(TRUE, assignment.getTruth(1));
 	}
+
+	@Test
+	public void removedNoGoodNoLongerPropagatesAndSlotIsReused() {
+		assertNull(store.add(1, NoGood.learnt(fromOldLiterals(1, 2, 3)), 3));
+		WatchedNoGood removed = store.getLearnedNoGoodDeletion().inspectLearnedNoGoods().get(0);
+		int removedIndex = removed.getStoreIndex();
+		store.removeFromWatches(removed);
+		assertNull(assignment.choose(1, TRUE));
+		assertNull(store.propagate());
+		assertNull(assignment.choose(2, TRUE));
+		assertNull(store.propagate());
+		assertNull(assignment.getTruth(3));
+
+		store.compactWatchLists();
+		assertNull(store.add(2, NoGood.learnt(fromOldLiterals(4, 5, 6)), 3));
+		WatchedNoGood added = store.getLearnedNoGoodDeletion().inspectLearnedNoGoods().get(1);
+		assertEquals(removedIndex, added.getStoreIndex());
+		assertNull(assignment.choose(4, TRUE));
+		assertNull(store.propagate());
+		assertNull(assignment.choose(5, TRUE));
+		assertNull(store.propagate());
+		assertEquals(FALSE, assignment.getTruth(6));
+	}
+
+	@Test
+	public void survivingNoGoodsPropagateAfterArenaCompaction() {
+		assertNull(store.add(1, NoGood.learnt(fromOldLiterals(1, 2, 3)), 3));
+		assertNull(store.add(2, NoGood.learnt(fromOldLiterals(1, 4, 5)), 3));
+		assertNull(store.add(3, NoGood.learnt(fromOldLiterals(6, 7, 8)), 3));
+		WatchedNoGood removed1 = store.getLearnedNoGoodDeletion().inspectLearnedNoGoods().get(0);
+		WatchedNoGood removed2 = store.getLearnedNoGoodDeletion().inspectLearnedNoGoods().get(1);
+		store.removeFromWatches(removed1);
+		store.removeFromWatches(removed2);
+		store.compactWatchLists();
+
+		// Removed NoGoods keep their literals.
+		assertEquals(-1, removed1.getStoreIndex());
+		int[] removedLiterals = removed2.getReasonLiterals();
+		Arrays.sort(removedLiterals);
+		assertArrayEquals(fromOldLiterals(1, 4, 5), removedLiterals);
+
+		assertNull(assignment.choose(6, TRUE));
+		assertNull(store.propagate());
+		assertNull(assignment.choose(7, TRUE));
+		assertNull(store.propagate());
+		assertEquals(FALSE, assignment.getTruth(8));
+	}
 }
@@ -0,0 +1,113 @@
+package at.ac.tuwien.kr.alpha.core.solver;
+
+import static at.ac.tuwien.kr.alpha.core.test.util.TestUtils.assertAnswerSetsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.api.AnswerSet;
+import at.ac.tuwien.kr.alpha.api.Solver;
+import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.core.grounder.GrounderFactory;
+import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
+import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
+import at.ac.tuwien.kr.alpha.core.programs.transformation.NormalizeProgramTransformation;
+
+public class PortfolioSolverTest {
+
+	private static Solver buildPortfolioSolver(String program, int portfolioSize) {
+		return buildPortfolioSolver(program, portfolioSize, false);
+	}
+
+	private static Solver buildPortfolioSolver(String program, int portfolioSize, boolean disableNoGoodSharing) {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setSolverName("portfolio");
+		cfg.setPortfolioSize(portfolioSize);
+		cfg.setDisableNoGoodSharing(disableNoGoodSharing);
+		return buildSolver(program, cfg);
+	}
+
+	private static Solver buildSolver(String program, SystemConfig cfg) {
+		cfg.setSeed(0);
+		InternalProgram internalProgram = InternalProgram.fromNormalProgram(
+				new NormalizeProgramTransformation(cfg.getAggregateRewritingConfig()).apply(new ProgramParserImpl().parse(program)));
+		return SolverFactory.getInstance(cfg, atomStore -> GrounderFactory.getInstance(cfg.getGrounderName(), internalProgram, atomStore, false));
+	}
+
+	@Test
+	public void enumeratesEachAnswerSetOnce() {
+		Solver solver = buildPortfolioSolver("a :- not b. b :- not a. c :- not d. d :- not c.", 4);
+		assertTrue(solver instanceof PortfolioSolver);
+		List<AnswerSet> answerSets = solver.collectList();
+		assertEquals(4, answerSets.size());
+		assertAnswerSetsEqual(new String[] {"a, c", "a, d", "b, c", "b, d"}, new HashSet<>(answerSets));
+	}
+
+	@Test
+	public void unsatisfiableProgramHasNoAnswerSet() {
+		Solver solver = buildPortfolioSolver("a :- not b. b :- not a. :- a. :- b.", 3);
+		assertTrue(solver.collectList().isEmpty());
+	}
+
+	@Test
+	public void unsatisfiablePigeonHoleWithAndWithoutNoGoodSharing() {
+		String program = "p(1..5). h(1..4). "
+				+ "{ in(P, H) : h(H) } :- p(P). "
+				+ "assigned(P) :- in(P, H). "
+				+ ":- p(P), not assigned(P). "
+				+ ":- in(P, H1), in(P, H2), H1 != H2. "
+				+ ":- in(P1, H), in(P2, H), P1 != P2.";
+		assertTrue(buildPortfolioSolver(program, 4, false).collectList().isEmpty());
+		assertTrue(buildPortfolioSolver(program, 4, true).collectList().isEmpty());
+	}
+
+	@Test
+	public void interruptDoesNotCancelDefaultSolver() {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setSolverName("default");
+		Solver solver = buildSolver("a :- not b. b :- not a.", cfg);
+		assertTrue(solver instanceof DefaultSolver);
+		Thread.currentThread().interrupt();
+		try {
+			assertEquals(2, solver.collectList().size());
+		} finally {
+			// Clear the interrupt flag again.
+			Thread.interrupted();
+		}
+	}
+
+	@Test
+	public void interruptDoesNotCancelEnumerationByWinner() {
+		Solver solver = buildPortfolioSolver("a :- not b. b :- not a. c :- not d. d :- not c.", 2);
+		Iterator<AnswerSet> answerSets = solver.stream().iterator();
+		assertTrue(answerSets.hasNext());
+		answerSets.next();
+		Thread.currentThread().interrupt();
+		try {
+			int remaining = 0;
+			while (answerSets.hasNext()) {
+				answerSets.next();
+				remaining++;
+			}
+			assertEquals(3, remaining);
+		} finally {
+			Thread.interrupted();
+		}
+	}
+
+	@Test
+	public void singleGrounderFactoryMethodRejectsPortfolio() {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setSolverName("portfolio");
+		AtomStore atomStore = new AtomStoreImpl();
+		assertThrows(IllegalArgumentException.class, () -> SolverFactory.getInstance(cfg, atomStore, null));
+	}
+}
@@ -53,14 +53,14 @@ public void setUp() {
 	public void checkStatsStringZeroChoices(RegressionTestConfig cfg) {
 		Solver solver = buildSolverForRegressionTest("a.", cfg);
 		assumeTrue(solver instanceof StatisticsReportingSolver);
-		collectAnswerSetsAndCheckStats(solver, 1, 0, 0, 0, 0, 0, 0, 0);
+		collectAnswerSetsAndCheckStats(solver, 1, 0, 0, 0, 0, 0, 0, 0, 0);
 	}
 
 	@RegressionTest
 	public void checkStatsStringOneChoice(RegressionTestConfig cfg) {
 		Solver solver = buildSolverForRegressionTest("a :- not b. b :- not a.", cfg);
 		assumeTrue(solver instanceof StatisticsReportingSolver);
-		collectAnswerSetsAndCheckStats(solver, 2, 1, 1, 1, 1, 0, 0, 0);
+		collectAnswerSetsAndCheckStats(solver, 2, 1, 1, 1, 1, 0, 0, 0, 0);
 	}
 
 	@RegressionTest
@@ -78,13 +78,13 @@ public void checkNoGoodCounterStatsByCardinalityUsingDummyGrounder(RegressionTes
 	}
 
 	private void collectAnswerSetsAndCheckStats(Solver solver, int expectedNumberOfAnswerSets, int expectedNumberOfGuesses, int expectedTotalNumberOfBacktracks,
-			int expectedNumberOfBacktracksWithinBackjumps, int expectedNumberOfBackjumps, int expectedNumberOfMBTs, int expectedNumberOfConflictsAfterClosing, int expectedNumberOfDeletedNoGoods) {
+			int expectedNumberOfBacktracksWithinBackjumps, int expectedNumberOfBackjumps, int expectedNumberOfMBTs, int expectedNumberOfConflictsAfterClosing, int expectedNumberOfDeletedNoGoods, int expectedNumberOfRestarts) {
 		Set<AnswerSet> answerSets = solver.collectSet();
 		assertEquals(expectedNumberOfAnswerSets, answerSets.size());
 		StatisticsReportingSolver solverMaintainingStatistics = (StatisticsReportingSolver) solver;
 		assertEquals(
-				String.format("g=%d, bt=%d, bj=%d, bt_within_bj=%d, mbt=%d, cac=%d, del_ng=%d", expectedNumberOfGuesses, expectedTotalNumberOfBacktracks, expectedNumberOfBackjumps,
-						expectedNumberOfBacktracksWithinBackjumps, expectedNumberOfMBTs, expectedNumberOfConflictsAfterClosing, expectedNumberOfDeletedNoGoods),
+				String.format("g=%d, bt=%d, bj=%d, bt_within_bj=%d, mbt=%d, cac=%d, del_ng=%d, rs=%d", expectedNumberOfGuesses, expectedTotalNumberOfBacktracks, expectedNumberOfBackjumps,
+						expectedNumberOfBacktracksWithinBackjumps, expectedNumberOfMBTs, expectedNumberOfConflictsAfterClosing, expectedNumberOfDeletedNoGoods, expectedNumberOfRestarts),
 				solverMaintainingStatistics.getStatisticsString());
 	}
 
@@ -27,6 +27,7 @@
  */
 package at.ac.tuwien.kr.alpha.core.solver;
 
+import at.ac.tuwien.kr.alpha.commons.Predicates;
 import at.ac.tuwien.kr.alpha.core.common.Assignment;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
 import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
@@ -38,6 +39,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Set;
 
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.FALSE;
 import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.MBT;
@@ -246,6 +248,34 @@ public void mbtCounterAssignMbtToFalseOnLowerDecisionLevel() {
 		assertEquals(0, assignment.getMBTCount());
 	}
 
+	@Test
+	public void backjumpOverSeveralDecisionLevels() {
+		assertNull(assignment.choose(1, TRUE));
+		assertNull(assignment.assign(2, MBT));
+		assertNull(assignment.choose(3, TRUE));
+		assertNull(assignment.assign(2, TRUE));
+		assertNull(assignment.choose(4, TRUE));
+		assertNull(assignment.assign(5, FALSE, null, 1));
+		assertNull(assignment.assign(6, TRUE, null, 2));
+		assertNull(assignment.choose(7, TRUE));
+		assertEquals(1, assignment.getOutOfOrderDecisionLevel(5));
+
+		assignment.backjump(1);
+
+		assertEquals(1, assignment.getDecisionLevel());
+		assertEquals(TRUE, assignment.getTruth(1));
+		assertEquals(MBT, assignment.getTruth(2));
+		assertEquals(1, assignment.getMBTCount());
+		assertNull(assignment.getTruth(3));
+		assertNull(assignment.getTruth(4));
+		assertNull(assignment.getTruth(7));
+		// Out-of-order literal of level 1 is replayed, the one of level 2 is dropped.
+		assertEquals(FALSE, assignment.getTruth(5));
+		assertEquals(1, assignment.getWeakDecisionLevel(5));
+		assertEquals(Integer.MAX_VALUE, assignment.getOutOfOrderDecisionLevel(5));
+		assertNull(assignment.getTruth(6));
+	}
+
 	@Test
 	public void numberOfAssignedAtoms() {
 		assignment.assign(1, MBT);
@@ -262,4 +292,29 @@ public void numberOfAssignedAtoms() {
 		assignment.assign(5, TRUE);
 		assertEquals(2, assignment.getNumberOfAtomsAssignedSinceLastDecision());
 	}
+
+	private Set<Integer> assignedAtomsOverA() {
+		Set<Integer> atoms = new HashSet<>();
+		IntIterator iterator = assignment.getAssignedAtomsOverPredicate(Predicates.getPredicate("a", 1));
+		while (iterator.hasNext()) {
+			atoms.add(iterator.next());
+		}
+		return atoms;
+	}
+
+	@Test
+	public void assignedAtomsOverPredicateFollowBacktracking() {
+		assignment.assign(1, MBT);
+		assignment.assign(2, FALSE);
+		assertEquals(new HashSet<>(Arrays.asList(1, 2)), assignedAtomsOverA());
+		assignment.choose(3, TRUE);
+		assignment.assign(4, MBT);
+		assignment.assign(1, TRUE);
+		assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), assignedAtomsOverA());
+		assignment.backtrack();
+		assertEquals(new HashSet<>(Arrays.asList(1, 2)), assignedAtomsOverA());
+		assertFalse(assignment.getAssignedAtomsOverPredicate(Predicates.getPredicate("b", 1)).hasNext());
+		assignment.clear();
+		assertEquals(Collections.emptySet(), assignedAtomsOverA());
+	}
 }
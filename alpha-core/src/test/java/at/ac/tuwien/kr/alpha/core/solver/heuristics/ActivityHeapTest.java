@@ -0,0 +1,68 @@
+package at.ac.tuwien.kr.alpha.core.solver.heuristics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link ActivityHeap}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class ActivityHeapTest {
+
+	@Test
+	public void increasedActivityMovesAtomToTopWithoutDuplicates() {
+		ActivityHeap heap = new ActivityHeap();
+		heap.growToCapacity(5);
+		heap.setActivity(1, 1.0);
+		heap.setActivity(2, 2.0);
+		heap.setActivity(3, 3.0);
+		heap.setActivity(1, 4.0);
+		heap.setActivity(1, 5.0);
+		assertEquals(3, heap.size());
+		assertEquals(1, heap.removeMax());
+		assertEquals(3, heap.removeMax());
+		assertEquals(2, heap.removeMax());
+		assertTrue(heap.isEmpty());
+		assertFalse(heap.contains(1));
+	}
+
+	@Test
+	public void removedAtomIsReinsertedWithItsActivity() {
+		ActivityHeap heap = new ActivityHeap();
+		heap.growToCapacity(4);
+		heap.setActivity(1, 2.0);
+		heap.setActivity(2, 1.0);
+		assertEquals(1, heap.removeMax());
+		heap.insert(1);
+		heap.insert(1);
+		assertEquals(2, heap.size());
+		assertEquals(1, heap.removeMax());
+	}
+
+	@Test
+	public void atomsAreRemovedInOrderOfActivityAfterRandomUpdatesAndRescaling() {
+		final int atoms = 200;
+		ActivityHeap heap = new ActivityHeap();
+		heap.growToCapacity(atoms + 1);
+		Random random = new Random(0);
+		for (int i = 0; i < 2000; i++) {
+			int atom = 1 + random.nextInt(atoms);
+			heap.setActivity(atom, heap.getActivity(atom) + random.nextDouble());
+			if (i == 1000) {
+				heap.rescaleActivities(1E-200, 1E100);
+			}
+		}
+		double previous = Double.POSITIVE_INFINITY;
+		while (!heap.isEmpty()) {
+			double activity = heap.getActivity(heap.removeMax());
+			assertTrue(activity <= previous);
+			previous = activity;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package at.ac.tuwien.kr.alpha.core.solver.heuristics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DecayingActivityCounters}.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class DecayingActivityCountersTest {
+	private static final double DELTA = 1E-9;
+
+	@Test
+	public void lazyDecayYieldsSameActivitiesAsEagerDecay() {
+		DecayingActivityCounters counters = new DecayingActivityCounters();
+		counters.increment(1);
+		counters.increment(1);
+		counters.increment(3);
+		counters.decay(0.5);
+		counters.increment(3);
+		assertEquals(1.0, counters.get(1), DELTA);
+		assertEquals(1.5, counters.get(3), DELTA);
+		assertEquals(0.0, counters.get(2), DELTA);
+		assertEquals(0.0, counters.get(100), DELTA);
+	}
+
+	@Test
+	public void manyDecaysTriggerRescalingWithoutLosingOrder() {
+		DecayingActivityCounters counters = new DecayingActivityCounters();
+		for (int i = 0; i < 1000; i++) {
+			counters.increment(1);
+			counters.decay(0.5);
+			counters.increment(2);
+		}
+		assertEquals(2.0, counters.get(2), DELTA);
+		assertEquals(1.0, counters.get(1), DELTA);
+	}
+
+	@Test
+	public void decayByZeroResetsActivities() {
+		DecayingActivityCounters counters = new DecayingActivityCounters();
+		counters.increment(1);
+		counters.decay(0.0);
+		assertEquals(0.0, counters.get(1), DELTA);
+		counters.increment(1);
+		assertEquals(1.0, counters.get(1), DELTA);
+	}
+}
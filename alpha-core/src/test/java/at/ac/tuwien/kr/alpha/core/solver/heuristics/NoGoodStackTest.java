@@ -0,0 +1,144 @@
+package at.ac.tuwien.kr.alpha.core.solver.heuristics;
+
+import static at.ac.tuwien.kr.alpha.core.common.NoGoodTest.fromOldLiterals;
+import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.FALSE;
+import static at.ac.tuwien.kr.alpha.core.solver.ThriceTruth.TRUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.core.common.AtomStore;
+import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
+import at.ac.tuwien.kr.alpha.core.common.NoGood;
+import at.ac.tuwien.kr.alpha.core.solver.NaiveNoGoodStore;
+import at.ac.tuwien.kr.alpha.core.solver.ThriceTruth;
+import at.ac.tuwien.kr.alpha.core.solver.TrailAssignment;
+import at.ac.tuwien.kr.alpha.core.solver.WritableAssignment;
+import at.ac.tuwien.kr.alpha.core.test.util.TestUtils;
+
+/**
+ * Tests {@link NoGoodStack}, in particular that nogoods skipped as fully assigned are taken back after backtracking.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class NoGoodStackTest {
+
+	private WritableAssignment assignment;
+	private BacktrackCountingChoiceManager choiceManager;
+	private NoGoodStack stack;
+
+	/**
+	 * Counts the backtracks done through {@link #backtrack(WritableAssignment)}, since the assignment is modified
+	 * directly in these tests.
+	 */
+	private static class BacktrackCountingChoiceManager extends PseudoChoiceManager {
+		private int backtracks;
+
+		BacktrackCountingChoiceManager(WritableAssignment assignment) {
+			super(assignment, new NaiveNoGoodStore(assignment));
+		}
+
+		void backtrack(WritableAssignment assignment) {
+			assignment.backtrack();
+			backtracks++;
+		}
+
+		@Override
+		public int getBacktracks() {
+			return backtracks;
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		AtomStore atomStore = new AtomStoreImpl();
+		TestUtils.fillAtomStore(atomStore, 6);
+		assignment = new TrailAssignment(atomStore);
+		assignment.growForMaxAtomId();
+		choiceManager = new BacktrackCountingChoiceManager(assignment);
+		stack = new NoGoodStack(assignment, choiceManager);
+		stack.push(new NoGood(fromOldLiterals(1, 2)));
+		stack.push(new NoGood(fromOldLiterals(3, -4)));
+	}
+
+	private void choose(int atom, ThriceTruth value) {
+		assertNull(assignment.choose(atom, value));
+	}
+
+	@Test
+	public void iteratesUndefinedNoGoodsFromTopOfStack() {
+		assertEquals(1, stack.firstUndefined());
+		assertEquals(0, stack.nextUndefined(1));
+		assertEquals(-1, stack.nextUndefined(0));
+	}
+
+	@Test
+	public void skipsFullyAssignedNoGoods() {
+		choose(3, TRUE);
+		choose(4, FALSE);
+		assertEquals(0, stack.firstUndefined());
+		assertEquals(-1, stack.nextUndefined(0));
+		// Still skipped in the next iteration without backtracking in between.
+		choose(5, TRUE);
+		assertEquals(0, stack.firstUndefined());
+		choose(1, TRUE);
+		choose(2, TRUE);
+		assertEquals(-1, stack.firstUndefined());
+	}
+
+	@Test
+	public void restoresSkippedNoGoodAfterBacktracking() {
+		choose(3, TRUE);
+		choose(4, FALSE);
+		assertEquals(0, stack.firstUndefined());
+		choiceManager.backtrack(assignment);
+		assertEquals(1, stack.firstUndefined());
+		assertEquals(0, stack.nextUndefined(1));
+	}
+
+	@Test
+	public void restoresSkippedNoGoodAfterBacktrackingAndChoosingAgain() {
+		choose(3, TRUE);
+		choose(4, FALSE);
+		assertEquals(0, stack.firstUndefined());
+		// Back at the decision level of the previous iteration, but atom 4 is unassigned now.
+		choiceManager.backtrack(assignment);
+		choose(5, TRUE);
+		assertEquals(2, assignment.getDecisionLevel());
+		assertEquals(1, stack.firstUndefined());
+	}
+
+	@Test
+	public void skipsRestoredNoGoodAgain() {
+		choose(3, TRUE);
+		choose(4, FALSE);
+		assertEquals(0, stack.firstUndefined());
+		choiceManager.backtrack(assignment);
+		assertEquals(1, stack.firstUndefined());
+		choose(4, TRUE);
+		assertEquals(0, stack.firstUndefined());
+		choiceManager.backtrack(assignment);
+		choose(4, FALSE);
+		assertEquals(0, stack.firstUndefined());
+		choiceManager.backtrack(assignment);
+		assertEquals(1, stack.firstUndefined());
+	}
+
+	@Test
+	public void keepsSkippingNoGoodsAssignedBelowBacktrackedLevel() {
+		choose(3, TRUE);
+		choose(4, FALSE);
+		choose(1, TRUE);
+		choose(2, TRUE);
+		assertEquals(-1, stack.firstUndefined());
+		choiceManager.backtrack(assignment);
+		assertEquals(0, stack.firstUndefined());
+		assertEquals(-1, stack.nextUndefined(0));
+		choiceManager.backtrack(assignment);
+		choiceManager.backtrack(assignment);
+		assertEquals(1, stack.firstUndefined());
+		assertEquals(0, stack.nextUndefined(1));
+	}
+}
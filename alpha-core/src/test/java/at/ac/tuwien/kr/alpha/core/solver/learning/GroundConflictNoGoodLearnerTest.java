@@ -79,6 +79,33 @@ public void smallConflictNonTrivial1UIP() {
 		assertEquals(backjumpingDecisionLevel, 2);
 	}
 
+	@Test
+	public void learnedNoGoodIsMinimizedRecursively() {
+		GroundConflictNoGoodLearner learner = new GroundConflictNoGoodLearner(assignment, atomStore);
+
+		NoGood n1 = new NoGood(fromOldLiterals(1, 2));
+		NoGood n2 = new NoGood(fromOldLiterals(-2, 3));
+		NoGood n3 = new NoGood(fromOldLiterals(4, 5));
+		NoGood n4 = new NoGood(fromOldLiterals(-5, -3, 1, 4));
+		store.add(10, n1);
+		store.add(11, n2);
+		store.add(12, n3);
+		store.add(13, n4);
+
+		assignment.choose(1, ThriceTruth.TRUE);
+		assertNull(store.propagate());
+		assertEquals(ThriceTruth.FALSE, assignment.getTruth(3));
+		assignment.choose(4, ThriceTruth.TRUE);
+		ConflictCause conflictCause = store.propagate();
+		assertNotNull(conflictCause);
+
+		// Without minimization, the learned nogood is {1, -3, 4}; -3 is implied by -2, which in turn is implied by 1.
+		GroundConflictNoGoodLearner.ConflictAnalysisResult analysisResult = learner.analyzeConflictingNoGood(conflictCause.getAntecedent());
+		assertEquals(new NoGood(fromOldLiterals(1, 4)), analysisResult.learnedNoGood);
+		assertEquals(1, analysisResult.backjumpLevel);
+		assertEquals(2, analysisResult.lbd);
+	}
+
 	@Test
 	@Disabled("TrailAssignment no longer propagates at lower decision level.")
 	public void subCurrentDLPropagationWithChoiceCauseOfConflict() {
@@ -0,0 +1,116 @@
+package at.ac.tuwien.kr.alpha.core.solver.restarts;
+
+import static at.ac.tuwien.kr.alpha.core.solver.NoGoodStore.LBD_NO_VALUE;
+import static at.ac.tuwien.kr.alpha.core.test.util.TestUtils.assertAnswerSetsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import at.ac.tuwien.kr.alpha.api.Solver;
+import at.ac.tuwien.kr.alpha.api.config.RestartStrategy;
+import at.ac.tuwien.kr.alpha.api.config.SystemConfig;
+import at.ac.tuwien.kr.alpha.core.grounder.GrounderFactory;
+import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
+import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
+import at.ac.tuwien.kr.alpha.core.programs.transformation.NormalizeProgramTransformation;
+import at.ac.tuwien.kr.alpha.core.solver.SolverFactory;
+
+public class RestartPolicyTest {
+
+	private static void conflicts(RestartPolicy policy, int numConflicts, int lbd) {
+		for (int i = 0; i < numConflicts; i++) {
+			policy.conflictAnalyzed(lbd);
+		}
+	}
+
+	@Test
+	public void lubySeries() {
+		long[] expected = {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], LubyRestartPolicy.luby(i + 1));
+		}
+	}
+
+	@Test
+	public void lubyRestartsAfterScaledSeries() {
+		RestartPolicy policy = new LubyRestartPolicy(10);
+		conflicts(policy, 9, 2);
+		assertFalse(policy.shouldRestart());
+		conflicts(policy, 1, 2);
+		assertTrue(policy.shouldRestart());
+		policy.restarted();
+		conflicts(policy, 10, 2);
+		assertTrue(policy.shouldRestart());
+		policy.restarted();
+		conflicts(policy, 19, 2);
+		assertFalse(policy.shouldRestart());
+		conflicts(policy, 1, 2);
+		assertTrue(policy.shouldRestart());
+	}
+
+	@Test
+	public void geometricLimitGrows() {
+		RestartPolicy policy = new GeometricRestartPolicy(10, 2.0);
+		conflicts(policy, 10, 2);
+		assertTrue(policy.shouldRestart());
+		policy.restarted();
+		conflicts(policy, 19, 2);
+		assertFalse(policy.shouldRestart());
+		conflicts(policy, 1, 2);
+		assertTrue(policy.shouldRestart());
+	}
+
+	@Test
+	public void glucoseRestartsWhenRecentLbdIsWorseThanAverage() {
+		RestartPolicy policy = new GlucoseRestartPolicy(5, 0.8);
+		conflicts(policy, 100, 2);
+		assertFalse(policy.shouldRestart());
+		conflicts(policy, 4, 10);
+		// Window not yet filled with bad nogoods only, but average is already considerably worse.
+		assertTrue(policy.shouldRestart());
+		policy.restarted();
+		conflicts(policy, 4, 10);
+		assertFalse(policy.shouldRestart());
+		conflicts(policy, 1, 10);
+		assertTrue(policy.shouldRestart());
+	}
+
+	@Test
+	public void glucoseIgnoresConflictsWithoutLbd() {
+		RestartPolicy policy = new GlucoseRestartPolicy(2, 0.8);
+		conflicts(policy, 10, LBD_NO_VALUE);
+		assertFalse(policy.shouldRestart());
+	}
+
+	@ParameterizedTest
+	@EnumSource(RestartStrategy.class)
+	public void restartingSolverFindsAllAnswerSets(RestartStrategy restartStrategy) {
+		Solver solver = buildSolver("a :- not b. b :- not a. c :- not d. d :- not c. :- a, d.", restartStrategy);
+		assertAnswerSetsEqual(new String[] {"a, c", "b, c", "b, d"}, solver.collectSet());
+	}
+
+	@ParameterizedTest
+	@EnumSource(RestartStrategy.class)
+	public void restartingSolverProvesPigeonHoleUnsatisfiable(RestartStrategy restartStrategy) {
+		String program = "p(1..6). h(1..5). "
+				+ "{ in(P, H) : h(H) } :- p(P). "
+				+ "assigned(P) :- in(P, H). "
+				+ ":- p(P), not assigned(P). "
+				+ ":- in(P, H1), in(P, H2), H1 != H2. "
+				+ ":- in(P1, H), in(P2, H), P1 != P2.";
+		assertTrue(buildSolver(program, restartStrategy).collectList().isEmpty());
+	}
+
+	private static Solver buildSolver(String program, RestartStrategy restartStrategy) {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setRestartStrategy(restartStrategy);
+		cfg.setSeed(0);
+		InternalProgram internalProgram = InternalProgram.fromNormalProgram(
+				new NormalizeProgramTransformation(cfg.getAggregateRewritingConfig()).apply(new ProgramParserImpl().parse(program)));
+		return SolverFactory.getInstance(cfg, atomStore -> GrounderFactory.getInstance(cfg.getGrounderName(), internalProgram, atomStore, false));
+	}
+}
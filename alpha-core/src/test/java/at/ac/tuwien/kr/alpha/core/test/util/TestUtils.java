@@ -34,7 +34,6 @@
 import at.ac.tuwien.kr.alpha.commons.programs.atoms.Atoms;
 import at.ac.tuwien.kr.alpha.commons.programs.terms.Terms;
 import at.ac.tuwien.kr.alpha.core.common.AtomStore;
-import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
 import at.ac.tuwien.kr.alpha.core.common.NoGood;
 import at.ac.tuwien.kr.alpha.core.grounder.Grounder;
 import at.ac.tuwien.kr.alpha.core.grounder.GrounderFactory;
@@ -155,11 +154,10 @@ public static BasicAtom basicAtomWithSymbolicTerms(String predicate, String... c
 	}
 
 	private static Solver buildSolverFromSystemConfig(ASPCore2Program prog, SystemConfig cfg) {
-		AtomStore atomStore = new AtomStoreImpl();
 		NormalProgram normalProg = new NormalizeProgramTransformation(cfg.getAggregateRewritingConfig()).apply(prog);
 		InternalProgram preprocessed = cfg.isEvaluateStratifiedPart() ? new StratifiedEvaluation().apply(AnalyzedProgram.analyzeNormalProgram(normalProg))
 				: InternalProgram.fromNormalProgram(normalProg);
-		return SolverFactory.getInstance(cfg, atomStore, GrounderFactory.getInstance(cfg.getGrounderName(), preprocessed, atomStore, cfg.isDebugInternalChecks()));
+		return SolverFactory.getInstance(cfg, atomStore -> GrounderFactory.getInstance(cfg.getGrounderName(), preprocessed, atomStore, cfg.isDebugInternalChecks()));
 	}
 	
 	public static Solver buildSolverForRegressionTest(ASPCore2Program prog, RegressionTestConfig cfg) {
@@ -68,14 +68,12 @@
 import at.ac.tuwien.kr.alpha.commons.util.IdGenerator;
 import at.ac.tuwien.kr.alpha.commons.util.IntIdGenerator;
 import at.ac.tuwien.kr.alpha.commons.util.Util;
-import at.ac.tuwien.kr.alpha.core.common.AtomStore;
-import at.ac.tuwien.kr.alpha.core.common.AtomStoreImpl;
-import at.ac.tuwien.kr.alpha.core.grounder.Grounder;
 import at.ac.tuwien.kr.alpha.core.grounder.GrounderFactory;
 import at.ac.tuwien.kr.alpha.core.parser.ProgramParserImpl;
 import at.ac.tuwien.kr.alpha.core.programs.AnalyzedProgram;
 import at.ac.tuwien.kr.alpha.core.programs.CompiledProgram;
 import at.ac.tuwien.kr.alpha.core.programs.InternalProgram;
+import at.ac.tuwien.kr.alpha.core.programs.atoms.Enumerations;
 import at.ac.tuwien.kr.alpha.core.programs.transformation.NormalizeProgramTransformation;
 import at.ac.tuwien.kr.alpha.core.programs.transformation.StratifiedEvaluation;
 import at.ac.tuwien.kr.alpha.core.solver.SolverFactory;
@@ -158,7 +156,7 @@ InternalProgram performProgramPreprocessing(NormalProgram program) {
 		InternalProgram retVal = InternalProgram.fromNormalProgram(program);
 		if (config.isEvaluateStratifiedPart()) {
 			AnalyzedProgram analyzed = new AnalyzedProgram(retVal.getRules(), retVal.getFacts());
-			retVal = new StratifiedEvaluation().apply(analyzed);
+			retVal = new StratifiedEvaluation(config.getJoinStrategy()).apply(analyzed);
 		}
 		return retVal;
 	}
@@ -225,11 +223,15 @@ private Solver prepareSolverFor(CompiledProgram program, java.util.function.Pred
 		GrounderHeuristicsConfiguration grounderHeuristicConfiguration = GrounderHeuristicsConfiguration
 				.getInstance(config.getGrounderToleranceConstraints(), config.getGrounderToleranceRules());
 		grounderHeuristicConfiguration.setAccumulatorEnabled(config.isGrounderAccumulatorEnabled());
+		grounderHeuristicConfiguration.setJoinStrategy(config.getJoinStrategy());
 
-		AtomStore atomStore = new AtomStoreImpl();
-		Grounder grounder = GrounderFactory.getInstance(grounderName, program, atomStore, filter, grounderHeuristicConfiguration, doDebugChecks);
+		// All state that changes while solving belongs to this solving run. The atom store is created by the solver
+		// factory, the enumeration indices are created here, starting from those the program was evaluated with.
+		Enumerations enumerations = new Enumerations(program.getEnumerations());
 
-		return SolverFactory.getInstance(config, atomStore, grounder);
+		// Some solvers (e.g. the portfolio solver) need more than one grounder, hence let the factory create them.
+		return SolverFactory.getInstance(config, atomStore -> GrounderFactory.getInstance(grounderName, program, atomStore, filter,
+				grounderHeuristicConfiguration, enumerations, doDebugChecks));
 	}
 
 	@Override
@@ -254,7 +256,7 @@ public DebugSolvingContext prepareDebugSolve(final NormalProgram program, java.u
 		final AnalyzedProgram analyzed = AnalyzedProgram.analyzeNormalProgram(program);
 		final NormalProgram preprocessed;
 		if (this.config.isEvaluateStratifiedPart()) {
-			preprocessed = new StratifiedEvaluation().apply(analyzed).toNormalProgram();
+			preprocessed = new StratifiedEvaluation(config.getJoinStrategy()).apply(analyzed).toNormalProgram();
 		} else {
 			preprocessed = program;
 		}
@@ -625,6 +625,53 @@ private void problematicRun(String program, long seed, int limit) throws IOExcep
 		assertFalse(system.solve(prog).limit(limit).collect(Collectors.toList()).isEmpty());
 	}
 
+	/**
+	 * Verifies that letting the grounder forget unassigned atoms after every restart and answer set does not change the
+	 * answer sets.
+	 */
+	@Test
+	public void forgettingUnassignedAtomsKeepsAnswerSets() {
+		String progstr = "node(1..5). edge(1, 2). edge(2, 3). edge(3, 4). edge(4, 5). edge(5, 1). edge(1, 3)."
+				+ "col(N, red) :- node(N), not col(N, green), not col(N, blue)."
+				+ "col(N, green) :- node(N), not col(N, red), not col(N, blue)."
+				+ "col(N, blue) :- node(N), not col(N, red), not col(N, green)."
+				+ ":- edge(N, M), col(N, C), col(M, C).";
+		assertForgettingKeepsAnswerSets(progstr);
+	}
+
+	/**
+	 * Verifies that releasing forgotten atoms together with the ground rules deriving them, which are re-grounded on
+	 * demand, does not change the answer sets.
+	 */
+	@Test
+	public void forgettingDerivedAtomsKeepsAnswerSets() {
+		String progstr = "node(1..5). edge(1, 2). edge(2, 3). edge(3, 4). edge(4, 5). edge(5, 1). edge(1, 3)."
+				+ "col(N, red) :- node(N), not col(N, green), not col(N, blue)."
+				+ "col(N, green) :- node(N), not col(N, red), not col(N, blue)."
+				+ "col(N, blue) :- node(N), not col(N, red), not col(N, green)."
+				+ "same(N, M) :- col(N, C), col(M, C), edge(N, M)."
+				+ "mono(C) :- col(N, C), col(M, C), N < M."
+				+ ":- same(N, M).";
+		assertForgettingKeepsAnswerSets(progstr);
+	}
+
+	private static void assertForgettingKeepsAnswerSets(String progstr) {
+		SystemConfig cfg = new SystemConfig();
+		cfg.setEvaluateStratifiedPart(false);
+		AlphaImpl system = new AlphaImpl(cfg);
+		Set<AnswerSet> expected = system.solve(system.readProgramString(progstr)).collect(Collectors.toSet());
+		assertFalse(expected.isEmpty());
+		cfg.setForgettingInterval(1);
+		system = new AlphaImpl(cfg);
+		assertEquals(expected, system.solve(system.readProgramString(progstr)).collect(Collectors.toSet()));
+		cfg.setForgettingDecisionLevel(0);
+		system = new AlphaImpl(cfg);
+		assertEquals(expected, system.solve(system.readProgramString(progstr)).collect(Collectors.toSet()));
+		cfg.setPipelineGrounding(true);
+		system = new AlphaImpl(cfg);
+		assertEquals(expected, system.solve(system.readProgramString(progstr)).collect(Collectors.toSet()));
+	}
+
 	// Detailed reproduction test-case for github issue #239.
 	@Test
 	public void testLearnedUnaryNoGoodCausingOutOfOrderLiteralsConflict() throws IOException {
@@ -0,0 +1,118 @@
+package at.ac.tuwien.kr.alpha.api.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import at.ac.tuwien.kr.alpha.api.Alpha;
+import at.ac.tuwien.kr.alpha.api.AnswerSet;
+import at.ac.tuwien.kr.alpha.api.programs.ASPCore2Program;
+import at.ac.tuwien.kr.alpha.api.programs.atoms.Atom;
+import at.ac.tuwien.kr.alpha.api.programs.terms.Term;
+import at.ac.tuwien.kr.alpha.commons.Predicates;
+
+/**
+ * Runs many solves concurrently on one {@link Alpha} instance and checks that they do not interfere.
+ *
+ * Copyright (c) 2026, the Alpha Team.
+ */
+public class ConcurrentSolvingTest {
+
+	private static final int NUM_THREADS = 8;
+	private static final int NUM_SOLVES = 400;
+	private static final int DOMAIN_SIZE = 5;
+
+	/**
+	 * A program enumerating its own domain, once when evaluating the stratified part and once while solving.
+	 */
+	private static String enumerationProgram(int run) {
+		int first = run * DOMAIN_SIZE + 1;
+		return "# enumeration_predicate_is enum."
+				+ "dom(" + first + ".." + (first + DOMAIN_SIZE - 1) + ")."
+				+ "fixed(X, I) :- dom(X), enum(fixed_id, X, I)."
+				+ "{ p(X) } :- dom(X)."
+				+ "position(X, I) :- p(X), enum(position_id, X, I).";
+	}
+
+	private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+		try {
+			List<Future<T>> futures = executor.invokeAll(tasks);
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void assertEnumeratesDomain(Set<AnswerSet> answerSets, String predicate, int expectedNumberOfTerms) {
+		Map<Term, Term> indices = new HashMap<>();
+		for (AnswerSet answerSet : answerSets) {
+			Set<Atom> instances = answerSet.getPredicateInstances(Predicates.getPredicate(predicate, 2));
+			if (instances == null) {
+				continue;
+			}
+			for (Atom atom : instances) {
+				Term previous = indices.put(atom.getTerms().get(0), atom.getTerms().get(1));
+				assertTrue(previous == null || previous.equals(atom.getTerms().get(1)), "Term enumerated twice: " + atom);
+			}
+		}
+		assertEquals(expectedNumberOfTerms, indices.size());
+		// Indices of one solving run are consecutive, starting at 1, regardless of other runs enumerating meanwhile.
+		Set<String> expectedIndices = new HashSet<>();
+		for (int i = 1; i <= expectedNumberOfTerms; i++) {
+			expectedIndices.add(Integer.toString(i));
+		}
+		assertEquals(expectedIndices, indices.values().stream().map(Term::toString).collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void concurrentSolvesEnumerateIndependently() throws Exception {
+		Alpha alpha = new AlphaImpl();
+		List<Callable<Set<AnswerSet>>> solves = new ArrayList<>();
+		for (int run = 0; run < NUM_SOLVES; run++) {
+			final int currentRun = run;
+			solves.add(() -> alpha.solve(alpha.readProgramString(enumerationProgram(currentRun))).collect(Collectors.toSet()));
+		}
+		for (Set<AnswerSet> answerSets : runConcurrently(solves)) {
+			assertEquals(1 << DOMAIN_SIZE, answerSets.size());
+			assertEnumeratesDomain(answerSets, "fixed", DOMAIN_SIZE);
+			assertEnumeratesDomain(answerSets, "position", DOMAIN_SIZE);
+		}
+	}
+
+	@Test
+	public void concurrentSolvesOfOneProgramFindTheSameAnswerSets() throws Exception {
+		Alpha alpha = new AlphaImpl();
+		ASPCore2Program program = alpha.readProgramString("node(1..6). edge(X, Y) :- node(X), node(Y), Y = X + 1. edge(6, 1)."
+				+ "col(X, red) :- node(X), not col(X, green), not col(X, blue)."
+				+ "col(X, green) :- node(X), not col(X, red), not col(X, blue)."
+				+ "col(X, blue) :- node(X), not col(X, red), not col(X, green)."
+				+ ":- edge(X, Y), col(X, C), col(Y, C)."
+				+ "reds(N) :- N = #count{ X : col(X, red) }.");
+		Set<AnswerSet> expected = alpha.solve(program).collect(Collectors.toSet());
+		List<Callable<Set<AnswerSet>>> solves = new ArrayList<>();
+		for (int run = 0; run < NUM_SOLVES; run++) {
+			solves.add(() -> alpha.solve(program).collect(Collectors.toSet()));
+		}
+		for (Set<AnswerSet> answerSets : runConcurrently(solves)) {
+			assertEquals(expected, answerSets);
+		}
+	}
+}
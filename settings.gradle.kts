@@ -1,2 +1,2 @@
 rootProject.name = "alpha"
-include("alpha-api", "alpha-cli-app", "alpha-core", "alpha-solver", "alpha-commons")
\ No newline at end of file
+include("alpha-api", "alpha-cli-app", "alpha-core", "alpha-solver", "alpha-commons", "alpha-benchmarks")
\ No newline at end of file